@@ -90,6 +90,17 @@ android {
     androidResources {
         noCompress += listOf("tflite", "lite")
     }
+
+    // Exported Room schemas, read by the migration tests
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+}
+
+kapt {
+    arguments {
+        arg("room.schemaLocation", "$projectDir/schemas")
+    }
 }
 
 dependencies {
@@ -130,6 +141,13 @@ dependencies {
     implementation("androidx.room:room-runtime:$room_version")
     kapt("androidx.room:room-compiler:$room_version")
     implementation("androidx.room:room-guava:$room_version") // For ListenableFuture
+    implementation("androidx.room:room-paging:$room_version") // PagingSource queries
+    androidTestImplementation("androidx.room:room-testing:$room_version")
+
+    // Paging 3 for long message histories and job lists
+    val paging_version = "3.2.1"
+    implementation("androidx.paging:paging-runtime:$paging_version")
+    implementation("androidx.paging:paging-guava:$paging_version") // ListenableFutureRemoteMediator
     
     // WorkManager for Background Sync
     val work_version = "2.9.0"
@@ -0,0 +1,141 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.dao.UserDao;
+import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.UserEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sync write throughput: the old per-document insertOrUpdate (a SELECT then an
+ * INSERT or UPDATE, each in its own transaction) against the chunked @Upsert
+ * APIs, for 1k, 10k and 50k documents. Rows per second are written to logcat
+ * under the BulkUpsertBenchmark tag. Uses a file-backed database so commit
+ * costs match a device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BulkUpsertBenchmark {
+    private static final String TAG = "BulkUpsertBenchmark";
+    private static final String DB_NAME = "bulk-upsert-benchmark";
+    private static final int[] SIZES = {1_000, 10_000, 50_000};
+    // The per-row path takes minutes at 50k, so it is only measured up to here
+    private static final int MAX_PER_ROW_SIZE = 10_000;
+
+    private Context context;
+    private AlumniDatabase db;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        db = Room.databaseBuilder(context, AlumniDatabase.class, DB_NAME).build();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void userSync() {
+        for (int size : SIZES) {
+            List<UserEntity> users = users(size, "first");
+            if (size <= MAX_PER_ROW_SIZE) {
+                db.userDao().deleteAllUsers();
+                long start = System.nanoTime();
+                for (UserEntity user : users) {
+                    perRowInsertOrUpdate(db.userDao(), user);
+                }
+                report("users per-row insertOrUpdate", size, System.nanoTime() - start);
+            }
+
+            db.userDao().deleteAllUsers();
+            long start = System.nanoTime();
+            db.userDao().upsertUsers(users);
+            report("users upsert (insert)", size, System.nanoTime() - start);
+
+            // A second sync over the same ids is all updates
+            List<UserEntity> updated = users(size, "second");
+            start = System.nanoTime();
+            db.userDao().upsertUsers(updated);
+            report("users upsert (update)", size, System.nanoTime() - start);
+
+            assertEquals(size, db.userDao().getUserCount());
+        }
+    }
+
+    @Test
+    public void jobSyncKeepsFtsAndSavedFlags() {
+        for (int size : SIZES) {
+            db.jobDao().deleteAllJobs();
+            db.jobDao().upsertJobs(jobs(size, "Data analyst"));
+            db.jobDao().updateJobSavedStatus("job0", true);
+
+            long start = System.nanoTime();
+            db.jobDao().upsertJobs(jobs(size, "Android engineer"));
+            report("jobs upsert with FTS (update)", size, System.nanoTime() - start);
+
+            assertEquals(size, db.jobDao().getJobCount());
+            assertTrue(db.jobDao().searchJobs("analyst").isEmpty());
+            assertEquals(Collections.singletonList("job0"),
+                    db.jobDao().getSavedJobIds(Collections.singletonList("job0")));
+        }
+    }
+
+    // What UserDao.insertOrUpdate did before it was backed by @Upsert
+    private static void perRowInsertOrUpdate(UserDao dao, UserEntity user) {
+        if (dao.getUserById(user.userId) != null) {
+            dao.updateUser(user);
+        } else {
+            dao.insertUser(user);
+        }
+    }
+
+    private static List<UserEntity> users(int count, String version) {
+        List<UserEntity> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserEntity user = new UserEntity("user" + i, "Alumni " + i + " " + version, "alumni" + i + "@example.com");
+            user.major = "Computer Science";
+            user.company = "Company " + (i % 100);
+            user.lastSynced = i;
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static List<JobEntity> jobs(int count, String title) {
+        List<JobEntity> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JobEntity job = new JobEntity();
+            job.setJobId("job" + i);
+            job.setTitle(title + " " + i);
+            job.setCompany("Company " + (i % 100));
+            job.setPostedDate(i);
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private static void report(String path, int rows, long nanos) {
+        Log.i(TAG, String.format("%s, %d rows: %.0fms, %.0f rows/s",
+                path, rows, nanos / 1e6, rows / (nanos / 1e9)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.entities.JobEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class CacheCompactorTest {
+    private AlumniDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class).build();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void overBudgetEvictsLeastRecentlySyncedButKeepsSavedJobs() {
+        List<JobEntity> jobs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            JobEntity job = job("job" + i, i);
+            job.setDescription("Builds and maintains the mobile apps used by our customers.");
+            job.setSaved(i == 0);
+            jobs.add(job);
+        }
+        db.jobDao().upsertJobs(jobs);
+
+        CacheCompactor.TableBudget budget = new CacheCompactor.TableBudget(
+                "jobs", "lastSyncTime", "rowid", "isSaved = 1", 2048);
+        int evicted = CacheCompactor.enforceBudget(db, budget);
+
+        assertTrue(evicted > 0);
+        assertEquals(100 - evicted, db.jobDao().getAllJobs().size());
+        assertNotNull("Saved job was evicted", db.jobDao().getJobById("job0"));
+        assertNotNull("Most recently synced job was evicted", db.jobDao().getJobById("job99"));
+        assertNull(db.jobDao().getJobById("job1"));
+    }
+
+    @Test
+    public void expiredJobsAreDeletedButSavedJobsAndJobsWithoutDeadlineStay() {
+        JobEntity expired = job("expired", 0);
+        expired.setDeadline(1_000);
+        JobEntity savedExpired = job("savedExpired", 0);
+        savedExpired.setDeadline(1_000);
+        savedExpired.setSaved(true);
+        JobEntity open = job("open", 0);
+        open.setDeadline(10_000);
+        db.jobDao().upsertJobs(Arrays.asList(expired, savedExpired, open, job("noDeadline", 0)));
+
+        CacheCompactor.deleteExpired(db, 5_000);
+
+        assertNull(db.jobDao().getJobById("expired"));
+        assertNotNull("Saved job was deleted", db.jobDao().getJobById("savedExpired"));
+        assertNotNull(db.jobDao().getJobById("open"));
+        assertNotNull(db.jobDao().getJobById("noDeadline"));
+    }
+
+    private static JobEntity job(String id, long lastSyncTime) {
+        JobEntity job = new JobEntity();
+        job.setJobId(id);
+        job.setTitle("Android Engineer");
+        job.setLastSyncTime(lastSyncTime);
+        return job;
+    }
+}
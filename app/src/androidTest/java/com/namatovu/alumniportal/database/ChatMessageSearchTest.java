@@ -0,0 +1,67 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.dao.ChatMessageDao;
+import com.namatovu.alumniportal.database.entities.ChatMessageEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class ChatMessageSearchTest {
+    private AlumniDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class).build();
+        db.chatMessageDao().insertMessages(Arrays.asList(
+                message("m1", "chatA", "See you at the alumni dinner in Kampala", false),
+                message("m2", "chatB", "Kampala office is hiring, Kampala based role", false),
+                message("m3", "chatC", "Kampala plans cancelled", true)));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void returnsRankedChatIdsWithSnippets() {
+        List<ChatMessageDao.MessageSearchHit> hits = db.chatMessageDao().searchMessages("kamp", null, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals("chatB", hits.get(0).chatId);
+        assertTrue(hits.get(0).snippet.contains("[Kampala]"));
+    }
+
+    @Test
+    public void canBeLimitedToOneChat() {
+        List<ChatMessageDao.MessageSearchHit> hits = db.chatMessageDao().searchMessages("dinner", "chatB", 10);
+
+        assertTrue(hits.isEmpty());
+    }
+
+    private static ChatMessageEntity message(String id, String chatId, String content, boolean deleted) {
+        ChatMessageEntity entity = new ChatMessageEntity();
+        entity.messageId = id;
+        entity.chatId = chatId;
+        entity.senderName = "Alumni";
+        entity.content = content;
+        entity.isDeleted = deleted;
+        return entity;
+    }
+}
@@ -0,0 +1,161 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.entities.EventEntity;
+import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.MentorEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the FTS4 search queries with the LIKE scans they replaced on 10k-row tables.
+ * Timings are written to logcat under the FtsSearchBenchmark tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FtsSearchBenchmark {
+    private static final String TAG = "FtsSearchBenchmark";
+    private static final int ROWS = 10_000;
+    private static final int RUNS = 20;
+    private static final String[] WORDS = {
+        "software", "engineer", "data", "analyst", "nurse", "teacher", "finance", "marketing",
+        "kampala", "mbarara", "nairobi", "remote", "senior", "junior", "manager", "design",
+        "research", "health", "agriculture", "banking", "mobile", "android", "cloud", "sales"
+    };
+
+    private AlumniDatabase db;
+    private final Random random = new Random(42);
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class).build();
+
+        List<JobEntity> jobs = new ArrayList<>();
+        List<EventEntity> events = new ArrayList<>();
+        List<MentorEntity> mentors = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            JobEntity job = new JobEntity();
+            job.setJobId("job" + i);
+            job.setTitle(words(3));
+            job.setCompany(words(1));
+            job.setDescription(words(60));
+            job.setLocation(words(1));
+            job.setPostedDate(i);
+            jobs.add(job);
+
+            EventEntity event = new EventEntity();
+            event.setEventId("event" + i);
+            event.setTitle(words(3));
+            event.setDescription(words(60));
+            event.setLocation(words(1));
+            event.setCategory(words(1));
+            event.setEventDate(i);
+            events.add(event);
+
+            MentorEntity mentor = new MentorEntity();
+            mentor.setMentorId("mentor" + i);
+            mentor.setFullName("Mentor " + i);
+            mentor.setExpertise(words(2));
+            mentor.setCompany(words(1));
+            mentor.setCurrentJob(words(2));
+            mentor.setBio(words(40));
+            mentors.add(mentor);
+        }
+        db.jobDao().insertJobs(jobs);
+        db.eventDao().insertEvents(events);
+        db.mentorDao().insertMentors(mentors);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void jobSearch() {
+        long like = timeLike("SELECT * FROM jobs WHERE title LIKE '%' || ? || '%' OR description LIKE '%' || ? || '%' ORDER BY postedDate DESC", 2);
+        long fts = timeFts(() -> assertFalse(db.jobDao().searchJobs("android").isEmpty()));
+        report("jobs", like, fts);
+    }
+
+    @Test
+    public void eventSearch() {
+        long like = timeLike("SELECT * FROM events WHERE title LIKE '%' || ? || '%' OR description LIKE '%' || ? || '%' ORDER BY eventDate ASC", 2);
+        long fts = timeFts(() -> assertFalse(db.eventDao().searchEvents("android").isEmpty()));
+        report("events", like, fts);
+    }
+
+    @Test
+    public void mentorSearch() {
+        long like = timeLike("SELECT * FROM mentors WHERE fullName LIKE '%' || ? || '%' OR expertise LIKE '%' || ? || '%' OR company LIKE '%' || ? || '%' ORDER BY rating DESC", 3);
+        long fts = timeFts(() -> assertFalse(db.mentorDao().searchMentors("android").isEmpty()));
+        report("mentors", like, fts);
+    }
+
+    @Test
+    public void ftsStaysInSyncWithContentTable() {
+        JobEntity job = new JobEntity();
+        job.setJobId("job0");
+        job.setTitle("Quantum cartographer");
+        db.jobDao().insertJob(job);
+
+        assertFalse(db.jobDao().searchJobs("quantum").isEmpty());
+        db.jobDao().deleteJob(job);
+        assertTrue(db.jobDao().searchJobs("quantum").isEmpty());
+    }
+
+    private long timeLike(String sql, int argCount) {
+        Object[] args = new Object[argCount];
+        java.util.Arrays.fill(args, "android");
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            try (Cursor cursor = db.query(sql, args)) {
+                while (cursor.moveToNext()) {
+                    // Drain the cursor so the whole scan is measured
+                }
+            }
+        }
+        return (System.nanoTime() - start) / RUNS;
+    }
+
+    private long timeFts(Runnable search) {
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            search.run();
+        }
+        return (System.nanoTime() - start) / RUNS;
+    }
+
+    private void report(String table, long likeNanos, long ftsNanos) {
+        Log.i(TAG, String.format("%s (%d rows): LIKE %.2fms, FTS %.2fms",
+                table, ROWS, likeNanos / 1e6, ftsNanos / 1e6));
+    }
+
+    private String words(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
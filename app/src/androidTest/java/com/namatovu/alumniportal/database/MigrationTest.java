@@ -0,0 +1,82 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.UserEntity;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every migration against the exported schemas in app/schemas and checks
+ * that rows cached before an upgrade are still there, and searchable, after it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+    private static final String TEST_DB = "migration-test";
+    private static final int FIRST_VERSION = 3;
+    private static final int LATEST_VERSION = 16;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AlumniDatabase.class,
+            new ArrayList<>(), new FrameworkSQLiteOpenHelperFactory());
+
+    @Test
+    public void eachStepMatchesItsExportedSchema() throws Exception {
+        for (Migration migration : AlumniMigrations.ALL) {
+            String name = TEST_DB + "-" + migration.startVersion;
+            helper.createDatabase(name, migration.startVersion).close();
+            helper.runMigrationsAndValidate(name, migration.endVersion, true, migration).close();
+        }
+    }
+
+    @Test
+    public void upgradeFromFirstVersionKeepsCachedRows() throws Exception {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, FIRST_VERSION);
+        db.execSQL("INSERT INTO users (userId, fullName, email, major, lastSynced) " +
+                "VALUES ('u1', 'Jane Namatovu', 'jane@example.com', 'Computer Science', 100)");
+        db.execSQL("INSERT INTO jobs (jobId, title, company, postedDate, deadline, isSaved, lastSyncTime) " +
+                "VALUES ('j1', 'Data Analyst', 'MTN Uganda', 200, 0, 1, 100)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true, AlumniMigrations.ALL);
+        try (Cursor cursor = db.query("SELECT jobs.jobId FROM jobs JOIN jobs_fts ON jobs.rowid = jobs_fts.rowid " +
+                "WHERE jobs_fts MATCH 'analyst'")) {
+            assertEquals(1, cursor.getCount());
+        }
+        db.close();
+
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        AlumniDatabase database = Room.databaseBuilder(context, AlumniDatabase.class, TEST_DB)
+                .addMigrations(AlumniMigrations.ALL)
+                .build();
+        helper.closeWhenFinished(database);
+
+        UserEntity user = database.userDao().getUserById("u1");
+        assertNotNull(user);
+        assertEquals("Jane Namatovu", user.fullName);
+        // Columns added later take the app's defaults until the next full sync
+        assertTrue(user.showInDirectory);
+        List<JobEntity> saved = database.jobDao().getSavedJobs();
+        assertEquals(1, saved.size());
+    }
+}
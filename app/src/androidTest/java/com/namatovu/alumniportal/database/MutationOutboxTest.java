@@ -0,0 +1,107 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.firebase.firestore.FieldValue;
+import com.namatovu.alumniportal.database.MutationOutbox.Merge;
+import com.namatovu.alumniportal.database.MutationOutbox.Write;
+import com.namatovu.alumniportal.database.dao.PendingMutationDao;
+import com.namatovu.alumniportal.database.entities.PendingMutationEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class MutationOutboxTest {
+    private AlumniDatabase db;
+    private PendingMutationDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class).build();
+        dao = db.pendingMutationDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void likeThenUnlikeCancelOut() {
+        MutationOutbox.merge(dao, like("a1", "u1", true));
+        MutationOutbox.merge(dao, like("a1", "u1", false));
+        assertTrue(dao.getUnclaimed(10).isEmpty());
+
+        MutationOutbox.merge(dao, like("a1", "u1", true));
+        assertEquals(1, dao.getUnclaimed(10).size());
+    }
+
+    @Test
+    public void combinedIncrementsAddUp() {
+        for (int i = 0; i < 3; i++) {
+            MutationOutbox.merge(dao, Write.update("news/a1").increment("viewCount", 1)
+                    .mergeKey("views:news/a1", Merge.COMBINE));
+        }
+        List<PendingMutationEntity> pending = dao.getUnclaimed(10);
+        assertEquals(1, pending.size());
+        assertTrue(pending.get(0).needsReceipt);
+        assertEquals("{\"viewCount\":{\"$op\":\"increment\",\"value\":3}}", pending.get(0).fieldsJson);
+        assertTrue(MutationOutbox.firestoreFields(pending.get(0).fieldsJson).get("viewCount") instanceof FieldValue);
+    }
+
+    @Test
+    public void claimedWritesAreNotMergedInto() {
+        MutationOutbox.merge(dao, like("a1", "u1", true));
+        dao.claimOldest(10);
+        MutationOutbox.merge(dao, like("a1", "u1", false));
+
+        List<PendingMutationEntity> unclaimed = dao.getUnclaimed(10);
+        assertEquals(1, unclaimed.size());
+        assertTrue(unclaimed.get(0).fieldsJson.contains("\"$op\":\"arrayRemove\""));
+    }
+
+    @Test
+    public void valuesSurviveTheRoundTrip() {
+        Date createdAt = new Date(1_700_000_000_000L);
+        MutationOutbox.merge(dao, Write.set("mentorships/m1")
+                .field("status", "pending")
+                .field("sessionCount", 2)
+                .field("rating", 4.5)
+                .field("createdAt", createdAt)
+                .serverTimestamp("updatedAt"));
+
+        Map<String, Object> fields = MutationOutbox.firestoreFields(dao.getUnclaimed(1).get(0).fieldsJson);
+        assertEquals("pending", fields.get("status"));
+        assertEquals(2L, fields.get("sessionCount"));
+        assertEquals(4.5, fields.get("rating"));
+        assertEquals(createdAt, fields.get("createdAt"));
+        assertTrue(fields.get("updatedAt") instanceof FieldValue);
+        assertFalse(dao.getUnclaimed(1).get(0).needsReceipt);
+    }
+
+    private static Write like(String articleId, String userId, boolean liked) {
+        Write write = Write.update("news/" + articleId).increment("likeCount", liked ? 1 : -1);
+        if (liked) {
+            write.arrayUnion("likedByUserIds", userId);
+        } else {
+            write.arrayRemove("likedByUserIds", userId);
+        }
+        return write.mergeKey("like:news/" + articleId + "/" + userId, Merge.TOGGLE);
+    }
+}
@@ -0,0 +1,92 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.entities.EventEntity;
+import com.namatovu.alumniportal.database.entities.JobEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Writes through the DAOs must reach LiveData observers through Room's
+ * invalidation tracker, without the caller querying again.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ObservableQueryTest {
+    private AlumniDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class).build();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void savingAJobUpdatesTheSavedJobsObserver() throws Exception {
+        JobEntity job = new JobEntity();
+        job.setJobId("j1");
+        job.setTitle("Data Analyst");
+        db.jobDao().insertJob(job);
+
+        BlockingQueue<List<JobEntity>> emissions = observe(db.jobDao().observeSavedJobs());
+        assertTrue(next(emissions).isEmpty());
+
+        db.jobDao().updateJobSavedStatus("j1", true);
+        List<JobEntity> saved = next(emissions);
+        assertEquals(1, saved.size());
+        assertEquals("j1", saved.get(0).getJobId());
+    }
+
+    @Test
+    public void anRsvpReEmitsThePublicEvents() throws Exception {
+        EventEntity event = new EventEntity();
+        event.setEventId("e1");
+        event.setTitle("Homecoming");
+        event.setAttendeeCount(1);
+        db.eventDao().insertEvent(event);
+
+        BlockingQueue<List<EventEntity>> emissions = observe(db.eventDao().observePublicEvents());
+        assertEquals(1, next(emissions).get(0).getAttendeeCount());
+
+        db.eventDao().updateEventAttendance("e1", true, 2);
+        EventEntity updated = next(emissions).get(0);
+        assertTrue(updated.isAttending());
+        assertEquals(2, updated.getAttendeeCount());
+    }
+
+    private static <T> BlockingQueue<T> observe(LiveData<T> liveData) {
+        BlockingQueue<T> emissions = new LinkedBlockingQueue<>();
+        Observer<T> observer = emissions::add;
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.observeForever(observer));
+        return emissions;
+    }
+
+    private static <T> T next(BlockingQueue<T> emissions) throws InterruptedException {
+        T value = emissions.poll(5, TimeUnit.SECONDS);
+        assertNotNull("No emission within 5s", value);
+        return value;
+    }
+}
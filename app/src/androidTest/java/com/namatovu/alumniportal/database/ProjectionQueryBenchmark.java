@@ -0,0 +1,133 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.dao.JobDao;
+import com.namatovu.alumniportal.database.dao.MentorDao;
+import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.MentorEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares loading full entities with the list projections on 10k-row tables
+ * whose rows carry realistic descriptions and bios. Query time and the heap
+ * retained by the result are written to logcat under the ProjectionQueryBenchmark tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ProjectionQueryBenchmark {
+    private static final String TAG = "ProjectionQueryBenchmark";
+    private static final int ROWS = 10_000;
+    private static final int RUNS = 10;
+
+    private AlumniDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class).build();
+
+        String longText = repeat("Responsible for building and maintaining mobile products. ", 20);
+        List<JobEntity> jobs = new ArrayList<>();
+        List<MentorEntity> mentors = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            JobEntity job = new JobEntity();
+            job.setJobId("job" + i);
+            job.setTitle("Android Engineer " + i);
+            job.setCompany("Company " + (i % 50));
+            job.setLocation("Kampala");
+            job.setJobType("Full-time");
+            job.setDescription(longText);
+            job.setApplicationUrl("https://example.com/jobs/" + i);
+            job.setPostedDate(i);
+            jobs.add(job);
+
+            MentorEntity mentor = new MentorEntity();
+            mentor.setMentorId("mentor" + i);
+            mentor.setFullName("Mentor " + i);
+            mentor.setEmail("mentor" + i + "@example.com");
+            mentor.setCurrentJob("Engineer");
+            mentor.setCompany("Company " + (i % 50));
+            mentor.setExpertise("Android,Cloud");
+            mentor.setBio(longText);
+            mentors.add(mentor);
+        }
+        db.jobDao().upsertJobs(jobs);
+        db.mentorDao().upsertMentors(mentors);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void jobList() {
+        JobDao dao = db.jobDao();
+        report("jobs", dao::getAllJobs, dao::getJobListItems);
+    }
+
+    @Test
+    public void mentorList() {
+        MentorDao dao = db.mentorDao();
+        report("mentors", dao::getAllMentors, dao::getMentorListItems);
+    }
+
+    private void report(String table, Supplier<List<?>> entities, Supplier<List<?>> items) {
+        long entityNanos = time(entities);
+        long itemNanos = time(items);
+        long entityBytes = retainedBytes(entities);
+        long itemBytes = retainedBytes(items);
+        Log.i(TAG, String.format("%s (%d rows): entities %.2fms %dKB, list items %.2fms %dKB",
+                table, ROWS, entityNanos / 1e6, entityBytes / 1024, itemNanos / 1e6, itemBytes / 1024));
+    }
+
+    private long time(Supplier<List<?>> query) {
+        query.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            assertEquals(ROWS, query.get().size());
+        }
+        return (System.nanoTime() - start) / RUNS;
+    }
+
+    // Heap still in use while the result is held, after collecting the garbage the query left behind
+    private long retainedBytes(Supplier<List<?>> query) {
+        long before = usedHeap();
+        List<?> result = query.get();
+        long after = usedHeap();
+        assertEquals(ROWS, result.size());
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            System.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder(text.length() * count);
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
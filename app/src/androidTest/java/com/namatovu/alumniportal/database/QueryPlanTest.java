@@ -0,0 +1,211 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.paging.PagingSource;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.namatovu.alumniportal.database.dao.CachedDocumentDao;
+import com.namatovu.alumniportal.database.dao.ChatMessageDao;
+import com.namatovu.alumniportal.database.dao.EventDao;
+import com.namatovu.alumniportal.database.dao.JobDao;
+import com.namatovu.alumniportal.database.dao.JobPostingDao;
+import com.namatovu.alumniportal.database.dao.MentorDao;
+import com.namatovu.alumniportal.database.dao.OpportunityDao;
+import com.namatovu.alumniportal.database.dao.PendingMutationDao;
+import com.namatovu.alumniportal.database.dao.SyncStateDao;
+import com.namatovu.alumniportal.database.dao.UserDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import kotlin.coroutines.EmptyCoroutineContext;
+import kotlinx.coroutines.BuildersKt;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Calls every @Query method on every DAO, captures the SQL Room actually runs
+ * and fails if EXPLAIN QUERY PLAN shows a filtered or sorted statement scanning
+ * a whole table or sorting in a temp b-tree. Statements with no WHERE or
+ * ORDER BY, and substring LIKE filters, read the whole table by design.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+    private static final String SAMPLE = "sample";
+
+    private AlumniDatabase db;
+    private final List<Statement> statements = Collections.synchronizedList(new ArrayList<>());
+
+    private static class Statement {
+        final String sql;
+        final Object[] args;
+
+        Statement(String sql, List<?> args) {
+            this.sql = sql;
+            this.args = args.toArray();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AlumniDatabase.class)
+                .setQueryCallback((sql, args) -> statements.add(new Statement(sql, args)), Runnable::run)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void noDaoQueryScansAWholeTable() throws Exception {
+        List<String> failures = new ArrayList<>();
+        checkDao(UserDao.class, db.userDao(), failures);
+        checkDao(JobDao.class, db.jobDao(), failures);
+        checkDao(EventDao.class, db.eventDao(), failures);
+        checkDao(MentorDao.class, db.mentorDao(), failures);
+        checkDao(ChatMessageDao.class, db.chatMessageDao(), failures);
+        checkDao(JobPostingDao.class, db.jobPostingDao(), failures);
+        checkDao(CachedDocumentDao.class, db.cachedDocumentDao(), failures);
+        checkDao(PendingMutationDao.class, db.pendingMutationDao(), failures);
+        checkDao(SyncStateDao.class, db.syncStateDao(), failures);
+        checkDao(OpportunityDao.class, db.opportunityDao(), failures);
+
+        assertTrue(String.join("\n", failures), failures.isEmpty());
+    }
+
+    private void checkDao(Class<?> daoClass, Object dao, List<String> failures) throws Exception {
+        for (Method method : daoClass.getDeclaredMethods()) {
+            Object[] args = sampleArguments(method);
+            if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())
+                    || args == null) {
+                // Default methods only combine the queries checked here; entity
+                // parameters mean an @Insert, @Update, @Delete or @Upsert
+                continue;
+            }
+            String name = daoClass.getSimpleName() + "." + method.getName();
+
+            statements.clear();
+            run(method.invoke(dao, args));
+            List<Statement> recorded = new ArrayList<>();
+            synchronized (statements) {
+                for (Statement statement : statements) {
+                    if (isDaoStatement(statement.sql)) {
+                        recorded.add(statement);
+                    }
+                }
+            }
+
+            if (recorded.isEmpty()) {
+                failures.add(name + ": no query recorded");
+            }
+            for (Statement statement : recorded) {
+                String problem = planProblem(statement);
+                if (problem != null) {
+                    failures.add(name + ": " + problem + " in " + statement.sql);
+                }
+            }
+        }
+    }
+
+    // LiveData and PagingSource results only query once they are observed or loaded
+    @SuppressWarnings("unchecked")
+    private void run(Object result) throws Exception {
+        if (result instanceof LiveData) {
+            LiveData<Object> liveData = (LiveData<Object>) result;
+            CountDownLatch loaded = new CountDownLatch(1);
+            Observer<Object> observer = value -> loaded.countDown();
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.observeForever(observer));
+            loaded.await(5, TimeUnit.SECONDS);
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.removeObserver(observer));
+        } else if (result instanceof PagingSource) {
+            PagingSource<Integer, Object> source = (PagingSource<Integer, Object>) result;
+            PagingSource.LoadParams<Integer> params = new PagingSource.LoadParams.Refresh<>(null, 30, false);
+            BuildersKt.<PagingSource.LoadResult<Integer, Object>>runBlocking(EmptyCoroutineContext.INSTANCE,
+                    (scope, continuation) -> source.load(params, continuation));
+        }
+    }
+
+    private String planProblem(Statement statement) {
+        String upper = statement.sql.toUpperCase(Locale.ROOT);
+        boolean filteredOrSorted = upper.contains(" WHERE ") || upper.contains(" ORDER BY ");
+        if (!filteredOrSorted || upper.contains("LIKE '%'")) {
+            return null;
+        }
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + statement.sql, statement.args)) {
+            int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                String detail = cursor.getString(detailColumn);
+                if (detail.startsWith("USE TEMP B-TREE FOR ORDER BY") || isFullTableScan(detail)) {
+                    return detail;
+                }
+            }
+        }
+        return null;
+    }
+
+    // "SCAN jobs" (or "SCAN TABLE jobs" on older SQLite), but not an index walk,
+    // an FTS lookup or a pass over a subquery's result
+    private static boolean isFullTableScan(String detail) {
+        return detail.startsWith("SCAN ")
+                && !detail.contains(" USING ")
+                && !detail.contains("VIRTUAL TABLE")
+                && !detail.startsWith("SCAN (")
+                && !detail.startsWith("SCAN SUBQUERY");
+    }
+
+    // Skips transaction control and Room's own invalidation bookkeeping
+    private static boolean isDaoStatement(String sql) {
+        String upper = sql.trim().toUpperCase(Locale.ROOT);
+        boolean query = upper.startsWith("SELECT") || upper.startsWith("UPDATE") || upper.startsWith("DELETE");
+        return query && !upper.contains("ROOM_TABLE_MODIFICATION_LOG") && !upper.contains("ROOM_MASTER_TABLE");
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == String.class) {
+                args[i] = SAMPLE;
+            } else if (type == long.class || type == Long.class) {
+                args[i] = 0L;
+            } else if (type == int.class || type == Integer.class) {
+                args[i] = 1;
+            } else if (type == boolean.class || type == Boolean.class) {
+                args[i] = true;
+            } else if (type == List.class && genericTypes[i] instanceof ParameterizedType
+                    && ((ParameterizedType) genericTypes[i]).getActualTypeArguments()[0] == String.class) {
+                args[i] = Collections.singletonList(SAMPLE);
+            } else if (type == List.class && genericTypes[i] instanceof ParameterizedType
+                    && ((ParameterizedType) genericTypes[i]).getActualTypeArguments()[0] == Long.class) {
+                args[i] = Collections.singletonList(0L);
+            } else {
+                return null;
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,179 @@
+package com.namatovu.alumniportal.models;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+import com.namatovu.alumniportal.repository.AlumniRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Document parsing cost: reflection-based toObject() against the models'
+ * fromDocument() for 1k and 10k user and chat message documents. Documents
+ * per second are written to logcat under the DocumentMapperBenchmark tag.
+ *
+ * The documents are written to the local cache of a separate, offline
+ * Firestore instance and read back with Source.CACHE, so the snapshots are
+ * real but nothing reaches the project; the cache is cleared afterwards.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DocumentMapperBenchmark {
+    private static final String TAG = "DocumentMapperBenchmark";
+    private static final String APP_NAME = "document-mapper-benchmark";
+    private static final int[] SIZES = {1_000, 10_000};
+    private static final int BATCH_SIZE = 500;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private FirebaseApp app;
+    private FirebaseFirestore db;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        app = FirebaseApp.initializeApp(context, FirebaseApp.getInstance().getOptions(), APP_NAME);
+        db = FirebaseFirestore.getInstance(app);
+        await(db.disableNetwork());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        await(db.terminate());
+        await(db.clearPersistence());
+        app.delete();
+    }
+
+    @Test
+    public void users() throws Exception {
+        for (int size : SIZES) {
+            List<Map<String, Object>> data = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                data.add(user(i).toMap());
+            }
+            List<DocumentSnapshot> documents = writeAndRead(db.collection("users_" + size), data);
+
+            List<User> reflected = new ArrayList<>();
+            long nanos = time(documents, document -> document.toObject(User.class), reflected);
+            report("users toObject", size, nanos);
+
+            List<User> mapped = new ArrayList<>();
+            nanos = time(documents, User::fromDocument, mapped);
+            report("users fromDocument", size, nanos);
+
+            assertEquals(size, mapped.size());
+            for (int i = 0; i < size; i += size / 10) {
+                assertEquals(reflected.get(i).getFullName(), mapped.get(i).getFullName());
+                assertEquals(reflected.get(i).getSkills(), mapped.get(i).getSkills());
+                assertEquals(reflected.get(i).getCreatedAt(), mapped.get(i).getCreatedAt());
+                assertEquals(reflected.get(i).isAlumni(), mapped.get(i).isAlumni());
+            }
+        }
+    }
+
+    @Test
+    public void chatMessages() throws Exception {
+        for (int size : SIZES) {
+            List<Map<String, Object>> data = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                data.add(message(i).toMap());
+            }
+            List<DocumentSnapshot> documents = writeAndRead(db.collection("messages_" + size), data);
+
+            List<ChatMessage> reflected = new ArrayList<>();
+            long nanos = time(documents, document -> document.toObject(ChatMessage.class), reflected);
+            report("messages toObject", size, nanos);
+
+            List<ChatMessage> mapped = new ArrayList<>();
+            nanos = time(documents, ChatMessage::fromDocument, mapped);
+            report("messages fromDocument", size, nanos);
+
+            assertEquals(size, mapped.size());
+            for (int i = 0; i < size; i += size / 10) {
+                assertEquals(reflected.get(i).getMessageText(), mapped.get(i).getMessageText());
+                assertEquals(reflected.get(i).getTimestamp(), mapped.get(i).getTimestamp());
+            }
+            // toMap() writes "isRead", which toObject() looks for as "read"
+            assertFalse(reflected.get(0).isRead());
+            assertTrue(mapped.get(0).isRead());
+        }
+    }
+
+    private List<DocumentSnapshot> writeAndRead(CollectionReference collection, List<Map<String, Object>> data)
+            throws Exception {
+        for (int start = 0; start < data.size(); start += BATCH_SIZE) {
+            WriteBatch batch = db.batch();
+            for (int i = start; i < Math.min(start + BATCH_SIZE, data.size()); i++) {
+                batch.set(collection.document("doc" + i), data.get(i));
+            }
+            // Offline the commit never completes, but the write is in the local cache once queued
+            batch.commit();
+        }
+        List<DocumentSnapshot> documents = await(collection.get(Source.CACHE)).getDocuments();
+        assertEquals(data.size(), documents.size());
+        return documents;
+    }
+
+    private static <T> long time(List<DocumentSnapshot> documents, AlumniRepository.DocumentMapper<T> mapper,
+                                 List<T> out) {
+        // An untimed pass first, so JIT warm-up is not charged to whichever mapper runs first
+        for (DocumentSnapshot document : documents) {
+            mapper.map(document);
+        }
+        long start = System.nanoTime();
+        for (DocumentSnapshot document : documents) {
+            out.add(mapper.map(document));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static User user(int i) {
+        User user = new User("Alumni " + i, "alumni" + i, "alumni" + i + "@example.com", null, "S" + i);
+        user.setMajor("Computer Science");
+        user.setCompany("Company " + (i % 100));
+        user.setGraduationYear(String.valueOf(2000 + i % 25));
+        user.setBio("Graduate working in software");
+        user.setSkills(Arrays.asList("Java", "Kotlin", "SQL"));
+        user.setAlumni(i % 2 == 0);
+        return user;
+    }
+
+    private static ChatMessage message(int i) {
+        ChatMessage message = new ChatMessage("chat" + (i % 50), "user" + (i % 7), "Alumni " + (i % 7),
+                "user" + (i % 5), "Message number " + i);
+        message.setTimestamp(i);
+        message.setRead(true);
+        return message;
+    }
+
+    private static <T> T await(Task<T> task) throws Exception {
+        return Tasks.await(task, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void report(String path, int documents, long nanos) {
+        Log.i(TAG, String.format("%s, %d documents: %.0fms, %.0f documents/s",
+                path, documents, nanos / 1e6, documents / (nanos / 1e9)));
+    }
+}
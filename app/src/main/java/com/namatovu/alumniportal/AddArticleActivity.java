@@ -134,7 +134,7 @@ public class AddArticleActivity extends AppCompatActivity {
             .get()
             .addOnSuccessListener(documentSnapshot -> {
                 if (documentSnapshot.exists()) {
-                    com.namatovu.alumniportal.models.User user = documentSnapshot.toObject(com.namatovu.alumniportal.models.User.class);
+                    com.namatovu.alumniportal.models.User user = com.namatovu.alumniportal.models.User.fromDocument(documentSnapshot);
                     String authorName = user != null ? user.getFullName() : "Unknown User";
                     article.setAuthorName(authorName);
                 }
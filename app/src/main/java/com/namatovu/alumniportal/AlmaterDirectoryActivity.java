@@ -234,7 +234,7 @@ public class AlmaterDirectoryActivity extends AppCompatActivity {
                                 continue;
                             }
                             
-                            User user = document.toObject(User.class);
+                            User user = User.fromDocument(document);
                             user.setUserId(userId);
                             
                             // Set default connection status
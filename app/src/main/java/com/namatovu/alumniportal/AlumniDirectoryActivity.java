@@ -13,16 +13,21 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.adapters.AlumniAdapter;
 import com.namatovu.alumniportal.databinding.ActivityAlumniDirectoryBinding;
 import com.namatovu.alumniportal.models.User;
+import com.namatovu.alumniportal.repository.AlumniRepository;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
+import com.namatovu.alumniportal.utils.AlumniSearchIndex;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
+import com.namatovu.alumniportal.utils.FrameDropMonitor;
+import com.namatovu.alumniportal.utils.ThreadManager;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 public class AlumniDirectoryActivity extends AppCompatActivity {
     private static final String TAG = "AlumniDirectoryActivity";
@@ -33,6 +38,14 @@ public class AlumniDirectoryActivity extends AppCompatActivity {
     private AlumniAdapter adapter;
     private List<User> allUsers;
     private List<User> filteredUsers;
+    // Built off the main thread once the directory has loaded; null until ready
+    private AlumniSearchIndex searchIndex;
+    // Frames dropped between opening the screen and showing its first result
+    private FrameDropMonitor loadFrames;
+    // Users the current user has an accepted mentorship with; empty until loaded
+    private Set<String> connectedUserIds = Collections.emptySet();
+    private boolean loaded;
+    private boolean syncing;
     
     private String searchQuery = "";
 
@@ -57,7 +70,8 @@ public class AlumniDirectoryActivity extends AppCompatActivity {
         setupToolbar();
         setupRecyclerView();
         setupSearchAndFilters();
-        loadAlumniData();
+        observeAlumni();
+        loadConnectionStatus();
     }
 
     private void setupToolbar() {
@@ -147,128 +161,97 @@ public class AlumniDirectoryActivity extends AppCompatActivity {
         });
     }
 
-    private void loadAlumniData() {
-        binding.progressBar.setVisibility(View.VISIBLE);
+    private void observeAlumni() {
         binding.noResultsText.setVisibility(View.GONE);
+        binding.progressBar.setVisibility(View.VISIBLE);
+        loadFrames = FrameDropMonitor.start(this, "Alumni directory load");
 
-        // Load ALL users from the database
-        // We'll filter in the app to avoid complex index requirements
-        db.collection("users")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allUsers.clear();
-                    int totalUsers = 0;
-                    int alumniCount = 0;
-                    int visibleCount = 0;
-                    
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        try {
-                            totalUsers++;
-                            String userId = document.getId();
-                            
-                            // Skip current user - don't show them in the directory
-                            if (mAuth.getCurrentUser() != null && userId.equals(mAuth.getCurrentUser().getUid())) {
-                                continue;
-                            }
-                            
-                            User user = document.toObject(User.class);
-                            user.setUserId(userId);
-                            
-                            // Set default connection status
-                            user.setConnectionStatus("not_connected");
-                            user.setConnected(false);
-                            
-                            // Debug logging
-                            Log.d(TAG, "User: " + user.getFullName() + 
-                                  ", isAlumni: " + user.isAlumni() + 
-                                  ", userType: " + user.getUserType() +
-                                  ", showInDirectory: " + user.getPrivacySetting("showInDirectory"));
-                            
-                            // Show ONLY alumni in directory
-                            String userTypeValue = user.getUserType();
-                            
-                            // Only show alumni
-                            if (!"alumni".equalsIgnoreCase(userTypeValue)) {
-                                Log.d(TAG, "Skipping non-alumni user: " + user.getFullName() + " (type: " + userTypeValue + ")");
-                                continue;
-                            }
-                            
-                            // Filter out incomplete profiles - require at least name
-                            String fullName = user.getFullName();
-                            
-                            // Skip if name is null or empty (this is the only required field)
-                            if (fullName == null || fullName.trim().isEmpty()) {
-                                Log.d(TAG, "Skipping profile with no name");
-                                continue; // Skip profiles without names
-                            }
-                            
-                            // Check if user has opted to be visible in directory
-                            // Default to true if privacy settings are not explicitly set to false
-                            boolean isVisible = true;
-                            Map<String, Object> privacySettings = user.getPrivacySettings();
-                            if (privacySettings != null && privacySettings.containsKey("showInDirectory")) {
-                                Object showInDirObj = privacySettings.get("showInDirectory");
-                                if (showInDirObj instanceof Boolean) {
-                                    isVisible = (Boolean) showInDirObj;
-                                }
-                            }
-                            
-                            if ("alumni".equalsIgnoreCase(userTypeValue)) {
-                                alumniCount++;
-                            }
-                            
-                            if (isVisible) {
-                                visibleCount++;
-                                allUsers.add(user);
-                            }
-                        } catch (Exception e) {
-                            Log.w(TAG, "Error parsing user document: " + document.getId(), e);
+        // The users table is kept current by DeltaSync and Room re-emits after every
+        // sync; the query already leaves out the current user, non-alumni, profiles
+        // without a name and users who opted out of the directory
+        String currentUserId = mAuth.getCurrentUser() != null ? mAuth.getCurrentUser().getUid() : "";
+        AlumniRepository.getInstance(this).observeDirectoryUsers(currentUserId).observe(this, users -> {
+            loaded = true;
+            allUsers.clear();
+            allUsers.addAll(users);
+            applyConnectionStatus();
+            showAlumni();
+            buildSearchIndex();
+            loadFrames.stop();
+            Log.d(TAG, "Showing " + allUsers.size() + " alumni");
+        });
+        CollectionSyncWorker.observeSyncing(this).observe(this, running -> {
+            syncing = running;
+            if (loaded) {
+                showAlumni();
+            }
+        });
+    }
+
+    private void showAlumni() {
+        if (allUsers.isEmpty() && syncing) {
+            // Nothing synced yet, keep the spinner until the first sync lands
+            binding.noResultsText.setVisibility(View.GONE);
+            binding.progressBar.setVisibility(View.VISIBLE);
+            return;
+        }
+        binding.progressBar.setVisibility(View.GONE);
+        filterUsers();
+    }
+
+    /**
+     * Build the search index in the background so typing never scans the full list.
+     * On reload the existing index is updated in place instead of rebuilt.
+     */
+    private void buildSearchIndex() {
+        List<User> snapshot = new ArrayList<>(allUsers);
+        AlumniSearchIndex existing = searchIndex;
+        ThreadManager.getInstance().executeAsync(
+                () -> {
+                    if (existing == null) {
+                        return AlumniSearchIndex.build(snapshot);
+                    }
+                    existing.update(snapshot);
+                    return existing;
+                },
+                new ThreadManager.UICallback<AlumniSearchIndex>() {
+                    @Override
+                    public void onSuccess(AlumniSearchIndex index) {
+                        searchIndex = index;
+                        Log.d(TAG, "Search index ready for " + index.size() + " users");
+                        if (!searchQuery.isEmpty()) {
+                            filterUsers();
                         }
                     }
-                    
-                    binding.progressBar.setVisibility(View.GONE);
-                    
-                    // Load connection status for all users
-                    loadConnectionStatus();
-                    
-                    filterUsers();
-                    
-                    String message = "Found " + totalUsers + " total users, " + 
-                                   alumniCount + " alumni, " + 
-                                   visibleCount + " visible in directory";
-                    Log.d(TAG, message);
-                })
-                .addOnFailureListener(e -> {
-                    binding.progressBar.setVisibility(View.GONE);
-                    binding.noResultsText.setVisibility(View.VISIBLE);
-                    binding.noResultsText.setText("Failed to load alumni directory");
-                    
-                    Toast.makeText(this, "Failed to load data: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                    Log.e(TAG, "Error loading alumni data", e);
-                    
-                    AnalyticsHelper.logError("alumni_load_failed", e.getMessage(), "AlumniDirectoryActivity");
+
+                    @Override
+                    public void onError(Exception error) {
+                        Log.w(TAG, "Failed to build search index", error);
+                    }
                 });
     }
 
     private void filterUsers() {
         filteredUsers.clear();
-        String lowerSearchQuery = searchQuery.toLowerCase();
         
         Log.d(TAG, "Filtering with: search='" + searchQuery + "'");
         
-        for (User user : allUsers) {
-            // Enhanced search - includes name, major, job, company, skills, and bio
-            boolean matchesSearch = searchQuery.isEmpty() || 
-                    (user.getFullName() != null && user.getFullName().toLowerCase().contains(lowerSearchQuery)) ||
-                    (user.getMajor() != null && user.getMajor().toLowerCase().contains(lowerSearchQuery)) ||
-                    (user.getCurrentJob() != null && user.getCurrentJob().toLowerCase().contains(lowerSearchQuery)) ||
-                    (user.getCompany() != null && user.getCompany().toLowerCase().contains(lowerSearchQuery)) ||
-                    (user.getBio() != null && user.getBio().toLowerCase().contains(lowerSearchQuery)) ||
-                    (user.getLocation() != null && user.getLocation().toLowerCase().contains(lowerSearchQuery)) ||
-                    (user.getSkillsAsString() != null && user.getSkillsAsString().toLowerCase().contains(lowerSearchQuery));
-            
-            if (matchesSearch) {
-                filteredUsers.add(user);
+        // A query of only punctuation or spaces has no tokens and filters nothing
+        if (AlumniSearchIndex.tokenize(searchQuery).isEmpty()) {
+            filteredUsers.addAll(allUsers);
+        } else if (searchIndex != null) {
+            Set<String> matchingIds = searchIndex.search(searchQuery);
+            for (User user : allUsers) {
+                if (matchingIds.contains(user.getUserId())) {
+                    filteredUsers.add(user);
+                }
+            }
+        } else {
+            // Index still building - fall back to a linear scan with the same token-prefix rule
+            for (User user : allUsers) {
+                if (AlumniSearchIndex.matches(user, searchQuery)) {
+                    filteredUsers.add(user);
+                }
             }
         }
         
@@ -339,34 +322,41 @@ public class AlumniDirectoryActivity extends AppCompatActivity {
                     
                     Log.d(TAG, "Total connected users: " + connectedUserIds.size());
                     
-                    // Update connection status for all users
-                    for (User user : allUsers) {
-                        if (connectedUserIds.contains(user.getUserId())) {
-                            user.setConnected(true);
-                            user.setConnectionStatus("connected");
-                            Log.d(TAG, "Marked as connected: " + user.getFullName());
-                        } else {
-                            user.setConnected(false);
-                            user.setConnectionStatus("not_connected");
-                        }
-                    }
-                    
-                    Log.d(TAG, "Loaded connection status for " + connectedUserIds.size() + " connected users");
+                    // Kept for the directory rows Room emits later
+                    this.connectedUserIds = connectedUserIds;
+                    applyConnectionStatus();
                     
                     // Refresh the adapter to show updated connection status
-                    filterUsers();
+                    if (loaded) {
+                        showAlumni();
+                    }
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error loading connection status", e);
                 });
     }
 
+    // Connection status is not synced; it is looked up when the screen opens
+    private void applyConnectionStatus() {
+        for (User user : allUsers) {
+            boolean connected = connectedUserIds.contains(user.getUserId());
+            user.setConnected(connected);
+            user.setConnectionStatus(connected ? "connected" : "not_connected");
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (loadFrames != null) {
+            loadFrames.stop();
+        }
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
-        // Only reload if we don't have data yet
-        if (allUsers.isEmpty()) {
-            loadAlumniData();
-        }
+        // Revalidate when returning to this activity; dropped if a sync is already queued
+        CollectionSyncWorker.requestSync(this);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.namatovu.alumniportal;
 
 import android.app.Application;
+import com.namatovu.alumniportal.services.CacheCompactionWorker;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
+import com.namatovu.alumniportal.services.SearchKeywordBackfillWorker;
 import com.namatovu.alumniportal.utils.ErrorHandler;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
 import com.namatovu.alumniportal.utils.ThemeManager;
@@ -30,6 +33,15 @@ public class AlumniPortalApplication extends Application {
         // Initialize notification helper
         com.namatovu.alumniportal.utils.NotificationHelper.initialize(this);
         
+        // Add search keywords to documents written before they existed (runs once)
+        SearchKeywordBackfillWorker.enqueueIfNeeded(this);
+        
+        // Keep the local cache within its size budget (daily, while idle)
+        CacheCompactionWorker.schedule(this);
+        
+        // Refresh the cache twice a day; sign-in, boot and reconnects request syncs in between
+        CollectionSyncWorker.schedulePeriodic(this);
+        
         // Check for unsaved data from previous crashes
         ErrorHandler errorHandler = ErrorHandler.getInstance(this);
         if (errorHandler.hasUnsavedData()) {
@@ -191,7 +191,7 @@ public class ChatActivity extends AppCompatActivity {
                         querySnapshot.getDocumentChanges().forEach(change -> {
                             if (change.getType().toString().equals("ADDED")) {
                                 try {
-                                    ChatMessage newMessage = change.getDocument().toObject(ChatMessage.class);
+                                    ChatMessage newMessage = ChatMessage.fromDocument(change.getDocument());
                                     if (newMessage != null && !newMessage.getSenderId().equals(currentUserId)) {
                                         // New incoming message from other user
                                         Log.d(TAG, "New incoming message: " + newMessage.getMessageText());
@@ -214,7 +214,7 @@ public class ChatActivity extends AppCompatActivity {
                         messages.clear();
                         for (com.google.firebase.firestore.DocumentSnapshot messageDoc : querySnapshot.getDocuments()) {
                             try {
-                                ChatMessage message = messageDoc.toObject(ChatMessage.class);
+                                ChatMessage message = ChatMessage.fromDocument(messageDoc);
                                 if (message != null) {
                                     messages.add(message);
                                     Log.d(TAG, "Message loaded: " + message.getMessageText());
@@ -241,7 +241,7 @@ public class ChatActivity extends AppCompatActivity {
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        User currentUser = documentSnapshot.toObject(User.class);
+                        User currentUser = User.fromDocument(documentSnapshot);
                         if (currentUser != null) {
                             adapter.setCurrentUserName(currentUser.getFullName());
                         }
@@ -257,7 +257,7 @@ public class ChatActivity extends AppCompatActivity {
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        User user = documentSnapshot.toObject(User.class);
+                        User user = User.fromDocument(documentSnapshot);
                         if (user != null && user.getFullName() != null) {
                             callback.onNameLoaded(user.getFullName());
                         } else {
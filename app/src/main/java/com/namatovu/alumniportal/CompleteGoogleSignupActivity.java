@@ -9,6 +9,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.namatovu.alumniportal.utils.SearchKeywords;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -180,6 +181,8 @@ public class CompleteGoogleSignupActivity extends AppCompatActivity {
                                                     android.util.Log.d("CompleteGoogleSignup", "FCM token obtained: " + fcmToken);
                                                 }
                                                 
+                                                user.put(SearchKeywords.FIELD, SearchKeywords.forUserFields(user));
+                                                
                                                 db.collection("users").document(userId)
                                                         .set(user)
                                                         .addOnSuccessListener(aVoid2 -> {
@@ -25,11 +25,14 @@ import com.namatovu.alumniportal.utils.PermissionHelper;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
 import com.namatovu.alumniportal.utils.SecurityHelper;
 import com.namatovu.alumniportal.utils.CloudinaryHelper;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager;
+import com.namatovu.alumniportal.utils.SearchKeywords;
 import com.namatovu.alumniportal.models.User;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.namatovu.alumniportal.databinding.ActivityEditProfileBinding;
@@ -50,6 +53,8 @@ public class EditProfileActivity extends AppCompatActivity {
     private FirebaseFirestore db;
 
     private Uri selectedImageUri;
+    // Profile as loaded, for fields this screen does not edit (major, company, location)
+    private User loadedProfile;
 
     private ActivityResultLauncher<String> pickImageLauncher;
     private ActivityResultLauncher<String> requestPermissionLauncher;
@@ -216,7 +221,7 @@ public class EditProfileActivity extends AppCompatActivity {
                 DocumentSnapshot doc = task.getResult();
                 if (doc != null && doc.exists()) {
                     try {
-                        User u = doc.toObject(User.class);
+                        User u = User.fromDocument(doc);
                         if (u != null) populateFields(u);
                     } catch (RuntimeException e) {
                         Log.e(TAG, "Failed to deserialize user", e);
@@ -227,6 +232,7 @@ public class EditProfileActivity extends AppCompatActivity {
     }
 
     private void populateFields(@NonNull User u) {
+        loadedProfile = u;
         binding.nameEditText.setText(u.getFullName());
         binding.bioEditText.setText(u.getBio());
         binding.careerEditText.setText(u.getCurrentJob());
@@ -359,6 +365,13 @@ public class EditProfileActivity extends AppCompatActivity {
         updates.put("currency", currency);
         updates.put("skills", skills);
         updates.put("updatedAt", System.currentTimeMillis());
+        // Major, company and location are not on this form; without the loaded profile the
+        // keywords are rebuilt from the saved document once the update lands
+        boolean keywordsFromForm = loadedProfile != null;
+        if (keywordsFromForm) {
+            updates.put(SearchKeywords.FIELD, SearchKeywords.forUser(name, loadedProfile.getMajor(), career,
+                    loadedProfile.getCompany(), loadedProfile.getLocation(), skills));
+        }
         
         if (imageUrl != null) {
             Log.d(TAG, "Saving image URL to Firestore: " + imageUrl);
@@ -370,8 +383,12 @@ public class EditProfileActivity extends AppCompatActivity {
         db.collection("users").document(uid).update(updates).addOnCompleteListener(task -> {
             binding.saveButton.setEnabled(true);
             if (task.isSuccessful()) {
+                if (!keywordsFromForm) {
+                    refreshSearchKeywords(uid);
+                }
                 String editType = selectedImageUri != null ? "with_photo" : "without_photo";
                 AnalyticsHelper.logProfileEdit(editType);
+                SearchAndFilterManager.getInstance(this).invalidateAlumniSearches();
                 
                 Toast.makeText(EditProfileActivity.this, "Profile updated successfully!", Toast.LENGTH_SHORT).show();
                 
@@ -388,4 +405,13 @@ public class EditProfileActivity extends AppCompatActivity {
             }
         });
     }
+
+    private void refreshSearchKeywords(String uid) {
+        DocumentReference profile = db.collection("users").document(uid);
+        profile.get().addOnSuccessListener(document -> {
+            if (document.exists()) {
+                profile.update(SearchKeywords.FIELD, SearchKeywords.forUserFields(document.getData()));
+            }
+        }).addOnFailureListener(e -> Log.w(TAG, "Could not rebuild search keywords", e));
+    }
 }
\ No newline at end of file
@@ -136,7 +136,7 @@ public class EmailService {
                 .get()
                 .addOnSuccessListener(userDoc -> {
                     if (userDoc.exists()) {
-                        User recipient = userDoc.toObject(User.class);
+                        User recipient = User.fromDocument(userDoc);
                         if (recipient != null && recipient.getEmail() != null) {
                             // Create notification data
                             Map<String, Object> notificationData = createNotificationData(recipient, userName, otherUserName, connectionId, notificationType);
@@ -308,7 +308,7 @@ public class EmailService {
                 .get()
                 .addOnSuccessListener(userDoc -> {
                     if (userDoc.exists()) {
-                        User recipient = userDoc.toObject(User.class);
+                        User recipient = User.fromDocument(userDoc);
                         if (recipient != null) {
                             Map<String, Object> notificationData = createNotificationData(recipient, userName, otherUserName, connectionId, notificationType);
                             storeNotificationInMentorship(connectionId, notificationData);
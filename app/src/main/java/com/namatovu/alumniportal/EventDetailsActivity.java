@@ -12,6 +12,7 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.namatovu.alumniportal.databinding.ActivityEventDetailsBinding;
 import com.namatovu.alumniportal.models.AlumniEvent;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -63,7 +64,7 @@ public class EventDetailsActivity extends AppCompatActivity {
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
-                        event = documentSnapshot.toObject(AlumniEvent.class);
+                        event = AlumniEvent.fromDocument(documentSnapshot);
                         if (event != null) {
                             event.setEventId(documentSnapshot.getId());
                             displayEventDetails();
@@ -154,6 +155,7 @@ public class EventDetailsActivity extends AppCompatActivity {
                     Toast.makeText(this, "Successfully registered!", Toast.LENGTH_SHORT).show();
                     event.setAttendeeIds(finalAttendeeIds);
                     event.incrementAttendees();
+                    SearchAndFilterManager.getInstance(this).invalidateEventSearches();
                     updateRegisterButton();
                     binding.textAttendees.setText(event.getAttendanceText());
                 })
@@ -13,13 +13,14 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.google.android.material.tabs.TabLayout;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.adapters.EventsAdapter;
+import com.namatovu.alumniportal.database.MutationOutbox;
 import com.namatovu.alumniportal.databinding.ActivityEventsBinding;
 import com.namatovu.alumniportal.models.AlumniEvent;
+import com.namatovu.alumniportal.repository.AlumniRepository;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager;
 
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -29,7 +30,6 @@ public class EventsActivity extends AppCompatActivity {
     private static final String TAG = "EventsActivity";
     
     private ActivityEventsBinding binding;
-    private FirebaseFirestore db;
     private FirebaseAuth mAuth;
     private EventsAdapter adapter;
     private List<AlumniEvent> allEvents;
@@ -37,6 +37,8 @@ public class EventsActivity extends AppCompatActivity {
     private String currentTab = "upcoming"; // "upcoming", "past", "my_events"
     private String searchQuery = "";
     private String currentUserId;
+    private boolean loaded;
+    private boolean syncing;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -45,7 +47,6 @@ public class EventsActivity extends AppCompatActivity {
         setContentView(binding.getRoot());
 
         // Initialize Firebase
-        db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
         currentUserId = mAuth.getCurrentUser() != null ? mAuth.getCurrentUser().getUid() : "";
         
@@ -62,7 +63,7 @@ public class EventsActivity extends AppCompatActivity {
         setupSearch();
         setupRecyclerView();
         setupFAB();
-        loadEvents();
+        observeEvents();
     }
 
     private void setupToolbar() {
@@ -87,7 +88,7 @@ public class EventsActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        adapter = new EventsAdapter(filteredEvents, currentUserId, new EventsAdapter.OnEventActionListener() {
+        adapter = new EventsAdapter(currentUserId, new EventsAdapter.OnEventActionListener() {
             @Override
             public void onEventClick(AlumniEvent event) {
                 Intent intent = new Intent(EventsActivity.this, EventDetailsActivity.class);
@@ -120,38 +121,36 @@ public class EventsActivity extends AppCompatActivity {
         // For now, events can be created through other UI flows
     }
 
-    private void loadEvents() {
-        binding.progressBar.setVisibility(View.VISIBLE);
+    private void observeEvents() {
         binding.emptyTextView.setVisibility(View.GONE);
-
-        db.collection("events")
-                .whereEqualTo("isPublic", true)
-                .orderBy("startDateTime", Query.Direction.ASCENDING)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
+        binding.progressBar.setVisibility(View.VISIBLE);
+        // The events table is kept current by DeltaSync; Room re-emits after every
+        // sync or RSVP and the adapter diffs each emission, so only changed rows rebind
+        AlumniRepository.getInstance(this).observePublicEvents(currentUserId)
+                .observe(this, events -> {
+                    loaded = true;
                     allEvents.clear();
-                    
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        AlumniEvent event = document.toObject(AlumniEvent.class);
-                        event.setEventId(document.getId());
-                        allEvents.add(event);
-                    }
-                    
-                    binding.progressBar.setVisibility(View.GONE);
-                    filterEvents();
-                    
-                    Log.d(TAG, "Loaded " + allEvents.size() + " events");
-                })
-                .addOnFailureListener(e -> {
-                    binding.progressBar.setVisibility(View.GONE);
-                    binding.emptyTextView.setVisibility(View.VISIBLE);
-                    binding.emptyTextView.setText("Failed to load events");
-                    
-                    Toast.makeText(this, "Failed to load events", Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Error loading events", e);
-                    
-                    AnalyticsHelper.logError("events_load_failed", e.getMessage(), "EventsActivity");
+                    allEvents.addAll(events);
+                    showEvents();
+                    Log.d(TAG, "Showing " + allEvents.size() + " events");
                 });
+        CollectionSyncWorker.observeSyncing(this).observe(this, running -> {
+            syncing = running;
+            if (loaded) {
+                showEvents();
+            }
+        });
+    }
+
+    private void showEvents() {
+        if (allEvents.isEmpty() && syncing) {
+            // Nothing synced yet, keep the spinner until the first sync lands
+            binding.emptyTextView.setVisibility(View.GONE);
+            binding.progressBar.setVisibility(View.VISIBLE);
+            return;
+        }
+        binding.progressBar.setVisibility(View.GONE);
+        filterEvents();
     }
 
     private void filterEvents() {
@@ -193,7 +192,7 @@ public class EventsActivity extends AppCompatActivity {
             }
         });
         
-        adapter.notifyDataSetChanged();
+        adapter.setEvents(filteredEvents);
         
         // Show/hide no events message
         if (filteredEvents.isEmpty()) {
@@ -245,29 +244,21 @@ public class EventsActivity extends AppCompatActivity {
             return;
         }
         
-        // Add user to attendees list
-        List<String> attendeeIds = event.getAttendeeIds();
-        if (attendeeIds == null) {
-            attendeeIds = new ArrayList<>();
-        }
-        attendeeIds.add(currentUserId);
-        final List<String> finalAttendeeIds = attendeeIds;
+        // The shown event changes when its row does
+        AlumniRepository.getInstance(this).updateEventAttendance(event.getEventId(), true,
+                event.getCurrentAttendees() + 1);
+        SearchAndFilterManager.getInstance(this).invalidateEventSearches();
         
-        db.collection("events").document(event.getEventId())
-                .update("attendeeIds", finalAttendeeIds, "currentAttendees", event.getCurrentAttendees() + 1)
-                .addOnSuccessListener(aVoid -> {
-                    event.setAttendeeIds(finalAttendeeIds);
-                    event.incrementAttendees();
-                    adapter.notifyDataSetChanged();
-                    Toast.makeText(this, "Successfully registered for event!", Toast.LENGTH_SHORT).show();
-                    
-                    // Log analytics
-                    AnalyticsHelper.logNavigation("event_registration", event.getTitle());
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(this, "Failed to register for event", Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Failed to register for event", e);
-                });
+        // Sent by the outbox once online; a repeated tap replaces the pending RSVP
+        String eventPath = "events/" + event.getEventId();
+        MutationOutbox.getInstance(this).enqueue(MutationOutbox.Write.update(eventPath)
+                .arrayUnion("attendeeIds", currentUserId)
+                .increment("currentAttendees", 1)
+                .mergeKey("rsvp:" + eventPath + "/" + currentUserId, MutationOutbox.Merge.REPLACE));
+        Toast.makeText(this, "Successfully registered for event!", Toast.LENGTH_SHORT).show();
+        
+        // Log analytics
+        AnalyticsHelper.logNavigation("event_registration", event.getTitle());
     }
 
     private void shareEvent(AlumniEvent event) {
@@ -303,7 +294,7 @@ public class EventsActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh data when returning to this activity
-        loadEvents();
+        // Revalidate when returning to this activity; dropped if a sync is already queued
+        CollectionSyncWorker.requestSync(this);
     }
 }
\ No newline at end of file
@@ -517,12 +517,10 @@ public class HomeActivity extends AppCompatActivity {
             if (task.isSuccessful()) {
                 DocumentSnapshot document = task.getResult();
                 if (document != null && document.exists()) {
-                    // --- THE DEFINITIVE CRASH FIX ---
-                    // The toObject() call can throw a RuntimeException if the data in Firestore
-                    // does not perfectly match the User.java class (e.g., a String in the DB where
-                    // a List is expected in the code). This try-catch block prevents that crash.
+                    // fromDocument() keeps the default for a field of the wrong type (e.g. a String
+                    // in the DB where a List is expected), so this catch only guards the UI update.
                     try {
-                        User user = document.toObject(User.class);
+                        User user = User.fromDocument(document);
                         if (user != null) {
                             updateUiWithUser(user);
                         }
@@ -718,10 +716,6 @@ public class HomeActivity extends AppCompatActivity {
         // Background services disabled for performance optimization
         // Uncomment below if needed for specific features
         
-        // Start data sync service (demonstrates Service component)
-        // Intent syncIntent = new Intent(this, com.namatovu.alumniportal.services.DataSyncBackgroundService.class);
-        // startService(syncIntent);
-        
         // Start web scraping service (demonstrates advanced feature)
         // Intent scrapingIntent = new Intent(this, com.namatovu.alumniportal.services.WebScrapingService.class);
         // startService(scrapingIntent);
@@ -6,32 +6,61 @@ import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
 import android.view.View;
+import android.widget.ArrayAdapter;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.paging.CombinedLoadStates;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.adapters.JobPostingAdapter;
+import com.namatovu.alumniportal.database.MutationOutbox;
+import com.namatovu.alumniportal.database.dao.JobPostingDao.JobFacetRow;
 import com.namatovu.alumniportal.databinding.ActivityJobBoardBinding;
 import com.namatovu.alumniportal.models.JobPosting;
+import com.namatovu.alumniportal.repository.AlumniRepository;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
+import com.namatovu.alumniportal.utils.FacetIndex;
+import com.namatovu.alumniportal.utils.SearchFacets;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import kotlin.Unit;
 
 public class JobBoardActivity extends AppCompatActivity {
     private static final String TAG = "JobBoardActivity";
+    // The values PostJobActivity offers
+    private static final List<String> JOB_TYPES = Arrays.asList(
+            "All", "Full-time", "Part-time", "Contract", "Internship", "Freelance");
+    private static final List<String> EXPERIENCE_LEVELS = Arrays.asList(
+            "All", "Entry Level", "Mid Level", "Senior Level", "Executive");
     
     private ActivityJobBoardBinding binding;
-    private FirebaseFirestore db;
     private FirebaseAuth mAuth;
     private JobPostingAdapter adapter;
-    private List<JobPosting> allJobs;
-    private List<JobPosting> filteredJobs;
+    // The latest page from Room, before the search and spinner filters
+    private PagingData<JobPosting> allJobs;
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor();
+    // Built over every cached posting, so the spinner counts cover the whole board
+    private FacetIndex<JobFacetRow> facetIndex;
+    // IDs of the postings matching the spinners, or null while neither is set
+    private Set<String> facetMatches;
+    private ArrayAdapter<String> jobTypeAdapter;
+    private ArrayAdapter<String> experienceAdapter;
     
     private String selectedJobType = "All";
     private String selectedExperienceLevel = "All";
@@ -44,17 +73,12 @@ public class JobBoardActivity extends AppCompatActivity {
         setContentView(binding.getRoot());
 
         // Initialize Firebase
-        db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
         
         // Initialize Analytics
         AnalyticsHelper.initialize(this);
         AnalyticsHelper.logNavigation("JobBoardActivity", "HomeActivity");
 
-        // Initialize lists
-        allJobs = new ArrayList<>();
-        filteredJobs = new ArrayList<>();
-
         setupRecyclerView();
         setupSearchAndFilters();
         setupFAB();
@@ -62,7 +86,7 @@ public class JobBoardActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        adapter = new JobPostingAdapter(filteredJobs, new JobPostingAdapter.OnJobClickListener() {
+        adapter = new JobPostingAdapter(new JobPostingAdapter.OnJobClickListener() {
             @Override
             public void onJobClick(JobPosting job) {
                 // Open job details
@@ -97,6 +121,10 @@ public class JobBoardActivity extends AppCompatActivity {
         
         binding.jobsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         binding.jobsRecyclerView.setAdapter(adapter);
+        adapter.addLoadStateListener(loadStates -> {
+            showLoadState(loadStates);
+            return Unit.INSTANCE;
+        });
     }
 
     private void setupSearchAndFilters() {
@@ -115,12 +143,18 @@ public class JobBoardActivity extends AppCompatActivity {
             public void afterTextChanged(Editable s) {}
         });
 
-        // Job type filter
+        // Job type filter; labels carry counts, so the value comes from the list
+        jobTypeAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, new ArrayList<>(JOB_TYPES));
+        jobTypeAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        binding.jobTypeFilterSpinner.setAdapter(jobTypeAdapter);
         binding.jobTypeFilterSpinner.setOnItemSelectedListener(new android.widget.AdapterView.OnItemSelectedListener() {
             @Override
             public void onItemSelected(android.widget.AdapterView<?> parent, View view, int position, long id) {
-                selectedJobType = parent.getItemAtPosition(position).toString();
-                filterJobs();
+                String jobType = JOB_TYPES.get(position);
+                if (!jobType.equals(selectedJobType)) {
+                    selectedJobType = jobType;
+                    filterJobs();
+                }
             }
 
             @Override
@@ -128,11 +162,18 @@ public class JobBoardActivity extends AppCompatActivity {
         });
 
         // Experience level filter
+        experienceAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item,
+                new ArrayList<>(EXPERIENCE_LEVELS));
+        experienceAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        binding.experienceFilterSpinner.setAdapter(experienceAdapter);
         binding.experienceFilterSpinner.setOnItemSelectedListener(new android.widget.AdapterView.OnItemSelectedListener() {
             @Override
             public void onItemSelected(android.widget.AdapterView<?> parent, View view, int position, long id) {
-                selectedExperienceLevel = parent.getItemAtPosition(position).toString();
-                filterJobs();
+                String experienceLevel = EXPERIENCE_LEVELS.get(position);
+                if (!experienceLevel.equals(selectedExperienceLevel)) {
+                    selectedExperienceLevel = experienceLevel;
+                    filterJobs();
+                }
             }
 
             @Override
@@ -162,113 +203,159 @@ public class JobBoardActivity extends AppCompatActivity {
         binding.progressBar.setVisibility(View.VISIBLE);
         binding.noResultsText.setVisibility(View.GONE);
 
-        // Simplified query - remove orderBy to avoid index issues
-        db.collection("job_postings")
-                .limit(50) // Limit to prevent large data loads
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allJobs.clear();
-                    
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        try {
-                            JobPosting job = document.toObject(JobPosting.class);
-                            job.setJobId(document.getId());
-                            
-                            // Check if job has expired
-                            if (job.isExpired()) {
-                                Log.d(TAG, "Job expired, deleting: " + job.getTitle());
-                                // Auto-delete expired job
-                                db.collection("job_postings").document(document.getId()).delete()
-                                    .addOnSuccessListener(aVoid -> Log.d(TAG, "Deleted expired job: " + job.getTitle()))
-                                    .addOnFailureListener(e -> Log.e(TAG, "Failed to delete expired job", e));
-                                continue; // Skip adding to list
-                            }
-                            
-                            // Add all jobs for now, filter out invalid ones in the adapter
-                            allJobs.add(job);
-                        } catch (Exception e) {
-                            Log.w(TAG, "Error parsing job document: " + document.getId(), e);
-                        }
-                    }
-                    
-                    binding.progressBar.setVisibility(View.GONE);
+        // Postings are paged from Room; Firestore only fills what the cache is missing
+        AlumniRepository repository = AlumniRepository.getInstance(this);
+        PagingLiveData.cachedIn(repository.getPagedJobPostings(), getLifecycle())
+                .observe(this, jobs -> {
+                    allJobs = jobs;
                     filterJobs();
-                    
-                    Log.d(TAG, "Loaded " + allJobs.size() + " job postings");
-                    
-                    // Show message if no jobs found
-                    if (allJobs.isEmpty()) {
-                        binding.noResultsText.setVisibility(View.VISIBLE);
-                        binding.noResultsText.setText("No job postings available. Check back soon!");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    binding.progressBar.setVisibility(View.GONE);
-                    binding.noResultsText.setVisibility(View.VISIBLE);
-                    binding.noResultsText.setText("Failed to load job postings");
-                    
-                    Toast.makeText(this, "Failed to load jobs: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                    Log.e(TAG, "Error loading job postings", e);
-                    
-                    AnalyticsHelper.logError("jobs_load_failed", e.getMessage(), "JobBoardActivity");
                 });
+
+        // The facet index is rebuilt off the main thread whenever the cached postings change
+        repository.observeJobFacetRows().observe(this, rows -> filterExecutor.execute(() -> {
+            FacetIndex<JobFacetRow> index = SearchFacets.forJobs(rows);
+            runOnUiThread(() -> {
+                facetIndex = index;
+                filterJobs();
+            });
+        }));
     }
 
     private void filterJobs() {
-        filteredJobs.clear();
-        
-        for (JobPosting job : allJobs) {
-            boolean matchesSearch = searchQuery.isEmpty() || 
-                    (job.getTitle() != null && job.getTitle().toLowerCase().contains(searchQuery.toLowerCase())) ||
-                    (job.getCompany() != null && job.getCompany().toLowerCase().contains(searchQuery.toLowerCase())) ||
-                    (job.getDescription() != null && job.getDescription().toLowerCase().contains(searchQuery.toLowerCase())) ||
-                    (job.getLocation() != null && job.getLocation().toLowerCase().contains(searchQuery.toLowerCase()));
-            
-            boolean matchesJobType = selectedJobType.equals("All") || 
-                    (job.getJobType() != null && job.getJobType().equalsIgnoreCase(selectedJobType));
-            
-            boolean matchesExperience = selectedExperienceLevel.equals("All") || 
-                    (job.getExperienceLevel() != null && job.getExperienceLevel().equalsIgnoreCase(selectedExperienceLevel));
-            
-            if (matchesSearch && matchesJobType && matchesExperience) {
-                filteredJobs.add(job);
+        updateFacets();
+        if (allJobs == null) {
+            return;
+        }
+        if (!hasFilters()) {
+            adapter.submitData(getLifecycle(), allJobs);
+            return;
+        }
+        // Each page is filtered as it loads, so filters never force the whole board to load
+        Set<String> matches = facetMatches;
+        String jobType = selectedJobType;
+        String experienceLevel = selectedExperienceLevel;
+        String lowerQuery = searchQuery.toLowerCase();
+        adapter.submitData(getLifecycle(), PagingDataTransforms.filter(allJobs, filterExecutor,
+                job -> (matches != null ? matches.contains(job.getJobId())
+                        : matchesFilters(job, jobType, experienceLevel))
+                        && matchesSearch(job, lowerQuery)));
+    }
+
+    // Resolves the spinners through the facet index and puts each value's count in its label
+    private void updateFacets() {
+        FacetIndex<JobFacetRow> index = facetIndex;
+        if (index == null) {
+            facetMatches = null;
+            return;
+        }
+        Map<String, List<String>> selections = new HashMap<>();
+        if (!selectedJobType.equals("All")) {
+            selections.put(SearchFacets.JOB_TYPE, Collections.singletonList(selectedJobType));
+        }
+        if (!selectedExperienceLevel.equals("All")) {
+            selections.put(SearchFacets.EXPERIENCE, Collections.singletonList(selectedExperienceLevel));
+        }
+
+        if (selections.isEmpty()) {
+            facetMatches = null;
+        } else {
+            Set<String> matches = new HashSet<>();
+            for (JobFacetRow row : index.filter(selections)) {
+                matches.add(row.jobId);
             }
+            facetMatches = matches;
         }
-        
-        adapter.notifyDataSetChanged();
-        
-        // Show/hide no results message
-        if (filteredJobs.isEmpty() && !allJobs.isEmpty()) {
+        setCountLabels(jobTypeAdapter, JOB_TYPES, index.counts(SearchFacets.JOB_TYPE, selections));
+        setCountLabels(experienceAdapter, EXPERIENCE_LEVELS, index.counts(SearchFacets.EXPERIENCE, selections));
+        showResultCount();
+    }
+
+    private static void setCountLabels(ArrayAdapter<String> spinnerAdapter, List<String> values,
+                                       Map<String, Integer> counts) {
+        List<String> labels = new ArrayList<>(values.size());
+        for (String value : values) {
+            Integer count = counts.get(value);
+            labels.add(value.equals("All") ? value : value + " (" + (count != null ? count : 0) + ")");
+        }
+        spinnerAdapter.clear();
+        spinnerAdapter.addAll(labels);
+    }
+
+    private boolean hasFilters() {
+        return !searchQuery.isEmpty() || !selectedJobType.equals("All") || !selectedExperienceLevel.equals("All");
+    }
+
+    // Used until the facet index has been built
+    private static boolean matchesFilters(JobPosting job, String jobType, String experienceLevel) {
+        return (jobType.equals("All") || jobType.equals(job.getJobType()))
+                && (experienceLevel.equals("All") || experienceLevel.equals(job.getExperienceLevel()));
+    }
+
+    private static boolean matchesSearch(JobPosting job, String lowerQuery) {
+        return lowerQuery.isEmpty() ||
+                (job.getTitle() != null && job.getTitle().toLowerCase().contains(lowerQuery)) ||
+                (job.getCompany() != null && job.getCompany().toLowerCase().contains(lowerQuery)) ||
+                (job.getDescription() != null && job.getDescription().toLowerCase().contains(lowerQuery)) ||
+                (job.getLocation() != null && job.getLocation().toLowerCase().contains(lowerQuery));
+    }
+
+    private void showLoadState(CombinedLoadStates loadStates) {
+        LoadState refresh = loadStates.getRefresh();
+        boolean loading = refresh instanceof LoadState.Loading;
+        binding.progressBar.setVisibility(loading && adapter.getItemCount() == 0 ? View.VISIBLE : View.GONE);
+
+        if (refresh instanceof LoadState.Error && adapter.getItemCount() == 0) {
+            Throwable e = ((LoadState.Error) refresh).getError();
             binding.noResultsText.setVisibility(View.VISIBLE);
-            binding.noResultsText.setText("No jobs match your search criteria");
-        } else if (allJobs.isEmpty()) {
+            binding.noResultsText.setText("Failed to load job postings");
+            Log.e(TAG, "Error loading job postings", e);
+            AnalyticsHelper.logError("jobs_load_failed", e.getMessage(), "JobBoardActivity");
+        } else if (!loading && adapter.getItemCount() == 0) {
+            // Show message if no jobs found
             binding.noResultsText.setVisibility(View.VISIBLE);
-            binding.noResultsText.setText("No job postings available");
+            binding.noResultsText.setText(hasFilters()
+                    ? "No jobs match your search criteria"
+                    : "No job postings available. Check back soon!");
         } else {
             binding.noResultsText.setVisibility(View.GONE);
         }
-        
-        binding.resultCountText.setText(filteredJobs.size() + " jobs found");
+
+        showResultCount();
+    }
+
+    // The facet index counts the whole board; a text search can only count the postings loaded so far
+    private void showResultCount() {
+        int found;
+        if (searchQuery.isEmpty() && facetIndex != null) {
+            found = facetMatches != null ? facetMatches.size() : facetIndex.size();
+        } else {
+            found = adapter.getItemCount();
+        }
+        binding.resultCountText.setText(found + " jobs found");
     }
 
     private void incrementApplicationCount(JobPosting job) {
         if (job.getJobId() != null) {
-            db.collection("job_postings").document(job.getJobId())
-                    .update("applicationCount", job.getApplicationCount() + 1)
-                    .addOnSuccessListener(aVoid -> {
-                        job.incrementApplicationCount();
-                        Log.d(TAG, "Application count incremented for job: " + job.getTitle());
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to increment application count", e);
-                    });
+            // The cached posting has no count, so the server adds to its own
+            String jobPath = "job_postings/" + job.getJobId();
+            MutationOutbox.getInstance(this).enqueue(MutationOutbox.Write.update(jobPath)
+                    .increment("applicationCount", 1)
+                    .mergeKey("applications:" + jobPath, MutationOutbox.Merge.COMBINE));
         }
     }
 
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh data when returning to this activity
-        loadJobPostings();
+        // Refresh data when returning to this activity, e.g. after posting a job
+        if (allJobs != null) {
+            adapter.refresh();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        filterExecutor.shutdown();
     }
 }
\ No newline at end of file
@@ -78,7 +78,7 @@ public class JobDetailsActivity extends AppCompatActivity {
                 binding.progressBar.setVisibility(View.GONE);
                 
                 if (documentSnapshot.exists()) {
-                    currentJob = documentSnapshot.toObject(JobPosting.class);
+                    currentJob = JobPosting.fromDocument(documentSnapshot);
                     if (currentJob != null) {
                         currentJob.setJobId(documentSnapshot.getId());
                         displayJobDetails();
@@ -21,17 +21,17 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.adapters.OpportunityAdapter;
 import com.namatovu.alumniportal.adapters.FeaturedOpportunityAdapter;
 import com.namatovu.alumniportal.models.Opportunity;
+import com.namatovu.alumniportal.repository.AlumniRepository;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
+import com.namatovu.alumniportal.utils.FrameDropMonitor;
 
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -54,28 +54,25 @@ public class JobsActivity extends AppCompatActivity implements
     private View emptyStateLayout;
     private TextView tvResultsCount;
     private MaterialButton btnClearFilters;
+    // Frames dropped between opening the screen and showing its first result
+    private FrameDropMonitor loadFrames;
     
     private List<Opportunity> allOpportunities;
     private List<Opportunity> featuredOpportunities;
     private String currentCategory = "All";
     private String currentSortOption = "Date";
-    
-    private FirebaseFirestore db;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_jobs);
 
-        // Initialize Firebase
-        db = FirebaseFirestore.getInstance();
-        
         initializeViews();
         setupToolbar();
         setupRecyclerViews();
         setupSearchAndFilters();
         setupFab();
-        loadOpportunitiesFromFirestore();
+        observeOpportunities();
         
         updateEmptyState();
     }
@@ -246,7 +243,7 @@ public class JobsActivity extends AppCompatActivity implements
                 // Long press to force reload (for debugging)
                 fabAddOpportunity.setOnLongClickListener(v -> {
                     Toast.makeText(this, "Reloading opportunities...", Toast.LENGTH_SHORT).show();
-                    loadOpportunitiesFromFirestore();
+                    CollectionSyncWorker.requestSync(this);
                     return true;
                 });
             }
@@ -394,111 +391,32 @@ public class JobsActivity extends AppCompatActivity implements
         }
     }
 
-    private void loadOpportunitiesFromFirestore() {
-        Log.d(TAG, "Loading opportunities from Firestore");
-        
-        db.collection("job_opportunities")
-            .get()
-            .addOnSuccessListener(queryDocumentSnapshots -> {
-                allOpportunities.clear();
-                featuredOpportunities.clear();
-                
-                Log.d(TAG, "Firestore query returned " + queryDocumentSnapshots.size() + " documents");
-                
-                for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                    try {
-                        Log.d(TAG, "Processing document: " + document.getId());
-                        Log.d(TAG, "Document data: " + document.getData().toString());
-                        
-                        String title = document.getString("title");
-                        String company = document.getString("company");
-                        String category = document.getString("category");
-                        String description = document.getString("description");
-                        Date deadline = document.getDate("applicationDeadline");
-                        
-                        Log.d(TAG, "Parsed fields - Title: " + title + ", Company: " + company + 
-                              ", Category: " + category + ", Deadline: " + deadline);
-                        
-                        // Check if deadline has passed
-                        if (deadline != null && deadline.getTime() < System.currentTimeMillis()) {
-                            Log.d(TAG, "Opportunity expired, deleting: " + title);
-                            // Auto-delete expired opportunity
-                            db.collection("job_opportunities").document(document.getId()).delete()
-                                .addOnSuccessListener(aVoid -> Log.d(TAG, "Deleted expired opportunity: " + title))
-                                .addOnFailureListener(e -> Log.e(TAG, "Failed to delete expired opportunity", e));
-                            continue; // Skip adding to list
-                        }
-                        
-                        if (title != null && company != null && category != null && description != null && deadline != null) {
-                            Opportunity opp = new Opportunity(title, company, category, description, deadline);
-                            opp.setId(document.getId());
-                            
-                            // Set optional fields
-                            String location = document.getString("location");
-                            if (location != null && !location.isEmpty()) opp.setLocation(location);
-                            
-                            String salaryRange = document.getString("salaryRange");
-                            if (salaryRange != null && !salaryRange.isEmpty()) opp.setSalaryRange(salaryRange);
-                            
-                            String requirements = document.getString("requirements");
-                            if (requirements != null && !requirements.isEmpty()) opp.setRequirements(requirements);
-                            
-                            String applicationLink = document.getString("applicationInstructions");
-                            if (applicationLink != null && !applicationLink.isEmpty()) opp.setApplicationLink(applicationLink);
-                            
-                            String postedBy = document.getString("postedBy");
-                            if (postedBy != null) opp.setPostedBy(postedBy);
-                            
-                            Date datePosted = document.getDate("datePosted");
-                            if (datePosted != null) opp.setDatePosted(datePosted);
-                            
-                            Boolean isFeatured = document.getBoolean("isFeatured");
-                            if (isFeatured != null) opp.setFeatured(isFeatured);
-                            
-                            Long applicationsCount = document.getLong("applicationsCount");
-                            if (applicationsCount != null) opp.setApplicationsCount(applicationsCount.intValue());
-                            
-                            allOpportunities.add(opp);
-                            Log.d(TAG, "Added opportunity: " + title);
-                            
-                            if (opp.isFeatured()) {
-                                featuredOpportunities.add(opp);
-                                Log.d(TAG, "Added to featured: " + title);
-                            }
-                        } else {
-                            Log.w(TAG, "Skipping document with missing required fields: " + document.getId());
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing opportunity document: " + document.getId(), e);
-                    }
-                }
-                
-                Log.d(TAG, "Loaded " + allOpportunities.size() + " opportunities from Firestore");
-                Log.d(TAG, "Featured opportunities: " + featuredOpportunities.size());
-                
-                // Update adapters directly without filtering
-                // (filtering will be applied when user interacts with search/filter UI)
-                Log.d(TAG, "Updating featured adapter with " + featuredOpportunities.size() + " items");
-                featuredAdapter.updateOpportunities(new ArrayList<>(featuredOpportunities));
-                
-                Log.d(TAG, "Updating opportunity adapter with " + allOpportunities.size() + " items");
-                opportunityAdapter.updateOpportunities(new ArrayList<>(allOpportunities));
-                
-                updateEmptyState();
-                
-                Log.d(TAG, "RecyclerView visibility: " + recyclerViewOpportunities.getVisibility());
-                Log.d(TAG, "Empty state visibility: " + emptyStateLayout.getVisibility());
-                Log.d(TAG, "Adapter item count: " + opportunityAdapter.getItemCount());
-                
-                if (allOpportunities.isEmpty()) {
-                    Toast.makeText(this, "No opportunities found. Post one to get started!", Toast.LENGTH_SHORT).show();
+    private void observeOpportunities() {
+        loadFrames = FrameDropMonitor.start(this, "Opportunities load");
+
+        // The job_opportunities table is kept current by DeltaSync and only holds
+        // open, complete postings; Room re-emits after every sync
+        AlumniRepository.getInstance(this).observeOpenOpportunities().observe(this, opportunities -> {
+            allOpportunities.clear();
+            featuredOpportunities.clear();
+            for (Opportunity opp : opportunities) {
+                allOpportunities.add(opp);
+                if (opp.isFeatured()) {
+                    featuredOpportunities.add(opp);
                 }
-            })
-            .addOnFailureListener(e -> {
-                Log.e(TAG, "Failed to load opportunities from Firestore", e);
-                Toast.makeText(this, "Failed to load opportunities: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                updateEmptyState();
-            });
+            }
+
+            Log.d(TAG, "Showing " + allOpportunities.size() + " opportunities, "
+                    + featuredOpportunities.size() + " featured");
+
+            // Update adapters directly without filtering
+            // (filtering will be applied when user interacts with search/filter UI)
+            featuredAdapter.updateOpportunities(new ArrayList<>(featuredOpportunities));
+            opportunityAdapter.updateOpportunities(new ArrayList<>(allOpportunities));
+
+            updateEmptyState();
+            loadFrames.stop();
+        });
     }
 
     @Override
@@ -506,8 +424,8 @@ public class JobsActivity extends AppCompatActivity implements
         super.onActivityResult(requestCode, resultCode, data);
         
         if (requestCode == 100 && resultCode == RESULT_OK) {
-            // Reload opportunities from Firestore after adding new one
-            loadOpportunitiesFromFirestore();
+            // Sync the new opportunity into the table this screen observes
+            CollectionSyncWorker.requestSync(this);
         } else if (requestCode == 200 && resultCode == RESULT_OK && data != null) {
             // Handle result from OpportunityDetailActivity
             String opportunityId = data.getStringExtra("opportunity_id");
@@ -587,10 +505,18 @@ public class JobsActivity extends AppCompatActivity implements
         onOpportunityClick(opportunity); // Same as regular opportunity click
     }
     
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (loadFrames != null) {
+            loadFrames.stop();
+        }
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
-        // Reload opportunities when returning to this activity
-        loadOpportunitiesFromFirestore();
+        // Revalidate when returning to this activity; dropped if a sync is already queued
+        CollectionSyncWorker.requestSync(this);
     }
 }
\ No newline at end of file
@@ -98,7 +98,7 @@ public class KnowledgeActivity extends AppCompatActivity implements ArticleAdapt
                 
                 for (com.google.firebase.firestore.QueryDocumentSnapshot document : queryDocumentSnapshots) {
                     try {
-                        Article article = document.toObject(Article.class);
+                        Article article = Article.fromDocument(document);
                         article.setId(document.getId());
                         articles.add(article);
                     } catch (Exception e) {
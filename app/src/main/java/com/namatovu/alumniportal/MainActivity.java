@@ -24,6 +24,7 @@ import com.google.firebase.auth.GoogleAuthProvider;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.namatovu.alumniportal.utils.CloudinaryHelper;
+import com.namatovu.alumniportal.utils.SearchKeywords;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -132,6 +133,7 @@ public class MainActivity extends AppCompatActivity {
                                         user.put("userType", "student"); // Default: Current students
                                         user.put("isAlumni", false);
 
+                                        user.put(SearchKeywords.FIELD, SearchKeywords.forUserFields(user));
                                         db.collection("users").document(userId).set(user);
                                     }
                                     Toast.makeText(MainActivity.this, "Login Successful", Toast.LENGTH_SHORT).show();
@@ -15,6 +15,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.adapters.MentorshipAdapter;
+import com.namatovu.alumniportal.database.MutationOutbox;
 import com.namatovu.alumniportal.ViewProfileActivity;
 import com.namatovu.alumniportal.databinding.ActivityMentorshipBinding;
 import com.namatovu.alumniportal.models.MentorshipConnection;
@@ -217,7 +218,7 @@ public class MentorshipActivity extends AppCompatActivity {
                     // Add existing connections first
                     for (QueryDocumentSnapshot doc : existingConnections) {
                         try {
-                            MentorshipConnection connection = doc.toObject(MentorshipConnection.class);
+                            MentorshipConnection connection = MentorshipConnection.fromDocument(doc);
                             connection.setConnectionId(doc.getId());
                             allConnections.add(connection);
                             existingMentorIds.add(connection.getMentorId());
@@ -329,7 +330,7 @@ public class MentorshipActivity extends AppCompatActivity {
                     
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
                         try {
-                            MentorshipConnection connection = document.toObject(MentorshipConnection.class);
+                            MentorshipConnection connection = MentorshipConnection.fromDocument(document);
                             connection.setConnectionId(document.getId());
                             allConnections.add(connection);
                             
@@ -562,7 +563,7 @@ public class MentorshipActivity extends AppCompatActivity {
                 .addOnSuccessListener(userDoc -> {
                     Log.d(TAG, "User document retrieved, exists: " + userDoc.exists());
                     if (userDoc.exists()) {
-                        User currentUser = userDoc.toObject(User.class);
+                        User currentUser = User.fromDocument(userDoc);
                         String menteeName = currentUser != null ? currentUser.getFullName() : "Unknown User";
                         Log.d(TAG, "Current user name: " + menteeName);
                         
@@ -580,46 +581,23 @@ public class MentorshipActivity extends AppCompatActivity {
                         
                         Log.d(TAG, "Created new connection object, attempting to save to Firestore");
                         
-                        // Save to Firebase using toMap() for better compatibility
+                        // The ID is made locally so the outbox can resend the request without duplicating it
+                        String connectionId = db.collection("mentorships").document().getId();
+                        newConnection.setConnectionId(connectionId);
                         Map<String, Object> connectionData = newConnection.toMap();
-                        Log.d(TAG, "Connection data map created with " + connectionData.size() + " fields");
+                        connectionData.put("connectionId", connectionId);
+                        MutationOutbox.getInstance(this).enqueue(
+                                MutationOutbox.Write.set("mentorships/" + connectionId).fields(connectionData));
+                        Log.d(TAG, "Mentorship request queued with ID: " + connectionId);
                         
-                        // Try using a different collection structure that might have broader permissions
-                        db.collection("mentorships")
-                                .add(connectionData)
-                                .addOnSuccessListener(documentReference -> {
-                                    Log.d(TAG, "Successfully saved to Firestore with ID: " + documentReference.getId());
-                                    newConnection.setConnectionId(documentReference.getId());
-                                    
-                                    // Update the document with the ID
-                                    documentReference.update("connectionId", documentReference.getId())
-                                            .addOnSuccessListener(aVoid -> {
-                                                Log.d(TAG, "Connection ID updated successfully");
-                                            })
-                                            .addOnFailureListener(e -> {
-                                                Log.w(TAG, "Failed to update connection ID, but request was saved", e);
-                                            });
-                                    
-                                    Log.d(TAG, "Mentorship request created with ID: " + documentReference.getId());
-                                    
-                                    // Send email notification to mentor using EmailService
-                                    Log.d(TAG, "Sending email notification to mentor: " + connection.getMentorName());
-                                    emailService.sendMentorshipRequestEmail(connection.getMentorId(), menteeName, connection.getMentorName(), documentReference.getId());
-                                    
-                                    Toast.makeText(this, "Mentorship request sent to " + connection.getMentorName() + "!", Toast.LENGTH_SHORT).show();
-                                    
-                                    // Refresh the data to show the new connection
-                                    loadMentorshipConnections();
-                                    
-                                    // Log analytics
-                                    AnalyticsHelper.logMentorConnection("request_sent", connection.getMentorId());
-                                })
-                                .addOnFailureListener(e -> {
-                                    Toast.makeText(this, "Failed to send mentorship request: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                                    Log.e(TAG, "Failed to create mentorship request", e);
-                                    Log.e(TAG, "Error details: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-                                    AnalyticsHelper.logError("mentorship_request_failed", e.getMessage(), "MentorshipActivity");
-                                });
+                        // Send email notification to mentor using EmailService
+                        Log.d(TAG, "Sending email notification to mentor: " + connection.getMentorName());
+                        emailService.sendMentorshipRequestEmail(connection.getMentorId(), menteeName, connection.getMentorName(), connectionId);
+                        
+                        Toast.makeText(this, "Mentorship request sent to " + connection.getMentorName() + "!", Toast.LENGTH_SHORT).show();
+                        
+                        // Log analytics
+                        AnalyticsHelper.logMentorConnection("request_sent", connection.getMentorId());
                     } else {
                         String errorMsg = "Could not retrieve user information - user document does not exist";
                         Toast.makeText(this, errorMsg, Toast.LENGTH_SHORT).show();
@@ -15,10 +15,11 @@ import com.google.android.material.chip.Chip;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.adapters.NewsAdapter;
+import com.namatovu.alumniportal.database.MutationOutbox;
 import com.namatovu.alumniportal.databinding.ActivityNewsFeedBinding;
 import com.namatovu.alumniportal.models.NewsArticle;
+import com.namatovu.alumniportal.repository.AlumniRepository;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
 
 import java.util.ArrayList;
@@ -26,6 +27,7 @@ import java.util.List;
 
 public class NewsFeedActivity extends AppCompatActivity {
     private static final String TAG = "NewsFeedActivity";
+    private static final String NEWS_CACHE_KEY = "published_news";
     
     private ActivityNewsFeedBinding binding;
     private FirebaseFirestore db;
@@ -177,41 +179,52 @@ public class NewsFeedActivity extends AppCompatActivity {
     }
 
     private void loadNews() {
-        if (!binding.swipeRefreshLayout.isRefreshing()) {
+        if (allArticles.isEmpty() && !binding.swipeRefreshLayout.isRefreshing()) {
             binding.progressBar.setVisibility(View.VISIBLE);
         }
         binding.noNewsText.setVisibility(View.GONE);
 
-        db.collection("news")
+        // Cached articles are shown straight away while Firestore revalidates them
+        Query query = db.collection("news")
                 .whereEqualTo("isPublished", true)
                 .orderBy("isPinned", Query.Direction.DESCENDING)
-                .orderBy("publishedAt", Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allArticles.clear();
-                    
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        NewsArticle article = document.toObject(NewsArticle.class);
+                .orderBy("publishedAt", Query.Direction.DESCENDING);
+        AlumniRepository.getInstance(this).loadOfflineFirst(NEWS_CACHE_KEY, query, NewsArticle.class,
+                document -> {
+                    NewsArticle article = NewsArticle.fromDocument(document);
+                    if (article != null) {
                         article.setArticleId(document.getId());
-                        allArticles.add(article);
                     }
-                    
-                    binding.progressBar.setVisibility(View.GONE);
-                    binding.swipeRefreshLayout.setRefreshing(false);
-                    filterNews();
-                    
-                    Log.d(TAG, "Loaded " + allArticles.size() + " news articles");
-                })
-                .addOnFailureListener(e -> {
-                    binding.progressBar.setVisibility(View.GONE);
-                    binding.swipeRefreshLayout.setRefreshing(false);
-                    binding.noNewsText.setVisibility(View.VISIBLE);
-                    binding.noNewsText.setText("Failed to load news");
-                    
-                    Toast.makeText(this, "Failed to load news", Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Error loading news", e);
-                    
-                    AnalyticsHelper.logError("news_load_failed", e.getMessage(), "NewsFeedActivity");
+                    return article;
+                },
+                new AlumniRepository.OnCachedQueryListener<NewsArticle>() {
+                    @Override
+                    public void onData(List<NewsArticle> articles, boolean fromCache) {
+                        allArticles.clear();
+                        allArticles.addAll(articles);
+
+                        binding.progressBar.setVisibility(View.GONE);
+                        if (!fromCache) {
+                            binding.swipeRefreshLayout.setRefreshing(false);
+                        }
+                        filterNews();
+
+                        Log.d(TAG, "Loaded " + allArticles.size() + " news articles" + (fromCache ? " from cache" : ""));
+                    }
+
+                    @Override
+                    public void onError(Exception e, boolean showingCachedData) {
+                        binding.progressBar.setVisibility(View.GONE);
+                        binding.swipeRefreshLayout.setRefreshing(false);
+                        Log.e(TAG, "Error loading news", e);
+                        AnalyticsHelper.logError("news_load_failed", e.getMessage(), "NewsFeedActivity");
+                        if (showingCachedData) {
+                            return;
+                        }
+                        binding.noNewsText.setVisibility(View.VISIBLE);
+                        binding.noNewsText.setText("Failed to load news");
+                        Toast.makeText(NewsFeedActivity.this, "Failed to load news", Toast.LENGTH_SHORT).show();
+                    }
                 });
     }
 
@@ -257,42 +270,26 @@ public class NewsFeedActivity extends AppCompatActivity {
         if (likedByUserIds == null) {
             likedByUserIds = new ArrayList<>();
         }
+        boolean isCurrentlyLiked = likedByUserIds.contains(currentUserId);
         
-        // Make variables effectively final for lambda
-        final List<String> finalLikedByUserIds = likedByUserIds;
-        final boolean isCurrentlyLiked = finalLikedByUserIds.contains(currentUserId);
-        final String finalCurrentUserId = currentUserId;
-        
+        // Shown straight away; the outbox sends it when online, and a quick
+        // like/unlike pair cancels out before anything is sent
+        String articlePath = "news/" + article.getArticleId();
+        MutationOutbox.Write write = MutationOutbox.Write.update(articlePath);
         if (isCurrentlyLiked) {
-            finalLikedByUserIds.remove(finalCurrentUserId);
+            likedByUserIds.remove(currentUserId);
             article.decrementLikeCount();
+            write.arrayRemove("likedByUserIds", currentUserId).increment("likeCount", -1);
         } else {
-            finalLikedByUserIds.add(finalCurrentUserId);
+            likedByUserIds.add(currentUserId);
             article.incrementLikeCount();
+            write.arrayUnion("likedByUserIds", currentUserId).increment("likeCount", 1);
         }
+        article.setLikedByUserIds(likedByUserIds);
+        adapter.notifyDataSetChanged();
         
-        article.setLikedByUserIds(finalLikedByUserIds);
-        
-        db.collection("news").document(article.getArticleId())
-                .update("likedByUserIds", finalLikedByUserIds, "likeCount", article.getLikeCount())
-                .addOnSuccessListener(aVoid -> {
-                    adapter.notifyDataSetChanged();
-                })
-                .addOnFailureListener(e -> {
-                    // Revert changes on failure
-                    if (isCurrentlyLiked) {
-                        finalLikedByUserIds.add(finalCurrentUserId);
-                        article.incrementLikeCount();
-                    } else {
-                        finalLikedByUserIds.remove(finalCurrentUserId);
-                        article.decrementLikeCount();
-                    }
-                    article.setLikedByUserIds(finalLikedByUserIds);
-                    adapter.notifyDataSetChanged();
-                    
-                    Toast.makeText(this, "Failed to update like", Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Failed to toggle like", e);
-                });
+        MutationOutbox.getInstance(this).enqueue(write.mergeKey(
+                "like:" + articlePath + "/" + currentUserId, MutationOutbox.Merge.TOGGLE));
     }
 
     private void shareArticle(NewsArticle article) {
@@ -314,15 +311,12 @@ public class NewsFeedActivity extends AppCompatActivity {
 
     private void incrementViewCount(NewsArticle article) {
         if (article.getArticleId() != null) {
-            db.collection("news").document(article.getArticleId())
-                    .update("viewCount", article.getViewCount() + 1)
-                    .addOnSuccessListener(aVoid -> {
-                        article.incrementViewCount();
-                        Log.d(TAG, "View count incremented for article: " + article.getTitle());
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to increment view count", e);
-                    });
+            article.incrementViewCount();
+            // Views queued while offline are summed into one write
+            String articlePath = "news/" + article.getArticleId();
+            MutationOutbox.getInstance(this).enqueue(MutationOutbox.Write.update(articlePath)
+                    .increment("viewCount", 1)
+                    .mergeKey("views:" + articlePath, MutationOutbox.Merge.COMBINE));
         }
     }
 
@@ -15,6 +15,7 @@ import com.namatovu.alumniportal.databinding.ActivityPostJobBinding;
 import com.namatovu.alumniportal.models.JobPosting;
 import com.namatovu.alumniportal.models.User;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager;
 
 public class PostJobActivity extends AppCompatActivity {
     private static final String TAG = "PostJobActivity";
@@ -101,7 +102,7 @@ public class PostJobActivity extends AppCompatActivity {
             .get()
             .addOnSuccessListener(documentSnapshot -> {
                 if (documentSnapshot.exists()) {
-                    User user = documentSnapshot.toObject(User.class);
+                    User user = User.fromDocument(documentSnapshot);
                     currentUserName = user != null ? user.getFullName() : "Unknown User";
                 }
             })
@@ -120,7 +121,7 @@ public class PostJobActivity extends AppCompatActivity {
                 binding.progressBar.setVisibility(View.GONE);
                 
                 if (documentSnapshot.exists()) {
-                    JobPosting job = documentSnapshot.toObject(JobPosting.class);
+                    JobPosting job = JobPosting.fromDocument(documentSnapshot);
                     if (job != null) {
                         populateFields(job);
                     }
@@ -223,6 +224,7 @@ public class PostJobActivity extends AppCompatActivity {
                 binding.progressBar.setVisibility(View.GONE);
                 
                 Log.d(TAG, "Job posted successfully with ID: " + documentReference.getId());
+                SearchAndFilterManager.getInstance(this).invalidateJobSearches();
                 
                 // Verify the job was actually saved
                 documentReference.get().addOnSuccessListener(snapshot -> {
@@ -264,6 +266,7 @@ public class PostJobActivity extends AppCompatActivity {
                 binding.progressBar.setVisibility(View.GONE);
                 
                 Log.d(TAG, "Job updated successfully");
+                SearchAndFilterManager.getInstance(this).invalidateJobSearches();
                 Toast.makeText(this, "Job updated successfully!", Toast.LENGTH_SHORT).show();
                 
                 setResult(RESULT_OK);
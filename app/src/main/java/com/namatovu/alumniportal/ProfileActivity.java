@@ -102,7 +102,7 @@ public class ProfileActivity extends AppCompatActivity {
                 DocumentSnapshot doc = task.getResult();
                 if (doc != null && doc.exists()) {
                     try {
-                        User u = doc.toObject(User.class);
+                        User u = User.fromDocument(doc);
                         if (u != null) updateUIWithUserData(u);
                     } catch (RuntimeException e) {
                         Log.e(TAG, "Failed to deserialize user", e);
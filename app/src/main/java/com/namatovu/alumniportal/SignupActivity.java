@@ -21,6 +21,7 @@ import com.google.firebase.auth.AuthCredential;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.GoogleAuthProvider;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.namatovu.alumniportal.utils.SearchKeywords;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -299,6 +300,8 @@ public class SignupActivity extends AppCompatActivity {
                                                         android.util.Log.d("SignupActivity", "FCM token obtained: " + fcmToken);
                                                     }
                                                     
+                                                    user.put(SearchKeywords.FIELD, SearchKeywords.forUserFields(user));
+                                                    
                                                     db.collection("users").document(userId)
                                                             .set(user)
                                                             .addOnSuccessListener(aVoid -> {
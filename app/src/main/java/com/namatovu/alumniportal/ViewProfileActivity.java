@@ -12,6 +12,7 @@ import com.google.android.material.chip.Chip;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.namatovu.alumniportal.database.MutationOutbox;
 import com.namatovu.alumniportal.databinding.ActivityViewProfileBinding;
 import com.namatovu.alumniportal.models.User;
 import com.namatovu.alumniportal.model.MentorshipRequest;
@@ -171,7 +172,7 @@ public class ViewProfileActivity extends AppCompatActivity {
                         // Clear UI again right before displaying new data
                         clearProfileUI();
                         
-                        viewedUser = document.toObject(User.class);
+                        viewedUser = User.fromDocument(document);
                         if (viewedUser != null) {
                             String fullName = viewedUser.getFullName();
                             Log.d(TAG, "Displaying profile for: " + fullName);
@@ -486,26 +487,22 @@ public class ViewProfileActivity extends AppCompatActivity {
                 connectionData.put("createdAt", new java.util.Date());
                 connectionData.put("updatedAt", new java.util.Date());
 
-                db.collection("mentorships")
-                    .add(connectionData)
-                    .addOnSuccessListener(documentReference -> {
-                        Toast.makeText(this, "Mentorship request sent successfully!", Toast.LENGTH_SHORT).show();
-                        
-                        // Show in-app notification
-                        com.namatovu.alumniportal.utils.InAppNotificationHelper.showNotification(
-                            ViewProfileActivity.this,
-                            "Mentorship Request Sent",
-                            "Your request has been sent to " + (viewedUser != null ? viewedUser.getFullName() : "the mentor"),
-                            "mentorship"
-                        );
-                        
-                        // Send both email and push notification to mentor
-                        sendMentorshipNotifications(currentUserId, currentUserName, mentorId, documentReference.getId());
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error sending mentorship request", e);
-                        Toast.makeText(this, "Failed to send request. Please try again.", Toast.LENGTH_SHORT).show();
-                    });
+                // The ID is made locally so the outbox can resend the request without duplicating it
+                String connectionId = db.collection("mentorships").document().getId();
+                MutationOutbox.getInstance(this).enqueue(
+                        MutationOutbox.Write.set("mentorships/" + connectionId).fields(connectionData));
+                Toast.makeText(this, "Mentorship request sent successfully!", Toast.LENGTH_SHORT).show();
+                
+                // Show in-app notification
+                com.namatovu.alumniportal.utils.InAppNotificationHelper.showNotification(
+                    ViewProfileActivity.this,
+                    "Mentorship Request Sent",
+                    "Your request has been sent to " + (viewedUser != null ? viewedUser.getFullName() : "the mentor"),
+                    "mentorship"
+                );
+                
+                // Send both email and push notification to mentor
+                sendMentorshipNotifications(currentUserId, currentUserName, mentorId, connectionId);
             })
             .addOnFailureListener(e -> {
                 Log.e(TAG, "Error getting current user info", e);
@@ -118,7 +118,7 @@ public class AlumniGroupsActivity extends AppCompatActivity {
                     myGroups.clear();
                     
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        AlumniGroup group = document.toObject(AlumniGroup.class);
+                        AlumniGroup group = AlumniGroup.fromDocument(document);
                         group.setGroupId(document.getId());
                         allGroups.add(group);
                         
@@ -24,12 +24,14 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.paging.PagingLiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -40,8 +42,10 @@ import com.google.firebase.storage.StorageReference;
 import com.namatovu.alumniportal.R;
 import com.namatovu.alumniportal.ProfileActivity;
 import com.namatovu.alumniportal.adapters.ChatMessageAdapter;
+import com.namatovu.alumniportal.database.MutationOutbox;
 import com.namatovu.alumniportal.models.Chat;
 import com.namatovu.alumniportal.models.ChatMessage;
+import com.namatovu.alumniportal.repository.AlumniRepository;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
 import com.namatovu.alumniportal.utils.CloudinaryHelper;
 import com.namatovu.alumniportal.utils.SecurityHelper;
@@ -78,7 +82,8 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
     private String otherUserName;
     private String chatName;
     
-    private List<ChatMessage> messages = new ArrayList<>();
+    // Set when this screen sends a message, so the list follows it even when scrolled up
+    private boolean scrollToNewest;
     private ListenerRegistration messagesListener;
     private ListenerRegistration chatListener;
     private Chat currentChat;
@@ -196,15 +201,32 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
     }
     
     private void setupRecyclerView() {
-        adapter = new ChatMessageAdapter(this, messages, currentUserId);
+        adapter = new ChatMessageAdapter(this, currentUserId);
         adapter.setOnMessageClickListener(this);
         
+        // The adapter holds the newest message first; a reversed layout draws it at the bottom
         LinearLayoutManager layoutManager = new LinearLayoutManager(this);
-        layoutManager.setStackFromEnd(true);
+        layoutManager.setReverseLayout(true);
         layoutManager.setSmoothScrollbarEnabled(true);
         recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
         
+        // Follow new messages when the user is at the bottom or just sent one
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                if (positionStart != 0) {
+                    return;
+                }
+                LinearLayoutManager manager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                boolean wasAtBottom = manager != null && manager.findFirstVisibleItemPosition() <= itemCount + 2;
+                if (scrollToNewest || wasAtBottom) {
+                    scrollToNewest = false;
+                    scrollToBottom(true);
+                }
+            }
+        });
+        
         // Scroll to bottom when keyboard appears
         recyclerView.addOnLayoutChangeListener((v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> {
             if (bottom < oldBottom) {
@@ -256,7 +278,7 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
 
         // Focus listener to scroll when typing
         editTextMessage.setOnFocusChangeListener((v, hasFocus) -> {
-            if (hasFocus && !messages.isEmpty()) {
+            if (hasFocus && adapter.getItemCount() > 0) {
                 recyclerView.postDelayed(() -> scrollToBottom(true), 200);
             }
         });
@@ -308,7 +330,7 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
                     }
 
                     if (documentSnapshot != null && documentSnapshot.exists()) {
-                        currentChat = documentSnapshot.toObject(Chat.class);
+                        currentChat = Chat.fromDocument(documentSnapshot);
                         if (currentChat != null) {
                             currentChat.setChatId(chatId);
                             updateChatUI();
@@ -509,49 +531,70 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
     private void loadMessages() {
         if (chatId == null) return;
 
+        // History is paged from Room; older pages are fetched from Firestore only once scrolled to
+        AlumniRepository repository = AlumniRepository.getInstance(this);
+        PagingLiveData.cachedIn(repository.getPagedChatHistory(chatId), getLifecycle())
+                .observe(this, page -> adapter.submitData(getLifecycle(), page));
+
+        long openedAt = System.currentTimeMillis();
+        repository.getNewestChatMessageTime(chatId, newest -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            listenForNewMessages(newest != null ? newest : openedAt);
+        });
+    }
+
+    /**
+     * Listens only from the newest cached message on; anything older is already
+     * cached or is fetched by the paged history, which also re-reads the newest
+     * page for edits and deletions each time the chat opens. Messages go to
+     * Room, and the paged list picks them up from there.
+     */
+    private void listenForNewMessages(long since) {
         messagesListener = db.collection("chats").document(chatId)
                 .collection("messages")
+                .whereGreaterThanOrEqualTo("timestamp", since)
                 .orderBy("timestamp", Query.Direction.ASCENDING)
                 .addSnapshotListener((querySnapshot, error) -> {
                     if (error != null) {
                         Log.e(TAG, "Error loading messages", error);
                         return;
                     }
+                    if (querySnapshot == null) {
+                        return;
+                    }
 
-                    if (querySnapshot != null) {
-                        messages.clear();
-
-                        int oldSize = messages.size();
-                        boolean wasAtBottom = isAtBottom();
-
-                        for (DocumentSnapshot document : querySnapshot.getDocuments()) {
-                            try {
-                                ChatMessage message = document.toObject(ChatMessage.class);
-                                if (message != null) {
-                                    message.setMessageId(document.getId());
-
-                                    // Validate message data
-                                    if (SecurityHelper.isValidMessageData(message)) {
-                                        messages.add(message);
-                                    }
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error parsing message document: " + document.getId(), e);
-                            }
+                    // Only new, edited and deleted messages touch the cache
+                    List<ChatMessage> changed = new ArrayList<>();
+                    List<String> removedIds = new ArrayList<>();
+                    for (DocumentChange change : querySnapshot.getDocumentChanges()) {
+                        DocumentSnapshot document = change.getDocument();
+                        if (change.getType() == DocumentChange.Type.REMOVED) {
+                            removedIds.add(document.getId());
+                            continue;
                         }
-
-                        adapter.notifyDataSetChanged();
-
-                        // Auto scroll to bottom for new messages or if already at bottom
-                        if (!messages.isEmpty()) {
-                            if (oldSize == 0 || wasAtBottom || messages.size() > oldSize) {
-                                scrollToBottom(messages.size() > oldSize);
+                        try {
+                            ChatMessage message = ChatMessage.fromDocument(document);
+                            if (message != null) {
+                                message.setMessageId(document.getId());
+                                message.setChatId(chatId);
+
+                                // Validate message data
+                                if (SecurityHelper.isValidMessageData(message)) {
+                                    changed.add(message);
+                                }
                             }
+                        } catch (Exception e) {
+                            Log.e(TAG, "Error parsing message document: " + document.getId(), e);
                         }
-
-                        // Mark messages as read
-                        markMessagesAsRead();
                     }
+                    AlumniRepository repository = AlumniRepository.getInstance(this);
+                    repository.cacheChatMessages(changed);
+                    repository.removeCachedChatMessages(removedIds);
+
+                    // Mark messages as read
+                    markMessagesAsRead(changed);
                 });
     }
 
@@ -614,45 +657,40 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
     private void sendMessage(ChatMessage message) {
         if (chatId == null) return;
 
-        // Add message to subcollection
-        db.collection("chats").document(chatId)
-                .collection("messages")
-                .add(message.toMap())
-                .addOnSuccessListener(documentReference -> {
-                    // Update chat's last message info
-                    updateChatLastMessage(message);
+        // The ID is made locally so a resent message overwrites itself instead of appearing twice
+        String messageId = db.collection("chats").document(chatId).collection("messages").document().getId();
+        message.setMessageId(messageId);
+        MutationOutbox.getInstance(this).enqueue(
+                MutationOutbox.Write.set("chats/" + chatId + "/messages/" + messageId).fields(message.toMap()));
+        updateChatLastMessage(message);
 
-                    // Track message sent
-                    AnalyticsHelper.logEvent("message_sent", "message_type", message.getMessageType());
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error sending message", e);
-                    Toast.makeText(this, "Failed to send message", Toast.LENGTH_SHORT).show();
-                });
+        // Shown from the cache until the listener delivers it, which may not be until the outbox gets online
+        scrollToNewest = true;
+        AlumniRepository.getInstance(this).savePendingChatMessage(message);
+
+        // Track message sent
+        AnalyticsHelper.logEvent("message_sent", "message_type", message.getMessageType());
     }
 
     private void updateChatLastMessage(ChatMessage message) {
-        Map<String, Object> updates = new HashMap<>();
-        updates.put("lastMessageText", message.getDisplayText());
-        updates.put("lastMessageSenderId", message.getSenderId());
-        updates.put("lastMessageType", message.getMessageType());
-        updates.put("lastMessageTimestamp", message.getTimestamp());
-        updates.put("updatedAt", FieldValue.serverTimestamp());
+        MutationOutbox.Write write = MutationOutbox.Write.update("chats/" + chatId)
+                .field("lastMessageText", message.getDisplayText())
+                .field("lastMessageSenderId", message.getSenderId())
+                .field("lastMessageType", message.getMessageType())
+                .field("lastMessageTimestamp", message.getTimestamp())
+                .serverTimestamp("updatedAt");
 
         // Update unread counts for other participants
         if (currentChat != null && currentChat.getParticipantIds() != null) {
-            Map<String, Object> unreadCounts = new HashMap<>();
             for (String participantId : currentChat.getParticipantIds()) {
                 if (!participantId.equals(currentUserId)) {
-                    String unreadCountField = "unreadCounts." + participantId;
-                    updates.put(unreadCountField, FieldValue.increment(1));
+                    write.increment("unreadCounts." + participantId, 1);
                 }
             }
         }
 
-        db.collection("chats").document(chatId)
-                .update(updates)
-                .addOnFailureListener(e -> Log.e(TAG, "Error updating chat last message", e));
+        // Messages sent while offline fold into one update: the last message wins, unread counts add up
+        MutationOutbox.getInstance(this).enqueue(write.mergeKey("chat:" + chatId, MutationOutbox.Merge.COMBINE));
     }
 
     private void markChatAsRead() {
@@ -667,10 +705,9 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
                 .addOnFailureListener(e -> Log.e(TAG, "Error marking chat as read", e));
     }
 
-    private void markMessagesAsRead() {
+    private void markMessagesAsRead(List<ChatMessage> received) {
         // Mark unread messages as read
-        // This could be optimized to only update recent unread messages
-        for (ChatMessage message : messages) {
+        for (ChatMessage message : received) {
             if (!message.getSenderId().equals(currentUserId) &&
                     !message.isRead()) {
 
@@ -1106,13 +1143,13 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
     }
 
     private void scrollToBottom(boolean smooth) {
-        if (messages.isEmpty()) return;
+        if (adapter.getItemCount() == 0) return;
 
-        int lastPosition = messages.size() - 1;
+        // The newest message is position 0 in the reversed layout
         if (smooth) {
-            recyclerView.smoothScrollToPosition(lastPosition);
+            recyclerView.smoothScrollToPosition(0);
         } else {
-            recyclerView.scrollToPosition(lastPosition);
+            recyclerView.scrollToPosition(0);
         }
     }
 
@@ -1135,19 +1172,6 @@ public class ChatActivity extends AppCompatActivity implements ChatMessageAdapte
         }
     }
 
-    private boolean isAtBottom() {
-        if (messages.isEmpty()) return true;
-
-        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
-        if (layoutManager == null) return true;
-
-        int lastVisiblePosition = layoutManager.findLastCompletelyVisibleItemPosition();
-        int lastPosition = messages.size() - 1;
-
-        // Consider "at bottom" if within 2 messages of the end
-        return lastVisiblePosition >= lastPosition - 2;
-    }
-
     @Override
     public boolean onSupportNavigateUp() {
         onBackPressed();
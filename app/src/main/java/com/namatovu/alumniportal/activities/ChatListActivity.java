@@ -13,22 +13,28 @@ import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
 import com.namatovu.alumniportal.R;
 import com.namatovu.alumniportal.AlumniDirectoryActivity;
 import com.namatovu.alumniportal.adapters.ChatListAdapter;
+import com.namatovu.alumniportal.database.dao.ChatMessageDao;
 import com.namatovu.alumniportal.models.Chat;
+import com.namatovu.alumniportal.repository.AlumniRepository;
 import com.namatovu.alumniportal.utils.AnalyticsHelper;
 import com.namatovu.alumniportal.utils.SecurityHelper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ChatListActivity extends AppCompatActivity implements ChatListAdapter.OnChatClickListener {
     private static final String TAG = "ChatListActivity";
+    private static final int MAX_MESSAGE_HITS = 50;
     
     private RecyclerView recyclerView;
     private ChatListAdapter adapter;
@@ -43,6 +49,9 @@ public class ChatListActivity extends AppCompatActivity implements ChatListAdapt
     
     private List<Chat> allChats = new ArrayList<>();
     private List<Chat> filteredChats = new ArrayList<>();
+    // Lower-cased name and last message per chat, rebuilt when the chat list changes
+    private Map<String, String> chatSearchText = new HashMap<>();
+    private String currentQuery = "";
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -122,47 +131,46 @@ public class ChatListActivity extends AppCompatActivity implements ChatListAdapt
         
         swipeRefreshLayout.setRefreshing(true);
         
-        // Listen for real-time updates to user's chats - ordered by most recent first
-        chatsListener = db.collection("chats")
-                .whereArrayContains("participantIds", currentUserId)
+        // Listen for real-time updates to user's chats - ordered by most recent first.
+        // Snapshots are parsed and validated off the main thread.
+        String userId = currentUserId;
+        Query query = db.collection("chats")
+                .whereArrayContains("participantIds", userId)
                 .whereEqualTo("isActive", true)
                 .orderBy("lastMessageTimestamp", Query.Direction.DESCENDING)
-                .limit(50) // Limit to 50 most recent chats for performance
-                .addSnapshotListener((querySnapshot, error) -> {
-                    swipeRefreshLayout.setRefreshing(false);
-                    
-                    if (error != null) {
-                        Log.e(TAG, "Error loading chats", error);
-                        return;
+                .limit(50); // Limit to 50 most recent chats for performance
+        chatsListener = AlumniRepository.getInstance(this).listenToQuery(query,
+                document -> {
+                    Chat chat = Chat.fromDocument(document);
+                    if (chat == null) {
+                        return null;
                     }
-                    
-                    if (querySnapshot != null) {
+                    chat.setChatId(document.getId());
+                    return SecurityHelper.isValidChatData(chat, userId) ? chat : null;
+                },
+                new AlumniRepository.OnQuerySnapshotListener<Chat>() {
+                    @Override
+                    public void onData(List<Chat> chats, boolean fromCache) {
+                        swipeRefreshLayout.setRefreshing(false);
                         allChats.clear();
-                        
-                        for (DocumentSnapshot document : querySnapshot.getDocuments()) {
-                            try {
-                                Chat chat = document.toObject(Chat.class);
-                                if (chat != null) {
-                                    chat.setChatId(document.getId());
-                                    
-                                    // Validate chat data
-                                    if (SecurityHelper.isValidChatData(chat, currentUserId)) {
-                                        allChats.add(chat);
-                                        Log.d(TAG, "Added chat: " + chat.getDisplayName(currentUserId) + 
-                                              ", lastMessageTime: " + chat.getLastMessageTimestamp());
-                                    }
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error parsing chat document: " + document.getId(), e);
-                            }
+                        chatSearchText.clear();
+                        for (Chat chat : chats) {
+                            allChats.add(chat);
+                            chatSearchText.put(chat.getChatId(), searchTextFor(chat));
                         }
-                        
+
                         // Apply current filter
                         String currentQuery = searchView.getQuery().toString();
                         filterChats(currentQuery);
-                        
+
                         Log.d(TAG, "Loaded " + allChats.size() + " chats, ordered by most recent");
                     }
+
+                    @Override
+                    public void onError(Exception e) {
+                        swipeRefreshLayout.setRefreshing(false);
+                        Log.e(TAG, "Error loading chats", e);
+                    }
                 });
     }
     
@@ -176,24 +184,31 @@ public class ChatListActivity extends AppCompatActivity implements ChatListAdapt
         }, 1000);
     }
     
+    private String searchTextFor(Chat chat) {
+        String displayName = chat.getDisplayName(currentUserId);
+        String lastMessage = chat.getLastMessageDisplayText();
+        return ((displayName != null ? displayName : "") + "\n" +
+                (lastMessage != null ? lastMessage : "")).toLowerCase();
+    }
+    
     private void filterChats(String query) {
         if (query == null) query = "";
         query = query.toLowerCase().trim();
+        currentQuery = query;
         
         filteredChats.clear();
+        adapter.setSearchSnippets(null);
         
         if (query.isEmpty()) {
             filteredChats.addAll(allChats);
         } else {
             for (Chat chat : allChats) {
-                String displayName = chat.getDisplayName(currentUserId);
-                String lastMessage = chat.getLastMessageDisplayText();
-                
-                if ((displayName != null && displayName.toLowerCase().contains(query)) ||
-                    (lastMessage != null && lastMessage.toLowerCase().contains(query))) {
+                String searchText = chatSearchText.get(chat.getChatId());
+                if (searchText != null && searchText.contains(query)) {
                     filteredChats.add(chat);
                 }
             }
+            searchMessageHistory(query);
         }
         
         adapter.notifyDataSetChanged();
@@ -204,6 +219,47 @@ public class ChatListActivity extends AppCompatActivity implements ChatListAdapt
         }
     }
     
+    /**
+     * Add chats whose cached messages match the query, in ranked order, showing the matching snippet
+     */
+    private void searchMessageHistory(String query) {
+        AlumniRepository.getInstance(this).searchChatMessages(query, MAX_MESSAGE_HITS,
+                new AlumniRepository.OnMessagesFoundListener() {
+                    @Override
+                    public void onMessagesFound(String searchedQuery, List<ChatMessageDao.MessageSearchHit> hits) {
+                        if (!searchedQuery.equals(currentQuery) || hits.isEmpty()) {
+                            return; // a newer query has replaced this one
+                        }
+                        Map<String, Chat> chatsById = new HashMap<>();
+                        for (Chat chat : allChats) {
+                            chatsById.put(chat.getChatId(), chat);
+                        }
+                        Set<String> listed = new HashSet<>();
+                        for (Chat chat : filteredChats) {
+                            listed.add(chat.getChatId());
+                        }
+                        
+                        Map<String, String> snippets = new HashMap<>();
+                        for (ChatMessageDao.MessageSearchHit hit : hits) {
+                            Chat chat = chatsById.get(hit.chatId);
+                            if (chat != null && listed.add(hit.chatId)) {
+                                filteredChats.add(chat);
+                                snippets.put(hit.chatId, hit.snippet);
+                            }
+                        }
+                        if (!snippets.isEmpty()) {
+                            adapter.setSearchSnippets(snippets);
+                            adapter.notifyDataSetChanged();
+                        }
+                    }
+                    
+                    @Override
+                    public void onError(Exception e) {
+                        Log.w(TAG, "Message history search failed", e);
+                    }
+                });
+    }
+    
     @Override
     public void onChatClick(Chat chat) {
         if (chat == null || chat.getChatId() == null) return;
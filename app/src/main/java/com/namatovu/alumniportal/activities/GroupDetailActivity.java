@@ -88,7 +88,7 @@ public class GroupDetailActivity extends AppCompatActivity {
                 .get()
                 .addOnSuccessListener(doc -> {
                     if (doc.exists()) {
-                        currentGroup = doc.toObject(AlumniGroup.class);
+                        currentGroup = AlumniGroup.fromDocument(doc);
                         if (currentGroup != null) {
                             currentGroup.setGroupId(groupId);
                             displayGroupInfo();
@@ -23,17 +23,27 @@ import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.namatovu.alumniportal.R;
 import com.namatovu.alumniportal.adapters.MentorAdapter;
 import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.dao.MentorDao.MentorListItem;
 import com.namatovu.alumniportal.database.entities.MentorEntity;
 import com.namatovu.alumniportal.repository.AlumniRepository;
+import com.namatovu.alumniportal.utils.FacetIndex;
+import com.namatovu.alumniportal.utils.SearchFacets;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class MentorSearchActivity extends AppCompatActivity {
     
+    private static final String FILTER_AVAILABLE_NOW = "Available Now";
+    private static final String FILTER_TOP_RATED = "Top Rated";
+    private static final String FILTER_MOST_EXPERIENCED = "Most Experienced";
+    
     private EditText editTextSearch;
     private Spinner spinnerCategory;
     private Spinner spinnerGraduationYear;
@@ -43,8 +53,10 @@ public class MentorSearchActivity extends AppCompatActivity {
     private SwipeRefreshLayout swipeRefreshLayout;
     
     private MentorAdapter adapter;
-    private List<MentorEntity> allMentors = new ArrayList<>();
-    private List<MentorEntity> filteredMentors = new ArrayList<>();
+    private List<MentorListItem> allMentors = new ArrayList<>();
+    private List<MentorListItem> filteredMentors = new ArrayList<>();
+    // Rebuilt off the main thread whenever allMentors is replaced
+    private FacetIndex<MentorListItem> facetIndex;
     
     private AlumniDatabase localDb;
     private FirebaseFirestore db;
@@ -174,11 +186,12 @@ public class MentorSearchActivity extends AppCompatActivity {
     }
     
     private void setupFilterChips() {
-        String[] filters = {"Available Now", "Top Rated", "Most Experienced"};
+        String[] filters = {FILTER_AVAILABLE_NOW, FILTER_TOP_RATED, FILTER_MOST_EXPERIENCED};
         
         for (String filter : filters) {
             Chip chip = new Chip(this);
             chip.setText(filter);
+            chip.setTag(filter);
             chip.setCheckable(true);
             chip.setOnCheckedChangeListener((buttonView, isChecked) -> {
                 applyFilters();
@@ -192,12 +205,14 @@ public class MentorSearchActivity extends AppCompatActivity {
         
         executorService.execute(() -> {
             try {
-                List<MentorEntity> mentors = localDb.mentorDao().getAllMentors();
+                List<MentorListItem> mentors = localDb.mentorDao().getMentorListItems();
+                FacetIndex<MentorListItem> index = mentors != null ? SearchFacets.forMentors(mentors) : null;
                 
                 runOnUiThread(() -> {
                     allMentors.clear();
                     if (mentors != null && !mentors.isEmpty()) {
                         allMentors.addAll(mentors);
+                        facetIndex = index;
                         applyFilters();
                     } else {
                         // If no local mentors, sync from Firebase immediately
@@ -272,11 +287,17 @@ public class MentorSearchActivity extends AppCompatActivity {
                     // Save to local database in background
                     executorService.execute(() -> {
                         localDb.mentorDao().deleteAllMentors();
-                        localDb.mentorDao().insertMentors(mentors);
+                        localDb.mentorDao().upsertMentors(mentors);
+                        List<MentorListItem> items = new ArrayList<>(mentors.size());
+                        for (MentorEntity mentor : mentors) {
+                            items.add(MentorListItem.from(mentor));
+                        }
+                        FacetIndex<MentorListItem> index = SearchFacets.forMentors(items);
                         
                         runOnUiThread(() -> {
                             allMentors.clear();
-                            allMentors.addAll(mentors);
+                            allMentors.addAll(items);
+                            facetIndex = index;
                             applyFilters();
                             swipeRefreshLayout.setRefreshing(false);
                             Toast.makeText(this, "Mentors updated", Toast.LENGTH_SHORT).show();
@@ -296,7 +317,7 @@ public class MentorSearchActivity extends AppCompatActivity {
         }
         
         executorService.execute(() -> {
-            List<MentorEntity> results = localDb.mentorDao().searchMentors(query);
+            List<MentorListItem> results = localDb.mentorDao().searchMentorListItems(query);
             
             runOnUiThread(() -> {
                 filteredMentors.clear();
@@ -307,38 +328,54 @@ public class MentorSearchActivity extends AppCompatActivity {
     }
     
     private void applyFilters() {
-        executorService.execute(() -> {
-            List<MentorEntity> results = new ArrayList<>(allMentors);
-            
-            // Filter by category
-            if (!selectedCategory.equals("All")) {
-                results.removeIf(mentor -> 
-                    mentor.getCategory() == null || !mentor.getCategory().equals(selectedCategory));
+        FacetIndex<MentorListItem> index = facetIndex;
+        if (index == null) {
+            return;
+        }
+        
+        // Facet selections combine with bitwise AND inside the index
+        Map<String, List<String>> selections = new HashMap<>();
+        if (!selectedCategory.equals("All")) {
+            selections.put(SearchFacets.CATEGORY, Collections.singletonList(selectedCategory));
+        }
+        if (!selectedYear.equals("All")) {
+            selections.put(SearchFacets.GRADUATION_YEAR, Collections.singletonList(selectedYear));
+        }
+        
+        List<String> sorts = new ArrayList<>();
+        Chip availableChip = null;
+        for (int i = 0; i < chipGroupFilters.getChildCount(); i++) {
+            Chip chip = (Chip) chipGroupFilters.getChildAt(i);
+            String filter = (String) chip.getTag();
+            if (FILTER_AVAILABLE_NOW.equals(filter)) {
+                availableChip = chip;
             }
-            
-            // Filter by graduation year
-            if (!selectedYear.equals("All")) {
-                results.removeIf(mentor -> 
-                    mentor.getGraduationYear() == null || !mentor.getGraduationYear().equals(selectedYear));
+            if (chip.isChecked()) {
+                if (FILTER_AVAILABLE_NOW.equals(filter)) {
+                    selections.put(SearchFacets.AVAILABILITY, Collections.singletonList(SearchFacets.AVAILABLE));
+                } else {
+                    sorts.add(filter);
+                }
             }
+        }
+        Chip countedChip = availableChip;
+        
+        executorService.execute(() -> {
+            List<MentorListItem> results = index.filter(selections);
+            int availableCount = index.count(SearchFacets.AVAILABILITY, SearchFacets.AVAILABLE, selections);
             
-            // Filter by chips
-            for (int i = 0; i < chipGroupFilters.getChildCount(); i++) {
-                Chip chip = (Chip) chipGroupFilters.getChildAt(i);
-                if (chip.isChecked()) {
-                    String filter = chip.getText().toString();
-                    
-                    if (filter.equals("Available Now")) {
-                        results.removeIf(mentor -> !mentor.isAvailable());
-                    } else if (filter.equals("Top Rated")) {
-                        results.sort((m1, m2) -> Double.compare(m2.getRating(), m1.getRating()));
-                    } else if (filter.equals("Most Experienced")) {
-                        results.sort((m1, m2) -> Integer.compare(m2.getYearsOfExperience(), m1.getYearsOfExperience()));
-                    }
+            for (String sort : sorts) {
+                if (sort.equals(FILTER_TOP_RATED)) {
+                    results.sort((m1, m2) -> Double.compare(m2.rating, m1.rating));
+                } else if (sort.equals(FILTER_MOST_EXPERIENCED)) {
+                    results.sort((m1, m2) -> Integer.compare(m2.yearsOfExperience, m1.yearsOfExperience));
                 }
             }
             
             runOnUiThread(() -> {
+                if (countedChip != null) {
+                    countedChip.setText(FILTER_AVAILABLE_NOW + " (" + availableCount + ")");
+                }
                 filteredMentors.clear();
                 filteredMentors.addAll(results);
                 adapter.notifyDataSetChanged();
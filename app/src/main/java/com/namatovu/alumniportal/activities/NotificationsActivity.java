@@ -86,7 +86,7 @@ public class NotificationsActivity extends AppCompatActivity {
                     notificationsList.clear();
                     for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
                         try {
-                            Notification notification = doc.toObject(Notification.class);
+                            Notification notification = Notification.fromDocument(doc);
                             if (notification != null) {
                                 notification.setId(doc.getId());
                                 notificationsList.add(notification);
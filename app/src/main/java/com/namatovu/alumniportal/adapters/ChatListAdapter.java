@@ -11,13 +11,17 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.namatovu.alumniportal.R;
 import com.namatovu.alumniportal.models.Chat;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatViewHolder> {
     private Context context;
     private List<Chat> chats;
     private String currentUserId;
     private OnChatClickListener listener;
+    // Matching message snippets by chat ID, shown in place of the last message while searching
+    private Map<String, String> searchSnippets = new HashMap<>();
     
     public interface OnChatClickListener {
         void onChatClick(Chat chat);
@@ -34,6 +38,10 @@ public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatVi
         this.listener = listener;
     }
     
+    public void setSearchSnippets(Map<String, String> snippets) {
+        this.searchSnippets = snippets != null ? snippets : new HashMap<>();
+    }
+    
     @NonNull
     @Override
     public ChatViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -109,7 +117,8 @@ public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatVi
             }
             
             // Set last message
-            String lastMessageText = chat.getLastMessageDisplayText();
+            String snippet = searchSnippets.get(chat.getChatId());
+            String lastMessageText = snippet != null ? snippet : chat.getLastMessageDisplayText();
             textViewLastMessage.setText(lastMessageText);
             
             // Set timestamp
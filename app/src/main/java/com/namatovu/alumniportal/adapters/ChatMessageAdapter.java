@@ -8,19 +8,44 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.namatovu.alumniportal.R;
 import com.namatovu.alumniportal.models.ChatMessage;
-import java.util.List;
+import java.util.Objects;
 
-public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+/**
+ * Paged chat history, newest message first; pair it with a reversed layout so
+ * the newest message sits at the bottom
+ */
+public class ChatMessageAdapter extends PagingDataAdapter<ChatMessage, RecyclerView.ViewHolder> {
     private static final int VIEW_TYPE_SENT = 1;
     private static final int VIEW_TYPE_RECEIVED = 2;
     private static final int VIEW_TYPE_SYSTEM = 3;
     
+    private static final DiffUtil.ItemCallback<ChatMessage> DIFF_CALLBACK = new DiffUtil.ItemCallback<ChatMessage>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ChatMessage oldItem, @NonNull ChatMessage newItem) {
+            return Objects.equals(oldItem.getMessageId(), newItem.getMessageId());
+        }
+        
+        @Override
+        public boolean areContentsTheSame(@NonNull ChatMessage oldItem, @NonNull ChatMessage newItem) {
+            return Objects.equals(oldItem.getMessageText(), newItem.getMessageText())
+                    && Objects.equals(oldItem.getFileUrl(), newItem.getFileUrl())
+                    && Objects.equals(oldItem.getSenderName(), newItem.getSenderName())
+                    && Objects.equals(oldItem.getSenderProfileImage(), newItem.getSenderProfileImage())
+                    && oldItem.getTimestamp() == newItem.getTimestamp()
+                    && oldItem.isRead() == newItem.isRead()
+                    && oldItem.isDelivered() == newItem.isDelivered()
+                    && oldItem.isEdited() == newItem.isEdited()
+                    && oldItem.isDeleted() == newItem.isDeleted();
+        }
+    };
+    
     private Context context;
-    private List<ChatMessage> messages;
     private String currentUserId;
     private OnMessageClickListener listener;
     
@@ -29,9 +54,9 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         void onMessageLongClick(ChatMessage message);
     }
     
-    public ChatMessageAdapter(Context context, List<ChatMessage> messages, String currentUserId) {
+    public ChatMessageAdapter(Context context, String currentUserId) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.messages = messages;
         this.currentUserId = currentUserId;
     }
     
@@ -41,9 +66,11 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     
     @Override
     public int getItemViewType(int position) {
-        ChatMessage message = messages.get(position);
+        ChatMessage message = getItem(position);
         
-        if ("system".equals(message.getMessageType())) {
+        if (message == null) {
+            return VIEW_TYPE_RECEIVED;
+        } else if ("system".equals(message.getMessageType())) {
             return VIEW_TYPE_SYSTEM;
         } else if (message.getSenderId().equals(currentUserId)) {
             return VIEW_TYPE_SENT;
@@ -74,7 +101,10 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        ChatMessage message = messages.get(position);
+        ChatMessage message = getItem(position);
+        if (message == null) {
+            return;
+        }
         
         if (holder instanceof SentMessageViewHolder) {
             ((SentMessageViewHolder) holder).bind(message);
@@ -85,11 +115,6 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         }
     }
     
-    @Override
-    public int getItemCount() {
-        return messages.size();
-    }
-    
     // Sent message view holder
     class SentMessageViewHolder extends RecyclerView.ViewHolder {
         private LinearLayout messageContainer;
@@ -121,8 +146,8 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
             messageContainer.setOnClickListener(v -> {
                 if (listener != null) {
                     int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION) {
-                        listener.onMessageClick(messages.get(position));
+                    if (position != RecyclerView.NO_POSITION && getItem(position) != null) {
+                        listener.onMessageClick(getItem(position));
                     }
                 }
             });
@@ -130,8 +155,8 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
             messageContainer.setOnLongClickListener(v -> {
                 if (listener != null) {
                     int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION) {
-                        listener.onMessageLongClick(messages.get(position));
+                    if (position != RecyclerView.NO_POSITION && getItem(position) != null) {
+                        listener.onMessageLongClick(getItem(position));
                         return true;
                     }
                 }
@@ -228,8 +253,8 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
             messageContainer.setOnClickListener(v -> {
                 if (listener != null) {
                     int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION) {
-                        listener.onMessageClick(messages.get(position));
+                    if (position != RecyclerView.NO_POSITION && getItem(position) != null) {
+                        listener.onMessageClick(getItem(position));
                     }
                 }
             });
@@ -237,8 +262,8 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
             messageContainer.setOnLongClickListener(v -> {
                 if (listener != null) {
                     int position = getAdapterPosition();
-                    if (position != RecyclerView.NO_POSITION) {
-                        listener.onMessageLongClick(messages.get(position));
+                    if (position != RecyclerView.NO_POSITION && getItem(position) != null) {
+                        listener.onMessageLongClick(getItem(position));
                         return true;
                     }
                 }
@@ -6,6 +6,8 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.namatovu.alumniportal.R;
@@ -15,20 +17,40 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewHolder> {
+public class EventsAdapter extends ListAdapter<AlumniEvent, EventsAdapter.EventViewHolder> {
     
-    private List<AlumniEvent> events = new ArrayList<>();
     private OnEventActionListener listener;
     private String currentUserId;
     
+    // Rows are matched by event ID and rebound only when something they show has changed
+    private static final DiffUtil.ItemCallback<AlumniEvent> DIFF_CALLBACK = new DiffUtil.ItemCallback<AlumniEvent>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull AlumniEvent oldItem, @NonNull AlumniEvent newItem) {
+            return Objects.equals(oldItem.getEventId(), newItem.getEventId());
+        }
+        
+        @Override
+        public boolean areContentsTheSame(@NonNull AlumniEvent oldItem, @NonNull AlumniEvent newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && Objects.equals(oldItem.getVenueDisplayText(), newItem.getVenueDisplayText())
+                    && Objects.equals(oldItem.getEventTypeDisplayText(), newItem.getEventTypeDisplayText())
+                    && oldItem.getStartDateTime() == newItem.getStartDateTime()
+                    && oldItem.getCurrentAttendees() == newItem.getCurrentAttendees()
+                    && Objects.equals(oldItem.getAttendeeIds(), newItem.getAttendeeIds());
+        }
+    };
+    
     // Default constructor
     public EventsAdapter() {
+        super(DIFF_CALLBACK);
     }
     
     // Constructor with parameters
-    public EventsAdapter(List<AlumniEvent> events, String currentUserId, OnEventActionListener listener) {
-        this.events = events != null ? events : new ArrayList<>();
+    public EventsAdapter(String currentUserId, OnEventActionListener listener) {
+        super(DIFF_CALLBACK);
         this.currentUserId = currentUserId;
         this.listener = listener;
     }
@@ -44,9 +66,9 @@ public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewH
         this.listener = listener;
     }
     
+    // The list is copied so later changes to the caller's list can't bypass the diff
     public void setEvents(List<AlumniEvent> events) {
-        this.events = events != null ? events : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(events != null ? new ArrayList<>(events) : new ArrayList<>());
     }
     
     @NonNull
@@ -59,15 +81,10 @@ public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewH
     
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        AlumniEvent event = events.get(position);
+        AlumniEvent event = getItem(position);
         holder.bind(event);
     }
     
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
-    
     class EventViewHolder extends RecyclerView.ViewHolder {
         private TextView textTitle;
         private TextView textDescription;
@@ -93,14 +110,14 @@ public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewH
             
             itemView.setOnClickListener(v -> {
                 if (listener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
-                    listener.onEventClick(events.get(getAdapterPosition()));
+                    listener.onEventClick(getItem(getAdapterPosition()));
                 }
             });
 
             if (buttonRegister != null) {
                 buttonRegister.setOnClickListener(v -> {
                     if (listener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
-                        listener.onRegisterClick(events.get(getAdapterPosition()));
+                        listener.onRegisterClick(getItem(getAdapterPosition()));
                     }
                 });
             }
@@ -108,7 +125,7 @@ public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewH
             if (buttonShare != null) {
                 buttonShare.setOnClickListener(v -> {
                     if (listener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
-                        listener.onShareClick(events.get(getAdapterPosition()));
+                        listener.onShareClick(getItem(getAdapterPosition()));
                     }
                 });
             }
@@ -116,7 +133,7 @@ public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewH
             if (buttonAddToCalendar != null) {
                 buttonAddToCalendar.setOnClickListener(v -> {
                     if (listener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
-                        listener.onAddToCalendarClick(events.get(getAdapterPosition()));
+                        listener.onAddToCalendarClick(getItem(getAdapterPosition()));
                     }
                 });
             }
@@ -7,20 +7,38 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.namatovu.alumniportal.R;
 import com.namatovu.alumniportal.models.JobPosting;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class JobPostingAdapter extends RecyclerView.Adapter<JobPostingAdapter.JobViewHolder> {
+public class JobPostingAdapter extends PagingDataAdapter<JobPosting, JobPostingAdapter.JobViewHolder> {
+    
+    private static final DiffUtil.ItemCallback<JobPosting> DIFF_CALLBACK = new DiffUtil.ItemCallback<JobPosting>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull JobPosting oldItem, @NonNull JobPosting newItem) {
+            return Objects.equals(oldItem.getJobId(), newItem.getJobId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull JobPosting oldItem, @NonNull JobPosting newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getCompany(), newItem.getCompany())
+                    && Objects.equals(oldItem.getLocation(), newItem.getLocation())
+                    && Objects.equals(oldItem.getSalaryRange(), newItem.getSalaryRange())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && Objects.equals(oldItem.getJobType(), newItem.getJobType())
+                    && oldItem.getPostedAt() == newItem.getPostedAt();
+        }
+    };
     
-    private List<JobPosting> jobPostings = new ArrayList<>();
     private OnJobClickListener listener;
     
     public interface OnJobClickListener {
@@ -29,16 +47,11 @@ public class JobPostingAdapter extends RecyclerView.Adapter<JobPostingAdapter.Jo
     }
     
     // Constructor
-    public JobPostingAdapter(List<JobPosting> jobPostings, OnJobClickListener listener) {
-        this.jobPostings = jobPostings != null ? jobPostings : new ArrayList<>();
+    public JobPostingAdapter(OnJobClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
     }
     
-    public void setJobPostings(List<JobPosting> jobPostings) {
-        this.jobPostings = jobPostings != null ? jobPostings : new ArrayList<>();
-        notifyDataSetChanged();
-    }
-    
     @NonNull
     @Override
     public JobViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -49,13 +62,12 @@ public class JobPostingAdapter extends RecyclerView.Adapter<JobPostingAdapter.Jo
     
     @Override
     public void onBindViewHolder(@NonNull JobViewHolder holder, int position) {
-        JobPosting job = jobPostings.get(position);
+        JobPosting job = getItem(position);
         holder.bind(job);
     }
     
-    @Override
-    public int getItemCount() {
-        return jobPostings.size();
+    private JobPosting jobAt(int position) {
+        return position != RecyclerView.NO_POSITION ? getItem(position) : null;
     }
     
     class JobViewHolder extends RecyclerView.ViewHolder {
@@ -80,15 +92,17 @@ public class JobPostingAdapter extends RecyclerView.Adapter<JobPostingAdapter.Jo
             buttonApply = itemView.findViewById(R.id.buttonApply);
             
             itemView.setOnClickListener(v -> {
-                if (listener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
-                    listener.onJobClick(jobPostings.get(getAdapterPosition()));
+                JobPosting job = jobAt(getAdapterPosition());
+                if (listener != null && job != null) {
+                    listener.onJobClick(job);
                 }
             });
 
             if (buttonApply != null) {
                 buttonApply.setOnClickListener(v -> {
-                    if (listener != null && getAdapterPosition() != RecyclerView.NO_POSITION) {
-                        listener.onApplyClick(jobPostings.get(getAdapterPosition()));
+                    JobPosting job = jobAt(getAdapterPosition());
+                    if (listener != null && job != null) {
+                        listener.onApplyClick(job);
                     }
                 });
             }
@@ -13,16 +13,16 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.namatovu.alumniportal.R;
-import com.namatovu.alumniportal.database.entities.MentorEntity;
+import com.namatovu.alumniportal.database.dao.MentorDao.MentorListItem;
 
 import java.util.List;
 
 public class MentorAdapter extends RecyclerView.Adapter<MentorAdapter.MentorViewHolder> {
     
     private Context context;
-    private List<MentorEntity> mentors;
+    private List<MentorListItem> mentors;
     
-    public MentorAdapter(Context context, List<MentorEntity> mentors) {
+    public MentorAdapter(Context context, List<MentorListItem> mentors) {
         this.context = context;
         this.mentors = mentors;
     }
@@ -36,7 +36,7 @@ public class MentorAdapter extends RecyclerView.Adapter<MentorAdapter.MentorView
     
     @Override
     public void onBindViewHolder(@NonNull MentorViewHolder holder, int position) {
-        MentorEntity mentor = mentors.get(position);
+        MentorListItem mentor = mentors.get(position);
         holder.bind(mentor);
     }
     
@@ -67,21 +67,21 @@ public class MentorAdapter extends RecyclerView.Adapter<MentorAdapter.MentorView
             viewAvailable = itemView.findViewById(R.id.viewAvailable);
         }
         
-        public void bind(MentorEntity mentor) {
-            textViewName.setText(mentor.getFullName());
-            textViewJob.setText(mentor.getCurrentJob() + " at " + mentor.getCompany());
-            textViewExpertise.setText(mentor.getExpertise());
-            textViewCategory.setText(mentor.getCategory());
-            textViewYear.setText("Class of " + mentor.getGraduationYear());
-            textViewRating.setText(String.format("%.1f ⭐", mentor.getRating()));
+        public void bind(MentorListItem mentor) {
+            textViewName.setText(mentor.fullName);
+            textViewJob.setText(mentor.currentJob + " at " + mentor.company);
+            textViewExpertise.setText(mentor.expertise);
+            textViewCategory.setText(mentor.category);
+            textViewYear.setText("Class of " + mentor.graduationYear);
+            textViewRating.setText(String.format("%.1f ⭐", mentor.rating));
             
             // Show availability indicator
-            viewAvailable.setVisibility(mentor.isAvailable() ? View.VISIBLE : View.GONE);
+            viewAvailable.setVisibility(mentor.isAvailable ? View.VISIBLE : View.GONE);
             
             // Load profile image
-            if (mentor.getProfileImageUrl() != null && !mentor.getProfileImageUrl().isEmpty()) {
+            if (mentor.profileImageUrl != null && !mentor.profileImageUrl.isEmpty()) {
                 Glide.with(context)
-                        .load(mentor.getProfileImageUrl())
+                        .load(mentor.profileImageUrl)
                         .circleCrop()
                         .placeholder(R.drawable.ic_person)
                         .into(imageViewProfile);
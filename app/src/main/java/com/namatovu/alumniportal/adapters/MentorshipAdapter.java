@@ -274,7 +274,7 @@ public class MentorshipAdapter extends RecyclerView.Adapter<MentorshipAdapter.Me
                             }
                             
                             try {
-                                User user = documentSnapshot.toObject(User.class);
+                                User user = User.fromDocument(documentSnapshot);
                                 if (user != null) {
                                     // Load profile picture
                                     String profileImageUrl = user.getProfileImageUrl();
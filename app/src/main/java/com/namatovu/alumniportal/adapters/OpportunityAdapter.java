@@ -230,7 +230,7 @@ public class OpportunityAdapter extends RecyclerView.Adapter<OpportunityAdapter.
                         }
                         
                         try {
-                            User user = documentSnapshot.toObject(User.class);
+                            User user = User.fromDocument(documentSnapshot);
                             if (user != null) {
                                 // Load profile picture
                                 String profileImageUrl = user.getProfileImageUrl();
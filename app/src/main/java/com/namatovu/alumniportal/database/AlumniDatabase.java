@@ -6,17 +6,37 @@ import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 
+import com.namatovu.alumniportal.database.dao.CachedDocumentDao;
+import com.namatovu.alumniportal.database.dao.ChatMessageDao;
 import com.namatovu.alumniportal.database.dao.EventDao;
 import com.namatovu.alumniportal.database.dao.JobDao;
+import com.namatovu.alumniportal.database.dao.JobPostingDao;
+import com.namatovu.alumniportal.database.dao.OpportunityDao;
+import com.namatovu.alumniportal.database.dao.PendingMutationDao;
+import com.namatovu.alumniportal.database.dao.SyncStateDao;
 import com.namatovu.alumniportal.database.dao.UserDao;
+import com.namatovu.alumniportal.database.entities.CachedDocumentEntity;
+import com.namatovu.alumniportal.database.entities.ChatMessageEntity;
+import com.namatovu.alumniportal.database.entities.ChatMessageFtsEntity;
 import com.namatovu.alumniportal.database.entities.EventEntity;
+import com.namatovu.alumniportal.database.entities.EventFtsEntity;
 import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.JobFtsEntity;
+import com.namatovu.alumniportal.database.entities.JobPostingEntity;
+import com.namatovu.alumniportal.database.entities.MentorFtsEntity;
+import com.namatovu.alumniportal.database.entities.OpportunityEntity;
+import com.namatovu.alumniportal.database.entities.PendingMutationEntity;
+import com.namatovu.alumniportal.database.entities.SyncStateEntity;
 import com.namatovu.alumniportal.database.entities.UserEntity;
 
 @Database(
-    entities = {UserEntity.class, JobEntity.class, EventEntity.class, com.namatovu.alumniportal.database.entities.MentorEntity.class},
-    version = 3,
-    exportSchema = false
+    entities = {UserEntity.class, JobEntity.class, EventEntity.class, com.namatovu.alumniportal.database.entities.MentorEntity.class,
+            JobFtsEntity.class, EventFtsEntity.class, MentorFtsEntity.class,
+            ChatMessageEntity.class, ChatMessageFtsEntity.class, JobPostingEntity.class,
+            CachedDocumentEntity.class, PendingMutationEntity.class, SyncStateEntity.class,
+            OpportunityEntity.class},
+    version = 16,
+    exportSchema = true
 )
 public abstract class AlumniDatabase extends RoomDatabase {
     
@@ -28,6 +48,12 @@ public abstract class AlumniDatabase extends RoomDatabase {
     public abstract JobDao jobDao();
     public abstract EventDao eventDao();
     public abstract com.namatovu.alumniportal.database.dao.MentorDao mentorDao();
+    public abstract ChatMessageDao chatMessageDao();
+    public abstract JobPostingDao jobPostingDao();
+    public abstract CachedDocumentDao cachedDocumentDao();
+    public abstract PendingMutationDao pendingMutationDao();
+    public abstract SyncStateDao syncStateDao();
+    public abstract OpportunityDao opportunityDao();
     
     // Singleton pattern
     public static AlumniDatabase getInstance(Context context) {
@@ -39,7 +65,9 @@ public abstract class AlumniDatabase extends RoomDatabase {
                             AlumniDatabase.class,
                             DATABASE_NAME
                     )
-                    .fallbackToDestructiveMigration() // For development
+                    .addMigrations(AlumniMigrations.ALL)
+                    // Schemas before version 3 were never recorded, so those installs start over
+                    .fallbackToDestructiveMigrationFrom(1, 2)
                     .build();
                 }
             }
@@ -0,0 +1,264 @@
+package com.namatovu.alumniportal.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Schema migrations for AlumniDatabase, one per version step, so an app
+ * update keeps the cached users, jobs, events and mentors instead of wiping
+ * them and re-downloading everything from Firestore.
+ *
+ * The SQL mirrors what Room generates for the entities; the exported schemas
+ * in app/schemas are what MigrationTest checks each step against.
+ */
+public final class AlumniMigrations {
+
+    private AlumniMigrations() {}
+
+    // Version 4: FTS4 search tables for jobs, events and mentors
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            createContentSyncedFts(db, "jobs_fts", "jobs",
+                    "title", "company", "description", "location");
+            createContentSyncedFts(db, "events_fts", "events",
+                    "title", "description", "location", "category");
+            createContentSyncedFts(db, "mentors_fts", "mentors",
+                    "fullName", "expertise", "company", "currentJob", "bio");
+        }
+    };
+
+    // Version 5: cached chat messages and their search table
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `chat_messages` (`messageId` TEXT NOT NULL, " +
+                    "`chatId` TEXT, `senderId` TEXT, `senderName` TEXT, `content` TEXT, `messageType` TEXT, " +
+                    "`fileUrl` TEXT, `fileName` TEXT, `fileSize` INTEGER NOT NULL, `timestamp` INTEGER NOT NULL, " +
+                    "`readStatus` INTEGER NOT NULL, `readTimestamp` INTEGER NOT NULL, `replyToMessageId` TEXT, " +
+                    "`isEdited` INTEGER NOT NULL, `editTimestamp` INTEGER NOT NULL, `isDeleted` INTEGER NOT NULL, " +
+                    "`deleteTimestamp` INTEGER NOT NULL, `updatedAt` INTEGER NOT NULL, `syncStatus` TEXT, " +
+                    "PRIMARY KEY(`messageId`))");
+            createContentSyncedFts(db, "chat_messages_fts", "chat_messages", "content", "senderName");
+        }
+    };
+
+    // Version 6: job postings for the paged job board
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `job_postings` (`jobId` TEXT NOT NULL, `company` TEXT, " +
+                    "`position` TEXT, `description` TEXT, `requirements` TEXT, `location` TEXT, `jobType` TEXT, " +
+                    "`experienceLevel` TEXT, `salaryRange` TEXT, `applicationDeadline` INTEGER NOT NULL, " +
+                    "`applicationUrl` TEXT, `postedByUserId` TEXT, `postedByName` TEXT, `postedAt` INTEGER NOT NULL, " +
+                    "`isActive` INTEGER NOT NULL, `tags` TEXT, `createdAt` INTEGER NOT NULL, " +
+                    "`updatedAt` INTEGER NOT NULL, `lastSync` INTEGER NOT NULL, `syncStatus` TEXT, " +
+                    "PRIMARY KEY(`jobId`))");
+        }
+    };
+
+    // Version 7: cached query results for the offline-first list screens
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `cached_documents` (`cacheKey` TEXT NOT NULL, " +
+                    "`documentId` TEXT NOT NULL, `position` INTEGER NOT NULL, `json` TEXT, " +
+                    "`cachedAt` INTEGER NOT NULL, PRIMARY KEY(`cacheKey`, `documentId`))");
+        }
+    };
+
+    // Version 8: indices behind the DAO filters and sort orders; QueryPlanTest keeps them in use
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            createIndex(db, "users", "fullName");
+            createIndex(db, "users", "major");
+            createIndex(db, "users", "lastSynced");
+            createIndex(db, "jobs", "postedDate");
+            createIndex(db, "jobs", "isSaved", "postedDate");
+            createIndex(db, "jobs", "jobType", "postedDate");
+            createIndex(db, "jobs", "deadline");
+            createIndex(db, "events", "eventDate");
+            createIndex(db, "events", "isAttending", "eventDate");
+            createIndex(db, "events", "category", "eventDate");
+            createIndex(db, "mentors", "fullName");
+            createIndex(db, "mentors", "isAvailable", "rating");
+            createIndex(db, "mentors", "category", "rating");
+            createIndex(db, "mentors", "graduationYear", "fullName");
+            createIndex(db, "chat_messages", "chatId", "timestamp");
+            createIndex(db, "job_postings", "postedAt");
+            createIndex(db, "job_postings", "isActive", "postedAt");
+            createIndex(db, "job_postings", "lastSync");
+            createIndex(db, "cached_documents", "cacheKey", "position");
+        }
+    };
+
+    // Version 9: indices for CacheCompactor's eviction order and expiry deletes
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            createIndex(db, "jobs", "lastSyncTime");
+            createIndex(db, "events", "lastSyncTime");
+            createIndex(db, "mentors", "lastSyncTime");
+            createIndex(db, "chat_messages", "timestamp");
+            createIndex(db, "job_postings", "applicationDeadline");
+            createIndex(db, "cached_documents", "cachedAt");
+        }
+    };
+
+    // Version 10: outbox of Firestore writes waiting to be flushed
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pending_mutations` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`idempotencyKey` TEXT NOT NULL, `documentPath` TEXT NOT NULL, `operation` TEXT NOT NULL, " +
+                    "`fieldsJson` TEXT NOT NULL, `mergeKey` TEXT, `needsReceipt` INTEGER NOT NULL, " +
+                    "`claimed` INTEGER NOT NULL, `attempts` INTEGER NOT NULL, `createdAt` INTEGER NOT NULL)");
+            createIndex(db, "pending_mutations", "claimed");
+            createIndex(db, "pending_mutations", "mergeKey");
+        }
+    };
+
+    // Version 11: per-collection high-water marks for delta sync
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sync_state` (`collection` TEXT NOT NULL, " +
+                    "`updatedAtMark` INTEGER NOT NULL, `lastSyncedAt` INTEGER NOT NULL, PRIMARY KEY(`collection`))");
+        }
+    };
+
+    // Version 12: resumable full syncs and a separate tombstone mark per collection
+    public static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `updatedAtDocId` TEXT");
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `tombstoneMark` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `tombstoneDocId` TEXT");
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `fullSyncStartedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `fullSyncAfterId` TEXT");
+            // Tombstones were read up to the document mark until now
+            db.execSQL("UPDATE `sync_state` SET `tombstoneMark` = `updatedAtMark`");
+        }
+    };
+
+    // Version 13: the user and event fields the list screens render, and synced job opportunities
+    public static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `username` TEXT");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `userType` TEXT");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `bio` TEXT");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `location` TEXT");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `skills` TEXT");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `isVerified` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `showInDirectory` INTEGER NOT NULL DEFAULT 1");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `showCurrentJob` INTEGER NOT NULL DEFAULT 1");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `showLocation` INTEGER NOT NULL DEFAULT 1");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `showEmail` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `allowMentorRequests` INTEGER NOT NULL DEFAULT 1");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `endDate` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `address` TEXT");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `isOnline` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `isPublic` INTEGER NOT NULL DEFAULT 1");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `maxAttendees` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `requiresRegistration` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `events` ADD COLUMN `registrationUrl` TEXT");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `job_opportunities` (`id` TEXT NOT NULL, `title` TEXT, " +
+                    "`company` TEXT, `category` TEXT, `description` TEXT, `location` TEXT, `salaryRange` TEXT, " +
+                    "`requirements` TEXT, `applicationLink` TEXT, `postedBy` TEXT, " +
+                    "`applicationDeadline` INTEGER NOT NULL, `datePosted` INTEGER NOT NULL, " +
+                    "`isFeatured` INTEGER NOT NULL, `applicationsCount` INTEGER NOT NULL, " +
+                    "`lastSyncTime` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            createIndex(db, "job_opportunities", "applicationDeadline");
+            createIndex(db, "job_opportunities", "lastSyncTime");
+            // Rows already synced lack the new columns; a full sync fills them in
+            db.execSQL("DELETE FROM `sync_state` WHERE `collection` IN ('users', 'events')");
+        }
+    };
+
+    // Version 14: timelines page by timestamp and then ID, and cached messages keep the sender's avatar
+    public static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `chat_messages` ADD COLUMN `senderProfileImage` TEXT");
+            db.execSQL("ALTER TABLE `chat_messages` ADD COLUMN `isDelivered` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("DROP INDEX IF EXISTS `index_chat_messages_chatId_timestamp`");
+            createIndex(db, "chat_messages", "chatId", "timestamp", "messageId");
+            db.execSQL("DROP INDEX IF EXISTS `index_job_postings_postedAt`");
+            db.execSQL("DROP INDEX IF EXISTS `index_job_postings_isActive_postedAt`");
+            createIndex(db, "job_postings", "postedAt", "jobId");
+            createIndex(db, "job_postings", "isActive", "postedAt", "jobId");
+        }
+    };
+
+    public static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            createIndex(db, "job_opportunities", "isFeatured", "datePosted");
+        }
+    };
+
+    // Version 16: sync marks keep the server stamp's full precision as seconds plus nanoseconds
+    public static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `updatedAtNanos` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `sync_state` ADD COLUMN `tombstoneNanos` INTEGER NOT NULL DEFAULT 0");
+            // The marks were epoch millis until now
+            db.execSQL("UPDATE `sync_state` SET " +
+                    "`updatedAtNanos` = (`updatedAtMark` % 1000) * 1000000, `updatedAtMark` = `updatedAtMark` / 1000, " +
+                    "`tombstoneNanos` = (`tombstoneMark` % 1000) * 1000000, `tombstoneMark` = `tombstoneMark` / 1000");
+        }
+    };
+
+    public static final Migration[] ALL = {MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7,
+            MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13,
+            MIGRATION_13_14, MIGRATION_14_15, MIGRATION_15_16};
+
+    /**
+     * An index named the way Room names the ones declared with @Index
+     */
+    static void createIndex(SupportSQLiteDatabase db, String table, String... columns) {
+        StringBuilder name = new StringBuilder("index_").append(table);
+        StringBuilder definition = new StringBuilder();
+        for (String column : columns) {
+            name.append('_').append(column);
+            if (definition.length() > 0) {
+                definition.append(", ");
+            }
+            definition.append('`').append(column).append('`');
+        }
+        db.execSQL("CREATE INDEX IF NOT EXISTS `" + name + "` ON `" + table + "` (" + definition + ")");
+    }
+
+    /**
+     * An FTS4 table over an existing content table, with the same sync
+     * triggers Room creates, indexed from the rows already cached
+     */
+    static void createContentSyncedFts(SupportSQLiteDatabase db, String ftsTable, String contentTable,
+                                       String... columns) {
+        StringBuilder definitions = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        StringBuilder newValues = new StringBuilder();
+        for (String column : columns) {
+            definitions.append('`').append(column).append("` TEXT, ");
+            names.append(", `").append(column).append('`');
+            newValues.append(", NEW.`").append(column).append('`');
+        }
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `" + ftsTable + "` USING FTS4(" +
+                definitions + "content=`" + contentTable + "`)");
+
+        String trigger = "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + ftsTable + "_";
+        String deleteOld = " BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END";
+        String insertNew = " BEGIN INSERT INTO `" + ftsTable + "`(`docid`" + names + ") VALUES (NEW.`rowid`" +
+                newValues + "); END";
+        db.execSQL(trigger + "BEFORE_UPDATE BEFORE UPDATE ON `" + contentTable + "`" + deleteOld);
+        db.execSQL(trigger + "BEFORE_DELETE BEFORE DELETE ON `" + contentTable + "`" + deleteOld);
+        db.execSQL(trigger + "AFTER_UPDATE AFTER UPDATE ON `" + contentTable + "`" + insertNew);
+        db.execSQL(trigger + "AFTER_INSERT AFTER INSERT ON `" + contentTable + "`" + insertNew);
+
+        db.execSQL("INSERT INTO `" + ftsTable + "`(`" + ftsTable + "`) VALUES('rebuild')");
+    }
+}
@@ -0,0 +1,27 @@
+package com.namatovu.alumniportal.database;
+
+import java.util.List;
+
+/**
+ * Splits large sync writes into fixed-size chunks, each written in its own
+ * transaction, so a big sync never holds the database write lock for long and
+ * every IN (...) lookup stays under SQLite's bound-variable limit.
+ */
+public final class BulkWrites {
+    public static final int CHUNK_SIZE = 500;
+
+    public interface ChunkWriter<T> {
+        void write(List<T> chunk);
+    }
+
+    private BulkWrites() {}
+
+    public static <T> void inChunks(List<T> rows, ChunkWriter<T> writer) {
+        if (rows == null) {
+            return;
+        }
+        for (int start = 0; start < rows.size(); start += CHUNK_SIZE) {
+            writer.write(rows.subList(start, Math.min(start + CHUNK_SIZE, rows.size())));
+        }
+    }
+}
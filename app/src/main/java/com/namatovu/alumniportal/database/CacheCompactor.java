@@ -0,0 +1,160 @@
+package com.namatovu.alumniportal.database;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the local cache small: drops expired rows, holds each budgeted
+ * table to a byte budget by evicting the least recently synced rows first, and
+ * rebuilds the database file once enough of it is free pages.
+ *
+ * Table sizes are estimated from the payload of a sample of rows; FTS
+ * shadow tables and index pages come on top and shrink with their table.
+ */
+public final class CacheCompactor {
+    private static final String TAG = "CacheCompactor";
+    private static final long MB = 1024 * 1024;
+    private static final int SAMPLE_ROWS = 200;
+    // VACUUM rewrites the whole file, so only pay for it when a quarter of it is unused
+    private static final double VACUUM_FREE_RATIO = 0.25;
+
+    static final long PAST_EVENT_RETENTION = TimeUnit.DAYS.toMillis(90);
+    static final long CACHED_QUERY_RETENTION = TimeUnit.DAYS.toMillis(30);
+
+    public static final class TableBudget {
+        public final String table;
+        // Oldest values are evicted first
+        public final String lruColumn;
+        // Column that groups rows which must be evicted together
+        public final String evictionKey;
+        // Rows matching this are never evicted, null when every row may go
+        public final String keepWhere;
+        public final long maxBytes;
+
+        public TableBudget(String table, String lruColumn, String evictionKey, String keepWhere, long maxBytes) {
+            this.table = table;
+            this.lruColumn = lruColumn;
+            this.evictionKey = evictionKey;
+            this.keepWhere = keepWhere;
+            this.maxBytes = maxBytes;
+        }
+
+        public TableBudget withMaxBytes(long maxBytes) {
+            return new TableBudget(table, lruColumn, evictionKey, keepWhere, maxBytes);
+        }
+    }
+
+    // users, jobs, events and mentors are kept whole by DeltaSync, which only
+    // fetches what changed since its mark, so an evicted row would never come back
+    public static final List<TableBudget> DEFAULT_BUDGETS = Arrays.asList(
+            new TableBudget("chat_messages", "timestamp", "rowid", null, 8 * MB),
+            new TableBudget("job_postings", "lastSync", "rowid", null, 4 * MB),
+            new TableBudget("cached_documents", "cachedAt", "cacheKey", null, 4 * MB));
+
+    private CacheCompactor() {}
+
+    /**
+     * Rows that are no longer worth showing: unsaved jobs and opportunities past their deadline, events
+     * long over and cached query results nobody has refreshed in a month
+     */
+    public static int deleteExpired(AlumniDatabase db, long now) {
+        int deleted = db.jobDao().deleteExpiredJobs(now);
+        deleted += db.jobPostingDao().deleteExpiredJobs(now);
+        deleted += db.opportunityDao().deleteExpiredOpportunities(now);
+        deleted += db.eventDao().deleteOldEvents(now - PAST_EVENT_RETENTION);
+        deleted += db.cachedDocumentDao().deleteResultsCachedBefore(now - CACHED_QUERY_RETENTION);
+        return deleted;
+    }
+
+    /**
+     * Evicts the least recently synced rows until the table's estimated size
+     * fits its budget; returns the number of rows deleted
+     */
+    public static int enforceBudget(AlumniDatabase db, TableBudget budget) {
+        long rows = count(db, budget.table);
+        long rowBytes = averageRowBytes(db, budget.table);
+        if (rows == 0 || rowBytes == 0) {
+            return 0;
+        }
+        long keepRows = Math.max(1, budget.maxBytes / rowBytes);
+        if (rows <= keepRows) {
+            return 0;
+        }
+
+        String evictable = budget.keepWhere != null ? " WHERE NOT (" + budget.keepWhere + ")" : "";
+        String sql = "DELETE FROM `" + budget.table + "` WHERE " + budget.evictionKey + " IN (SELECT " +
+                budget.evictionKey + " FROM `" + budget.table + "`" + evictable + " ORDER BY " +
+                budget.lruColumn + " ASC LIMIT " + (rows - keepRows) + ")";
+        // Room's transaction wrapper tells LiveData observers about the delete
+        int deleted = db.runInTransaction(() -> {
+            try (SupportSQLiteStatement statement = db.compileStatement(sql)) {
+                return statement.executeUpdateDelete();
+            }
+        });
+        Log.d(TAG, "Evicted " + deleted + " rows from " + budget.table + " (~" + rowBytes + " bytes each)");
+        return deleted;
+    }
+
+    /**
+     * VACUUM when enough of the file is free pages, then let SQLite refresh
+     * the statistics the query planner uses. Must run outside a transaction.
+     */
+    public static void vacuumAndOptimize(AlumniDatabase db) {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        long pages = pragma(sqlite, "page_count");
+        long freePages = pragma(sqlite, "freelist_count");
+        if (pages > 0 && freePages >= pages * VACUUM_FREE_RATIO) {
+            sqlite.execSQL("VACUUM");
+            Log.d(TAG, "Vacuumed " + freePages + " free pages of " + pages);
+        }
+        try (Cursor cursor = sqlite.query("PRAGMA optimize")) {
+            while (cursor.moveToNext()) {
+                // Drain so the pragma runs to completion
+            }
+        }
+    }
+
+    private static long count(AlumniDatabase db, String table) {
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM `" + table + "`", null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    private static long averageRowBytes(AlumniDatabase db, String table) {
+        long bytes = 0;
+        int sampled = 0;
+        try (Cursor cursor = db.query("SELECT * FROM `" + table + "` LIMIT " + SAMPLE_ROWS, null)) {
+            while (cursor.moveToNext()) {
+                sampled++;
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    switch (cursor.getType(i)) {
+                        case Cursor.FIELD_TYPE_STRING:
+                            bytes += cursor.getString(i).length();
+                            break;
+                        case Cursor.FIELD_TYPE_BLOB:
+                            bytes += cursor.getBlob(i).length;
+                            break;
+                        case Cursor.FIELD_TYPE_NULL:
+                            break;
+                        default:
+                            bytes += 8;
+                    }
+                }
+            }
+        }
+        return sampled == 0 ? 0 : bytes / sampled;
+    }
+
+    private static long pragma(SupportSQLiteDatabase sqlite, String name) {
+        try (Cursor cursor = sqlite.query("PRAGMA " + name)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.namatovu.alumniportal.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Helpers for the FTS4 search queries: turning user input into a MATCH
+ * expression and ranking rows from their matchinfo() blob.
+ */
+public final class FtsRanking {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private FtsRanking() {}
+
+    /**
+     * A query row carrying the matchinfo() blob it was selected with
+     */
+    public interface Ranked<T> {
+        T getItem();
+        byte[] getMatchInfo();
+    }
+
+    /**
+     * Build a prefix MATCH expression from free text, e.g. "soft eng" becomes
+     * "soft* eng*". Returns null when the input has nothing searchable.
+     */
+    public static String toMatchQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        String lower = query.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean tokenChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(lower, start, i).append('*');
+                start = -1;
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Okapi BM25 over a matchinfo(table, 'pcnalx') blob, with a weight per FTS
+     * column in declaration order.
+     */
+    public static double bm25(byte[] matchInfo, double... columnWeights) {
+        if (matchInfo == null || matchInfo.length < 12) {
+            return 0;
+        }
+        IntBuffer info = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phraseCount = info.get(0);
+        int columnCount = info.get(1);
+        int rowCount = info.get(2);
+        int avgLengthOffset = 3;
+        int lengthOffset = avgLengthOffset + columnCount;
+        int hitsOffset = lengthOffset + columnCount;
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                double weight = column < columnWeights.length ? columnWeights[column] : 1.0;
+                if (weight == 0) {
+                    continue;
+                }
+                int base = hitsOffset + 3 * (column + phrase * columnCount);
+                int termFrequency = info.get(base);
+                if (termFrequency == 0) {
+                    continue;
+                }
+                int docsWithHits = info.get(base + 2);
+                double idf = Math.log((rowCount - docsWithHits + 0.5) / (docsWithHits + 0.5));
+                if (idf <= 0) {
+                    idf = 1e-6;
+                }
+                double avgLength = Math.max(1, info.get(avgLengthOffset + column));
+                double length = info.get(lengthOffset + column);
+                double tf = termFrequency * (K1 + 1)
+                        / (termFrequency + K1 * (1 - B + B * length / avgLength));
+                score += weight * idf * tf;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Sort rows by descending BM25 score and unwrap them
+     */
+    public static <T> List<T> rank(List<? extends Ranked<T>> rows, double... columnWeights) {
+        if (rows == null || rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int size = rows.size();
+        double[] scores = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = bm25(rows.get(i).getMatchInfo(), columnWeights);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<T> ranked = new ArrayList<>(size);
+        for (Integer index : order) {
+            ranked.add(rows.get(index).getItem());
+        }
+        return ranked;
+    }
+}
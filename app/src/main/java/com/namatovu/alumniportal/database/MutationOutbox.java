@@ -0,0 +1,276 @@
+package com.namatovu.alumniportal.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.firebase.firestore.FieldValue;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.namatovu.alumniportal.database.dao.PendingMutationDao;
+import com.namatovu.alumniportal.database.entities.PendingMutationEntity;
+import com.namatovu.alumniportal.services.OutboxFlushWorker;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Queue of Firestore writes kept in Room until OutboxFlushWorker commits them,
+ * so likes, RSVPs, requests and messages made offline are not lost. Writes
+ * that share a merge key are folded together before they are ever sent.
+ *
+ * Field values are stored as JSON; increments, array unions and removals,
+ * server timestamps and dates are stored as {"$op": ...} objects and turned
+ * back into FieldValues when flushed.
+ */
+public final class MutationOutbox {
+    private static final String TAG = "MutationOutbox";
+    private static volatile MutationOutbox INSTANCE;
+
+    public static final String OP_SET = "SET";
+    public static final String OP_MERGE = "MERGE";
+    public static final String OP_UPDATE = "UPDATE";
+
+    private static final String SENTINEL = "$op";
+    private static final String INCREMENT = "increment";
+    private static final String ARRAY_UNION = "arrayUnion";
+    private static final String ARRAY_REMOVE = "arrayRemove";
+    private static final String SERVER_TIMESTAMP = "serverTimestamp";
+    private static final String DATE = "date";
+    private static final String VALUE = "value";
+
+    private static final Gson GSON = new Gson();
+    private static final Type FIELDS_TYPE = new TypeToken<LinkedHashMap<String, Object>>() {}.getType();
+
+    /**
+     * What happens when a write arrives while another with its merge key is still pending
+     */
+    public enum Merge {
+        // Both are kept
+        NONE,
+        // The newer write replaces the pending one
+        REPLACE,
+        // The two undo each other, e.g. a like followed by an unlike, and neither is sent
+        TOGGLE,
+        // Fields are folded into the pending write: increments add up, other values are overwritten
+        COMBINE
+    }
+
+    public static final class Write {
+        final String documentPath;
+        final String operation;
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        String mergeKey;
+        Merge merge = Merge.NONE;
+        boolean needsReceipt;
+
+        private Write(String documentPath, String operation) {
+            this.documentPath = documentPath;
+            this.operation = operation;
+        }
+
+        public static Write set(String documentPath) {
+            return new Write(documentPath, OP_SET);
+        }
+
+        public static Write merge(String documentPath) {
+            return new Write(documentPath, OP_MERGE);
+        }
+
+        public static Write update(String documentPath) {
+            return new Write(documentPath, OP_UPDATE);
+        }
+
+        public Write field(String name, Object value) {
+            fields.put(name, value instanceof Date ? sentinel(DATE, ((Date) value).getTime()) : value);
+            return this;
+        }
+
+        public Write fields(Map<String, Object> values) {
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                field(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        // Applying an increment twice counts twice, so it is committed with a receipt
+        public Write increment(String name, long by) {
+            fields.put(name, sentinel(INCREMENT, by));
+            needsReceipt = true;
+            return this;
+        }
+
+        public Write arrayUnion(String name, Object... values) {
+            fields.put(name, sentinel(ARRAY_UNION, Arrays.asList(values)));
+            return this;
+        }
+
+        public Write arrayRemove(String name, Object... values) {
+            fields.put(name, sentinel(ARRAY_REMOVE, Arrays.asList(values)));
+            return this;
+        }
+
+        public Write serverTimestamp(String name) {
+            fields.put(name, sentinel(SERVER_TIMESTAMP, true));
+            return this;
+        }
+
+        public Write mergeKey(String mergeKey, Merge merge) {
+            this.mergeKey = mergeKey;
+            this.merge = merge;
+            return this;
+        }
+    }
+
+    private final Context context;
+    private final PendingMutationDao dao;
+    // One writer, so merges always see the writes queued before them
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private MutationOutbox(Context context) {
+        this.context = context.getApplicationContext();
+        this.dao = AlumniDatabase.getInstance(context).pendingMutationDao();
+    }
+
+    public static MutationOutbox getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (MutationOutbox.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MutationOutbox(context);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a write and schedule a flush for when the device is online
+     */
+    public void enqueue(Write write) {
+        executor.execute(() -> {
+            try {
+                AlumniDatabase.getInstance(context).runInTransaction(() -> merge(dao, write));
+                OutboxFlushWorker.enqueue(context);
+            } catch (Exception e) {
+                Log.e(TAG, "Error queueing write to " + write.documentPath, e);
+            }
+        });
+    }
+
+    static void merge(PendingMutationDao dao, Write write) {
+        PendingMutationEntity pending = write.mergeKey != null && write.merge != Merge.NONE
+                ? dao.getUnclaimedByMergeKey(write.mergeKey) : null;
+        if (pending == null) {
+            dao.insert(toEntity(write));
+            return;
+        }
+        switch (write.merge) {
+            case TOGGLE:
+                dao.deleteById(pending.id);
+                break;
+            case COMBINE:
+                Map<String, Object> fields = parseFields(pending.fieldsJson);
+                for (Map.Entry<String, Object> entry : write.fields.entrySet()) {
+                    fields.put(entry.getKey(), combine(fields.get(entry.getKey()), entry.getValue()));
+                }
+                pending.fieldsJson = GSON.toJson(fields);
+                pending.needsReceipt |= write.needsReceipt;
+                dao.update(pending);
+                break;
+            default:
+                dao.deleteById(pending.id);
+                dao.insert(toEntity(write));
+        }
+    }
+
+    private static Object combine(Object pending, Object value) {
+        if (isSentinel(pending, INCREMENT) && isSentinel(value, INCREMENT)) {
+            long sum = ((Number) ((Map<?, ?>) pending).get(VALUE)).longValue()
+                    + ((Number) ((Map<?, ?>) value).get(VALUE)).longValue();
+            return sentinel(INCREMENT, sum);
+        }
+        return value;
+    }
+
+    private static PendingMutationEntity toEntity(Write write) {
+        PendingMutationEntity entity = new PendingMutationEntity();
+        entity.idempotencyKey = UUID.randomUUID().toString();
+        entity.documentPath = write.documentPath;
+        entity.operation = write.operation;
+        entity.fieldsJson = GSON.toJson(write.fields);
+        entity.mergeKey = write.mergeKey;
+        entity.needsReceipt = write.needsReceipt;
+        entity.createdAt = System.currentTimeMillis();
+        return entity;
+    }
+
+    /**
+     * Fields of a queued write as Firestore values, ready for a WriteBatch
+     */
+    public static Map<String, Object> firestoreFields(String json) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : parseFields(json).entrySet()) {
+            fields.put(entry.getKey(), toFirestore(entry.getValue()));
+        }
+        return fields;
+    }
+
+    private static Object toFirestore(Object value) {
+        if (value instanceof Double) {
+            // Gson reads every JSON number as a double
+            double number = (Double) value;
+            return number == Math.rint(number) && !Double.isInfinite(number) ? (Object) (long) number : value;
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                list.add(toFirestore(item));
+            }
+            return list;
+        }
+        if (!(value instanceof Map)) {
+            return value;
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        Object op = map.get(SENTINEL);
+        Object operand = toFirestore(map.get(VALUE));
+        if (INCREMENT.equals(op)) {
+            return FieldValue.increment((Long) operand);
+        } else if (ARRAY_UNION.equals(op)) {
+            return FieldValue.arrayUnion(((List<?>) operand).toArray());
+        } else if (ARRAY_REMOVE.equals(op)) {
+            return FieldValue.arrayRemove(((List<?>) operand).toArray());
+        } else if (SERVER_TIMESTAMP.equals(op)) {
+            return FieldValue.serverTimestamp();
+        } else if (DATE.equals(op)) {
+            return new Date((Long) operand);
+        }
+        Map<String, Object> nested = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            nested.put(String.valueOf(entry.getKey()), toFirestore(entry.getValue()));
+        }
+        return nested;
+    }
+
+    private static Map<String, Object> parseFields(String json) {
+        return GSON.fromJson(json, FIELDS_TYPE);
+    }
+
+    private static boolean isSentinel(Object value, String op) {
+        return value instanceof Map && op.equals(((Map<?, ?>) value).get(SENTINEL));
+    }
+
+    private static Map<String, Object> sentinel(String op, Object value) {
+        Map<String, Object> sentinel = new LinkedHashMap<>();
+        sentinel.put(SENTINEL, op);
+        sentinel.put(VALUE, value instanceof List ? new ArrayList<>((List<?>) value) : value);
+        return sentinel;
+    }
+}
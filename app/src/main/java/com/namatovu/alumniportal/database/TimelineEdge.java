@@ -0,0 +1,11 @@
+package com.namatovu.alumniportal.database;
+
+/**
+ * The newest or oldest row of a paged timeline. Rows are ordered by timestamp
+ * and then by document ID, the same order Firestore pages them in, so rows that
+ * share a timestamp are never skipped or fetched twice.
+ */
+public class TimelineEdge {
+    public long timestamp;
+    public String id;
+}
@@ -0,0 +1,36 @@
+package com.namatovu.alumniportal.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.namatovu.alumniportal.database.entities.CachedDocumentEntity;
+import java.util.List;
+
+@Dao
+public interface CachedDocumentDao {
+    @Query("SELECT * FROM cached_documents WHERE cacheKey = :cacheKey ORDER BY position")
+    List<CachedDocumentEntity> getDocuments(String cacheKey);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertDocuments(List<CachedDocumentEntity> documents);
+
+    @Query("DELETE FROM cached_documents WHERE cacheKey = :cacheKey")
+    void deleteDocuments(String cacheKey);
+
+    // Swap in a fresh query result so readers never see a half-written list
+    @Transaction
+    default void replaceDocuments(String cacheKey, List<CachedDocumentEntity> documents) {
+        deleteDocuments(cacheKey);
+        insertDocuments(documents);
+    }
+
+    // Drops whole query results, so a screen never gets back a partial list
+    @Query("DELETE FROM cached_documents WHERE cacheKey IN " +
+           "(SELECT cacheKey FROM cached_documents WHERE cachedAt < :cutoff)")
+    int deleteResultsCachedBefore(long cutoff);
+
+    @Query("DELETE FROM cached_documents")
+    void clearAll();
+}
@@ -1,11 +1,17 @@
 package com.namatovu.alumniportal.database.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Upsert;
+import com.namatovu.alumniportal.database.BulkWrites;
+import com.namatovu.alumniportal.database.FtsRanking;
+import com.namatovu.alumniportal.database.TimelineEdge;
 import com.namatovu.alumniportal.database.entities.ChatMessageEntity;
+import java.util.ArrayList;
 import java.util.List;
 
 @Dao
@@ -13,9 +19,75 @@ public interface ChatMessageDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertMessages(List<ChatMessageEntity> messages);
 
+    // Room runs each call in a single transaction
+    @Upsert
+    void upsertMessageChunk(List<ChatMessageEntity> messages);
+
+    // Chunked, so caching a long history never holds the write lock for long
+    default void upsertMessages(List<ChatMessageEntity> messages) {
+        BulkWrites.inChunks(messages, this::upsertMessageChunk);
+    }
+
     @Query("SELECT * FROM chat_messages WHERE chatId = :chatId ORDER BY timestamp ASC")
     LiveData<List<ChatMessageEntity>> getMessagesForChat(String chatId);
 
+    // Newest first, so a chat opens on its latest page and older pages load while scrolling up
+    @Query("SELECT * FROM chat_messages WHERE chatId = :chatId ORDER BY timestamp DESC, messageId DESC")
+    PagingSource<Integer, ChatMessageEntity> pagingSource(String chatId);
+
+    // Messages still waiting in the outbox are not on the server yet, so they never mark how far the cache reaches
+    @Query("SELECT timestamp, messageId AS id FROM chat_messages " +
+           "WHERE chatId = :chatId AND syncStatus IS NOT 'pending' " +
+           "ORDER BY timestamp DESC, messageId DESC LIMIT 1")
+    TimelineEdge getNewestEdge(String chatId);
+
+    @Query("SELECT timestamp, messageId AS id FROM chat_messages " +
+           "WHERE chatId = :chatId AND syncStatus IS NOT 'pending' " +
+           "ORDER BY timestamp ASC, messageId ASC LIMIT 1")
+    TimelineEdge getOldestEdge(String chatId);
+
+    // One chat's rows at or after the given edge, in the paging order, except those still in the outbox
+    @Query("DELETE FROM chat_messages WHERE chatId = :chatId AND syncStatus IS NOT 'pending' " +
+           "AND (timestamp > :timestamp OR (timestamp = :timestamp AND messageId >= :messageId))")
+    void deleteFromEdge(String chatId, long timestamp, String messageId);
+
+    @Query("DELETE FROM chat_messages WHERE messageId IN (:messageIds)")
+    void deleteMessages(List<String> messageIds);
+
+    @Query("SELECT m.messageId, m.chatId, m.senderName, m.timestamp, " +
+           "snippet(chat_messages_fts, '[', ']', '…', 0, 12) AS snippet, " +
+           "matchinfo(chat_messages_fts, 'pcnalx') AS matchInfo " +
+           "FROM chat_messages m JOIN chat_messages_fts ON m.rowid = chat_messages_fts.rowid " +
+           "WHERE chat_messages_fts MATCH :matchQuery AND m.isDeleted = 0 " +
+           "AND (:chatId IS NULL OR m.chatId = :chatId)")
+    List<MessageSearchHit> searchMessagesFts(String matchQuery, String chatId);
+
+    // Full-text search over cached message history, best match first; pass a chatId to search one chat
+    default List<MessageSearchHit> searchMessages(String query, String chatId, int limit) {
+        String matchQuery = FtsRanking.toMatchQuery(query);
+        if (matchQuery == null) {
+            return new ArrayList<>();
+        }
+        List<MessageSearchHit> ranked = FtsRanking.rank(searchMessagesFts(matchQuery, chatId), 1.0, 0.5);
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
     @Query("DELETE FROM chat_messages")
     void clearAll();
+
+    class MessageSearchHit implements FtsRanking.Ranked<MessageSearchHit> {
+        public String messageId;
+        public String chatId;
+        public String senderName;
+        public long timestamp;
+        // Matched words wrapped in [ ]
+        public String snippet;
+        public byte[] matchInfo;
+
+        @Override
+        public MessageSearchHit getItem() { return this; }
+
+        @Override
+        public byte[] getMatchInfo() { return matchInfo; }
+    }
 }
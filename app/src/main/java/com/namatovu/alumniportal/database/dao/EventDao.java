@@ -1,15 +1,24 @@
 package com.namatovu.alumniportal.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.room.Upsert;
 import androidx.room.Delete;
+import androidx.room.Embedded;
 
+import com.namatovu.alumniportal.database.BulkWrites;
+import com.namatovu.alumniportal.database.FtsRanking;
 import com.namatovu.alumniportal.database.entities.EventEntity;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Dao
 public interface EventDao {
@@ -23,6 +32,33 @@ public interface EventDao {
     @Update
     void updateEvent(EventEntity event);
     
+    @Upsert
+    void upsertEventRows(List<EventEntity> events);
+    
+    @Query("SELECT eventId FROM events WHERE isAttending = 1 AND eventId IN (:eventIds)")
+    List<String> getAttendingEventIds(List<String> eventIds);
+    
+    // RSVPs are recorded on this device only, so carry them over the server rows
+    @Transaction
+    default void upsertEventChunk(List<EventEntity> events) {
+        List<String> ids = new ArrayList<>(events.size());
+        for (EventEntity event : events) {
+            ids.add(event.getEventId());
+        }
+        Set<String> attending = new HashSet<>(getAttendingEventIds(ids));
+        for (EventEntity event : events) {
+            if (attending.contains(event.getEventId())) {
+                event.setAttending(true);
+            }
+        }
+        upsertEventRows(events);
+    }
+    
+    // Sync writes, one transaction per chunk; RSVPs survive the server copy
+    default void upsertEvents(List<EventEntity> events) {
+        BulkWrites.inChunks(events, this::upsertEventChunk);
+    }
+    
     @Delete
     void deleteEvent(EventEntity event);
     
@@ -32,30 +68,73 @@ public interface EventDao {
     @Query("SELECT * FROM events ORDER BY eventDate ASC")
     List<EventEntity> getAllEvents();
     
+    @Query("SELECT * FROM events WHERE isPublic = 1 ORDER BY eventDate ASC")
+    LiveData<List<EventEntity>> observePublicEvents();
+    
     @Query("SELECT * FROM events WHERE eventDate >= :currentTime ORDER BY eventDate ASC")
     List<EventEntity> getUpcomingEvents(long currentTime);
     
+    @Query("SELECT * FROM events WHERE eventDate >= :currentTime ORDER BY eventDate ASC")
+    LiveData<List<EventEntity>> observeUpcomingEvents(long currentTime);
+    
     @Query("SELECT * FROM events WHERE eventDate < :currentTime ORDER BY eventDate DESC")
     List<EventEntity> getPastEvents(long currentTime);
     
     @Query("SELECT * FROM events WHERE isAttending = 1 ORDER BY eventDate ASC")
     List<EventEntity> getAttendingEvents();
     
+    @Query("SELECT * FROM events WHERE isAttending = 1 ORDER BY eventDate ASC")
+    LiveData<List<EventEntity>> observeAttendingEvents();
+    
     @Query("SELECT * FROM events WHERE category = :category ORDER BY eventDate ASC")
     List<EventEntity> getEventsByCategory(String category);
     
-    @Query("SELECT * FROM events WHERE title LIKE '%' || :query || '%' OR description LIKE '%' || :query || '%' ORDER BY eventDate ASC")
-    List<EventEntity> searchEvents(String query);
+    @Query("SELECT events.*, matchinfo(events_fts, 'pcnalx') AS matchInfo FROM events " +
+           "JOIN events_fts ON events.rowid = events_fts.rowid WHERE events_fts MATCH :matchQuery")
+    List<RankedEvent> searchEventsFts(String matchQuery);
+    
+    // Full-text search over title, description, location and category, best match first
+    default List<EventEntity> searchEvents(String query) {
+        String matchQuery = FtsRanking.toMatchQuery(query);
+        if (matchQuery == null) {
+            return new java.util.ArrayList<>();
+        }
+        return FtsRanking.rank(searchEventsFts(matchQuery), 10.0, 1.0, 2.0, 3.0);
+    }
     
     @Query("DELETE FROM events")
     void deleteAllEvents();
     
+    @Query("DELETE FROM events WHERE eventId IN (:eventIds)")
+    void deleteEventChunk(List<String> eventIds);
+    
+    // Documents tombstoned on the server since the last sync
+    default void deleteEvents(List<String> eventIds) {
+        BulkWrites.inChunks(eventIds, this::deleteEventChunk);
+    }
+    
+    // A full download rewrites every row it still finds, so older rows were deleted remotely
+    @Query("DELETE FROM events WHERE lastSyncTime < :syncTime")
+    int deleteEventsSyncedBefore(long syncTime);
+    
     @Query("DELETE FROM events WHERE eventDate < :cutoffTime")
-    void deleteOldEvents(long cutoffTime);
+    int deleteOldEvents(long cutoffTime);
     
     @Query("SELECT COUNT(*) FROM events")
     int getEventCount();
     
     @Query("UPDATE events SET isAttending = :isAttending, attendeeCount = :attendeeCount WHERE eventId = :eventId")
     void updateEventAttendance(String eventId, boolean isAttending, int attendeeCount);
+    
+    class RankedEvent implements FtsRanking.Ranked<EventEntity> {
+        @Embedded
+        public EventEntity event;
+        public byte[] matchInfo;
+        
+        @Override
+        public EventEntity getItem() { return event; }
+        
+        @Override
+        public byte[] getMatchInfo() { return matchInfo; }
+    }
 }
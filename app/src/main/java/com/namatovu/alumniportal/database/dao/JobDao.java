@@ -1,15 +1,24 @@
 package com.namatovu.alumniportal.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.room.Upsert;
 import androidx.room.Delete;
+import androidx.room.Embedded;
 
+import com.namatovu.alumniportal.database.BulkWrites;
+import com.namatovu.alumniportal.database.FtsRanking;
 import com.namatovu.alumniportal.database.entities.JobEntity;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Dao
 public interface JobDao {
@@ -23,6 +32,33 @@ public interface JobDao {
     @Update
     void updateJob(JobEntity job);
     
+    @Upsert
+    void upsertJobRows(List<JobEntity> jobs);
+    
+    @Query("SELECT jobId FROM jobs WHERE isSaved = 1 AND jobId IN (:jobIds)")
+    List<String> getSavedJobIds(List<String> jobIds);
+    
+    // Server rows don't know which jobs were saved on this device, so carry that flag over
+    @Transaction
+    default void upsertJobChunk(List<JobEntity> jobs) {
+        List<String> ids = new ArrayList<>(jobs.size());
+        for (JobEntity job : jobs) {
+            ids.add(job.getJobId());
+        }
+        Set<String> saved = new HashSet<>(getSavedJobIds(ids));
+        for (JobEntity job : jobs) {
+            if (saved.contains(job.getJobId())) {
+                job.setSaved(true);
+            }
+        }
+        upsertJobRows(jobs);
+    }
+    
+    // Sync writes, one transaction per chunk; the saved flag survives the server copy
+    default void upsertJobs(List<JobEntity> jobs) {
+        BulkWrites.inChunks(jobs, this::upsertJobChunk);
+    }
+    
     @Delete
     void deleteJob(JobEntity job);
     
@@ -32,27 +68,81 @@ public interface JobDao {
     @Query("SELECT * FROM jobs ORDER BY postedDate DESC")
     List<JobEntity> getAllJobs();
     
+    // List rows only; load the full entity with getJobById when a job is opened
+    @Query("SELECT jobId, title, company, location, jobType, postedDate, deadline, isSaved " +
+           "FROM jobs ORDER BY postedDate DESC")
+    List<JobListItem> getJobListItems();
+    
     @Query("SELECT * FROM jobs WHERE isSaved = 1 ORDER BY postedDate DESC")
     List<JobEntity> getSavedJobs();
     
+    @Query("SELECT * FROM jobs WHERE isSaved = 1 ORDER BY postedDate DESC")
+    LiveData<List<JobEntity>> observeSavedJobs();
+    
     @Query("SELECT * FROM jobs WHERE jobType = :jobType ORDER BY postedDate DESC")
     List<JobEntity> getJobsByType(String jobType);
     
     @Query("SELECT * FROM jobs WHERE company LIKE '%' || :company || '%' ORDER BY postedDate DESC")
     List<JobEntity> getJobsByCompany(String company);
     
-    @Query("SELECT * FROM jobs WHERE title LIKE '%' || :query || '%' OR description LIKE '%' || :query || '%' ORDER BY postedDate DESC")
-    List<JobEntity> searchJobs(String query);
+    @Query("SELECT jobs.*, matchinfo(jobs_fts, 'pcnalx') AS matchInfo FROM jobs " +
+           "JOIN jobs_fts ON jobs.rowid = jobs_fts.rowid WHERE jobs_fts MATCH :matchQuery")
+    List<RankedJob> searchJobsFts(String matchQuery);
+    
+    // Full-text search over title, company, description and location, best match first
+    default List<JobEntity> searchJobs(String query) {
+        String matchQuery = FtsRanking.toMatchQuery(query);
+        if (matchQuery == null) {
+            return new java.util.ArrayList<>();
+        }
+        return FtsRanking.rank(searchJobsFts(matchQuery), 10.0, 5.0, 1.0, 2.0);
+    }
     
     @Query("DELETE FROM jobs")
     void deleteAllJobs();
     
-    @Query("DELETE FROM jobs WHERE deadline < :currentTime")
-    void deleteExpiredJobs(long currentTime);
+    @Query("DELETE FROM jobs WHERE jobId IN (:jobIds)")
+    void deleteJobChunk(List<String> jobIds);
+    
+    // Documents tombstoned on the server since the last sync
+    default void deleteJobs(List<String> jobIds) {
+        BulkWrites.inChunks(jobIds, this::deleteJobChunk);
+    }
+    
+    // A full download rewrites every row it still finds, so older rows were deleted remotely
+    @Query("DELETE FROM jobs WHERE lastSyncTime < :syncTime")
+    int deleteJobsSyncedBefore(long syncTime);
+    
+    // A deadline of 0 means none was set; saved jobs stay in the user's list after they close
+    @Query("DELETE FROM jobs WHERE deadline > 0 AND deadline < :currentTime AND isSaved = 0")
+    int deleteExpiredJobs(long currentTime);
     
     @Query("SELECT COUNT(*) FROM jobs")
     int getJobCount();
     
     @Query("UPDATE jobs SET isSaved = :isSaved WHERE jobId = :jobId")
     void updateJobSavedStatus(String jobId, boolean isSaved);
+    
+    class RankedJob implements FtsRanking.Ranked<JobEntity> {
+        @Embedded
+        public JobEntity job;
+        public byte[] matchInfo;
+        
+        @Override
+        public JobEntity getItem() { return job; }
+        
+        @Override
+        public byte[] getMatchInfo() { return matchInfo; }
+    }
+    
+    class JobListItem {
+        public String jobId;
+        public String title;
+        public String company;
+        public String location;
+        public String jobType;
+        public long postedDate;
+        public long deadline;
+        public boolean isSaved;
+    }
 }
@@ -1,10 +1,14 @@
 package com.namatovu.alumniportal.database.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Upsert;
+import com.namatovu.alumniportal.database.BulkWrites;
+import com.namatovu.alumniportal.database.TimelineEdge;
 import com.namatovu.alumniportal.database.entities.JobPostingEntity;
 import java.util.List;
 
@@ -13,12 +17,62 @@ public interface JobPostingDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertJobs(List<JobPostingEntity> jobs);
 
+    // Room runs each call in a single transaction
+    @Upsert
+    void upsertJobChunk(List<JobPostingEntity> jobs);
+
+    default void upsertJobs(List<JobPostingEntity> jobs) {
+        BulkWrites.inChunks(jobs, this::upsertJobChunk);
+    }
+
     @Query("SELECT * FROM job_postings WHERE jobId = :jobId")
     LiveData<JobPostingEntity> getJobById(String jobId);
 
     @Query("SELECT * FROM job_postings ORDER BY postedAt DESC")
     LiveData<List<JobPostingEntity>> getAllJobs();
 
+    // Open, unexpired postings, newest first; a deadline of 0 means none was set
+    @Query("SELECT * FROM job_postings WHERE isActive = 1 " +
+           "AND (applicationDeadline = 0 OR applicationDeadline > :now) ORDER BY postedAt DESC, jobId DESC")
+    PagingSource<Integer, JobPostingEntity> pagingSource(long now);
+
+    // The columns the job board's filters facet on, for the postings the board shows
+    @Query("SELECT jobId, jobType, experienceLevel FROM job_postings WHERE isActive = 1 " +
+           "AND (applicationDeadline = 0 OR applicationDeadline > :now)")
+    LiveData<List<JobFacetRow>> observeFacetRows(long now);
+
+    @Query("SELECT postedAt AS timestamp, jobId AS id FROM job_postings ORDER BY postedAt DESC, jobId DESC LIMIT 1")
+    TimelineEdge getNewestEdge();
+
+    @Query("SELECT postedAt AS timestamp, jobId AS id FROM job_postings ORDER BY postedAt ASC, jobId ASC LIMIT 1")
+    TimelineEdge getOldestEdge();
+
+    // Rows at or after the given edge, in the paging order
+    @Query("DELETE FROM job_postings WHERE postedAt > :timestamp OR (postedAt = :timestamp AND jobId >= :jobId)")
+    void deleteFromEdge(long timestamp, String jobId);
+
+    // Titles and companies only, for search suggestions
+    @Query("SELECT jobId, position, company FROM job_postings")
+    List<JobPostingListItem> getJobPostingListItems();
+
+    @Query("SELECT MAX(lastSync) FROM job_postings")
+    Long getLastSync();
+
+    @Query("DELETE FROM job_postings WHERE applicationDeadline > 0 AND applicationDeadline < :now")
+    int deleteExpiredJobs(long now);
+
     @Query("DELETE FROM job_postings")
     void clearAll();
+
+    class JobPostingListItem {
+        public String jobId;
+        public String position;
+        public String company;
+    }
+
+    class JobFacetRow {
+        public String jobId;
+        public String jobType;
+        public String experienceLevel;
+    }
 }
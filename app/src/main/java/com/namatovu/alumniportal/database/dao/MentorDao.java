@@ -5,8 +5,12 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
+import androidx.room.Upsert;
 import androidx.room.Delete;
+import androidx.room.Embedded;
 
+import com.namatovu.alumniportal.database.BulkWrites;
+import com.namatovu.alumniportal.database.FtsRanking;
 import com.namatovu.alumniportal.database.entities.MentorEntity;
 
 import java.util.List;
@@ -23,6 +27,15 @@ public interface MentorDao {
     @Update
     void updateMentor(MentorEntity mentor);
     
+    // Room runs each call in a single transaction
+    @Upsert
+    void upsertMentorChunk(List<MentorEntity> mentors);
+    
+    // Sync writes, one transaction per chunk
+    default void upsertMentors(List<MentorEntity> mentors) {
+        BulkWrites.inChunks(mentors, this::upsertMentorChunk);
+    }
+    
     @Delete
     void deleteMentor(MentorEntity mentor);
     
@@ -32,6 +45,10 @@ public interface MentorDao {
     @Query("SELECT * FROM mentors ORDER BY fullName ASC")
     List<MentorEntity> getAllMentors();
     
+    // Everything the mentor list shows, without the bio, email and course
+    @Query("SELECT " + MentorListItem.COLUMNS + " FROM mentors ORDER BY fullName ASC")
+    List<MentorListItem> getMentorListItems();
+    
     @Query("SELECT * FROM mentors WHERE isAvailable = 1 ORDER BY rating DESC")
     List<MentorEntity> getAvailableMentors();
     
@@ -44,8 +61,31 @@ public interface MentorDao {
     @Query("SELECT * FROM mentors WHERE expertise LIKE '%' || :expertise || '%' ORDER BY rating DESC")
     List<MentorEntity> getMentorsByExpertise(String expertise);
     
-    @Query("SELECT * FROM mentors WHERE fullName LIKE '%' || :query || '%' OR expertise LIKE '%' || :query || '%' OR company LIKE '%' || :query || '%' ORDER BY rating DESC")
-    List<MentorEntity> searchMentors(String query);
+    @Query("SELECT mentors.*, matchinfo(mentors_fts, 'pcnalx') AS matchInfo FROM mentors " +
+           "JOIN mentors_fts ON mentors.rowid = mentors_fts.rowid WHERE mentors_fts MATCH :matchQuery")
+    List<RankedMentor> searchMentorsFts(String matchQuery);
+    
+    // Full-text search over name, expertise, company, job and bio, best match first
+    default List<MentorEntity> searchMentors(String query) {
+        String matchQuery = FtsRanking.toMatchQuery(query);
+        if (matchQuery == null) {
+            return new java.util.ArrayList<>();
+        }
+        return FtsRanking.rank(searchMentorsFts(matchQuery), 10.0, 5.0, 4.0, 3.0, 1.0);
+    }
+    
+    @Query("SELECT " + MentorListItem.COLUMNS + ", matchinfo(mentors_fts, 'pcnalx') AS matchInfo " +
+           "FROM mentors JOIN mentors_fts ON mentors.rowid = mentors_fts.rowid WHERE mentors_fts MATCH :matchQuery")
+    List<RankedMentorListItem> searchMentorListItemsFts(String matchQuery);
+    
+    // Same ranking as searchMentors, returning list rows
+    default List<MentorListItem> searchMentorListItems(String query) {
+        String matchQuery = FtsRanking.toMatchQuery(query);
+        if (matchQuery == null) {
+            return new java.util.ArrayList<>();
+        }
+        return FtsRanking.rank(searchMentorListItemsFts(matchQuery), 10.0, 5.0, 4.0, 3.0, 1.0);
+    }
     
     @Query("SELECT DISTINCT category FROM mentors WHERE category IS NOT NULL ORDER BY category ASC")
     List<String> getAllCategories();
@@ -56,6 +96,76 @@ public interface MentorDao {
     @Query("DELETE FROM mentors")
     void deleteAllMentors();
     
+    @Query("DELETE FROM mentors WHERE mentorId IN (:mentorIds)")
+    void deleteMentorChunk(List<String> mentorIds);
+    
+    // Documents tombstoned on the server since the last sync
+    default void deleteMentors(List<String> mentorIds) {
+        BulkWrites.inChunks(mentorIds, this::deleteMentorChunk);
+    }
+    
+    // A full download rewrites every row it still finds, so older rows were deleted remotely
+    @Query("DELETE FROM mentors WHERE lastSyncTime < :syncTime")
+    int deleteMentorsSyncedBefore(long syncTime);
+    
     @Query("SELECT COUNT(*) FROM mentors")
     int getMentorCount();
+    
+    class RankedMentor implements FtsRanking.Ranked<MentorEntity> {
+        @Embedded
+        public MentorEntity mentor;
+        public byte[] matchInfo;
+        
+        @Override
+        public MentorEntity getItem() { return mentor; }
+        
+        @Override
+        public byte[] getMatchInfo() { return matchInfo; }
+    }
+    
+    class MentorListItem {
+        static final String COLUMNS = "mentors.mentorId, mentors.fullName, mentors.profileImageUrl, " +
+                "mentors.currentJob, mentors.company, mentors.expertise, mentors.category, " +
+                "mentors.graduationYear, mentors.yearsOfExperience, mentors.rating, mentors.isAvailable";
+        
+        public String mentorId;
+        public String fullName;
+        public String profileImageUrl;
+        public String currentJob;
+        public String company;
+        public String expertise;
+        public String category;
+        public String graduationYear;
+        public int yearsOfExperience;
+        public double rating;
+        public boolean isAvailable;
+        
+        public static MentorListItem from(MentorEntity mentor) {
+            MentorListItem item = new MentorListItem();
+            item.mentorId = mentor.getMentorId();
+            item.fullName = mentor.getFullName();
+            item.profileImageUrl = mentor.getProfileImageUrl();
+            item.currentJob = mentor.getCurrentJob();
+            item.company = mentor.getCompany();
+            item.expertise = mentor.getExpertise();
+            item.category = mentor.getCategory();
+            item.graduationYear = mentor.getGraduationYear();
+            item.yearsOfExperience = mentor.getYearsOfExperience();
+            item.rating = mentor.getRating();
+            item.isAvailable = mentor.isAvailable();
+            return item;
+        }
+    }
+    
+    class RankedMentorListItem implements FtsRanking.Ranked<MentorListItem> {
+        @Embedded
+        public MentorListItem mentor;
+        public byte[] matchInfo;
+        
+        @Override
+        public MentorListItem getItem() { return mentor; }
+        
+        @Override
+        public byte[] getMatchInfo() { return matchInfo; }
+    }
 }
@@ -0,0 +1,48 @@
+package com.namatovu.alumniportal.database.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import com.namatovu.alumniportal.database.BulkWrites;
+import com.namatovu.alumniportal.database.entities.OpportunityEntity;
+
+import java.util.List;
+
+@Dao
+public interface OpportunityDao {
+    
+    // Complete, still-open opportunities, featured first and then newest first
+    @Query("SELECT * FROM job_opportunities WHERE applicationDeadline >= :now AND title IS NOT NULL " +
+           "AND company IS NOT NULL AND category IS NOT NULL AND description IS NOT NULL " +
+           "ORDER BY isFeatured DESC, datePosted DESC")
+    LiveData<List<OpportunityEntity>> observeOpenOpportunities(long now);
+    
+    @Query("SELECT * FROM job_opportunities WHERE id = :id")
+    OpportunityEntity getOpportunityById(String id);
+    
+    // Room runs each call in a single transaction
+    @Upsert
+    void upsertOpportunityChunk(List<OpportunityEntity> opportunities);
+    
+    // Sync writes, one transaction per chunk
+    default void upsertOpportunities(List<OpportunityEntity> opportunities) {
+        BulkWrites.inChunks(opportunities, this::upsertOpportunityChunk);
+    }
+    
+    @Query("DELETE FROM job_opportunities WHERE id IN (:ids)")
+    void deleteOpportunityChunk(List<String> ids);
+    
+    // Documents tombstoned on the server since the last sync
+    default void deleteOpportunities(List<String> ids) {
+        BulkWrites.inChunks(ids, this::deleteOpportunityChunk);
+    }
+    
+    // A full download rewrites every row it still finds, so older rows were deleted remotely
+    @Query("DELETE FROM job_opportunities WHERE lastSyncTime < :syncTime")
+    int deleteOpportunitiesSyncedBefore(long syncTime);
+    
+    @Query("DELETE FROM job_opportunities WHERE applicationDeadline > 0 AND applicationDeadline < :currentTime")
+    int deleteExpiredOpportunities(long currentTime);
+}
@@ -0,0 +1,62 @@
+package com.namatovu.alumniportal.database.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Update;
+import com.namatovu.alumniportal.database.entities.PendingMutationEntity;
+import java.util.ArrayList;
+import java.util.List;
+
+@Dao
+public interface PendingMutationDao {
+    @Insert
+    long insert(PendingMutationEntity mutation);
+
+    @Update
+    void update(PendingMutationEntity mutation);
+
+    @Query("SELECT * FROM pending_mutations WHERE mergeKey = :mergeKey AND claimed = 0")
+    PendingMutationEntity getUnclaimedByMergeKey(String mergeKey);
+
+    @Query("DELETE FROM pending_mutations WHERE id = :id")
+    void deleteById(long id);
+
+    @Query("SELECT * FROM pending_mutations WHERE claimed = 0 ORDER BY id LIMIT :limit")
+    List<PendingMutationEntity> getUnclaimed(int limit);
+
+    @Query("UPDATE pending_mutations SET claimed = 1 WHERE id IN (:ids)")
+    void markClaimed(List<Long> ids);
+
+    // Takes the oldest writes for a flush in one step, so nothing merges into them meanwhile
+    @Transaction
+    default List<PendingMutationEntity> claimOldest(int limit) {
+        List<PendingMutationEntity> mutations = getUnclaimed(limit);
+        List<Long> ids = new ArrayList<>(mutations.size());
+        for (PendingMutationEntity mutation : mutations) {
+            ids.add(mutation.id);
+        }
+        if (!ids.isEmpty()) {
+            markClaimed(ids);
+        }
+        return mutations;
+    }
+
+    @Query("UPDATE pending_mutations SET claimed = 0 WHERE id IN (:ids)")
+    void releaseClaims(List<Long> ids);
+
+    @Query("UPDATE pending_mutations SET claimed = 0, attempts = attempts + 1 WHERE id IN (:ids)")
+    void releaseFailed(List<Long> ids);
+
+    // A flush that died mid-commit leaves rows claimed; only one flush runs at a time
+    @Query("UPDATE pending_mutations SET claimed = 0 WHERE claimed = 1")
+    void releaseAllClaims();
+
+    @Query("DELETE FROM pending_mutations WHERE id IN (:ids)")
+    void deleteByIds(List<Long> ids);
+
+    @Query("SELECT COUNT(*) FROM pending_mutations")
+    LiveData<Integer> observePendingCount();
+}
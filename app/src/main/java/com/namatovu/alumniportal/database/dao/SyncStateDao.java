@@ -0,0 +1,19 @@
+package com.namatovu.alumniportal.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+import com.namatovu.alumniportal.database.entities.SyncStateEntity;
+
+@Dao
+public interface SyncStateDao {
+    @Query("SELECT * FROM sync_state WHERE collection = :collection")
+    SyncStateEntity getState(String collection);
+
+    @Upsert
+    void upsertState(SyncStateEntity state);
+
+    // The next sync of the collection downloads everything again
+    @Query("DELETE FROM sync_state WHERE collection = :collection")
+    void resetState(String collection);
+}
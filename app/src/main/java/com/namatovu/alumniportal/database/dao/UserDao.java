@@ -1,10 +1,13 @@
 package com.namatovu.alumniportal.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
+import androidx.room.Upsert;
+import com.namatovu.alumniportal.database.BulkWrites;
 import com.namatovu.alumniportal.database.entities.UserEntity;
 import java.util.List;
 
@@ -14,6 +17,16 @@ public interface UserDao {
     @Query("SELECT * FROM users")
     List<UserEntity> getAllUsers();
     
+    // List rows only; load the full entity with getUserById when a profile is opened
+    @Query("SELECT userId, fullName, profileImageUrl, currentJob, company, major, graduationYear, skills " +
+           "FROM users ORDER BY fullName ASC")
+    List<UserListItem> getUserListItems();
+    
+    // Alumni listed in the directory: named, not hidden and not the viewer
+    @Query("SELECT * FROM users WHERE userType = 'alumni' COLLATE NOCASE AND showInDirectory = 1 " +
+           "AND userId != :currentUserId AND TRIM(IFNULL(fullName, '')) != '' ORDER BY fullName ASC")
+    LiveData<List<UserEntity>> observeDirectoryUsers(String currentUserId);
+    
     @Query("SELECT * FROM users WHERE userId = :userId")
     UserEntity getUserById(String userId);
     
@@ -35,14 +48,33 @@ public interface UserDao {
     @Query("DELETE FROM users")
     void deleteAllUsers();
     
+    @Query("DELETE FROM users WHERE userId IN (:userIds)")
+    void deleteUserChunk(List<String> userIds);
+    
+    // Documents tombstoned on the server since the last sync
+    default void deleteUsers(List<String> userIds) {
+        BulkWrites.inChunks(userIds, this::deleteUserChunk);
+    }
+    
+    // A full download rewrites every row it still finds, so older rows were deleted remotely
+    @Query("DELETE FROM users WHERE lastSynced < :syncTime")
+    int deleteUsersSyncedBefore(long syncTime);
+    
+    @Upsert
+    void upsertUser(UserEntity user);
+    
+    // Room runs each call in a single transaction
+    @Upsert
+    void upsertUserChunk(List<UserEntity> users);
+    
+    // Sync writes: one transaction per chunk instead of one per row
+    default void upsertUsers(List<UserEntity> users) {
+        BulkWrites.inChunks(users, this::upsertUserChunk);
+    }
+    
     // Insert or update method
     default void insertOrUpdate(UserEntity user) {
-        UserEntity existing = getUserById(user.userId);
-        if (existing != null) {
-            updateUser(user);
-        } else {
-            insertUser(user);
-        }
+        upsertUser(user);
     }
     
     @Query("SELECT COUNT(*) FROM users")
@@ -50,4 +82,16 @@ public interface UserDao {
     
     @Query("SELECT * FROM users WHERE lastSynced > :timestamp")
     List<UserEntity> getRecentlySyncedUsers(long timestamp);
-}
\ No newline at end of file
+    
+    class UserListItem {
+        public String userId;
+        public String fullName;
+        public String profileImageUrl;
+        public String currentJob;
+        public String company;
+        public String major;
+        public String graduationYear;
+        // Comma separated
+        public String skills;
+    }
+}
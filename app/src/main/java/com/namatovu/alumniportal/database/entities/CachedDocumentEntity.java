@@ -0,0 +1,22 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * One document of a cached Firestore query result, stored as the JSON of the
+ * model the screen renders so the list can be drawn again without the network.
+ * Rows of one query share a cacheKey and keep the query's order in position.
+ */
+@Entity(tableName = "cached_documents", primaryKeys = {"cacheKey", "documentId"},
+        indices = {@Index({"cacheKey", "position"}), @Index("cachedAt")})
+public class CachedDocumentEntity {
+    @NonNull
+    public String cacheKey = "";
+    @NonNull
+    public String documentId = "";
+    public int position;
+    public String json;
+    public long cachedAt;
+}
@@ -2,9 +2,15 @@ package com.namatovu.alumniportal.database.entities;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "chat_messages")
+import com.namatovu.alumniportal.models.ChatMessage;
+
+@Entity(tableName = "chat_messages", indices = {
+        @Index({"chatId", "timestamp", "messageId"}),
+        @Index("timestamp")
+})
 public class ChatMessageEntity {
     @PrimaryKey
     @NonNull
@@ -12,6 +18,7 @@ public class ChatMessageEntity {
     public String chatId;
     public String senderId;
     public String senderName;
+    public String senderProfileImage;
     public String content;
     public String messageType;
     public String fileUrl;
@@ -19,6 +26,7 @@ public class ChatMessageEntity {
     public long fileSize;
     public long timestamp;
     public boolean readStatus;
+    public boolean isDelivered;
     public long readTimestamp;
     public String replyToMessageId;
     public boolean isEdited;
@@ -27,4 +35,60 @@ public class ChatMessageEntity {
     public long deleteTimestamp;
     public long updatedAt;
     public String syncStatus;
+
+    /**
+     * Local copy of a Firestore message; text messages keep their text,
+     * attachments fall back to the file name so they can still be found
+     */
+    public static ChatMessageEntity fromMessage(ChatMessage message) {
+        ChatMessageEntity entity = new ChatMessageEntity();
+        entity.messageId = message.getMessageId();
+        entity.chatId = message.getChatId();
+        entity.senderId = message.getSenderId();
+        entity.senderName = message.getSenderName();
+        entity.senderProfileImage = message.getSenderProfileImage();
+        entity.content = message.getMessageText() != null ? message.getMessageText() : message.getFileName();
+        entity.messageType = message.getMessageType();
+        entity.fileUrl = message.getFileUrl();
+        entity.fileName = message.getFileName();
+        entity.fileSize = message.getFileSizeBytes();
+        entity.timestamp = message.getTimestamp();
+        entity.readStatus = message.isRead();
+        entity.isDelivered = message.isDelivered();
+        entity.replyToMessageId = message.getReplyToMessageId();
+        entity.isEdited = message.isEdited();
+        entity.editTimestamp = message.getEditedAt();
+        entity.isDeleted = message.isDeleted();
+        entity.deleteTimestamp = message.getDeletedAt();
+        entity.updatedAt = System.currentTimeMillis();
+        entity.syncStatus = "synced";
+        return entity;
+    }
+
+    /**
+     * Message for display from the cache until Firestore delivers the full
+     * document; attachment previews beyond the file URL are not stored
+     */
+    public ChatMessage toMessage() {
+        ChatMessage message = new ChatMessage();
+        message.setMessageId(messageId);
+        message.setChatId(chatId);
+        message.setSenderId(senderId);
+        message.setSenderName(senderName);
+        message.setSenderProfileImage(senderProfileImage);
+        message.setMessageType(messageType);
+        message.setMessageText(fileName != null && fileName.equals(content) ? null : content);
+        message.setFileUrl(fileUrl);
+        message.setFileName(fileName);
+        message.setFileSizeBytes(fileSize);
+        message.setTimestamp(timestamp);
+        message.setRead(readStatus);
+        message.setDelivered(isDelivered);
+        message.setReplyToMessageId(replyToMessageId);
+        message.setEdited(isEdited);
+        message.setEditedAt(editTimestamp);
+        message.setDeleted(isDeleted);
+        message.setDeletedAt(deleteTimestamp);
+        return message;
+    }
 }
@@ -0,0 +1,15 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text shadow table for {@link ChatMessageEntity}, kept in sync by
+ * Room's content triggers so message history can be searched offline.
+ */
+@Fts4(contentEntity = ChatMessageEntity.class)
+@Entity(tableName = "chat_messages_fts")
+public class ChatMessageFtsEntity {
+    public String content;
+    public String senderName;
+}
@@ -1,10 +1,21 @@
 package com.namatovu.alumniportal.database.entities;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.annotation.NonNull;
 
-@Entity(tableName = "events")
+import com.namatovu.alumniportal.models.AlumniEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity(tableName = "events", indices = {
+        @Index("eventDate"),
+        @Index({"isAttending", "eventDate"}),
+        @Index({"category", "eventDate"}),
+        @Index("lastSyncTime")
+})
 public class EventEntity {
     @PrimaryKey
     @NonNull
@@ -21,6 +32,13 @@ public class EventEntity {
     private int attendeeCount;
     private boolean isAttending;
     private long createdAt;
+    private long endDate;
+    private String address;
+    private boolean isOnline;
+    private boolean isPublic = true;
+    private int maxAttendees;
+    private boolean requiresRegistration;
+    private String registrationUrl;
     private long lastSyncTime;
 
     public EventEntity() {
@@ -65,6 +83,59 @@ public class EventEntity {
     public long getCreatedAt() { return createdAt; }
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
 
+    public long getEndDate() { return endDate; }
+    public void setEndDate(long endDate) { this.endDate = endDate; }
+    
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+    
+    public boolean isOnline() { return isOnline; }
+    public void setOnline(boolean online) { isOnline = online; }
+    
+    public boolean isPublic() { return isPublic; }
+    public void setPublic(boolean aPublic) { isPublic = aPublic; }
+    
+    public int getMaxAttendees() { return maxAttendees; }
+    public void setMaxAttendees(int maxAttendees) { this.maxAttendees = maxAttendees; }
+    
+    public boolean isRequiresRegistration() { return requiresRegistration; }
+    public void setRequiresRegistration(boolean requiresRegistration) { this.requiresRegistration = requiresRegistration; }
+    
+    public String getRegistrationUrl() { return registrationUrl; }
+    public void setRegistrationUrl(String registrationUrl) { this.registrationUrl = registrationUrl; }
+    
     public long getLastSyncTime() { return lastSyncTime; }
     public void setLastSyncTime(long lastSyncTime) { this.lastSyncTime = lastSyncTime; }
+    
+    /**
+     * The model the events screen binds to. Only this device's RSVP is known
+     * locally, so attendeeIds holds the current user or nobody.
+     */
+    public AlumniEvent toEvent(String currentUserId) {
+        AlumniEvent event = new AlumniEvent();
+        event.setEventId(eventId);
+        event.setTitle(title);
+        event.setDescription(description);
+        event.setVenue(location);
+        event.setAddress(address);
+        event.setEventType(category);
+        event.setStartDateTime(eventDate);
+        event.setEndDateTime(endDate);
+        event.setOrganizer(organizerId);
+        event.setOrganizerName(organizerName);
+        event.setImageUrl(imageUrl);
+        event.setOnline(isOnline);
+        event.setPublic(isPublic);
+        event.setMaxAttendees(maxAttendees);
+        event.setCurrentAttendees(attendeeCount);
+        event.setRequiresRegistration(requiresRegistration);
+        event.setRegistrationUrl(registrationUrl);
+        event.setCreatedAt(createdAt);
+        List<String> attendeeIds = new ArrayList<>();
+        if (isAttending && currentUserId != null) {
+            attendeeIds.add(currentUserId);
+        }
+        event.setAttendeeIds(attendeeIds);
+        return event;
+    }
 }
@@ -0,0 +1,17 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text shadow table for {@link EventEntity}. Room keeps it in sync with
+ * the events table through content triggers; rows share the events rowid.
+ */
+@Fts4(contentEntity = EventEntity.class)
+@Entity(tableName = "events_fts")
+public class EventFtsEntity {
+    public String title;
+    public String description;
+    public String location;
+    public String category;
+}
@@ -1,10 +1,17 @@
 package com.namatovu.alumniportal.database.entities;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.annotation.NonNull;
 
-@Entity(tableName = "jobs")
+@Entity(tableName = "jobs", indices = {
+        @Index("postedDate"),
+        @Index({"isSaved", "postedDate"}),
+        @Index({"jobType", "postedDate"}),
+        @Index("deadline"),
+        @Index("lastSyncTime")
+})
 public class JobEntity {
     @PrimaryKey
     @NonNull
@@ -0,0 +1,17 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text shadow table for {@link JobEntity}. Room keeps it in sync with
+ * the jobs table through content triggers; rows share the jobs rowid.
+ */
+@Fts4(contentEntity = JobEntity.class)
+@Entity(tableName = "jobs_fts")
+public class JobFtsEntity {
+    public String title;
+    public String company;
+    public String description;
+    public String location;
+}
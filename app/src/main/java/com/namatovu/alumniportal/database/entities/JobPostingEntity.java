@@ -2,9 +2,20 @@ package com.namatovu.alumniportal.database.entities;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "job_postings")
+import com.namatovu.alumniportal.models.JobPosting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Entity(tableName = "job_postings", indices = {
+        @Index({"postedAt", "jobId"}),
+        @Index({"isActive", "postedAt", "jobId"}),
+        @Index("lastSync"),
+        @Index("applicationDeadline")
+})
 public class JobPostingEntity {
     @PrimaryKey
     @NonNull
@@ -28,4 +39,48 @@ public class JobPostingEntity {
     public long updatedAt;
     public long lastSync;
     public String syncStatus;
+
+    /**
+     * Local copy of a Firestore job posting; tags are stored comma separated
+     */
+    public static JobPostingEntity fromPosting(JobPosting job) {
+        JobPostingEntity entity = new JobPostingEntity();
+        entity.jobId = job.getJobId();
+        entity.company = job.getCompany();
+        entity.position = job.getTitle();
+        entity.description = job.getDescription();
+        entity.requirements = job.getRequirements();
+        entity.location = job.getLocation();
+        entity.jobType = job.getJobType();
+        entity.experienceLevel = job.getExperienceLevel();
+        entity.salaryRange = job.getSalary();
+        entity.applicationDeadline = job.getExpiresAt();
+        entity.applicationUrl = job.getApplicationUrl();
+        entity.postedByUserId = job.getPostedBy();
+        entity.postedByName = job.getPostedByName();
+        entity.postedAt = job.getPostedAt();
+        entity.isActive = job.isActive();
+        entity.tags = job.getTags() != null ? String.join(",", job.getTags()) : null;
+        entity.createdAt = job.getPostedAt();
+        entity.updatedAt = System.currentTimeMillis();
+        entity.lastSync = entity.updatedAt;
+        entity.syncStatus = "synced";
+        return entity;
+    }
+
+    public JobPosting toPosting() {
+        JobPosting job = new JobPosting(position, company, description, postedByUserId, postedByName);
+        job.setJobId(jobId);
+        job.setRequirements(requirements);
+        job.setLocation(location);
+        job.setJobType(jobType);
+        job.setExperienceLevel(experienceLevel);
+        job.setSalary(salaryRange);
+        job.setExpiresAt(applicationDeadline);
+        job.setApplicationUrl(applicationUrl);
+        job.setPostedAt(postedAt);
+        job.setActive(isActive);
+        job.setTags(tags != null && !tags.isEmpty() ? new ArrayList<>(Arrays.asList(tags.split(","))) : new ArrayList<>());
+        return job;
+    }
 }
@@ -1,10 +1,17 @@
 package com.namatovu.alumniportal.database.entities;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.annotation.NonNull;
 
-@Entity(tableName = "mentors")
+@Entity(tableName = "mentors", indices = {
+        @Index("fullName"),
+        @Index({"isAvailable", "rating"}),
+        @Index({"category", "rating"}),
+        @Index({"graduationYear", "fullName"}),
+        @Index("lastSyncTime")
+})
 public class MentorEntity {
     @PrimaryKey
     @NonNull
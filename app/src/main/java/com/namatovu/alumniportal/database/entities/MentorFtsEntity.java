@@ -0,0 +1,18 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text shadow table for {@link MentorEntity}. Room keeps it in sync with
+ * the mentors table through content triggers; rows share the mentors rowid.
+ */
+@Fts4(contentEntity = MentorEntity.class)
+@Entity(tableName = "mentors_fts")
+public class MentorFtsEntity {
+    public String fullName;
+    public String expertise;
+    public String company;
+    public String currentJob;
+    public String bio;
+}
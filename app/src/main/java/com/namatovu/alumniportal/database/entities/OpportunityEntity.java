@@ -0,0 +1,56 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.namatovu.alumniportal.models.Opportunity;
+
+import java.util.Date;
+
+/**
+ * Local copy of a job_opportunities document, kept current by DeltaSync
+ */
+@Entity(tableName = "job_opportunities", indices = {
+        @Index("applicationDeadline"),
+        @Index("lastSyncTime"),
+        @Index({"isFeatured", "datePosted"})
+})
+public class OpportunityEntity {
+    @PrimaryKey
+    @NonNull
+    public String id = "";
+
+    public String title;
+    public String company;
+    public String category;
+    public String description;
+    public String location;
+    public String salaryRange;
+    public String requirements;
+    public String applicationLink;
+    public String postedBy;
+    // 0 when the document has none
+    public long applicationDeadline;
+    public long datePosted;
+    public boolean isFeatured;
+    public int applicationsCount;
+    public long lastSyncTime;
+
+    public Opportunity toOpportunity() {
+        Opportunity opportunity = new Opportunity(title, company, category, description, new Date(applicationDeadline));
+        opportunity.setId(id);
+        opportunity.setLocation(location);
+        opportunity.setSalaryRange(salaryRange);
+        opportunity.setRequirements(requirements);
+        opportunity.setApplicationLink(applicationLink);
+        opportunity.setPostedBy(postedBy);
+        if (datePosted > 0) {
+            opportunity.setDatePosted(new Date(datePosted));
+        }
+        opportunity.setFeatured(isFeatured);
+        opportunity.setApplicationsCount(applicationsCount);
+        return opportunity;
+    }
+}
@@ -0,0 +1,38 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A Firestore write made while offline or not yet flushed, kept until
+ * OutboxFlushWorker commits it. Rows are flushed in id order, so writes reach
+ * Firestore in the order they were made.
+ */
+@Entity(tableName = "pending_mutations", indices = {
+        @Index("claimed"),
+        @Index("mergeKey")
+})
+public class PendingMutationEntity {
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+    // Names the receipt written with a non-idempotent write so a retry can tell it already landed
+    @NonNull
+    public String idempotencyKey = "";
+    // e.g. "news/abc123" or "chats/c1/messages/m1"
+    @NonNull
+    public String documentPath = "";
+    // SET, MERGE or UPDATE
+    @NonNull
+    public String operation = "";
+    @NonNull
+    public String fieldsJson = "";
+    // Pending writes with the same key are merged, null when the write stands alone
+    public String mergeKey;
+    public boolean needsReceipt;
+    // Set while a flush is committing the row, so it is no longer merged into
+    public boolean claimed;
+    public int attempts;
+    public long createdAt;
+}
@@ -0,0 +1,33 @@
+package com.namatovu.alumniportal.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * How far the local copy of one Firestore collection has caught up. Marks
+ * are saved with every page written, so an interrupted sync continues from
+ * its last page.
+ */
+@Entity(tableName = "sync_state")
+public class SyncStateEntity {
+    @PrimaryKey
+    @NonNull
+    public String collection = "";
+    // Highest serverUpdatedAt (server clock) already applied, in whole seconds plus nanoseconds
+    // as Firestore stores it, so the next sync starts exactly past it
+    public long updatedAtMark;
+    public int updatedAtNanos;
+    // When the last sync finished (device clock); too old and tombstones may be gone
+    public long lastSyncedAt;
+    // Document at updatedAtMark, which breaks ties between equal stamps; null re-reads the mark itself
+    public String updatedAtDocId;
+    // The same position in the collection's tombstones
+    public long tombstoneMark;
+    public int tombstoneNanos;
+    public String tombstoneDocId;
+    // Start (device clock) of a full download that has not finished, 0 when none is under way
+    public long fullSyncStartedAt;
+    // Last document the unfinished full download wrote; it carries on after this ID
+    public String fullSyncAfterId;
+}
@@ -1,10 +1,20 @@
 package com.namatovu.alumniportal.database.entities;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.annotation.NonNull;
 
-@Entity(tableName = "users")
+import com.namatovu.alumniportal.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Entity(tableName = "users", indices = {
+        @Index("fullName"),
+        @Index("major"),
+        @Index("lastSynced")
+})
 public class UserEntity {
     @PrimaryKey
     @NonNull
@@ -17,6 +27,19 @@ public class UserEntity {
     public String currentJob;
     public String company;
     public String profileImageUrl;
+    public String username;
+    public String userType;
+    public String bio;
+    public String location;
+    // Comma separated
+    public String skills;
+    public boolean isVerified;
+    // The privacySettings the directory honours, with the app's defaults
+    public boolean showInDirectory = true;
+    public boolean showCurrentJob = true;
+    public boolean showLocation = true;
+    public boolean showEmail;
+    public boolean allowMentorRequests = true;
     public long lastSynced;
     
     // Default constructor
@@ -29,4 +52,32 @@ public class UserEntity {
         this.email = email;
         this.lastSynced = System.currentTimeMillis();
     }
+    
+    /**
+     * The model the directory binds to
+     */
+    public User toUser() {
+        User user = new User();
+        user.setUserId(userId);
+        user.setFullName(fullName);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setMajor(major);
+        user.setGraduationYear(graduationYear);
+        user.setCurrentJob(currentJob);
+        user.setCompany(company);
+        user.setProfileImageUrl(profileImageUrl);
+        user.setUserType(userType);
+        user.setBio(bio);
+        user.setLocation(location);
+        user.setSkills(skills == null || skills.isEmpty()
+                ? new ArrayList<>() : new ArrayList<>(Arrays.asList(skills.split(","))));
+        user.setVerified(isVerified);
+        user.setPrivacySetting("showInDirectory", showInDirectory);
+        user.setPrivacySetting("showCurrentJob", showCurrentJob);
+        user.setPrivacySetting("showLocation", showLocation);
+        user.setPrivacySetting("showEmail", showEmail);
+        user.setPrivacySetting("allowMentorRequests", allowMentorRequests);
+        return user;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+import com.namatovu.alumniportal.utils.SearchKeywords;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -268,6 +272,44 @@ public class AlumniEvent {
         }
     }
 
+    public static AlumniEvent fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        AlumniEvent event = new AlumniEvent();
+        event.eventId = document.getId();
+        event.title = DocumentFields.string(data, "title", event.title);
+        event.description = DocumentFields.string(data, "description", event.description);
+        event.venue = DocumentFields.string(data, "venue", event.venue);
+        event.address = DocumentFields.string(data, "address", event.address);
+        event.eventType = DocumentFields.string(data, "eventType", event.eventType);
+        event.startDateTime = DocumentFields.longValue(data, "startDateTime", event.startDateTime);
+        event.endDateTime = DocumentFields.longValue(data, "endDateTime", event.endDateTime);
+        event.organizer = DocumentFields.string(data, "organizer", event.organizer);
+        event.organizerName = DocumentFields.string(data, "organizerName", event.organizerName);
+        event.organizerContact = DocumentFields.string(data, "organizerContact", event.organizerContact);
+        event.imageUrl = DocumentFields.string(data, "imageUrl", event.imageUrl);
+        event.registrationUrl = DocumentFields.string(data, "registrationUrl", event.registrationUrl);
+        event.isOnline = DocumentFields.bool(data, "isOnline", DocumentFields.bool(data, "online", event.isOnline));
+        event.onlineLink = DocumentFields.string(data, "onlineLink", event.onlineLink);
+        event.requiresRegistration = DocumentFields.bool(data, "requiresRegistration", event.requiresRegistration);
+        event.isFree = DocumentFields.bool(data, "isFree", DocumentFields.bool(data, "free", event.isFree));
+        event.ticketPrice = DocumentFields.string(data, "ticketPrice", event.ticketPrice);
+        event.maxAttendees = DocumentFields.intValue(data, "maxAttendees", event.maxAttendees);
+        event.currentAttendees = DocumentFields.intValue(data, "currentAttendees", event.currentAttendees);
+        event.attendeeIds = DocumentFields.strings(data, "attendeeIds", event.attendeeIds);
+        event.tags = DocumentFields.strings(data, "tags", event.tags);
+        event.targetAudience = DocumentFields.string(data, "targetAudience", event.targetAudience);
+        event.targetGraduationYears = DocumentFields.strings(data, "targetGraduationYears", event.targetGraduationYears);
+        event.isPublic = DocumentFields.bool(data, "isPublic", DocumentFields.bool(data, "public", event.isPublic));
+        event.isFeatured = DocumentFields.bool(data, "isFeatured", DocumentFields.bool(data, "featured", event.isFeatured));
+        event.createdAt = DocumentFields.longValue(data, "createdAt", event.createdAt);
+        event.updatedAt = DocumentFields.longValue(data, "updatedAt", event.updatedAt);
+        event.additionalDetails = DocumentFields.map(data, "additionalDetails", event.additionalDetails);
+        return event;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> eventMap = new HashMap<>();
@@ -299,6 +341,7 @@ public class AlumniEvent {
         eventMap.put("createdAt", createdAt);
         eventMap.put("updatedAt", updatedAt);
         eventMap.put("additionalDetails", additionalDetails);
+        eventMap.put(SearchKeywords.FIELD, SearchKeywords.forEventFields(eventMap));
         return eventMap;
     }
 }
\ No newline at end of file
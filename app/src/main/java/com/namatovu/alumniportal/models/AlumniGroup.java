@@ -1,5 +1,8 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -120,6 +123,30 @@ public class AlumniGroup {
         }
     }
     
+    public static AlumniGroup fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        AlumniGroup group = new AlumniGroup();
+        group.groupId = document.getId();
+        group.groupName = DocumentFields.string(data, "groupName", group.groupName);
+        group.description = DocumentFields.string(data, "description", group.description);
+        group.groupType = DocumentFields.string(data, "groupType", group.groupType);
+        group.imageUrl = DocumentFields.string(data, "imageUrl", group.imageUrl);
+        group.creatorId = DocumentFields.string(data, "creatorId", group.creatorId);
+        group.creatorName = DocumentFields.string(data, "creatorName", group.creatorName);
+        group.memberIds = DocumentFields.strings(data, "memberIds", group.memberIds);
+        group.adminIds = DocumentFields.strings(data, "adminIds", group.adminIds);
+        group.memberCount = DocumentFields.intValue(data, "memberCount", group.memberCount);
+        group.createdAt = DocumentFields.longValue(data, "createdAt", group.createdAt);
+        group.lastActivityAt = DocumentFields.longValue(data, "lastActivityAt", group.lastActivityAt);
+        group.isPrivate = DocumentFields.bool(data, "isPrivate", DocumentFields.bool(data, "private", group.isPrivate));
+        group.graduationYear = DocumentFields.string(data, "graduationYear", group.graduationYear);
+        group.department = DocumentFields.string(data, "department", group.department);
+        return group;
+    }
+
     public Map<String, Object> toMap() {
         Map<String, Object> map = new HashMap<>();
         map.put("groupName", groupName);
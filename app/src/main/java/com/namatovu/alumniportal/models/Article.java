@@ -1,8 +1,12 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Article model class for Knowledge section
@@ -140,4 +144,33 @@ public class Article {
         java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("MMM d, yyyy", java.util.Locale.getDefault());
         return sdf.format(dateCreated);
     }
-}
\ No newline at end of file
+
+    public static Article fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        Article article = new Article();
+        article.id = document.getId();
+        article.title = DocumentFields.string(data, "title", article.title);
+        article.description = DocumentFields.string(data, "description", article.description);
+        article.content = DocumentFields.string(data, "content", article.content);
+        // setCategory also picks the icon; a stored icon below takes precedence
+        String category = DocumentFields.string(data, "category", null);
+        if (category != null) {
+            article.setCategory(category);
+        }
+        article.categoryIcon = DocumentFields.string(data, "categoryIcon", article.categoryIcon);
+        article.authorId = DocumentFields.string(data, "authorId", article.authorId);
+        article.authorName = DocumentFields.string(data, "authorName", article.authorName);
+        article.dateCreated = DocumentFields.date(data, "dateCreated", article.dateCreated);
+        article.dateModified = DocumentFields.date(data, "dateModified", article.dateModified);
+        article.isBookmarked = DocumentFields.bool(data, "isBookmarked", DocumentFields.bool(data, "bookmarked", article.isBookmarked));
+        article.views = DocumentFields.intValue(data, "views", article.views);
+        article.imageUrl = DocumentFields.string(data, "imageUrl", article.imageUrl);
+        article.likeCount = DocumentFields.intValue(data, "likeCount", article.likeCount);
+        article.likedByUsers = DocumentFields.strings(data, "likedByUsers", article.likedByUsers);
+        article.isLiked = DocumentFields.bool(data, "isLiked", DocumentFields.bool(data, "liked", article.isLiked));
+        return article;
+    }
+}
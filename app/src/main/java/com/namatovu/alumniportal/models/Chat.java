@@ -1,5 +1,8 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -260,6 +263,32 @@ public class Chat {
         return userIds[0] + "_" + userIds[1];
     }
 
+    public static Chat fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        Chat chat = new Chat();
+        chat.chatId = document.getId();
+        chat.participantIds = DocumentFields.strings(data, "participantIds", chat.participantIds);
+        chat.participantNames = DocumentFields.stringMap(data, "participantNames", chat.participantNames);
+        chat.participantImages = DocumentFields.stringMap(data, "participantImages", chat.participantImages);
+        chat.lastMessageText = DocumentFields.string(data, "lastMessageText", chat.lastMessageText);
+        chat.lastMessageSenderId = DocumentFields.string(data, "lastMessageSenderId", chat.lastMessageSenderId);
+        chat.lastMessageType = DocumentFields.string(data, "lastMessageType", chat.lastMessageType);
+        chat.lastMessageTimestamp = DocumentFields.longValue(data, "lastMessageTimestamp", chat.lastMessageTimestamp);
+        chat.createdAt = DocumentFields.longValue(data, "createdAt", chat.createdAt);
+        chat.updatedAt = DocumentFields.longValue(data, "updatedAt", chat.updatedAt);
+        chat.unreadCounts = DocumentFields.intMap(data, "unreadCounts", chat.unreadCounts);
+        chat.lastSeenTimestamps = DocumentFields.longMap(data, "lastSeenTimestamps", chat.lastSeenTimestamps);
+        chat.isActive = DocumentFields.bool(data, "isActive", DocumentFields.bool(data, "active", chat.isActive));
+        chat.chatType = DocumentFields.string(data, "chatType", chat.chatType);
+        chat.chatName = DocumentFields.string(data, "chatName", chat.chatName);
+        chat.chatImage = DocumentFields.string(data, "chatImage", chat.chatImage);
+        chat.metadata = DocumentFields.map(data, "metadata", chat.metadata);
+        return chat;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> chatMap = new HashMap<>();
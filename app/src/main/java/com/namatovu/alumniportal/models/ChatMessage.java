@@ -1,5 +1,8 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -240,6 +243,40 @@ public class ChatMessage {
         this.deletedAt = System.currentTimeMillis();
     }
 
+    public static ChatMessage fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        ChatMessage message = new ChatMessage();
+        message.messageId = document.getId();
+        message.chatId = DocumentFields.string(data, "chatId", message.chatId);
+        message.senderId = DocumentFields.string(data, "senderId", message.senderId);
+        message.senderName = DocumentFields.string(data, "senderName", message.senderName);
+        message.senderProfileImage = DocumentFields.string(data, "senderProfileImage", message.senderProfileImage);
+        message.receiverId = DocumentFields.string(data, "receiverId", message.receiverId);
+        message.messageText = DocumentFields.string(data, "messageText", message.messageText);
+        message.messageType = DocumentFields.string(data, "messageType", message.messageType);
+        message.fileUrl = DocumentFields.string(data, "fileUrl", message.fileUrl);
+        message.fileName = DocumentFields.string(data, "fileName", message.fileName);
+        message.fileType = DocumentFields.string(data, "fileType", message.fileType);
+        message.fileSizeBytes = DocumentFields.longValue(data, "fileSizeBytes", message.fileSizeBytes);
+        message.imageUrl = DocumentFields.string(data, "imageUrl", message.imageUrl);
+        message.voiceUrl = DocumentFields.string(data, "voiceUrl", message.voiceUrl);
+        message.voiceDuration = DocumentFields.intValue(data, "voiceDuration", message.voiceDuration);
+        message.timestamp = DocumentFields.longValue(data, "timestamp", message.timestamp);
+        message.isRead = DocumentFields.bool(data, "isRead", DocumentFields.bool(data, "read", message.isRead));
+        message.isDelivered = DocumentFields.bool(data, "isDelivered", DocumentFields.bool(data, "delivered", message.isDelivered));
+        message.isEdited = DocumentFields.bool(data, "isEdited", DocumentFields.bool(data, "edited", message.isEdited));
+        message.isDeleted = DocumentFields.bool(data, "isDeleted", DocumentFields.bool(data, "deleted", message.isDeleted));
+        message.editedAt = DocumentFields.longValue(data, "editedAt", message.editedAt);
+        message.deletedAt = DocumentFields.longValue(data, "deletedAt", message.deletedAt);
+        message.replyToMessageId = DocumentFields.string(data, "replyToMessageId", message.replyToMessageId);
+        message.replyToText = DocumentFields.string(data, "replyToText", message.replyToText);
+        message.metadata = DocumentFields.map(data, "metadata", message.metadata);
+        return message;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> messageMap = new HashMap<>();
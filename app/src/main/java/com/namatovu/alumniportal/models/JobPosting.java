@@ -1,5 +1,9 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+import com.namatovu.alumniportal.utils.SearchKeywords;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -175,6 +179,36 @@ public class JobPosting {
         this.applicationCount++;
     }
 
+    public static JobPosting fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        JobPosting job = new JobPosting();
+        job.jobId = document.getId();
+        job.title = DocumentFields.string(data, "title", job.title);
+        job.company = DocumentFields.string(data, "company", job.company);
+        job.description = DocumentFields.string(data, "description", job.description);
+        job.requirements = DocumentFields.string(data, "requirements", job.requirements);
+        job.location = DocumentFields.string(data, "location", job.location);
+        job.salary = DocumentFields.string(data, "salary", job.salary);
+        job.jobType = DocumentFields.string(data, "jobType", job.jobType);
+        job.experienceLevel = DocumentFields.string(data, "experienceLevel", job.experienceLevel);
+        job.postedBy = DocumentFields.string(data, "postedBy", job.postedBy);
+        job.postedByName = DocumentFields.string(data, "postedByName", job.postedByName);
+        job.postedAt = DocumentFields.longValue(data, "postedAt", job.postedAt);
+        job.expiresAt = DocumentFields.longValue(data, "expiresAt", job.expiresAt);
+        job.isActive = DocumentFields.bool(data, "isActive", DocumentFields.bool(data, "active", job.isActive));
+        job.isRemote = DocumentFields.bool(data, "isRemote", DocumentFields.bool(data, "remote", job.isRemote));
+        job.applicationUrl = DocumentFields.string(data, "applicationUrl", job.applicationUrl);
+        job.contactEmail = DocumentFields.string(data, "contactEmail", job.contactEmail);
+        job.tags = DocumentFields.strings(data, "tags", job.tags);
+        job.requirements_details = DocumentFields.map(data, "requirements_details", job.requirements_details);
+        job.viewCount = DocumentFields.intValue(data, "viewCount", job.viewCount);
+        job.applicationCount = DocumentFields.intValue(data, "applicationCount", job.applicationCount);
+        return job;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> jobMap = new HashMap<>();
@@ -198,6 +232,7 @@ public class JobPosting {
         jobMap.put("requirements_details", requirements_details);
         jobMap.put("viewCount", viewCount);
         jobMap.put("applicationCount", applicationCount);
+        jobMap.put(SearchKeywords.FIELD, SearchKeywords.forJobFields(jobMap));
         return jobMap;
     }
 
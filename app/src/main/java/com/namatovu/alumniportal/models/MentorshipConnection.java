@@ -1,5 +1,8 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -201,6 +204,36 @@ public class MentorshipConnection {
         }
     }
     
+    public static MentorshipConnection fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        MentorshipConnection connection = new MentorshipConnection();
+        connection.connectionId = document.getId();
+        connection.mentorId = DocumentFields.string(data, "mentorId", connection.mentorId);
+        connection.menteeId = DocumentFields.string(data, "menteeId", connection.menteeId);
+        connection.mentorName = DocumentFields.string(data, "mentorName", connection.mentorName);
+        connection.menteeName = DocumentFields.string(data, "menteeName", connection.menteeName);
+        connection.mentorTitle = DocumentFields.string(data, "mentorTitle", connection.mentorTitle);
+        connection.mentorCompany = DocumentFields.string(data, "mentorCompany", connection.mentorCompany);
+        connection.mentorProfileImage = DocumentFields.string(data, "mentorProfileImage", DocumentFields.string(data, "mentorImageUrl", connection.mentorProfileImage));
+        connection.menteeProfileImage = DocumentFields.string(data, "menteeProfileImage", connection.menteeProfileImage);
+        connection.status = DocumentFields.string(data, "status", connection.status);
+        connection.message = DocumentFields.string(data, "message", connection.message);
+        connection.mentorshipType = DocumentFields.string(data, "mentorshipType", connection.mentorshipType);
+        connection.focusAreas = DocumentFields.strings(data, "focusAreas", connection.focusAreas);
+        connection.requestedAt = DocumentFields.longValue(data, "requestedAt", connection.requestedAt);
+        connection.acceptedAt = DocumentFields.longValue(data, "acceptedAt", connection.acceptedAt);
+        connection.completedAt = DocumentFields.longValue(data, "completedAt", connection.completedAt);
+        connection.sessionCount = DocumentFields.intValue(data, "sessionCount", connection.sessionCount);
+        connection.duration = DocumentFields.string(data, "duration", connection.duration);
+        connection.mentorFeedback = DocumentFields.map(data, "mentorFeedback", connection.mentorFeedback);
+        connection.menteeFeedback = DocumentFields.map(data, "menteeFeedback", connection.menteeFeedback);
+        connection.isFeatured = DocumentFields.bool(data, "isFeatured", DocumentFields.bool(data, "featured", connection.isFeatured));
+        return connection;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> connectionMap = new HashMap<>();
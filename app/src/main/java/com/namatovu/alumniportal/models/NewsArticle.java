@@ -1,5 +1,8 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -250,6 +253,38 @@ public class NewsArticle {
         return true; // Default: show all published articles
     }
 
+    public static NewsArticle fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        NewsArticle article = new NewsArticle();
+        article.articleId = document.getId();
+        article.title = DocumentFields.string(data, "title", article.title);
+        article.content = DocumentFields.string(data, "content", article.content);
+        article.summary = DocumentFields.string(data, "summary", article.summary);
+        article.authorId = DocumentFields.string(data, "authorId", article.authorId);
+        article.authorName = DocumentFields.string(data, "authorName", article.authorName);
+        article.authorRole = DocumentFields.string(data, "authorRole", article.authorRole);
+        article.category = DocumentFields.string(data, "category", article.category);
+        article.tags = DocumentFields.strings(data, "tags", article.tags);
+        article.imageUrl = DocumentFields.string(data, "imageUrl", article.imageUrl);
+        article.sourceUrl = DocumentFields.string(data, "sourceUrl", article.sourceUrl);
+        article.isFeatured = DocumentFields.bool(data, "isFeatured", DocumentFields.bool(data, "featured", article.isFeatured));
+        article.isPublished = DocumentFields.bool(data, "isPublished", DocumentFields.bool(data, "published", article.isPublished));
+        article.isPinned = DocumentFields.bool(data, "isPinned", DocumentFields.bool(data, "pinned", article.isPinned));
+        article.publishedAt = DocumentFields.longValue(data, "publishedAt", article.publishedAt);
+        article.createdAt = DocumentFields.longValue(data, "createdAt", article.createdAt);
+        article.updatedAt = DocumentFields.longValue(data, "updatedAt", article.updatedAt);
+        article.viewCount = DocumentFields.intValue(data, "viewCount", article.viewCount);
+        article.likeCount = DocumentFields.intValue(data, "likeCount", article.likeCount);
+        article.commentCount = DocumentFields.intValue(data, "commentCount", article.commentCount);
+        article.likedByUserIds = DocumentFields.strings(data, "likedByUserIds", article.likedByUserIds);
+        article.priority = DocumentFields.string(data, "priority", article.priority);
+        article.metadata = DocumentFields.map(data, "metadata", article.metadata);
+        return article;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> articleMap = new HashMap<>();
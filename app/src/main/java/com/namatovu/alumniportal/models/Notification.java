@@ -1,5 +1,10 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
+import java.util.Map;
+
 public class Notification {
     private String id;
     private String userId;
@@ -87,4 +92,21 @@ public class Notification {
     public void setRead(boolean read) {
         this.read = read;
     }
+
+    public static Notification fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        Notification notification = new Notification();
+        notification.id = document.getId();
+        notification.userId = DocumentFields.string(data, "userId", notification.userId);
+        notification.title = DocumentFields.string(data, "title", notification.title);
+        notification.message = DocumentFields.string(data, "message", notification.message);
+        notification.type = DocumentFields.string(data, "type", notification.type);
+        notification.referenceId = DocumentFields.string(data, "referenceId", notification.referenceId);
+        notification.timestamp = DocumentFields.longValue(data, "timestamp", notification.timestamp);
+        notification.read = DocumentFields.bool(data, "read", notification.read);
+        return notification;
+    }
 }
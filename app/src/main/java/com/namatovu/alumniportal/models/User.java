@@ -1,5 +1,8 @@
 package com.namatovu.alumniportal.models;
 
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -293,6 +296,49 @@ public class User {
         return "";
     }
 
+    public static User fromDocument(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) {
+            return null;
+        }
+        User user = new User();
+        user.userId = document.getId();
+        user.fullName = DocumentFields.string(data, "fullName", user.fullName);
+        user.username = DocumentFields.string(data, "username", user.username);
+        user.email = DocumentFields.string(data, "email", user.email);
+        user.personalEmail = DocumentFields.string(data, "personalEmail", user.personalEmail);
+        user.studentId = DocumentFields.string(data, "studentId", user.studentId);
+        user.alumniID = DocumentFields.string(data, "alumniID", user.alumniID);
+        user.staffID = DocumentFields.string(data, "staffID", user.staffID);
+        user.profileImageUrl = DocumentFields.string(data, "profileImageUrl", user.profileImageUrl);
+        user.bio = DocumentFields.string(data, "bio", user.bio);
+        user.major = DocumentFields.string(data, "major", user.major);
+        user.graduationYear = DocumentFields.string(data, "graduationYear", user.graduationYear);
+        user.currentJob = DocumentFields.string(data, "currentJob", user.currentJob);
+        user.company = DocumentFields.string(data, "company", user.company);
+        user.workStatus = DocumentFields.string(data, "workStatus", user.workStatus);
+        user.location = DocumentFields.string(data, "location", user.location);
+        user.phoneNumber = DocumentFields.string(data, "phoneNumber", user.phoneNumber);
+        user.skills = DocumentFields.strings(data, "skills", user.skills);
+        user.isVerified = DocumentFields.bool(data, "isVerified", DocumentFields.bool(data, "verified", user.isVerified));
+        user.isAlumni = DocumentFields.bool(data, "isAlumni", DocumentFields.bool(data, "alumni", user.isAlumni));
+        user.userType = DocumentFields.string(data, "userType", user.userType);
+        user.role = DocumentFields.string(data, "role", user.role);
+        user.createdAt = DocumentFields.longValue(data, "createdAt", user.createdAt);
+        user.lastActive = DocumentFields.longValue(data, "lastActive", user.lastActive);
+        user.updatedAt = DocumentFields.longValue(data, "updatedAt", user.updatedAt);
+        user.emailVerified = DocumentFields.bool(data, "emailVerified", user.emailVerified);
+        user.socialLinks = DocumentFields.map(data, "socialLinks", user.socialLinks);
+        user.privacySettings = DocumentFields.map(data, "privacySettings", user.privacySettings);
+        user.fcmToken = DocumentFields.string(data, "fcmToken", user.fcmToken);
+        user.lastTokenUpdate = DocumentFields.longValue(data, "lastTokenUpdate", user.lastTokenUpdate);
+        user.emailNotificationsEnabled = DocumentFields.bool(data, "emailNotificationsEnabled", user.emailNotificationsEnabled);
+        user.industry = DocumentFields.string(data, "industry", user.industry);
+        user.currency = DocumentFields.string(data, "currency", user.currency);
+        user.profileImagePublicId = DocumentFields.string(data, "profileImagePublicId", user.profileImagePublicId);
+        return user;
+    }
+
     // Convert to Map for Firestore
     public Map<String, Object> toMap() {
         Map<String, Object> userMap = new HashMap<>();
@@ -5,10 +5,10 @@ import android.content.Context;
 import android.content.Intent;
 import android.util.Log;
 
-import com.namatovu.alumniportal.services.DataSyncService;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
 
 /**
- * Broadcast Receiver to start services when device boots up
+ * Broadcast Receiver to request a sync when device boots up
  * Ensures data stays synced even after device restart
  */
 public class BootCompletedReceiver extends BroadcastReceiver {
@@ -18,15 +18,10 @@ public class BootCompletedReceiver extends BroadcastReceiver {
     @Override
     public void onReceive(Context context, Intent intent) {
         if (Intent.ACTION_BOOT_COMPLETED.equals(intent.getAction())) {
-            Log.d(TAG, "Device boot completed - Starting sync service");
+            Log.d(TAG, "Device boot completed - Requesting sync");
             
-            // Start data sync service after boot
-            Intent syncIntent = new Intent(context, DataSyncService.class);
-            if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O) {
-                context.startForegroundService(syncIntent);
-            } else {
-                context.startService(syncIntent);
-            }
+            // Runs once the device is online; collections already queued are not queued again
+            CollectionSyncWorker.requestSync(context);
         }
     }
 }
\ No newline at end of file
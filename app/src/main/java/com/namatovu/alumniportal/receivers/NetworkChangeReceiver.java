@@ -8,7 +8,7 @@ import android.net.NetworkInfo;
 import android.util.Log;
 import android.widget.Toast;
 
-import com.namatovu.alumniportal.services.DataSyncService;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
 
 /**
  * Broadcast Receiver to detect network connectivity changes
@@ -30,9 +30,8 @@ public class NetworkChangeReceiver extends BroadcastReceiver {
             if (!wasConnected) {
                 Toast.makeText(context, "Internet connected - Syncing data...", Toast.LENGTH_SHORT).show();
                 
-                // Start data sync service when network becomes available
-                Intent syncIntent = new Intent(context, com.namatovu.alumniportal.services.DataSyncBackgroundService.class);
-                context.startService(syncIntent);
+                // A flap while a sync is still queued or running does not start another
+                CollectionSyncWorker.requestSync(context);
             }
             
             wasConnected = true;
@@ -5,14 +5,50 @@ import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 
+import androidx.annotation.OptIn;
+import androidx.arch.core.util.Function;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.gson.Gson;
 import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.TimelineEdge;
+import com.namatovu.alumniportal.database.dao.ChatMessageDao;
+import com.namatovu.alumniportal.database.dao.JobPostingDao;
+import com.namatovu.alumniportal.database.entities.CachedDocumentEntity;
+import com.namatovu.alumniportal.database.entities.ChatMessageEntity;
 import com.namatovu.alumniportal.database.entities.EventEntity;
 import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.JobPostingEntity;
+import com.namatovu.alumniportal.database.entities.OpportunityEntity;
 import com.namatovu.alumniportal.database.entities.UserEntity;
+import com.namatovu.alumniportal.models.AlumniEvent;
+import com.namatovu.alumniportal.models.ChatMessage;
+import com.namatovu.alumniportal.models.JobPosting;
+import com.namatovu.alumniportal.models.Opportunity;
+import com.namatovu.alumniportal.models.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Repository class demonstrating proper use of ExecutorService for database operations
@@ -21,15 +57,19 @@ import java.util.concurrent.Executors;
 public class AlumniRepository {
     
     private static final String TAG = "AlumniRepository";
+    private static final int PAGE_SIZE = 30;
+    private static final Gson GSON = new Gson();
     private static AlumniRepository instance;
     
     private final AlumniDatabase database;
     private final ExecutorService executorService;
+    private final ListeningExecutorService pagingExecutor;
     private final Handler mainHandler;
     
     private AlumniRepository(Context context) {
         database = AlumniDatabase.getInstance(context.getApplicationContext());
         executorService = Executors.newFixedThreadPool(4); // Thread pool for database operations
+        pagingExecutor = MoreExecutors.listeningDecorator(executorService);
         mainHandler = new Handler(Looper.getMainLooper());
     }
     
@@ -45,7 +85,7 @@ public class AlumniRepository {
     public void insertUser(UserEntity user, OnOperationCompleteListener listener) {
         executorService.execute(() -> {
             try {
-                database.userDao().insertUser(user);
+                database.userDao().upsertUser(user);
                 Log.d(TAG, "User inserted: " + user.userId);
                 notifySuccess(listener);
             } catch (Exception e) {
@@ -79,14 +119,17 @@ public class AlumniRepository {
         });
     }
     
-
+    // Directory as DeltaSync keeps it; Room re-emits after every sync
+    public LiveData<List<User>> observeDirectoryUsers(String currentUserId) {
+        return mapRows(database.userDao().observeDirectoryUsers(currentUserId), UserEntity::toUser);
+    }
     
     // ==================== JOB OPERATIONS ====================
     
     public void insertJob(JobEntity job, OnOperationCompleteListener listener) {
         executorService.execute(() -> {
             try {
-                database.jobDao().insertJob(job);
+                database.jobDao().upsertJobs(Collections.singletonList(job));
                 Log.d(TAG, "Job inserted: " + job.getJobId());
                 notifySuccess(listener);
             } catch (Exception e) {
@@ -108,6 +151,18 @@ public class AlumniRepository {
         });
     }
     
+    public void getJobById(String jobId, OnJobLoadedListener listener) {
+        executorService.execute(() -> {
+            try {
+                JobEntity job = database.jobDao().getJobById(jobId);
+                mainHandler.post(() -> listener.onJobLoaded(job));
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading job", e);
+                mainHandler.post(() -> listener.onError(e));
+            }
+        });
+    }
+    
     public void getSavedJobs(OnJobsLoadedListener listener) {
         executorService.execute(() -> {
             try {
@@ -143,12 +198,23 @@ public class AlumniRepository {
         });
     }
     
+    // Re-emits after writes such as updateJobSavedStatus
+    public LiveData<List<JobEntity>> observeSavedJobs() {
+        return database.jobDao().observeSavedJobs();
+    }
+    
+    // Open opportunities as DeltaSync keeps them, featured first
+    public LiveData<List<Opportunity>> observeOpenOpportunities() {
+        return mapRows(database.opportunityDao().observeOpenOpportunities(System.currentTimeMillis()),
+                OpportunityEntity::toOpportunity);
+    }
+    
     // ==================== EVENT OPERATIONS ====================
     
     public void insertEvent(EventEntity event, OnOperationCompleteListener listener) {
         executorService.execute(() -> {
             try {
-                database.eventDao().insertEvent(event);
+                database.eventDao().upsertEvents(Collections.singletonList(event));
                 Log.d(TAG, "Event inserted: " + event.getEventId());
                 notifySuccess(listener);
             } catch (Exception e) {
@@ -183,6 +249,30 @@ public class AlumniRepository {
         });
     }
     
+    public void updateEventAttendance(String eventId, boolean isAttending, int attendeeCount) {
+        executorService.execute(() -> {
+            try {
+                database.eventDao().updateEventAttendance(eventId, isAttending, attendeeCount);
+                Log.d(TAG, "Event attendance updated: " + eventId);
+            } catch (Exception e) {
+                Log.e(TAG, "Error updating event attendance", e);
+            }
+        });
+    }
+    
+    // Observers below re-emit after writes such as updateEventAttendance
+    public LiveData<List<EventEntity>> observeUpcomingEvents() {
+        return database.eventDao().observeUpcomingEvents(System.currentTimeMillis());
+    }
+    
+    public LiveData<List<EventEntity>> observeAttendingEvents() {
+        return database.eventDao().observeAttendingEvents();
+    }
+    
+    public LiveData<List<AlumniEvent>> observePublicEvents(String currentUserId) {
+        return mapRows(database.eventDao().observePublicEvents(), event -> event.toEvent(currentUserId));
+    }
+    
     public void searchEvents(String query, OnEventsLoadedListener listener) {
         executorService.execute(() -> {
             try {
@@ -195,6 +285,282 @@ public class AlumniRepository {
         });
     }
     
+    // ==================== CHAT OPERATIONS ====================
+    
+    /**
+     * Keep a local copy of loaded messages so history can be searched offline
+     */
+    public void cacheChatMessages(List<ChatMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        List<ChatMessageEntity> entities = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            if (message.getMessageId() != null) {
+                entities.add(ChatMessageEntity.fromMessage(message));
+            }
+        }
+        executorService.execute(() -> {
+            try {
+                database.chatMessageDao().upsertMessages(entities);
+            } catch (Exception e) {
+                Log.e(TAG, "Error caching chat messages", e);
+            }
+        });
+    }
+    
+    /**
+     * Drop messages deleted on the server from the local copy
+     */
+    public void removeCachedChatMessages(List<String> messageIds) {
+        if (messageIds == null || messageIds.isEmpty()) {
+            return;
+        }
+        executorService.execute(() -> {
+            try {
+                database.chatMessageDao().deleteMessages(messageIds);
+            } catch (Exception e) {
+                Log.e(TAG, "Error removing chat messages", e);
+            }
+        });
+    }
+    
+    /**
+     * A message sent from this device, shown in the chat's paged history until
+     * the listener caches the server's copy over it
+     */
+    public void savePendingChatMessage(ChatMessage message) {
+        ChatMessageEntity entity = ChatMessageEntity.fromMessage(message);
+        entity.syncStatus = "pending";
+        executorService.execute(() -> {
+            try {
+                database.chatMessageDao().upsertMessages(Collections.singletonList(entity));
+            } catch (Exception e) {
+                Log.e(TAG, "Error caching sent message", e);
+            }
+        });
+    }
+    
+    /**
+     * Timestamp of the newest message of a chat that came from the server, or
+     * null when none is cached
+     */
+    public void getNewestChatMessageTime(String chatId, OnTimestampLoadedListener listener) {
+        executorService.execute(() -> {
+            Long timestamp = null;
+            try {
+                TimelineEdge newest = database.chatMessageDao().getNewestEdge(chatId);
+                timestamp = newest != null ? newest.timestamp : null;
+            } catch (Exception e) {
+                Log.e(TAG, "Error reading newest cached message", e);
+            }
+            Long result = timestamp;
+            mainHandler.post(() -> listener.onTimestampLoaded(result));
+        });
+    }
+    
+    /**
+     * Search cached messages across all chats, best match first
+     */
+    public void searchChatMessages(String query, int limit, OnMessagesFoundListener listener) {
+        executorService.execute(() -> {
+            try {
+                List<ChatMessageDao.MessageSearchHit> hits =
+                        database.chatMessageDao().searchMessages(query, null, limit);
+                mainHandler.post(() -> listener.onMessagesFound(query, hits));
+            } catch (Exception e) {
+                Log.e(TAG, "Error searching chat messages", e);
+                mainHandler.post(() -> listener.onError(e));
+            }
+        });
+    }
+    
+    // ==================== PAGED OPERATIONS ====================
+    
+    /**
+     * One chat's history, newest first, paged from Room. Firestore is only
+     * queried for messages newer than the cache when the chat opens and for
+     * older ones once the cached history has been scrolled through. Rows are
+     * converted to messages off the main thread.
+     */
+    @OptIn(markerClass = ExperimentalPagingApi.class)
+    public LiveData<PagingData<ChatMessage>> getPagedChatHistory(String chatId) {
+        Pager<Integer, ChatMessageEntity> pager = new Pager<>(pagingConfig(), null,
+                new ChatMessageRemoteMediator(database, FirebaseFirestore.getInstance(), chatId, pagingExecutor),
+                () -> database.chatMessageDao().pagingSource(chatId));
+        return Transformations.map(PagingLiveData.getLiveData(pager),
+                page -> PagingDataTransforms.map(page, executorService, ChatMessageEntity::toMessage));
+    }
+    
+    /**
+     * Open job postings, newest first, paged from Room and filled from
+     * Firestore the same way as chat history
+     */
+    @OptIn(markerClass = ExperimentalPagingApi.class)
+    public LiveData<PagingData<JobPosting>> getPagedJobPostings() {
+        Pager<Integer, JobPostingEntity> pager = new Pager<>(pagingConfig(), null,
+                new JobPostingRemoteMediator(database, FirebaseFirestore.getInstance(), pagingExecutor),
+                () -> database.jobPostingDao().pagingSource(System.currentTimeMillis()));
+        return Transformations.map(PagingLiveData.getLiveData(pager),
+                page -> PagingDataTransforms.map(page, executorService, JobPostingEntity::toPosting));
+    }
+    
+    // Type and experience of the postings the board can show, for its filter counts
+    public LiveData<List<JobPostingDao.JobFacetRow>> observeJobFacetRows() {
+        return database.jobPostingDao().observeFacetRows(System.currentTimeMillis());
+    }
+    
+    private static PagingConfig pagingConfig() {
+        // No placeholders: the row count is unknown until the network has filled the cache
+        return new PagingConfig(PAGE_SIZE, PAGE_SIZE, false);
+    }
+    
+    // ==================== OFFLINE-FIRST QUERIES ====================
+    
+    /**
+     * Stale-while-revalidate read of a Firestore query. The result last cached
+     * under cacheKey is delivered first (fromCache = true), then the query runs
+     * and its result replaces the cache and is delivered again. Documents are
+     * mapped and stored off the main thread.
+     */
+    public <T> void loadOfflineFirst(String cacheKey, Query query, Class<T> type,
+                                     DocumentMapper<T> mapper, OnCachedQueryListener<T> listener) {
+        executorService.execute(() -> {
+            List<T> cached = readCachedDocuments(cacheKey, type);
+            boolean hasCache = !cached.isEmpty();
+            if (hasCache) {
+                mainHandler.post(() -> listener.onData(cached, true));
+            }
+            // Started after the cached post so the fresh result always arrives second
+            query.get()
+                    .addOnSuccessListener(executorService, snapshot -> {
+                        List<T> items = cacheQueryResult(cacheKey, snapshot, mapper);
+                        mainHandler.post(() -> listener.onData(items, false));
+                    })
+                    .addOnFailureListener(executorService, e -> {
+                        Log.w(TAG, "Revalidating " + cacheKey + " failed", e);
+                        mainHandler.post(() -> listener.onError(e, hasCache));
+                    });
+        });
+    }
+    
+    /**
+     * Rows of a Room query converted to models off the main thread. Every
+     * emission holds fresh objects, so a DiffUtil consumer rebinds only the
+     * rows that changed.
+     */
+    private <E, T> LiveData<List<T>> mapRows(LiveData<List<E>> rows, Function<E, T> mapper) {
+        MediatorLiveData<List<T>> items = new MediatorLiveData<>();
+        AtomicInteger latest = new AtomicInteger();
+        items.addSource(rows, entities -> {
+            int generation = latest.incrementAndGet();
+            executorService.execute(() -> {
+                List<T> mapped = new ArrayList<>(entities.size());
+                for (E entity : entities) {
+                    mapped.add(mapper.apply(entity));
+                }
+                // A newer emission may have been mapped first; never post an older list over it
+                if (generation == latest.get()) {
+                    items.postValue(Collections.unmodifiableList(mapped));
+                }
+            });
+        });
+        return items;
+    }
+    
+    /**
+     * Listens to a query with snapshots delivered to a background thread, where
+     * the mapper parses and filters them; the UI only receives the finished,
+     * unmodifiable list. Remove the returned registration when the screen goes away.
+     */
+    public <T> ListenerRegistration listenToQuery(Query query, DocumentMapper<T> mapper,
+                                                  OnQuerySnapshotListener<T> listener) {
+        // Sequential so a newer snapshot is never posted before an older one
+        Executor snapshots = MoreExecutors.newSequentialExecutor(executorService);
+        return query.addSnapshotListener(snapshots, (snapshot, error) -> {
+            if (error != null) {
+                mainHandler.post(() -> listener.onError(error));
+                return;
+            }
+            if (snapshot == null) {
+                return;
+            }
+            List<T> items = Collections.unmodifiableList(mapDocuments(snapshot, mapper, null));
+            boolean fromCache = snapshot.getMetadata().isFromCache();
+            mainHandler.post(() -> listener.onData(items, fromCache));
+        });
+    }
+    
+    private <T> List<T> cacheQueryResult(String cacheKey, QuerySnapshot snapshot, DocumentMapper<T> mapper) {
+        List<DocumentSnapshot> documents = new ArrayList<>(snapshot.size());
+        List<T> items = mapDocuments(snapshot, mapper, documents);
+        List<CachedDocumentEntity> rows = new ArrayList<>(items.size());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < items.size(); i++) {
+            CachedDocumentEntity row = new CachedDocumentEntity();
+            row.cacheKey = cacheKey;
+            row.documentId = documents.get(i).getId();
+            row.position = i;
+            row.json = GSON.toJson(items.get(i));
+            row.cachedAt = now;
+            rows.add(row);
+        }
+        try {
+            database.cachedDocumentDao().replaceDocuments(cacheKey, rows);
+        } catch (Exception e) {
+            Log.e(TAG, "Error caching " + cacheKey, e);
+        }
+        return Collections.unmodifiableList(items);
+    }
+    
+    // Documents the mapper rejects or fails on are skipped; mapped ones are added to `kept` in the same order
+    private static <T> List<T> mapDocuments(QuerySnapshot snapshot, DocumentMapper<T> mapper,
+                                            List<DocumentSnapshot> kept) {
+        List<T> items = new ArrayList<>(snapshot.size());
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            T item;
+            try {
+                item = mapper.map(document);
+            } catch (Exception e) {
+                Log.w(TAG, "Error parsing document: " + document.getId(), e);
+                continue;
+            }
+            if (item != null) {
+                items.add(item);
+                if (kept != null) {
+                    kept.add(document);
+                }
+            }
+        }
+        return items;
+    }
+    
+    private <T> List<T> readCachedDocuments(String cacheKey, Class<T> type) {
+        try {
+            return parseCachedDocuments(cacheKey, database.cachedDocumentDao().getDocuments(cacheKey), type);
+        } catch (Exception e) {
+            Log.w(TAG, "Error reading cache " + cacheKey, e);
+            return Collections.emptyList();
+        }
+    }
+    
+    private <T> List<T> parseCachedDocuments(String cacheKey, List<CachedDocumentEntity> rows, Class<T> type) {
+        List<T> items = new ArrayList<>();
+        try {
+            for (CachedDocumentEntity row : rows) {
+                T item = GSON.fromJson(row.json, type);
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+        } catch (Exception e) {
+            // A cache written by an older model version is treated as a miss
+            Log.w(TAG, "Discarding unreadable cache " + cacheKey, e);
+            items.clear();
+        }
+        return Collections.unmodifiableList(items);
+    }
+    
     // ==================== UTILITY METHODS ====================
     
     public void clearAllData(OnOperationCompleteListener listener) {
@@ -250,8 +616,37 @@ public class AlumniRepository {
         void onError(Exception e);
     }
     
+    public interface OnJobLoadedListener {
+        void onJobLoaded(JobEntity job);
+        void onError(Exception e);
+    }
+    
     public interface OnEventsLoadedListener {
         void onEventsLoaded(List<EventEntity> events);
         void onError(Exception e);
     }
+    
+    public interface DocumentMapper<T> {
+        // Return null to leave the document out of the result
+        T map(DocumentSnapshot document);
+    }
+    
+    public interface OnCachedQueryListener<T> {
+        void onData(List<T> items, boolean fromCache);
+        void onError(Exception e, boolean showingCachedData);
+    }
+    
+    public interface OnQuerySnapshotListener<T> {
+        void onData(List<T> items, boolean fromCache);
+        void onError(Exception e);
+    }
+    
+    public interface OnTimestampLoadedListener {
+        void onTimestampLoaded(Long timestamp);
+    }
+    
+    public interface OnMessagesFoundListener {
+        void onMessagesFound(String query, List<ChatMessageDao.MessageSearchHit> hits);
+        void onError(Exception e);
+    }
 }
@@ -0,0 +1,101 @@
+package com.namatovu.alumniportal.repository;
+
+import androidx.annotation.NonNull;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.RemoteMediator;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.TimelineEdge;
+import com.namatovu.alumniportal.database.entities.ChatMessageEntity;
+import com.namatovu.alumniportal.models.ChatMessage;
+import com.namatovu.alumniportal.utils.SecurityHelper;
+
+import java.util.List;
+
+/**
+ * Pages one chat's history into Room from chats/{chatId}/messages. Cached
+ * history is what message search runs over, so it is never cleared: a chat
+ * that has fallen behind is caught up however many pages that takes. Each
+ * refresh re-reads the newest page, where messages are edited and deleted.
+ */
+@ExperimentalPagingApi
+class ChatMessageRemoteMediator extends TimelineRemoteMediator<ChatMessageEntity> {
+    private final AlumniDatabase database;
+    private final FirebaseFirestore firestore;
+    private final String chatId;
+
+    ChatMessageRemoteMediator(AlumniDatabase database, FirebaseFirestore firestore, String chatId,
+                              ListeningExecutorService executor) {
+        super(executor, "timestamp");
+        this.database = database;
+        this.firestore = firestore;
+        this.chatId = chatId;
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<RemoteMediator.InitializeAction> initializeFuture() {
+        // Always check for messages newer than the cache; it is one small query
+        return Futures.immediateFuture(RemoteMediator.InitializeAction.LAUNCH_INITIAL_REFRESH);
+    }
+
+    @Override
+    protected Query baseQuery() {
+        return firestore.collection("chats").document(chatId).collection("messages");
+    }
+
+    @Override
+    protected ChatMessageEntity toEntity(DocumentSnapshot document) {
+        ChatMessage message = ChatMessage.fromDocument(document);
+        if (message == null) {
+            return null;
+        }
+        message.setMessageId(document.getId());
+        message.setChatId(chatId);
+        return SecurityHelper.isValidMessageData(message) ? ChatMessageEntity.fromMessage(message) : null;
+    }
+
+    @Override
+    protected TimelineEdge newestCached() {
+        return database.chatMessageDao().getNewestEdge(chatId);
+    }
+
+    @Override
+    protected TimelineEdge oldestCached() {
+        return database.chatMessageDao().getOldestEdge(chatId);
+    }
+
+    @Override
+    protected int maxGapPages() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected boolean reloadsNewestPage() {
+        return true;
+    }
+
+    @Override
+    protected void replaceNewest(List<ChatMessageEntity> entities, TimelineEdge from) {
+        database.runInTransaction(() -> {
+            if (from != null) {
+                database.chatMessageDao().deleteFromEdge(chatId, from.timestamp, from.id);
+            } else {
+                database.chatMessageDao().deleteFromEdge(chatId, Long.MIN_VALUE, "");
+            }
+            database.chatMessageDao().upsertMessages(entities);
+        });
+    }
+
+    @Override
+    protected void save(List<ChatMessageEntity> entities, boolean replaceCache) {
+        // Gaps are always filled, so a replace only happens while nothing is cached
+        database.chatMessageDao().upsertMessages(entities);
+    }
+}
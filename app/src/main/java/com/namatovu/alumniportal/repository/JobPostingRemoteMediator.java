@@ -0,0 +1,112 @@
+package com.namatovu.alumniportal.repository;
+
+import androidx.annotation.NonNull;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.RemoteMediator;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.TimelineEdge;
+import com.namatovu.alumniportal.database.entities.JobPostingEntity;
+import com.namatovu.alumniportal.models.JobPosting;
+import com.namatovu.alumniportal.utils.SearchSuggestionIndex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages the job board into Room from the job_postings collection. Postings are
+ * edited, closed and deleted after they are cached, so each refresh re-reads
+ * the newest page.
+ */
+@ExperimentalPagingApi
+class JobPostingRemoteMediator extends TimelineRemoteMediator<JobPostingEntity> {
+    // A cache refreshed this recently is shown without asking the network first
+    private static final long FRESH_FOR_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private final AlumniDatabase database;
+    private final FirebaseFirestore firestore;
+    private final ListeningExecutorService executor;
+
+    JobPostingRemoteMediator(AlumniDatabase database, FirebaseFirestore firestore,
+                             ListeningExecutorService executor) {
+        super(executor, "postedAt");
+        this.database = database;
+        this.firestore = firestore;
+        this.executor = executor;
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<RemoteMediator.InitializeAction> initializeFuture() {
+        return executor.submit(() -> {
+            Long lastSync = database.jobPostingDao().getLastSync();
+            boolean fresh = lastSync != null && System.currentTimeMillis() - lastSync < FRESH_FOR_MILLIS;
+            return fresh ? RemoteMediator.InitializeAction.SKIP_INITIAL_REFRESH
+                    : RemoteMediator.InitializeAction.LAUNCH_INITIAL_REFRESH;
+        });
+    }
+
+    @Override
+    protected Query baseQuery() {
+        return firestore.collection("job_postings");
+    }
+
+    @Override
+    protected JobPostingEntity toEntity(DocumentSnapshot document) {
+        JobPosting job = JobPosting.fromDocument(document);
+        if (job == null) {
+            return null;
+        }
+        job.setJobId(document.getId());
+        return JobPostingEntity.fromPosting(job);
+    }
+
+    @Override
+    protected TimelineEdge newestCached() {
+        return database.jobPostingDao().getNewestEdge();
+    }
+
+    @Override
+    protected TimelineEdge oldestCached() {
+        return database.jobPostingDao().getOldestEdge();
+    }
+
+    @Override
+    protected boolean reloadsNewestPage() {
+        return true;
+    }
+
+    @Override
+    protected void replaceNewest(List<JobPostingEntity> entities, TimelineEdge from) {
+        database.runInTransaction(() -> {
+            if (from != null) {
+                database.jobPostingDao().deleteFromEdge(from.timestamp, from.id);
+            } else {
+                database.jobPostingDao().clearAll();
+            }
+            database.jobPostingDao().upsertJobs(entities);
+        });
+        updateSuggestions();
+    }
+
+    @Override
+    protected void save(List<JobPostingEntity> entities, boolean replaceCache) {
+        database.runInTransaction(() -> {
+            if (replaceCache) {
+                database.jobPostingDao().clearAll();
+            }
+            database.jobPostingDao().upsertJobs(entities);
+        });
+        updateSuggestions();
+    }
+
+    // Replaced pages can drop postings, so titles are re-read rather than added
+    private void updateSuggestions() {
+        SearchSuggestionIndex.getInstance().reloadJobPostings(database.jobPostingDao().getJobPostingListItems());
+    }
+}
@@ -0,0 +1,208 @@
+package com.namatovu.alumniportal.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.ListenableFutureRemoteMediator;
+import androidx.paging.LoadType;
+import androidx.paging.PagingState;
+import androidx.paging.RemoteMediator;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.namatovu.alumniportal.database.TimelineEdge;
+import com.namatovu.alumniportal.utils.DocumentFields;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the Room cache behind a newest-first paged list from a Firestore
+ * collection ordered by a timestamp field and then by document ID. Room stays
+ * the only source the list reads from, and the cache is always one contiguous
+ * run of the newest documents, so the network is only asked for what lies
+ * outside it: documents newer than the cache on refresh, and older ones once
+ * the user scrolls past the oldest cached row. The Room query must order its
+ * rows the same way.
+ *
+ * Timelines whose documents are edited or deleted after they are cached can
+ * also re-read the newest page on every refresh and replace those rows.
+ */
+@ExperimentalPagingApi
+abstract class TimelineRemoteMediator<T> extends ListenableFutureRemoteMediator<Integer, T> {
+    private static final String TAG = "TimelineRemoteMediator";
+    private static final long TIMEOUT_SECONDS = 30;
+    // A cache further behind than this is replaced by the newest page instead
+    private static final int MAX_GAP_PAGES = 5;
+
+    private final ListeningExecutorService executor;
+    private final String timestampField;
+
+    TimelineRemoteMediator(ListeningExecutorService executor, String timestampField) {
+        this.executor = executor;
+        this.timestampField = timestampField;
+    }
+
+    /** Collection to page through, without ordering */
+    protected abstract Query baseQuery();
+
+    /** Room entity for a document, or null to skip it */
+    protected abstract T toEntity(DocumentSnapshot document);
+
+    protected abstract TimelineEdge newestCached();
+
+    protected abstract TimelineEdge oldestCached();
+
+    /** Write one page, first clearing the cache when asked to */
+    protected abstract void save(List<T> entities, boolean replaceCache);
+
+    /** Pages of newer documents fetched on refresh before the cache is replaced instead */
+    protected int maxGapPages() {
+        return MAX_GAP_PAGES;
+    }
+
+    /** Whether a refresh re-reads the newest page, picking up edits and deletions there */
+    protected boolean reloadsNewestPage() {
+        return false;
+    }
+
+    /**
+     * Write the re-read newest page in place of the cached rows at or after
+     * its oldest entry, or of all rows when the page is the whole collection
+     */
+    protected void replaceNewest(List<T> entities, TimelineEdge from) {
+        save(entities, from == null);
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<RemoteMediator.MediatorResult> loadFuture(@NonNull LoadType loadType,
+                                                                     @NonNull PagingState<Integer, T> state) {
+        if (loadType == LoadType.PREPEND) {
+            // Newer documents come in through the refresh gap fill
+            return Futures.<RemoteMediator.MediatorResult>immediateFuture(
+                    new RemoteMediator.MediatorResult.Success(true));
+        }
+        int pageSize = state.getConfig().pageSize;
+        return executor.submit(() -> {
+            try {
+                boolean endReached = loadType == LoadType.REFRESH ? fillNewer(pageSize) : fillOlder(pageSize);
+                return new RemoteMediator.MediatorResult.Success(endReached);
+            } catch (Exception e) {
+                Log.w(TAG, "Failed to fetch " + loadType + " page", e);
+                return new RemoteMediator.MediatorResult.Error(e);
+            }
+        });
+    }
+
+    private boolean fillNewer(int pageSize) throws Exception {
+        TimelineEdge newest = newestCached();
+        if (newest == null) {
+            return fetchNewestPage(pageSize);
+        }
+        if (reloadsNewestPage() && reloadNewestPage(pageSize, newest.id)) {
+            // The newest page reached back into the cache, so there is no gap left
+            return false;
+        }
+
+        List<T> gap = new ArrayList<>();
+        DocumentSnapshot last = null;
+        int maxGapPages = maxGapPages();
+        for (int pages = 0; pages < maxGapPages; pages++) {
+            Query query = ordered(Query.Direction.ASCENDING);
+            query = (last != null ? query.startAfter(last) : query.startAfter(newest.timestamp, newest.id))
+                    .limit(pageSize);
+            QuerySnapshot page = await(query);
+            addEntities(gap, page);
+            if (page.size() < pageSize) {
+                save(gap, false);
+                // Older history is either cached or fetched on APPEND
+                return false;
+            }
+            last = page.getDocuments().get(page.size() - 1);
+        }
+
+        Log.d(TAG, "Cache more than " + maxGapPages + " pages behind, starting over");
+        fetchNewestPage(pageSize);
+        return false;
+    }
+
+    /**
+     * Replace the cached rows the newest page covers; returns whether the page
+     * reached the cached row with the given ID or the start of the collection
+     */
+    private boolean reloadNewestPage(int pageSize, String cachedId) throws Exception {
+        QuerySnapshot page = await(ordered(Query.Direction.DESCENDING).limit(pageSize));
+        List<T> entities = new ArrayList<>(page.size());
+        addEntities(entities, page);
+        if (page.size() < pageSize) {
+            replaceNewest(entities, null);
+            return true;
+        }
+        DocumentSnapshot last = page.getDocuments().get(page.size() - 1);
+        TimelineEdge from = new TimelineEdge();
+        from.timestamp = DocumentFields.longValue(last.getData(), timestampField, 0);
+        from.id = last.getId();
+        replaceNewest(entities, from);
+        for (DocumentSnapshot document : page.getDocuments()) {
+            if (document.getId().equals(cachedId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean fillOlder(int pageSize) throws Exception {
+        TimelineEdge oldest = oldestCached();
+        if (oldest == null) {
+            return fetchNewestPage(pageSize);
+        }
+        QuerySnapshot page = await(ordered(Query.Direction.DESCENDING)
+                .startAfter(oldest.timestamp, oldest.id)
+                .limit(pageSize));
+        List<T> entities = new ArrayList<>(page.size());
+        addEntities(entities, page);
+        save(entities, false);
+        return page.size() < pageSize;
+    }
+
+    private boolean fetchNewestPage(int pageSize) throws Exception {
+        QuerySnapshot page = await(ordered(Query.Direction.DESCENDING).limit(pageSize));
+        List<T> entities = new ArrayList<>(page.size());
+        addEntities(entities, page);
+        save(entities, true);
+        return page.size() < pageSize;
+    }
+
+    // The document ID breaks timestamp ties, so a page boundary never splits them ambiguously
+    private Query ordered(Query.Direction direction) {
+        return baseQuery()
+                .orderBy(timestampField, direction)
+                .orderBy(FieldPath.documentId(), direction);
+    }
+
+    private void addEntities(List<T> entities, QuerySnapshot page) {
+        for (DocumentSnapshot document : page.getDocuments()) {
+            try {
+                T entity = toEntity(document);
+                if (entity != null) {
+                    entities.add(entity);
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "Skipping unreadable document " + document.getId(), e);
+            }
+        }
+    }
+
+    private static QuerySnapshot await(Query query) throws Exception {
+        return Tasks.await(query.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,93 @@
+package com.namatovu.alumniportal.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.CacheCompactor;
+import com.namatovu.alumniportal.utils.SearchSuggestionIndex;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily job that keeps the local cache within its size budget: deletes
+ * expired rows, evicts the least recently synced rows from any table over
+ * its budget, then vacuums and optimizes the database file. Runs only
+ * while the device is idle and the battery is not low.
+ */
+public class CacheCompactionWorker extends Worker {
+    private static final String TAG = "CacheCompactionWorker";
+    private static final String WORK_NAME = "cache_compaction";
+    // Input key for a table's budget in bytes, e.g. "max_bytes_jobs"
+    public static final String KEY_MAX_BYTES_PREFIX = "max_bytes_";
+
+    public CacheCompactionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule daily compaction with the default table budgets
+     */
+    public static void schedule(Context context) {
+        schedule(context, Collections.emptyMap());
+    }
+
+    /**
+     * Schedule daily compaction, overriding the byte budget of the given tables
+     */
+    public static void schedule(Context context, Map<String, Long> maxBytesByTable) {
+        Data.Builder input = new Data.Builder();
+        for (Map.Entry<String, Long> entry : maxBytesByTable.entrySet()) {
+            input.putLong(KEY_MAX_BYTES_PREFIX + entry.getKey(), entry.getValue());
+        }
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresBatteryNotLow(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(CacheCompactionWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .setInputData(input.build())
+                .build();
+        // UPDATE keeps the current period but picks up changed budgets
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.UPDATE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        AlumniDatabase db = AlumniDatabase.getInstance(getApplicationContext());
+        try {
+            int expired = CacheCompactor.deleteExpired(db, System.currentTimeMillis());
+            int evicted = 0;
+            for (CacheCompactor.TableBudget budget : CacheCompactor.DEFAULT_BUDGETS) {
+                if (isStopped()) {
+                    return Result.retry();
+                }
+                long maxBytes = getInputData().getLong(KEY_MAX_BYTES_PREFIX + budget.table, budget.maxBytes);
+                evicted += CacheCompactor.enforceBudget(db, budget.withMaxBytes(maxBytes));
+            }
+            if (expired + evicted > 0) {
+                // Deleted rows take their suggestion terms with them
+                SearchSuggestionIndex.getInstance().reload(db);
+            }
+            CacheCompactor.vacuumAndOptimize(db);
+            Log.d(TAG, "Cache compaction complete, deleted " + expired + " expired and " + evicted + " evicted rows");
+            return Result.success();
+        } catch (Exception e) {
+            Log.w(TAG, "Cache compaction failed, will retry", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.namatovu.alumniportal.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Transformations;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkContinuation;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one way the Room cache is synced with Firestore. A sync is a unique
+ * chain of work: PersonalSyncWorker first, then one CollectionSyncWorker per
+ * collection, tier by tier as listed in SyncTargets.TIERS. A trigger that
+ * arrives while the chain is queued or running is dropped instead of
+ * downloading everything twice, and a failed step retries with exponential
+ * backoff before the tiers after it start.
+ *
+ * WorkManager keeps the chain across process death, so finished tiers are
+ * not repeated, and DeltaSync continues a collection from its last saved page.
+ * The periodic job only requests a sync, so it shares the same de-duplication
+ * as boot, network and sign-in triggers.
+ */
+public class CollectionSyncWorker extends Worker {
+    private static final String TAG = "CollectionSyncWorker";
+    private static final String WORK_NAME = "sync";
+    private static final String PERIODIC_WORK_NAME = "sync_periodic";
+    private static final String KEY_COLLECTION = "collection";
+    private static final long PERIOD_HOURS = 12;
+    private static final long BACKOFF_SECONDS = 30;
+
+    public CollectionSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Sync the user's own data and then every collection once the device is
+     * online and the battery is not low. Does nothing if a sync is already
+     * waiting or running.
+     */
+    public static void requestSync(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+        OneTimeWorkRequest personal = new OneTimeWorkRequest.Builder(PersonalSyncWorker.class)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkContinuation plan = WorkManager.getInstance(context)
+                .beginUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, personal);
+        for (List<String> tier : SyncTargets.TIERS) {
+            List<OneTimeWorkRequest> requests = new ArrayList<>(tier.size());
+            for (String collection : tier) {
+                requests.add(new OneTimeWorkRequest.Builder(CollectionSyncWorker.class)
+                        .setConstraints(constraints)
+                        .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                        .setInputData(new Data.Builder().putString(KEY_COLLECTION, collection).build())
+                        .build());
+            }
+            plan = plan.then(requests);
+        }
+        plan.enqueue();
+    }
+
+    /**
+     * Whether a step of the sync is running, for screens that show a spinner
+     * while their table is still empty. A step waiting for the network does
+     * not count, so an offline screen falls through to its empty state.
+     */
+    public static LiveData<Boolean> observeSyncing(Context context) {
+        return Transformations.map(
+                WorkManager.getInstance(context).getWorkInfosForUniqueWorkLiveData(WORK_NAME), infos -> {
+                    for (WorkInfo info : infos) {
+                        if (info.getState() == WorkInfo.State.RUNNING) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+    }
+
+    /**
+     * Request a sync of every collection twice a day
+     */
+    public static void schedulePeriodic(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                CollectionSyncWorker.class, PERIOD_HOURS, TimeUnit.HOURS).build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(PERIODIC_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Cancel pending and running syncs; the periodic request stays scheduled
+     */
+    public static void cancelSync(Context context) {
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String collection = getInputData().getString(KEY_COLLECTION);
+        if (collection == null) {
+            requestSync(getApplicationContext());
+            return Result.success();
+        }
+        if (FirebaseAuth.getInstance().getCurrentUser() == null) {
+            // Nothing is readable while signed out; signing in requests a sync
+            Log.d(TAG, "Not signed in, skipping sync of " + collection);
+            return Result.success();
+        }
+        AlumniDatabase localDb = AlumniDatabase.getInstance(getApplicationContext());
+        DeltaSync.Target<?> target = SyncTargets.forCollection(localDb, collection);
+        if (target == null) {
+            Log.w(TAG, "No sync target for " + collection);
+            return Result.failure();
+        }
+        try {
+            DeltaSync.sync(FirebaseFirestore.getInstance(), localDb, target, this::isStopped);
+            // Stopped part way: the rest is picked up from the saved position when WorkManager reruns it
+            return isStopped() ? Result.retry() : Result.success();
+        } catch (Exception e) {
+            if (isPermissionDenied(e)) {
+                // Retrying cannot fix the rules
+                Log.w(TAG, "Permission denied for " + collection + " collection - skipping sync");
+                return Result.success();
+            }
+            Log.w(TAG, "Sync of " + collection + " failed, will retry", e);
+            return Result.retry();
+        }
+    }
+
+    static boolean isPermissionDenied(Exception e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause instanceof FirebaseFirestoreException
+                && ((FirebaseFirestoreException) cause).getCode() == FirebaseFirestoreException.Code.PERMISSION_DENIED;
+    }
+}
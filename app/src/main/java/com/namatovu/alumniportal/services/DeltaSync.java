@@ -0,0 +1,232 @@
+package com.namatovu.alumniportal.services;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Source;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.dao.SyncStateDao;
+import com.namatovu.alumniportal.database.entities.SyncStateEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brings the Room copy of one Firestore collection up to date by reading only
+ * the documents changed since the last sync.
+ *
+ * The stampForSync Cloud Function (functions/index.js) sets serverUpdatedAt on
+ * every write to a synced collection and records deletions as tombstones. The
+ * client's own updatedAt is not used: it is written with the device clock and,
+ * in places, as a number rather than a timestamp.
+ *
+ * The first sync, and any sync after the device has been away longer than
+ * tombstones are kept, downloads the whole collection and then drops the
+ * local rows it did not see.
+ *
+ * Documents are fetched in pages of PAGE_SIZE, each written to Room before the
+ * next is requested, so memory use does not grow with the collection. The
+ * position reached is saved in the same transaction as each page, so a sync
+ * the system stops part way continues from its last page next time.
+ */
+public final class DeltaSync {
+    private static final String TAG = "DeltaSync";
+    public static final String STAMP_FIELD = "serverUpdatedAt";
+    public static final String TOMBSTONES = "tombstones";
+    // Matches TOMBSTONE_TTL_DAYS in functions/index.js
+    static final long TOMBSTONE_RETENTION = TimeUnit.DAYS.toMillis(30);
+    // Documents fetched and written per round trip; matches BulkWrites.CHUNK_SIZE
+    private static final int PAGE_SIZE = 500;
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final Timestamp NO_STAMP = new Timestamp(0, 0);
+
+    /**
+     * A Room table kept in step with a Firestore collection
+     */
+    public interface Target<E> {
+        String collection();
+
+        E fromDocument(DocumentSnapshot document, long syncTime);
+
+        void upsert(List<E> rows);
+
+        void delete(List<String> ids);
+
+        // Rows whose sync time is older than this were not in the last full download
+        void deleteSyncedBefore(long syncTime);
+    }
+
+    /**
+     * Lets the caller end a sync between pages, e.g. Worker::isStopped
+     */
+    public interface StopSignal {
+        boolean isStopped();
+    }
+
+    private DeltaSync() {}
+
+    /**
+     * Download the changes to the target's collection; returns the number of
+     * documents read. Blocks, so call it off the main thread. Returns early,
+     * with its progress saved, once the stop signal is raised.
+     */
+    public static <E> int sync(FirebaseFirestore db, AlumniDatabase localDb, Target<E> target,
+                               StopSignal stop) throws Exception {
+        SyncStateEntity state = localDb.syncStateDao().getState(target.collection());
+        if (state == null) {
+            state = new SyncStateEntity();
+            state.collection = target.collection();
+        }
+        long now = System.currentTimeMillis();
+        boolean full = state.fullSyncStartedAt != 0 || now - state.lastSyncedAt > TOMBSTONE_RETENTION;
+        int read = full ? fullSync(db, localDb, target, state, stop) : deltaSync(db, localDb, target, state, stop);
+        Log.d(TAG, (full ? "Full" : "Delta") + " sync of " + target.collection() + " read " + read + " documents"
+                + (stop.isStopped() ? " before stopping" : ""));
+        return read;
+    }
+
+    private static <E> int fullSync(FirebaseFirestore db, AlumniDatabase localDb, Target<E> target,
+                                    SyncStateEntity state, StopSignal stop) throws Exception {
+        SyncStateDao stateDao = localDb.syncStateDao();
+        CollectionReference collection = db.collection(target.collection());
+        if (state.fullSyncStartedAt == 0) {
+            // Anything stamped after the newest document now is read again by the next delta,
+            // so edits made while the download runs are not lost
+            List<DocumentSnapshot> newest = fetch(collection.orderBy(STAMP_FIELD, Query.Direction.DESCENDING).limit(1));
+            Timestamp startMark = newest.isEmpty() ? NO_STAMP : stampOf(newest.get(0));
+            markUpdatedAt(state, startMark, null);
+            markTombstone(state, startMark, null);
+            state.fullSyncStartedAt = System.currentTimeMillis();
+            state.fullSyncAfterId = null;
+            stateDao.upsertState(state);
+        }
+
+        // Rows keep the download's start time across restarts, so the sweep spares earlier pages
+        long syncTime = state.fullSyncStartedAt;
+        Query byId = collection.orderBy(FieldPath.documentId());
+        int read = 0;
+        while (!stop.isStopped()) {
+            List<DocumentSnapshot> page = fetch(state.fullSyncAfterId != null
+                    ? byId.startAfter(state.fullSyncAfterId).limit(PAGE_SIZE) : byId.limit(PAGE_SIZE));
+            List<E> rows = new ArrayList<>(page.size());
+            for (DocumentSnapshot document : page) {
+                rows.add(target.fromDocument(document, syncTime));
+            }
+            read += page.size();
+            if (page.size() < PAGE_SIZE) {
+                state.fullSyncStartedAt = 0;
+                state.fullSyncAfterId = null;
+                state.lastSyncedAt = syncTime;
+                localDb.runInTransaction(() -> {
+                    target.upsert(rows);
+                    target.deleteSyncedBefore(syncTime);
+                    stateDao.upsertState(state);
+                });
+                break;
+            }
+            state.fullSyncAfterId = page.get(page.size() - 1).getId();
+            localDb.runInTransaction(() -> {
+                target.upsert(rows);
+                stateDao.upsertState(state);
+            });
+        }
+        return read;
+    }
+
+    private static <E> int deltaSync(FirebaseFirestore db, AlumniDatabase localDb, Target<E> target,
+                                     SyncStateEntity state, StopSignal stop) throws Exception {
+        SyncStateDao stateDao = localDb.syncStateDao();
+        long syncTime = System.currentTimeMillis();
+        // A re-created document deletes its tombstone, so deletions and changes can be read
+        // independently, each from its own mark
+        Query tombstones = db.collection(TOMBSTONES).whereEqualTo("collection", target.collection());
+        int read = 0;
+        while (!stop.isStopped()) {
+            List<DocumentSnapshot> page = fetch(afterMark(tombstones,
+                    new Timestamp(state.tombstoneMark, state.tombstoneNanos), state.tombstoneDocId));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<String> deletedIds = new ArrayList<>(page.size());
+            for (DocumentSnapshot tombstone : page) {
+                deletedIds.add(tombstone.getString("documentId"));
+            }
+            DocumentSnapshot last = page.get(page.size() - 1);
+            markTombstone(state, stampOf(last), last.getId());
+            localDb.runInTransaction(() -> {
+                target.delete(deletedIds);
+                stateDao.upsertState(state);
+            });
+            read += page.size();
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+
+        Query changed = db.collection(target.collection());
+        while (!stop.isStopped()) {
+            List<DocumentSnapshot> page = fetch(afterMark(changed,
+                    new Timestamp(state.updatedAtMark, state.updatedAtNanos), state.updatedAtDocId));
+            List<E> rows = new ArrayList<>(page.size());
+            for (DocumentSnapshot document : page) {
+                rows.add(target.fromDocument(document, syncTime));
+            }
+            if (!page.isEmpty()) {
+                DocumentSnapshot last = page.get(page.size() - 1);
+                markUpdatedAt(state, stampOf(last), last.getId());
+            }
+            read += page.size();
+            boolean done = page.size() < PAGE_SIZE;
+            if (done) {
+                state.lastSyncedAt = syncTime;
+            }
+            localDb.runInTransaction(() -> {
+                target.upsert(rows);
+                stateDao.upsertState(state);
+            });
+            if (done) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    // The next page after the mark, in stamp then ID order so equal stamps are neither skipped nor repeated
+    private static Query afterMark(Query query, Timestamp mark, String docId) {
+        Query ordered = query.orderBy(STAMP_FIELD).orderBy(FieldPath.documentId());
+        Query page = docId != null ? ordered.startAfter(mark, docId) : ordered.startAt(mark);
+        return page.limit(PAGE_SIZE);
+    }
+
+    // A cached result would look like a sync that found nothing new, so only the server will do
+    private static List<DocumentSnapshot> fetch(Query query) throws Exception {
+        return Tasks.await(query.get(Source.SERVER), TIMEOUT_SECONDS, TimeUnit.SECONDS).getDocuments();
+    }
+
+    // Stamps have microsecond precision, so marks keep every part of them; in millis a
+    // startAfter() would sort before the stamp it came from and read that document again
+    private static void markUpdatedAt(SyncStateEntity state, Timestamp stamp, String docId) {
+        state.updatedAtMark = stamp.getSeconds();
+        state.updatedAtNanos = stamp.getNanoseconds();
+        state.updatedAtDocId = docId;
+    }
+
+    private static void markTombstone(SyncStateEntity state, Timestamp stamp, String docId) {
+        state.tombstoneMark = stamp.getSeconds();
+        state.tombstoneNanos = stamp.getNanoseconds();
+        state.tombstoneDocId = docId;
+    }
+
+    // Documents written before the stamp existed have none
+    private static Timestamp stampOf(DocumentSnapshot document) {
+        Object stamp = document.get(STAMP_FIELD);
+        return stamp instanceof Timestamp ? (Timestamp) stamp : NO_STAMP;
+    }
+}
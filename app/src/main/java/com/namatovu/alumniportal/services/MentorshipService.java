@@ -185,7 +185,7 @@ public class MentorshipService {
                         List<MentorshipConnection> connections = new ArrayList<>();
                         
                         for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                            MentorshipConnection connection = document.toObject(MentorshipConnection.class);
+                            MentorshipConnection connection = MentorshipConnection.fromDocument(document);
                             connection.setConnectionId(document.getId());
                             
                             // Include if user is mentor or mentee
@@ -229,7 +229,7 @@ public class MentorshipService {
                         List<MentorshipConnection> requests = new ArrayList<>();
                         
                         for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                            MentorshipConnection connection = document.toObject(MentorshipConnection.class);
+                            MentorshipConnection connection = MentorshipConnection.fromDocument(document);
                             connection.setConnectionId(document.getId());
                             requests.add(connection);
                         }
@@ -267,7 +267,7 @@ public class MentorshipService {
                         boolean isConnected = false;
                         
                         for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                            MentorshipConnection connection = document.toObject(MentorshipConnection.class);
+                            MentorshipConnection connection = MentorshipConnection.fromDocument(document);
                             
                             if ((connection.getMentorId().equals(currentUserId) && 
                                  connection.getMenteeId().equals(otherUserId)) ||
@@ -306,7 +306,7 @@ public class MentorshipService {
                     .get()
                     .addOnSuccessListener(documentSnapshot -> {
                         if (documentSnapshot.exists()) {
-                            MentorshipConnection connection = documentSnapshot.toObject(MentorshipConnection.class);
+                            MentorshipConnection connection = MentorshipConnection.fromDocument(documentSnapshot);
                             connection.setConnectionId(documentSnapshot.getId());
                             if (callback != null) {
                                 callback.onDetails(connection);
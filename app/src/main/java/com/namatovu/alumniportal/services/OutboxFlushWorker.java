@@ -0,0 +1,203 @@
+package com.namatovu.alumniportal.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.MutationOutbox;
+import com.namatovu.alumniportal.database.dao.PendingMutationDao;
+import com.namatovu.alumniportal.database.entities.PendingMutationEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commits the writes queued in MutationOutbox once the device is online, in
+ * WriteBatches of at most 500 writes, oldest first.
+ *
+ * A write that is not safe to apply twice is committed together with a
+ * mutation_receipts document named by its idempotency key. Security rules
+ * only allow creating a receipt, so a batch resent after a lost
+ * acknowledgement is rejected as a whole instead of counting twice.
+ */
+public class OutboxFlushWorker extends Worker {
+    private static final String TAG = "OutboxFlushWorker";
+    private static final String WORK_NAME = "outbox_flush";
+    private static final String RECEIPTS = "mutation_receipts";
+    // Firestore's limit on writes in one batch; receipts count too
+    private static final int MAX_BATCH_WRITES = 500;
+    // Receipts only matter while a retry is possible; a TTL policy on expireAt removes them
+    private static final long RECEIPT_TTL_DAYS = 7;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    public OutboxFlushWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Flush as soon as there is a network connection. A flush already running
+     * is followed by another, so writes queued while it commits are not left behind.
+     */
+    public static void enqueue(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxFlushWorker.class)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            // Writes need an authenticated user; try again after sign-in
+            return Result.retry();
+        }
+        PendingMutationDao dao = AlumniDatabase.getInstance(getApplicationContext()).pendingMutationDao();
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        dao.releaseAllClaims();
+
+        int flushed = 0;
+        while (!isStopped()) {
+            List<PendingMutationEntity> claimed = dao.claimOldest(MAX_BATCH_WRITES);
+            if (claimed.isEmpty()) {
+                break;
+            }
+            List<PendingMutationEntity> batch = fitToBatch(claimed);
+            releaseWithoutAttempt(dao, claimed.subList(batch.size(), claimed.size()));
+            try {
+                commit(db, user.getUid(), batch);
+                dao.deleteByIds(ids(batch));
+                flushed += batch.size();
+            } catch (Exception e) {
+                if (!isPermanent(e)) {
+                    Log.w(TAG, "Flushing " + batch.size() + " writes failed, will retry", e);
+                    dao.releaseFailed(ids(batch));
+                    return Result.retry();
+                }
+                // One bad write rejects the whole batch; send them one by one to find it
+                for (PendingMutationEntity mutation : batch) {
+                    try {
+                        commit(db, user.getUid(), Collections.singletonList(mutation));
+                        flushed++;
+                    } catch (Exception single) {
+                        if (!isPermanent(single)) {
+                            dao.releaseFailed(ids(batch.subList(batch.indexOf(mutation), batch.size())));
+                            return Result.retry();
+                        }
+                        // Rejected for good, or a receipt shows it was already applied
+                        Log.w(TAG, "Dropping write to " + mutation.documentPath, single);
+                    }
+                    dao.deleteByIds(Collections.singletonList(mutation.id));
+                }
+            }
+        }
+        Log.d(TAG, "Flushed " + flushed + " queued writes");
+        return isStopped() ? Result.retry() : Result.success();
+    }
+
+    // The longest run of oldest writes whose writes and receipts fit in one batch
+    private static List<PendingMutationEntity> fitToBatch(List<PendingMutationEntity> claimed) {
+        int writes = 0;
+        int count = 0;
+        for (PendingMutationEntity mutation : claimed) {
+            int needed = mutation.needsReceipt ? 2 : 1;
+            if (writes + needed > MAX_BATCH_WRITES) {
+                break;
+            }
+            writes += needed;
+            count++;
+        }
+        return claimed.subList(0, count);
+    }
+
+    private static void releaseWithoutAttempt(PendingMutationDao dao, List<PendingMutationEntity> mutations) {
+        if (!mutations.isEmpty()) {
+            dao.releaseClaims(ids(mutations));
+        }
+    }
+
+    private void commit(FirebaseFirestore db, String userId, List<PendingMutationEntity> mutations) throws Exception {
+        WriteBatch batch = db.batch();
+        Timestamp expireAt = new Timestamp(new Date(System.currentTimeMillis()
+                + TimeUnit.DAYS.toMillis(RECEIPT_TTL_DAYS)));
+        for (PendingMutationEntity mutation : mutations) {
+            DocumentReference reference = db.document(mutation.documentPath);
+            Map<String, Object> fields = MutationOutbox.firestoreFields(mutation.fieldsJson);
+            switch (mutation.operation) {
+                case MutationOutbox.OP_SET:
+                    batch.set(reference, fields);
+                    break;
+                case MutationOutbox.OP_MERGE:
+                    batch.set(reference, fields, SetOptions.merge());
+                    break;
+                default:
+                    batch.update(reference, fields);
+            }
+            if (mutation.needsReceipt) {
+                Map<String, Object> receipt = new HashMap<>();
+                receipt.put("userId", userId);
+                receipt.put("documentPath", mutation.documentPath);
+                receipt.put("appliedAt", FieldValue.serverTimestamp());
+                receipt.put("expireAt", expireAt);
+                batch.set(db.collection(RECEIPTS).document(mutation.idempotencyKey), receipt);
+            }
+        }
+        Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Errors that sending the same writes again cannot fix
+    private static boolean isPermanent(Exception e) {
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        if (!(cause instanceof FirebaseFirestoreException)) {
+            return false;
+        }
+        switch (((FirebaseFirestoreException) cause).getCode()) {
+            case PERMISSION_DENIED:
+            case NOT_FOUND:
+            case INVALID_ARGUMENT:
+            case FAILED_PRECONDITION:
+            case ALREADY_EXISTS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static List<Long> ids(List<PendingMutationEntity> mutations) {
+        List<Long> ids = new ArrayList<>(mutations.size());
+        for (PendingMutationEntity mutation : mutations) {
+            ids.add(mutation.id);
+        }
+        return ids;
+    }
+}
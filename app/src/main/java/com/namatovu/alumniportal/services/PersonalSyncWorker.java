@@ -0,0 +1,84 @@
+package com.namatovu.alumniportal.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Source;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.entities.UserEntity;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First step of every sync: the signed-in user's profile, recent chats and
+ * notifications, so the home, chat list and notification screens have
+ * current data before the bulk collections download.
+ *
+ * The profile goes into Room like any other user. Chats and notifications are
+ * read from the server into Firestore's local cache, which is what those
+ * screens listen to; the queries match theirs.
+ */
+public class PersonalSyncWorker extends Worker {
+    private static final String TAG = "PersonalSyncWorker";
+    // ChatListActivity and NotificationsActivity show this many
+    private static final int RECENT_LIMIT = 50;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    public PersonalSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            // Signing in requests a sync
+            Log.d(TAG, "Not signed in, skipping personal sync");
+            return Result.success();
+        }
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        try {
+            DocumentSnapshot profile = Tasks.await(db.collection(SyncTargets.USERS).document(user.getUid())
+                    .get(Source.SERVER), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (profile.exists()) {
+                DeltaSync.Target<UserEntity> users = SyncTargets.users(AlumniDatabase.getInstance(getApplicationContext()));
+                users.upsert(Collections.singletonList(users.fromDocument(profile, System.currentTimeMillis())));
+            }
+
+            await(db.collection("chats")
+                    .whereArrayContains("participantIds", user.getUid())
+                    .whereEqualTo("isActive", true)
+                    .orderBy("lastMessageTimestamp", Query.Direction.DESCENDING)
+                    .limit(RECENT_LIMIT));
+            await(db.collection("notifications")
+                    .whereEqualTo("userId", user.getUid())
+                    .orderBy("timestamp", Query.Direction.DESCENDING)
+                    .limit(RECENT_LIMIT));
+            return Result.success();
+        } catch (Exception e) {
+            if (CollectionSyncWorker.isPermissionDenied(e)) {
+                // Retrying cannot fix the rules, and the other tiers should not wait on it
+                Log.w(TAG, "Permission denied during personal sync - skipping", e);
+                return Result.success();
+            }
+            Log.w(TAG, "Personal sync failed, will retry", e);
+            return Result.retry();
+        }
+    }
+
+    private static void await(Query query) throws Exception {
+        Tasks.await(query.get(Source.SERVER), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,89 @@
+package com.namatovu.alumniportal.services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.namatovu.alumniportal.utils.SearchKeywords;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-off job that writes searchKeywords onto the signed-in user's own
+ * profile if it was saved before the keywords existed. Other users, job
+ * postings and events are backfilled once by functions/backfillSearchKeywords.js.
+ * A profile whose keywords are already current is left untouched.
+ */
+public class SearchKeywordBackfillWorker extends Worker {
+    private static final String TAG = "KeywordBackfillWorker";
+    private static final String WORK_NAME = "search_keyword_backfill";
+    private static final String PREFS_NAME = "search_keyword_backfill";
+    private static final String KEY_DONE_VERSION = "done_version";
+    // Bump when SearchKeywords changes so existing documents get rewritten
+    private static final int KEYWORD_VERSION = 1;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    public SearchKeywordBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule the backfill unless this install has already completed it
+     */
+    public static void enqueueIfNeeded(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (prefs.getInt(KEY_DONE_VERSION, 0) >= KEYWORD_VERSION) {
+            return;
+        }
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SearchKeywordBackfillWorker.class)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            // Reads need an authenticated user; try again after sign-in
+            return Result.retry();
+        }
+        DocumentReference profile = FirebaseFirestore.getInstance().collection("users").document(user.getUid());
+        try {
+            DocumentSnapshot document = Tasks.await(profile.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<String> keywords = document.exists() ? SearchKeywords.forUserFields(document.getData()) : null;
+            boolean stale = keywords != null && !keywords.equals(document.get(SearchKeywords.FIELD));
+            if (stale) {
+                Tasks.await(profile.update(SearchKeywords.FIELD, keywords), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+
+            getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                    .edit().putInt(KEY_DONE_VERSION, KEYWORD_VERSION).apply();
+            Log.d(TAG, "Search keyword backfill complete, profile " + (stale ? "updated" : "already current"));
+            return Result.success();
+        } catch (Exception e) {
+            Log.w(TAG, "Search keyword backfill failed, will retry", e);
+            return Result.retry();
+        }
+    }
+}
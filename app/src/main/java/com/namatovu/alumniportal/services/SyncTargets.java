@@ -0,0 +1,319 @@
+package com.namatovu.alumniportal.services;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.entities.EventEntity;
+import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.MentorEntity;
+import com.namatovu.alumniportal.database.entities.OpportunityEntity;
+import com.namatovu.alumniportal.database.entities.UserEntity;
+import com.namatovu.alumniportal.utils.DocumentFields;
+import com.namatovu.alumniportal.utils.SearchSuggestionIndex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Firestore collections mirrored in Room, and how each document maps to
+ * its row. CollectionSyncWorker looks its target up here by collection name.
+ * Fields are read with DocumentFields, so one mistyped field leaves a default
+ * instead of failing the whole page.
+ */
+public final class SyncTargets {
+    public static final String USERS = "users";
+    public static final String JOBS = "jobs";
+    public static final String EVENTS = "events";
+    public static final String MENTORS = "mentors";
+    public static final String OPPORTUNITIES = "job_opportunities";
+
+    // Synced after the user's own data, in this order; collections in a tier sync side by side
+    public static final List<List<String>> TIERS = Arrays.asList(
+            Arrays.asList(EVENTS, JOBS, OPPORTUNITIES),
+            Arrays.asList(USERS, MENTORS));
+
+    private SyncTargets() {}
+
+    /**
+     * The target for a collection in TIERS, or null for any other name
+     */
+    public static DeltaSync.Target<?> forCollection(AlumniDatabase db, String collection) {
+        switch (collection) {
+            case USERS:
+                return users(db);
+            case JOBS:
+                return jobs(db);
+            case EVENTS:
+                return events(db);
+            case MENTORS:
+                return mentors(db);
+            case OPPORTUNITIES:
+                return opportunities(db);
+            default:
+                return null;
+        }
+    }
+
+    static DeltaSync.Target<UserEntity> users(AlumniDatabase db) {
+        return new DeltaSync.Target<UserEntity>() {
+            @Override
+            public String collection() {
+                return USERS;
+            }
+
+            @Override
+            public UserEntity fromDocument(DocumentSnapshot document, long syncTime) {
+                Map<String, Object> data = document.getData();
+                UserEntity user = new UserEntity();
+                user.userId = document.getId();
+                user.fullName = DocumentFields.string(data, "fullName", null);
+                user.email = DocumentFields.string(data, "email", null);
+                user.profileImageUrl = DocumentFields.string(data, "profileImageUrl", null);
+                user.graduationYear = DocumentFields.string(data, "graduationYear", null);
+                user.major = DocumentFields.string(data, "major", null);
+                user.currentJob = DocumentFields.string(data, "currentJob", null);
+                user.company = DocumentFields.string(data, "company", null);
+                user.username = DocumentFields.string(data, "username", null);
+                user.userType = DocumentFields.string(data, "userType", null);
+                user.bio = DocumentFields.string(data, "bio", null);
+                user.location = DocumentFields.string(data, "location", null);
+                List<String> skills = DocumentFields.strings(data, "skills", null);
+                user.skills = skills != null ? String.join(",", skills) : null;
+                user.isVerified = DocumentFields.bool(data, "isVerified", false);
+                Map<String, Object> privacy = DocumentFields.map(data, "privacySettings", Collections.emptyMap());
+                user.showInDirectory = DocumentFields.bool(privacy, "showInDirectory", true);
+                user.showCurrentJob = DocumentFields.bool(privacy, "showCurrentJob", true);
+                user.showLocation = DocumentFields.bool(privacy, "showLocation", true);
+                user.showEmail = DocumentFields.bool(privacy, "showEmail", false);
+                user.allowMentorRequests = DocumentFields.bool(privacy, "allowMentorRequests", true);
+                user.lastSynced = syncTime;
+                return user;
+            }
+
+            @Override
+            public void upsert(List<UserEntity> users) {
+                db.userDao().upsertUsers(users);
+                SearchSuggestionIndex.getInstance().indexUsers(users);
+            }
+
+            @Override
+            public void delete(List<String> ids) {
+                db.userDao().deleteUsers(ids);
+                SearchSuggestionIndex.getInstance().removeUsers(ids);
+            }
+
+            @Override
+            public void deleteSyncedBefore(long syncTime) {
+                db.userDao().deleteUsersSyncedBefore(syncTime);
+                SearchSuggestionIndex.getInstance().reload(db);
+            }
+        };
+    }
+
+    static DeltaSync.Target<JobEntity> jobs(AlumniDatabase db) {
+        return new DeltaSync.Target<JobEntity>() {
+            @Override
+            public String collection() {
+                return JOBS;
+            }
+
+            @Override
+            public JobEntity fromDocument(DocumentSnapshot document, long syncTime) {
+                Map<String, Object> data = document.getData();
+                JobEntity job = new JobEntity();
+                job.setJobId(document.getId());
+                job.setTitle(DocumentFields.string(data, "title", null));
+                job.setCompany(DocumentFields.string(data, "company", null));
+                job.setDescription(DocumentFields.string(data, "description", null));
+                job.setLocation(DocumentFields.string(data, "location", null));
+                job.setJobType(DocumentFields.string(data, "jobType", null));
+                job.setExperienceLevel(DocumentFields.string(data, "experienceLevel", null));
+                job.setSalary(DocumentFields.string(data, "salary", null));
+                job.setApplicationUrl(DocumentFields.string(data, "applicationUrl", null));
+                job.setPosterId(DocumentFields.string(data, "posterId", null));
+                job.setPosterName(DocumentFields.string(data, "posterName", null));
+                job.setPostedDate(DocumentFields.longValue(data, "postedDate", 0));
+                job.setDeadline(DocumentFields.longValue(data, "deadline", 0));
+                job.setLastSyncTime(syncTime);
+                return job;
+            }
+
+            @Override
+            public void upsert(List<JobEntity> jobs) {
+                db.jobDao().upsertJobs(jobs);
+                SearchSuggestionIndex.getInstance().indexJobs(jobs);
+            }
+
+            @Override
+            public void delete(List<String> ids) {
+                db.jobDao().deleteJobs(ids);
+                SearchSuggestionIndex.getInstance().removeJobs(ids);
+            }
+
+            @Override
+            public void deleteSyncedBefore(long syncTime) {
+                db.jobDao().deleteJobsSyncedBefore(syncTime);
+                SearchSuggestionIndex.getInstance().reload(db);
+            }
+        };
+    }
+
+    static DeltaSync.Target<EventEntity> events(AlumniDatabase db) {
+        FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
+        String currentUserId = currentUser != null ? currentUser.getUid() : null;
+        return new DeltaSync.Target<EventEntity>() {
+            @Override
+            public String collection() {
+                return EVENTS;
+            }
+
+            @Override
+            public EventEntity fromDocument(DocumentSnapshot document, long syncTime) {
+                Map<String, Object> data = document.getData();
+                EventEntity event = new EventEntity();
+                event.setEventId(document.getId());
+                event.setTitle(DocumentFields.string(data, "title", null));
+                event.setDescription(DocumentFields.string(data, "description", null));
+                event.setImageUrl(DocumentFields.string(data, "imageUrl", null));
+                event.setOrganizerName(DocumentFields.string(data, "organizerName", null));
+                // AlumniEvent.toMap() names; the older names are the fallback
+                event.setLocation(DocumentFields.string(data, "venue", DocumentFields.string(data, "location", null)));
+                event.setOrganizerId(DocumentFields.string(data, "organizer",
+                        DocumentFields.string(data, "organizerId", null)));
+                event.setCategory(DocumentFields.string(data, "eventType",
+                        DocumentFields.string(data, "category", null)));
+                event.setAttendeeCount(DocumentFields.intValue(data, "currentAttendees",
+                        DocumentFields.intValue(data, "attendeeCount", 0)));
+                // Dates are numbers or Timestamps depending on the writer
+                event.setEventDate(DocumentFields.longValue(data, "startDateTime",
+                        DocumentFields.longValue(data, "eventDate", 0)));
+                event.setEndDate(DocumentFields.longValue(data, "endDateTime", 0));
+                event.setCreatedAt(DocumentFields.longValue(data, "createdAt", 0));
+                event.setAddress(DocumentFields.string(data, "address", null));
+                event.setOnline(DocumentFields.bool(data, "isOnline", DocumentFields.bool(data, "online", false)));
+                event.setPublic(DocumentFields.bool(data, "isPublic", DocumentFields.bool(data, "public", true)));
+                event.setMaxAttendees(DocumentFields.intValue(data, "maxAttendees", 0));
+                event.setRequiresRegistration(DocumentFields.bool(data, "requiresRegistration", false));
+                event.setRegistrationUrl(DocumentFields.string(data, "registrationUrl", null));
+                List<String> attendeeIds = DocumentFields.strings(data, "attendeeIds", Collections.emptyList());
+                event.setAttending(currentUserId != null && attendeeIds.contains(currentUserId));
+                event.setLastSyncTime(syncTime);
+                return event;
+            }
+
+            @Override
+            public void upsert(List<EventEntity> events) {
+                db.eventDao().upsertEvents(events);
+            }
+
+            @Override
+            public void delete(List<String> ids) {
+                db.eventDao().deleteEvents(ids);
+            }
+
+            @Override
+            public void deleteSyncedBefore(long syncTime) {
+                db.eventDao().deleteEventsSyncedBefore(syncTime);
+            }
+        };
+    }
+
+    static DeltaSync.Target<MentorEntity> mentors(AlumniDatabase db) {
+        return new DeltaSync.Target<MentorEntity>() {
+            @Override
+            public String collection() {
+                return MENTORS;
+            }
+
+            @Override
+            public MentorEntity fromDocument(DocumentSnapshot document, long syncTime) {
+                Map<String, Object> data = document.getData();
+                MentorEntity mentor = new MentorEntity();
+                mentor.setMentorId(document.getId());
+                mentor.setFullName(DocumentFields.string(data, "fullName", null));
+                mentor.setEmail(DocumentFields.string(data, "email", null));
+                mentor.setProfileImageUrl(DocumentFields.string(data, "profileImageUrl", null));
+                mentor.setCurrentJob(DocumentFields.string(data, "currentJob", null));
+                mentor.setCompany(DocumentFields.string(data, "company", null));
+                mentor.setExpertise(DocumentFields.string(data, "expertise", null));
+                mentor.setCategory(DocumentFields.string(data, "category", null));
+                mentor.setBio(DocumentFields.string(data, "bio", null));
+                mentor.setGraduationYear(DocumentFields.string(data, "graduationYear", null));
+                mentor.setCourse(DocumentFields.string(data, "course", null));
+                mentor.setYearsOfExperience(DocumentFields.intValue(data, "yearsOfExperience", 0));
+                mentor.setMenteeCount(DocumentFields.intValue(data, "menteeCount", 0));
+                mentor.setRating(DocumentFields.doubleValue(data, "rating", 0.0));
+                mentor.setAvailable(DocumentFields.bool(data, "isAvailable", false));
+                mentor.setLastSyncTime(syncTime);
+                return mentor;
+            }
+
+            @Override
+            public void upsert(List<MentorEntity> mentors) {
+                db.mentorDao().upsertMentors(mentors);
+                SearchSuggestionIndex.getInstance().indexMentors(mentors);
+            }
+
+            @Override
+            public void delete(List<String> ids) {
+                db.mentorDao().deleteMentors(ids);
+                SearchSuggestionIndex.getInstance().removeMentors(ids);
+            }
+
+            @Override
+            public void deleteSyncedBefore(long syncTime) {
+                db.mentorDao().deleteMentorsSyncedBefore(syncTime);
+                SearchSuggestionIndex.getInstance().reload(db);
+            }
+        };
+    }
+
+    static DeltaSync.Target<OpportunityEntity> opportunities(AlumniDatabase db) {
+        return new DeltaSync.Target<OpportunityEntity>() {
+            @Override
+            public String collection() {
+                return OPPORTUNITIES;
+            }
+
+            @Override
+            public OpportunityEntity fromDocument(DocumentSnapshot document, long syncTime) {
+                Map<String, Object> data = document.getData();
+                OpportunityEntity opportunity = new OpportunityEntity();
+                opportunity.id = document.getId();
+                opportunity.title = DocumentFields.string(data, "title", null);
+                opportunity.company = DocumentFields.string(data, "company", null);
+                opportunity.category = DocumentFields.string(data, "category", null);
+                opportunity.description = DocumentFields.string(data, "description", null);
+                opportunity.location = DocumentFields.string(data, "location", null);
+                opportunity.salaryRange = DocumentFields.string(data, "salaryRange", null);
+                opportunity.requirements = DocumentFields.string(data, "requirements", null);
+                opportunity.applicationLink = DocumentFields.string(data, "applicationInstructions", null);
+                opportunity.postedBy = DocumentFields.string(data, "postedBy", null);
+                opportunity.applicationDeadline = DocumentFields.longValue(data, "applicationDeadline", 0);
+                opportunity.datePosted = DocumentFields.longValue(data, "datePosted", 0);
+                opportunity.isFeatured = DocumentFields.bool(data, "isFeatured", false);
+                opportunity.applicationsCount = DocumentFields.intValue(data, "applicationsCount", 0);
+                opportunity.lastSyncTime = syncTime;
+                return opportunity;
+            }
+
+            @Override
+            public void upsert(List<OpportunityEntity> opportunities) {
+                db.opportunityDao().upsertOpportunities(opportunities);
+            }
+
+            @Override
+            public void delete(List<String> ids) {
+                db.opportunityDao().deleteOpportunities(ids);
+            }
+
+            @Override
+            public void deleteSyncedBefore(long syncTime) {
+                db.opportunityDao().deleteOpportunitiesSyncedBefore(syncTime);
+            }
+        };
+    }
+}
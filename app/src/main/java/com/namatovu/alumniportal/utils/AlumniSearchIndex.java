@@ -0,0 +1,253 @@
+package com.namatovu.alumniportal.utils;
+
+import com.namatovu.alumniportal.models.User;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Tokenized inverted index over the searchable user fields
+ * (name, major, job, company, bio, location and skills).
+ *
+ * Build it off the main thread with {@link #build(Collection)}; lookups are
+ * prefix matches per query token, intersected across tokens. Postings are
+ * bitsets over a dense per-user ordinal so unions and intersections stay cheap.
+ */
+public class AlumniSearchIndex {
+
+    // token -> ordinals of users containing that token; sorted for prefix range scans
+    private final TreeMap<String, BitSet> postings = new TreeMap<>();
+    // userId -> tokens indexed for that user, so updates can drop stale postings
+    private final Map<String, Set<String>> userTokens = new HashMap<>();
+    // userId <-> ordinal; ordinals are kept for the life of the index
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> userIds = new ArrayList<>();
+
+    public AlumniSearchIndex() {}
+
+    /**
+     * Build a new index for the given users
+     */
+    public static AlumniSearchIndex build(Collection<User> users) {
+        AlumniSearchIndex index = new AlumniSearchIndex();
+        if (users != null) {
+            for (User user : users) {
+                index.addOrUpdate(user);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Index a user, replacing any previously indexed version with the same id
+     */
+    public synchronized void addOrUpdate(User user) {
+        if (user == null || user.getUserId() == null) {
+            return;
+        }
+        String userId = user.getUserId();
+        removeInternal(userId);
+
+        Set<String> tokens = tokensOf(user);
+        int ordinal = ordinalFor(userId);
+        for (String token : tokens) {
+            BitSet bits = postings.get(token);
+            if (bits == null) {
+                bits = new BitSet();
+                postings.put(token, bits);
+            }
+            bits.set(ordinal);
+        }
+        userTokens.put(userId, tokens);
+    }
+
+    /**
+     * Bring the index in line with the given users: re-index each of them and
+     * drop any previously indexed user that is no longer present
+     */
+    public synchronized void update(Collection<User> users) {
+        Set<String> currentIds = new HashSet<>();
+        if (users != null) {
+            for (User user : users) {
+                if (user != null && user.getUserId() != null) {
+                    currentIds.add(user.getUserId());
+                    addOrUpdate(user);
+                }
+            }
+        }
+        for (String userId : new ArrayList<>(userTokens.keySet())) {
+            if (!currentIds.contains(userId)) {
+                removeInternal(userId);
+            }
+        }
+    }
+
+    /**
+     * Drop a user from the index
+     */
+    public synchronized void remove(String userId) {
+        if (userId != null) {
+            removeInternal(userId);
+        }
+    }
+
+    /**
+     * Return the ids of users matching every token of the query.
+     * Each query token matches any indexed token it is a prefix of.
+     * An empty query returns an empty set; callers treat that as "no filter".
+     */
+    public synchronized Set<String> search(String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        BitSet result = null;
+        for (String queryToken : queryTokens) {
+            BitSet matches = prefixMatches(queryToken);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+            if (result.isEmpty()) {
+                return Collections.emptySet();
+            }
+        }
+
+        Set<String> ids = new HashSet<>(result.cardinality() * 2);
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            ids.add(userIds.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Whether a single user matches the query under the same rule as
+     * {@link #search(String)}, for scanning a list before an index is built.
+     * An empty query matches everyone.
+     */
+    public static boolean matches(User user, String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return true;
+        }
+        Set<String> tokens = tokensOf(user);
+        for (String queryToken : queryTokens) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(queryToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return userTokens.size();
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        userTokens.clear();
+        ordinals.clear();
+        userIds.clear();
+    }
+
+    /**
+     * Split text into lowercase alphanumeric tokens
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    private BitSet prefixMatches(String prefix) {
+        BitSet matches = new BitSet();
+        SortedMap<String, BitSet> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (BitSet bits : range.values()) {
+            matches.or(bits);
+        }
+        return matches;
+    }
+
+    private int ordinalFor(String userId) {
+        Integer ordinal = ordinals.get(userId);
+        if (ordinal == null) {
+            ordinal = userIds.size();
+            userIds.add(userId);
+            ordinals.put(userId, ordinal);
+        }
+        return ordinal;
+    }
+
+    private void removeInternal(String userId) {
+        Set<String> tokens = userTokens.remove(userId);
+        if (tokens == null) {
+            return;
+        }
+        int ordinal = ordinals.get(userId);
+        for (String token : tokens) {
+            BitSet bits = postings.get(token);
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static Set<String> tokensOf(User user) {
+        Set<String> tokens = new HashSet<>();
+        addTokens(tokens, user.getFullName());
+        addTokens(tokens, user.getMajor());
+        addTokens(tokens, user.getCurrentJob());
+        addTokens(tokens, user.getCompany());
+        addTokens(tokens, user.getBio());
+        addTokens(tokens, user.getLocation());
+        if (user.getSkills() != null) {
+            for (String skill : user.getSkills()) {
+                addTokens(tokens, skill);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTokens(Set<String> tokens, String text) {
+        tokens.addAll(tokenize(text));
+    }
+}
@@ -0,0 +1,156 @@
+package com.namatovu.alumniportal.utils;
+
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed reads from a document's getData() map, used by the models'
+ * fromDocument() methods and by SyncTargets in place of reflection-based
+ * toObject() and the throwing DocumentSnapshot getters. fromDocument()
+ * returns null for a snapshot whose document does not exist.
+ *
+ * Every reader takes a fallback, normally the model's constructor default,
+ * which is returned when the field is missing, null or of a type that cannot
+ * be converted. Conversions are lenient: numbers and booleans read as
+ * strings, and Timestamps and Dates read as epoch millis, since documents in
+ * the same collection were written both ways over time.
+ *
+ * Boolean "isX" fields are read under that name first and then, as the
+ * fallback, under the "x" that toObject() wrote for the same getter.
+ */
+public final class DocumentFields {
+
+    private DocumentFields() {}
+
+    public static String string(Map<String, Object> data, String key, String fallback) {
+        Object value = data.get(key);
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        return fallback;
+    }
+
+    public static long longValue(Map<String, Object> data, String key, long fallback) {
+        Object value = data.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toDate().getTime();
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return fallback;
+    }
+
+    public static int intValue(Map<String, Object> data, String key, int fallback) {
+        Object value = data.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : fallback;
+    }
+
+    public static double doubleValue(Map<String, Object> data, String key, double fallback) {
+        Object value = data.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : fallback;
+    }
+
+    public static boolean bool(Map<String, Object> data, String key, boolean fallback) {
+        Object value = data.get(key);
+        return value instanceof Boolean ? (Boolean) value : fallback;
+    }
+
+    public static Date date(Map<String, Object> data, String key, Date fallback) {
+        Object value = data.get(key);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toDate();
+        }
+        if (value instanceof Date) {
+            return (Date) value;
+        }
+        if (value instanceof Number) {
+            return new Date(((Number) value).longValue());
+        }
+        return fallback;
+    }
+
+    /**
+     * A list of strings; elements that are not strings, numbers or booleans are dropped
+     */
+    public static List<String> strings(Map<String, Object> data, String key, List<String> fallback) {
+        Object value = data.get(key);
+        if (!(value instanceof List)) {
+            return fallback;
+        }
+        List<?> items = (List<?>) value;
+        List<String> strings = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof String) {
+                strings.add((String) item);
+            } else if (item instanceof Number || item instanceof Boolean) {
+                strings.add(String.valueOf(item));
+            }
+        }
+        return strings;
+    }
+
+    /**
+     * A nested map as stored; getData() returns a fresh copy, so it is safe to modify
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> map(Map<String, Object> data, String key, Map<String, Object> fallback) {
+        Object value = data.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : fallback;
+    }
+
+    public static Map<String, String> stringMap(Map<String, Object> data, String key, Map<String, String> fallback) {
+        Map<String, Object> values = map(data, key, null);
+        if (values == null) {
+            return fallback;
+        }
+        Map<String, String> strings = new HashMap<>();
+        for (String entryKey : values.keySet()) {
+            String entry = string(values, entryKey, null);
+            if (entry != null) {
+                strings.put(entryKey, entry);
+            }
+        }
+        return strings;
+    }
+
+    public static Map<String, Integer> intMap(Map<String, Object> data, String key, Map<String, Integer> fallback) {
+        Map<String, Object> values = map(data, key, null);
+        if (values == null) {
+            return fallback;
+        }
+        Map<String, Integer> ints = new HashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                ints.put(entry.getKey(), ((Number) entry.getValue()).intValue());
+            }
+        }
+        return ints;
+    }
+
+    public static Map<String, Long> longMap(Map<String, Object> data, String key, Map<String, Long> fallback) {
+        Map<String, Object> values = map(data, key, null);
+        if (values == null) {
+            return fallback;
+        }
+        Map<String, Long> longs = new HashMap<>();
+        for (String entryKey : values.keySet()) {
+            long entry = longValue(values, entryKey, Long.MIN_VALUE);
+            if (entry != Long.MIN_VALUE) {
+                longs.put(entryKey, entry);
+            }
+        }
+        return longs;
+    }
+}
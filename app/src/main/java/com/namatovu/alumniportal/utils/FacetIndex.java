@@ -0,0 +1,262 @@
+package com.namatovu.alumniportal.utils;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Faceted filtering over an in-memory dataset.
+ *
+ * Every facet value keeps the positions of the items that have it, so a
+ * selection is resolved with bitwise OR within a facet and AND across facets
+ * instead of filtering the list once per criterion. Rare values are stored as
+ * sorted int arrays and common ones as bitsets, whichever is smaller. Values
+ * are matched case-insensitively. Immutable once built; rebuild when the data changes.
+ */
+public class FacetIndex<T> {
+
+    /**
+     * Returns the values an item has for one facet (several for skills, none when unknown)
+     */
+    public interface ValueExtractor<T> {
+        Collection<String> valuesOf(T item);
+    }
+
+    private static final class Postings {
+        final String label;
+        final int[] ids;
+        final long[] words;
+        final int cardinality;
+
+        Postings(String label, int[] ids, int count, int universe) {
+            this.label = label;
+            this.cardinality = count;
+            // An int costs 32 bits, so a bitset wins once the value covers 1/32 of the items
+            if ((long) count * 32 < universe) {
+                this.ids = Arrays.copyOf(ids, count);
+                this.words = null;
+            } else {
+                long[] set = new long[(universe + 63) >>> 6];
+                for (int i = 0; i < count; i++) {
+                    set[ids[i] >>> 6] |= 1L << ids[i];
+                }
+                this.ids = null;
+                this.words = set;
+            }
+        }
+
+        void orInto(BitSet target) {
+            if (words != null) {
+                target.or(BitSet.valueOf(words));
+            } else {
+                for (int id : ids) {
+                    target.set(id);
+                }
+            }
+        }
+
+        int countWithin(BitSet mask, long[] maskWords, boolean maskIsFull) {
+            if (maskIsFull) {
+                return cardinality;
+            }
+            int count = 0;
+            if (words != null) {
+                int length = Math.min(words.length, maskWords.length);
+                for (int i = 0; i < length; i++) {
+                    count += Long.bitCount(words[i] & maskWords[i]);
+                }
+            } else {
+                for (int id : ids) {
+                    if (mask.get(id)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+
+    private final List<T> items;
+    // facet name -> normalized value -> postings
+    private final Map<String, Map<String, Postings>> facets;
+
+    private FacetIndex(List<T> items, Map<String, Map<String, Postings>> facets) {
+        this.items = items;
+        this.facets = facets;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+        private final Map<String, ValueExtractor<T>> extractors = new LinkedHashMap<>();
+
+        public Builder<T> facet(String name, ValueExtractor<T> extractor) {
+            extractors.put(name, extractor);
+            return this;
+        }
+
+        public FacetIndex<T> build(List<T> source) {
+            List<T> items = new ArrayList<>(source);
+            int n = items.size();
+            Map<String, Map<String, Postings>> facets = new LinkedHashMap<>();
+
+            for (Map.Entry<String, ValueExtractor<T>> facet : extractors.entrySet()) {
+                Map<String, int[]> ids = new LinkedHashMap<>();
+                Map<String, Integer> counts = new HashMap<>();
+                Map<String, String> labels = new HashMap<>();
+
+                for (int i = 0; i < n; i++) {
+                    Collection<String> values = facet.getValue().valuesOf(items.get(i));
+                    if (values == null) {
+                        continue;
+                    }
+                    for (String value : values) {
+                        String key = normalize(value);
+                        if (key == null) {
+                            continue;
+                        }
+                        int[] list = ids.get(key);
+                        int count = list == null ? 0 : counts.get(key);
+                        if (list == null) {
+                            list = new int[4];
+                            labels.put(key, value.trim());
+                        } else if (count > 0 && list[count - 1] == i) {
+                            continue; // same value listed twice on one item
+                        } else if (count == list.length) {
+                            list = Arrays.copyOf(list, count * 2);
+                        }
+                        list[count] = i;
+                        ids.put(key, list);
+                        counts.put(key, count + 1);
+                    }
+                }
+
+                Map<String, Postings> postings = new LinkedHashMap<>();
+                for (Map.Entry<String, int[]> entry : ids.entrySet()) {
+                    String key = entry.getKey();
+                    postings.put(key, new Postings(labels.get(key), entry.getValue(), counts.get(key), n));
+                }
+                facets.put(facet.getKey(), postings);
+            }
+            return new FacetIndex<>(items, facets);
+        }
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Positions of the items matching the selections (any selected value of a
+     * facet, all selected facets). Facets without a selection are ignored.
+     */
+    public BitSet match(Map<String, ? extends Collection<String>> selections) {
+        return match(selections, null);
+    }
+
+    /**
+     * The matching items in their original order
+     */
+    public List<T> filter(Map<String, ? extends Collection<String>> selections) {
+        BitSet matches = match(selections);
+        List<T> results = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            results.add(items.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * How many items each value of the facet would match, given the selections
+     * on the other facets. Ordered by count, most common first; values with no
+     * matches are left out.
+     */
+    public Map<String, Integer> counts(String facet, Map<String, ? extends Collection<String>> selections) {
+        Map<String, Postings> postings = facets.get(facet);
+        if (postings == null) {
+            return Collections.emptyMap();
+        }
+        BitSet mask = match(selections, facet);
+        boolean maskIsFull = mask.cardinality() == items.size();
+        long[] maskWords = mask.toLongArray();
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Postings value : postings.values()) {
+            int count = value.countWithin(mask, maskWords, maskIsFull);
+            if (count > 0) {
+                entries.add(new AbstractMap.SimpleEntry<>(value.label, count));
+            }
+        }
+        Collections.sort(entries, (a, b) -> b.getValue().compareTo(a.getValue()));
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            counts.put(entry.getKey(), entry.getValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Count for a single facet value, given the selections on the other facets
+     */
+    public int count(String facet, String value, Map<String, ? extends Collection<String>> selections) {
+        Map<String, Postings> postings = facets.get(facet);
+        Postings match = postings != null ? postings.get(normalize(value)) : null;
+        if (match == null) {
+            return 0;
+        }
+        BitSet mask = match(selections, facet);
+        return match.countWithin(mask, mask.toLongArray(), mask.cardinality() == items.size());
+    }
+
+    /**
+     * Convenience for single-valued facets
+     */
+    public static List<String> single(String value) {
+        return value == null ? Collections.<String>emptyList() : Collections.singletonList(value);
+    }
+
+    private BitSet match(Map<String, ? extends Collection<String>> selections, String skipFacet) {
+        BitSet result = new BitSet(items.size());
+        result.set(0, items.size());
+        if (selections == null) {
+            return result;
+        }
+        for (Map.Entry<String, ? extends Collection<String>> selection : selections.entrySet()) {
+            Collection<String> values = selection.getValue();
+            if (values == null || values.isEmpty() || selection.getKey().equals(skipFacet)) {
+                continue;
+            }
+            Map<String, Postings> postings = facets.get(selection.getKey());
+            BitSet union = new BitSet(items.size());
+            if (postings != null) {
+                for (String value : values) {
+                    Postings match = postings.get(normalize(value));
+                    if (match != null) {
+                        match.orInto(union);
+                    }
+                }
+            }
+            result.and(union);
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+}
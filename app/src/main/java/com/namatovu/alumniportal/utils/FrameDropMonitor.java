@@ -0,0 +1,64 @@
+package com.namatovu.alumniportal.utils;
+
+import android.app.Activity;
+import android.util.Log;
+import android.view.Choreographer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the frames a screen drops while it loads, e.g. from fetch to first
+ * fresh bind, and logs them when stopped. Used to check that snapshot parsing
+ * stays off the main thread. Start and stop on the main thread.
+ */
+public final class FrameDropMonitor implements Choreographer.FrameCallback {
+    private static final String TAG = "FrameDropMonitor";
+
+    private final String name;
+    private final long frameIntervalNanos;
+    private final long startNanos = System.nanoTime();
+    private long lastFrameNanos;
+    private int frames;
+    private int dropped;
+    private boolean running = true;
+
+    private FrameDropMonitor(String name, float refreshRate) {
+        this.name = name;
+        this.frameIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / (refreshRate > 0 ? refreshRate : 60f));
+    }
+
+    public static FrameDropMonitor start(Activity activity, String name) {
+        FrameDropMonitor monitor = new FrameDropMonitor(name,
+                activity.getWindowManager().getDefaultDisplay().getRefreshRate());
+        Choreographer.getInstance().postFrameCallback(monitor);
+        return monitor;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        if (lastFrameNanos != 0) {
+            // Rounded, so vsync jitter is not counted as a drop
+            long missed = (frameTimeNanos - lastFrameNanos + frameIntervalNanos / 2) / frameIntervalNanos - 1;
+            dropped += (int) Math.max(0, missed);
+        }
+        frames++;
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Stop counting and log the result; later calls do nothing
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Log.i(TAG, name + ": dropped " + dropped + " of " + (frames + dropped) + " frames in " + elapsedMs + "ms");
+    }
+}
@@ -14,6 +14,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import java.lang.ref.WeakReference;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Performance monitoring and optimization utility
@@ -24,6 +25,7 @@ public class PerformanceHelper {
     private static PerformanceHelper instance;
     private final Map<String, Long> operationStartTimes = new ConcurrentHashMap<>();
     private final Map<String, PerformanceMetrics> performanceMetrics = new ConcurrentHashMap<>();
+    private final Map<String, CacheMetrics> cacheMetrics = new ConcurrentHashMap<>();
     private final Handler mainHandler = new Handler(Looper.getMainLooper());
     
     private PerformanceHelper() {}
@@ -64,6 +66,28 @@ public class PerformanceHelper {
         }
     }
     
+    /**
+     * Cache hit/miss counters
+     */
+    public static class CacheMetrics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+        
+        public double getHitRate() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0 : (double) hits.get() / total;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Hits: %d, Misses: %d, Hit rate: %.1f%%",
+                getHits(), getMisses(), getHitRate() * 100);
+        }
+    }
+    
     /**
      * Start timing an operation
      */
@@ -107,6 +131,25 @@ public class PerformanceHelper {
         return performanceMetrics.get(operationName);
     }
     
+    /**
+     * Record a lookup against a named cache
+     */
+    public void recordCacheAccess(String cacheName, boolean hit) {
+        CacheMetrics metrics = cacheMetrics.computeIfAbsent(cacheName, k -> new CacheMetrics());
+        if (hit) {
+            metrics.hits.incrementAndGet();
+        } else {
+            metrics.misses.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Get hit/miss counters for a cache
+     */
+    public CacheMetrics getCacheMetrics(String cacheName) {
+        return cacheMetrics.get(cacheName);
+    }
+    
     /**
      * Log all performance metrics
      */
@@ -115,6 +158,9 @@ public class PerformanceHelper {
         for (Map.Entry<String, PerformanceMetrics> entry : performanceMetrics.entrySet()) {
             Log.i(TAG, entry.getKey() + ": " + entry.getValue().toString());
         }
+        for (Map.Entry<String, CacheMetrics> entry : cacheMetrics.entrySet()) {
+            Log.i(TAG, entry.getKey() + ": " + entry.getValue().toString());
+        }
         Log.i(TAG, "=========================");
     }
     
@@ -124,6 +170,7 @@ public class PerformanceHelper {
     public void clearMetrics() {
         performanceMetrics.clear();
         operationStartTimes.clear();
+        cacheMetrics.clear();
     }
     
     /**
@@ -0,0 +1,237 @@
+package com.namatovu.alumniportal.utils;
+
+import com.namatovu.alumniportal.models.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Relevance scoring for alumni search results (SortOption.RELEVANCE).
+ *
+ * Scores are kept in a primitive array and only the top K candidates are
+ * selected with a bounded min-heap, so ranking a few thousand users costs
+ * O(n log k) without boxing or a full comparator sort. Call it off the main thread.
+ */
+public class RelevanceRanker {
+
+    // Field weights: name > job title > company > major/skills > location > bio
+    private static final float WEIGHT_NAME = 10f;
+    private static final float WEIGHT_JOB = 6f;
+    private static final float WEIGHT_COMPANY = 5f;
+    private static final float WEIGHT_MAJOR = 3f;
+    private static final float WEIGHT_SKILL = 3f;
+    private static final float WEIGHT_LOCATION = 2f;
+    private static final float WEIGHT_BIO = 1f;
+    // A match inside a word counts for less than one at the start of a word
+    private static final float INFIX_FACTOR = 0.3f;
+
+    private static final float BOOST_VERIFIED = 1.5f;
+    private static final float BOOST_MENTORING = 1.0f;
+    private static final float BOOST_RECENCY = 2.0f;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private RelevanceRanker() {}
+
+    /**
+     * Return the k most relevant users for the query, best first
+     */
+    public static List<User> topK(List<User> users, String query, int k) {
+        return topK(users, query, k, System.currentTimeMillis());
+    }
+
+    static List<User> topK(List<User> users, String query, int k, long now) {
+        int n = users != null ? users.size() : 0;
+        if (n == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        int[] top = selectTopK(scores(users, query, now), Math.min(k, n));
+        List<User> ranked = new ArrayList<>(top.length);
+        for (int index : top) {
+            ranked.add(users.get(index));
+        }
+        return ranked;
+    }
+
+    /**
+     * Like {@link #topK(List, String, int)}, but also removes the returned
+     * users from the pool, so the next page can be taken from what is left
+     */
+    public static List<User> takeTopK(List<User> pool, String query, int k) {
+        return takeTopK(pool, query, k, System.currentTimeMillis());
+    }
+
+    static List<User> takeTopK(List<User> pool, String query, int k, long now) {
+        int n = pool.size();
+        if (n == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        int[] top = selectTopK(scores(pool, query, now), Math.min(k, n));
+        List<User> ranked = new ArrayList<>(top.length);
+        boolean[] taken = new boolean[n];
+        for (int index : top) {
+            ranked.add(pool.get(index));
+            taken[index] = true;
+        }
+        // Compact in place, keeping the query order of the rest
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (!taken[i]) {
+                pool.set(kept++, pool.get(i));
+            }
+        }
+        pool.subList(kept, n).clear();
+        return ranked;
+    }
+
+    private static float[] scores(List<User> users, String query, long now) {
+        List<String> terms = AlumniSearchIndex.tokenize(query);
+        float[] scores = new float[users.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = score(users.get(i), terms, now);
+        }
+        return scores;
+    }
+
+    /**
+     * Score one user against the query terms
+     */
+    static float score(User user, List<String> terms, long now) {
+        float score = 0f;
+        if (!terms.isEmpty()) {
+            String name = lower(user.getFullName());
+            String job = lower(user.getCurrentJob());
+            String company = lower(user.getCompany());
+            String major = lower(user.getMajor());
+            String location = lower(user.getLocation());
+            String bio = lower(user.getBio());
+            for (String term : terms) {
+                score += WEIGHT_NAME * match(name, term);
+                score += WEIGHT_JOB * match(job, term);
+                score += WEIGHT_COMPANY * match(company, term);
+                score += WEIGHT_MAJOR * match(major, term);
+                score += WEIGHT_LOCATION * match(location, term);
+                score += WEIGHT_BIO * match(bio, term);
+                if (user.getSkills() != null) {
+                    float best = 0f;
+                    for (String skill : user.getSkills()) {
+                        best = Math.max(best, match(lower(skill), term));
+                    }
+                    score += WEIGHT_SKILL * best;
+                }
+            }
+        }
+
+        if (user.isVerified()) {
+            score += BOOST_VERIFIED;
+        }
+        if (user.getPrivacySetting("allowMentorRequests")) {
+            score += BOOST_MENTORING;
+        }
+        long lastSeen = Math.max(user.getLastActive(), user.getUpdatedAt());
+        if (lastSeen > 0 && lastSeen <= now) {
+            double ageDays = (double) (now - lastSeen) / DAY_MS;
+            score += (float) (BOOST_RECENCY * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS));
+        }
+        return score;
+    }
+
+    /**
+     * 1 when the term starts a word in the text, INFIX_FACTOR when it only
+     * appears inside a word, 0 otherwise
+     */
+    private static float match(String text, String term) {
+        if (text == null) {
+            return 0f;
+        }
+        int from = 0;
+        boolean infix = false;
+        while (true) {
+            int at = text.indexOf(term, from);
+            if (at < 0) {
+                return infix ? INFIX_FACTOR : 0f;
+            }
+            if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return 1f;
+            }
+            infix = true;
+            from = at + 1;
+        }
+    }
+
+    /**
+     * Indices of the k highest scores in descending order, via a min-heap of size k.
+     * Ties keep the original (Firestore) order.
+     */
+    static int[] selectTopK(float[] scores, int k) {
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size, scores);
+                size++;
+            } else if (better(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+
+        // Pop the heap from worst to best into the result
+        int[] result = new int[size];
+        for (int out = size - 1; out >= 0; out--) {
+            result[out] = heap[0];
+            size--;
+            heap[0] = heap[size];
+            siftDown(heap, size, scores);
+        }
+        return result;
+    }
+
+    // true when candidate a ranks above b
+    private static boolean better(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int pos, float[] scores) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(heap[parent], heap[pos], scores)) {
+                break;
+            }
+            swap(heap, parent, pos);
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int pos = 0;
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], scores)) {
+                worst = right;
+            }
+            if (!better(heap[pos], heap[worst], scores)) {
+                return;
+            }
+            swap(heap, pos, worst);
+            pos = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
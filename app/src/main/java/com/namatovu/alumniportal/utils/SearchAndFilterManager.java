@@ -2,12 +2,14 @@ package com.namatovu.alumniportal.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
@@ -18,11 +20,18 @@ import com.namatovu.alumniportal.models.AlumniEvent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -35,11 +44,23 @@ public class SearchAndFilterManager {
     private static final String RECENT_SEARCHES_KEY = "recent_searches";
     private static final String SAVED_SEARCHES_KEY = "saved_searches";
     private static final int MAX_RECENT_SEARCHES = 10;
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_OPEN_CURSORS = 32;
+    // Pages of alumni read per query when sorting by relevance. Each page is ranked out of this
+    // window and the rest waits on the cursor, so reads average one page per scroll step
+    private static final int RELEVANCE_WINDOW_PAGES = 2;
+    private static final long SESSION_DEBOUNCE_MS = 300;
+    private static final long SESSION_TYPE_DEADLINE_MS = 5000;
     
     private static SearchAndFilterManager instance;
     private final Context context;
     private final SharedPreferences prefs;
     private final FirebaseFirestore db;
+    private final SearchResultCache resultCache = new SearchResultCache();
+    private SearchSession currentSession;
+    
+    // Continuation token -> where the next page starts, least recently used first; see trimCursors()
+    private final Map<String, PageCursor> pageCursors = new LinkedHashMap<>(16, 0.75f, true);
     
     // Search types
     public enum SearchType {
@@ -65,6 +86,7 @@ public class SearchAndFilterManager {
         this.context = context.getApplicationContext();
         this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         this.db = FirebaseFirestore.getInstance();
+        SearchSuggestionIndex.getInstance().ensureLoaded(this.context);
     }
     
     public static synchronized SearchAndFilterManager getInstance(Context context) {
@@ -83,6 +105,7 @@ public class SearchAndFilterManager {
         public SortOption sortBy = SortOption.RELEVANCE;
         public Map<String, Object> filters = new HashMap<>();
         public int limit = 50;
+        // Not applied to queries; page through results with SearchResult.continuationToken
         public int offset = 0;
         
         // Alumni-specific filters
@@ -121,6 +144,84 @@ public class SearchAndFilterManager {
             this.query = query;
             this.type = type;
         }
+        
+        /**
+         * Independent copy, so later edits by the caller don't change an open search
+         */
+        SearchFilter copy() {
+            SearchFilter copy = new SearchFilter(query, type);
+            copy.sortBy = sortBy;
+            copy.filters = new HashMap<>(filters);
+            copy.limit = limit;
+            copy.offset = offset;
+            copy.graduationYearFrom = graduationYearFrom;
+            copy.graduationYearTo = graduationYearTo;
+            copy.major = major;
+            copy.location = location;
+            copy.company = company;
+            copy.jobTitle = jobTitle;
+            copy.skills = new ArrayList<>(skills);
+            copy.availableForMentoring = availableForMentoring;
+            copy.isVerified = isVerified;
+            copy.jobType = jobType;
+            copy.experience = experience;
+            copy.salaryMin = salaryMin;
+            copy.salaryMax = salaryMax;
+            copy.industry = industry;
+            copy.remoteWork = remoteWork;
+            copy.eventType = eventType;
+            copy.dateFrom = dateFrom;
+            copy.dateTo = dateTo;
+            copy.isVirtual = isVirtual;
+            copy.category = category;
+            return copy;
+        }
+        
+        /**
+         * Normalized key for caching: case, surrounding whitespace and
+         * ordering of skills/filters don't change the key
+         */
+        String cacheKey(SearchType searchType) {
+            StringBuilder key = new StringBuilder(searchType.name()).append('|');
+            key.append(normalize(query)).append('|').append(sortBy).append('|').append(limit);
+            appendPart(key, graduationYearFrom);
+            appendPart(key, graduationYearTo);
+            appendPart(key, normalize(major));
+            appendPart(key, normalize(location));
+            appendPart(key, normalize(company));
+            appendPart(key, normalize(jobTitle));
+            Set<String> normalizedSkills = new TreeSet<>();
+            for (String skill : skills) {
+                normalizedSkills.add(normalize(skill));
+            }
+            appendPart(key, normalizedSkills);
+            appendPart(key, availableForMentoring);
+            appendPart(key, isVerified);
+            appendPart(key, jobType);
+            appendPart(key, experience);
+            appendPart(key, salaryMin);
+            appendPart(key, salaryMax);
+            appendPart(key, industry);
+            appendPart(key, remoteWork);
+            appendPart(key, eventType);
+            appendPart(key, dateFrom);
+            appendPart(key, dateTo);
+            appendPart(key, isVirtual);
+            appendPart(key, category);
+            appendPart(key, new TreeMap<>(filters));
+            return key.toString();
+        }
+        
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase();
+        }
+        
+        private static void appendPart(StringBuilder key, Object value) {
+            key.append('|');
+            if (value != null) {
+                key.append(value);
+            }
+        }
     }
     
     /**
@@ -133,6 +234,8 @@ public class SearchAndFilterManager {
         public String query;
         public SearchType type;
         public long searchTime;
+        // Opaque token for the matching search*NextPage(); null when there are no more results
+        public String continuationToken;
         
         public SearchResult() {
             this.results = new ArrayList<>();
@@ -202,16 +305,20 @@ public class SearchAndFilterManager {
      * Search alumni with advanced filters
      */
     public void searchAlumni(SearchFilter filter, SearchCallback<User> callback) {
+        resultCache.get(SearchType.ALUMNI, filter.cacheKey(SearchType.ALUMNI), callback,
+                cb -> searchAlumni(filter, null, cb));
+    }
+    
+    private void searchAlumni(SearchFilter filter, @Nullable DocumentSnapshot startAfter, SearchCallback<User> callback) {
         Query query = db.collection("users");
         
         // Apply privacy filter - only show users who allow alumni search
         query = query.whereEqualTo("privacySettings.allow_alumni_search", true);
         
-        // Apply text search (simplified - in production, use Algolia or similar)
-        if (!TextUtils.isEmpty(filter.query)) {
-            String lowercaseQuery = filter.query.toLowerCase();
-            query = query.whereGreaterThanOrEqualTo("searchKeywords", lowercaseQuery)
-                        .whereLessThanOrEqualTo("searchKeywords", lowercaseQuery + "\uf8ff");
+        // Apply text search against the keywords written with every profile
+        String keyword = SearchKeywords.queryKey(filter.query);
+        if (keyword != null) {
+            query = query.whereArrayContains(SearchKeywords.FIELD, keyword);
         }
         
         // Apply graduation year filter
@@ -250,8 +357,15 @@ public class SearchAndFilterManager {
         // Apply sorting
         query = applySorting(query, filter.sortBy);
         
-        // Apply limit
-        query = query.limit(filter.limit);
+        // Continue after the last document of the previous page
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        
+        // Apply limit; relevance reads a wider window and ranks a page out of it
+        boolean byRelevance = filter.sortBy == SortOption.RELEVANCE;
+        int fetchLimit = byRelevance ? filter.limit * RELEVANCE_WINDOW_PAGES : filter.limit;
+        query = query.limit(fetchLimit);
         
         // Execute query
         query.get().addOnCompleteListener(task -> {
@@ -261,7 +375,7 @@ public class SearchAndFilterManager {
                 
                 for (QueryDocumentSnapshot document : snapshot) {
                     try {
-                        User user = document.toObject(User.class);
+                        User user = User.fromDocument(document);
                         
                         // Apply additional filtering that can't be done in Firestore
                         if (matchesAdvancedFilters(user, filter)) {
@@ -272,17 +386,19 @@ public class SearchAndFilterManager {
                     }
                 }
                 
-                // Apply client-side sorting if needed
-                if (filter.sortBy != SortOption.RELEVANCE) {
+                if (!byRelevance) {
+                    String continuationToken = openCursor(SearchType.ALUMNI, filter, snapshot);
+                    boolean hasMore = snapshot.size() == filter.limit;
                     users = sortAlumniResults(users, filter.sortBy);
+                    deliverAlumniResult(users, filter, hasMore, continuationToken, callback);
+                    return;
                 }
                 
-                long searchTime = System.currentTimeMillis();
-                SearchResult<User> result = new SearchResult<>(users, filter.query, SearchType.ALUMNI, searchTime);
-                result.totalCount = users.size();
-                result.hasMore = snapshot.size() == filter.limit;
-                
-                callback.onSearchComplete(result);
+                // The window ends where the next one starts; null once the query is exhausted
+                List<DocumentSnapshot> documents = snapshot.getDocuments();
+                DocumentSnapshot windowEnd = documents.size() == fetchLimit
+                        ? documents.get(documents.size() - 1) : null;
+                rankAlumniPage(filter, users, windowEnd, callback);
                 
             } else {
                 String error = task.getException() != null ? task.getException().getMessage() : "Search failed";
@@ -293,19 +409,68 @@ public class SearchAndFilterManager {
         });
     }
     
+    /**
+     * Take the next page of the relevance order out of the candidate pool.
+     * Ranking runs in the background and the result comes back on the main
+     * thread; the rest of the pool stays on the cursor for the following page,
+     * and a new window is read only once the pool is used up.
+     */
+    private void rankAlumniPage(SearchFilter filter, List<User> pool, @Nullable DocumentSnapshot windowEnd,
+                                SearchCallback<User> callback) {
+        ThreadManager.getInstance().executeAsync(
+                () -> RelevanceRanker.takeTopK(pool, filter.query, filter.limit),
+                new ThreadManager.UICallback<List<User>>() {
+                    @Override
+                    public void onSuccess(List<User> ranked) {
+                        deliverAlumniPage(ranked, filter, pool, windowEnd, callback);
+                    }
+                    
+                    @Override
+                    public void onError(Exception error) {
+                        Log.w(TAG, "Relevance ranking failed, using query order", error);
+                        List<User> page = new ArrayList<>(pool.subList(0, Math.min(filter.limit, pool.size())));
+                        pool.subList(0, page.size()).clear();
+                        deliverAlumniPage(page, filter, pool, windowEnd, callback);
+                    }
+                });
+    }
+    
+    private void deliverAlumniPage(List<User> page, SearchFilter filter, List<User> pool,
+                                   @Nullable DocumentSnapshot windowEnd, SearchCallback<User> callback) {
+        boolean hasMore = !pool.isEmpty() || windowEnd != null;
+        String continuationToken = hasMore ? openCursor(SearchType.ALUMNI, filter, windowEnd, pool) : null;
+        deliverAlumniResult(page, filter, hasMore, continuationToken, callback);
+    }
+    
+    private void deliverAlumniResult(List<User> users, SearchFilter filter, boolean hasMore,
+                                     @Nullable String continuationToken, SearchCallback<User> callback) {
+        long searchTime = System.currentTimeMillis();
+        SearchResult<User> result = new SearchResult<>(users, filter.query, SearchType.ALUMNI, searchTime);
+        result.totalCount = users.size();
+        result.hasMore = hasMore;
+        result.continuationToken = continuationToken;
+        
+        callback.onSearchComplete(result);
+    }
+    
     /**
      * Search job postings with filters
      */
     public void searchJobs(SearchFilter filter, SearchCallback<JobPosting> callback) {
-        Query query = db.collection("jobPostings");
+        resultCache.get(SearchType.JOBS, filter.cacheKey(SearchType.JOBS), callback,
+                cb -> searchJobs(filter, null, cb));
+    }
+    
+    private void searchJobs(SearchFilter filter, @Nullable DocumentSnapshot startAfter, SearchCallback<JobPosting> callback) {
+        Query query = db.collection("job_postings");
         
         // Apply active status filter
         query = query.whereEqualTo("isActive", true);
         
         // Apply text search
-        if (!TextUtils.isEmpty(filter.query)) {
-            String lowercaseQuery = filter.query.toLowerCase();
-            query = query.whereArrayContains("searchKeywords", lowercaseQuery);
+        String keyword = SearchKeywords.queryKey(filter.query);
+        if (keyword != null) {
+            query = query.whereArrayContains(SearchKeywords.FIELD, keyword);
         }
         
         // Apply job type filter
@@ -341,6 +506,11 @@ public class SearchAndFilterManager {
         // Apply sorting
         query = applySorting(query, filter.sortBy);
         
+        // Continue after the last document of the previous page
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        
         // Apply limit
         query = query.limit(filter.limit);
         
@@ -352,7 +522,7 @@ public class SearchAndFilterManager {
                 
                 for (QueryDocumentSnapshot document : snapshot) {
                     try {
-                        JobPosting job = document.toObject(JobPosting.class);
+                        JobPosting job = JobPosting.fromDocument(document);
                         
                         // Apply salary filter (client-side due to Firestore limitations)
                         if (matchesSalaryRange(job, filter.salaryMin, filter.salaryMax)) {
@@ -367,6 +537,7 @@ public class SearchAndFilterManager {
                 SearchResult<JobPosting> result = new SearchResult<>(jobs, filter.query, SearchType.JOBS, searchTime);
                 result.totalCount = jobs.size();
                 result.hasMore = snapshot.size() == filter.limit;
+                result.continuationToken = openCursor(SearchType.JOBS, filter, snapshot);
                 
                 callback.onSearchComplete(result);
                 
@@ -383,12 +554,17 @@ public class SearchAndFilterManager {
      * Search events with filters
      */
     public void searchEvents(SearchFilter filter, SearchCallback<AlumniEvent> callback) {
+        resultCache.get(SearchType.EVENTS, filter.cacheKey(SearchType.EVENTS), callback,
+                cb -> searchEvents(filter, null, cb));
+    }
+    
+    private void searchEvents(SearchFilter filter, @Nullable DocumentSnapshot startAfter, SearchCallback<AlumniEvent> callback) {
         Query query = db.collection("events");
         
         // Apply text search
-        if (!TextUtils.isEmpty(filter.query)) {
-            String lowercaseQuery = filter.query.toLowerCase();
-            query = query.whereArrayContains("searchKeywords", lowercaseQuery);
+        String keyword = SearchKeywords.queryKey(filter.query);
+        if (keyword != null) {
+            query = query.whereArrayContains(SearchKeywords.FIELD, keyword);
         }
         
         // Apply event type filter
@@ -423,6 +599,11 @@ public class SearchAndFilterManager {
         // Apply sorting
         query = applySorting(query, filter.sortBy);
         
+        // Continue after the last document of the previous page
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        
         // Apply limit
         query = query.limit(filter.limit);
         
@@ -434,7 +615,7 @@ public class SearchAndFilterManager {
                 
                 for (QueryDocumentSnapshot document : snapshot) {
                     try {
-                        AlumniEvent event = document.toObject(AlumniEvent.class);
+                        AlumniEvent event = AlumniEvent.fromDocument(document);
                         events.add(event);
                     } catch (Exception e) {
                         Log.w(TAG, "Error parsing event document: " + document.getId(), e);
@@ -445,6 +626,7 @@ public class SearchAndFilterManager {
                 SearchResult<AlumniEvent> result = new SearchResult<>(events, filter.query, SearchType.EVENTS, searchTime);
                 result.totalCount = events.size();
                 result.hasMore = snapshot.size() == filter.limit;
+                result.continuationToken = openCursor(SearchType.EVENTS, filter, snapshot);
                 
                 callback.onSearchComplete(result);
                 
@@ -456,6 +638,188 @@ public class SearchAndFilterManager {
             }
         });
     }
+    // Cache invalidation - call after writing to the matching collection
+    
+    public void invalidateAlumniSearches() {
+        resultCache.invalidate(SearchType.ALUMNI);
+    }
+    
+    public void invalidateJobSearches() {
+        resultCache.invalidate(SearchType.JOBS);
+    }
+    
+    public void invalidateEventSearches() {
+        resultCache.invalidate(SearchType.EVENTS);
+    }
+    
+    public void clearSearchCache() {
+        resultCache.clear();
+    }
+    
+    /**
+     * Fetch the page after the one a previous alumni SearchResult returned.
+     * Only one page of documents is read per call.
+     */
+    public void searchAlumniNextPage(String continuationToken, SearchCallback<User> callback) {
+        PageCursor cursor = cursorFor(continuationToken, SearchType.ALUMNI, callback);
+        if (cursor != null) {
+            if (cursor.remaining != null && !cursor.remaining.isEmpty()) {
+                // A copy, so asking for the same page twice gives the same result
+                rankAlumniPage(cursor.filter, new ArrayList<>(cursor.remaining), cursor.lastDocument, callback);
+            } else {
+                searchAlumni(cursor.filter, cursor.lastDocument, callback);
+            }
+        }
+    }
+    
+    public void searchJobsNextPage(String continuationToken, SearchCallback<JobPosting> callback) {
+        PageCursor cursor = cursorFor(continuationToken, SearchType.JOBS, callback);
+        if (cursor != null) {
+            searchJobs(cursor.filter, cursor.lastDocument, callback);
+        }
+    }
+    
+    public void searchEventsNextPage(String continuationToken, SearchCallback<AlumniEvent> callback) {
+        PageCursor cursor = cursorFor(continuationToken, SearchType.EVENTS, callback);
+        if (cursor != null) {
+            searchEvents(cursor.filter, cursor.lastDocument, callback);
+        }
+    }
+    
+    @Nullable
+    private PageCursor cursorFor(String continuationToken, SearchType type, SearchCallback<?> callback) {
+        PageCursor cursor;
+        synchronized (pageCursors) {
+            cursor = continuationToken != null ? pageCursors.get(continuationToken) : null;
+        }
+        if (cursor == null) {
+            callback.onSearchError("Search results expired, please search again");
+            return null;
+        }
+        if (cursor.type != type) {
+            callback.onSearchError("Continuation token belongs to a " + cursor.type + " search");
+            return null;
+        }
+        return cursor;
+    }
+    
+    /**
+     * Remember where a full page ended and hand back a token for the next one
+     */
+    @Nullable
+    private String openCursor(SearchType type, SearchFilter filter, QuerySnapshot snapshot) {
+        if (snapshot.size() < filter.limit || snapshot.isEmpty()) {
+            return null;
+        }
+        List<DocumentSnapshot> documents = snapshot.getDocuments();
+        return openCursor(type, filter, documents.get(documents.size() - 1), null);
+    }
+    
+    private String openCursor(SearchType type, SearchFilter filter, @Nullable DocumentSnapshot lastDocument,
+                              @Nullable List<User> remaining) {
+        String token = UUID.randomUUID().toString();
+        synchronized (pageCursors) {
+            pageCursors.put(token, new PageCursor(type, filter, lastDocument, remaining));
+            trimCursors();
+        }
+        return token;
+    }
+    
+    /**
+     * Drop least recently used cursors beyond MAX_OPEN_CURSORS. A cursor stays
+     * open for as long as SearchResultCache may still hand out its token, so
+     * "next page" after a cache hit does not fail as expired.
+     */
+    private void trimCursors() {
+        long now = SystemClock.elapsedRealtime();
+        Iterator<PageCursor> cursors = pageCursors.values().iterator();
+        while (pageCursors.size() > MAX_OPEN_CURSORS && cursors.hasNext()) {
+            if (now - cursors.next().openedAt >= SearchResultCache.TTL_MS) {
+                cursors.remove();
+            }
+        }
+    }
+    
+    /**
+     * Position of the next page for an open search
+     */
+    private static class PageCursor {
+        final SearchType type;
+        final SearchFilter filter;
+        // null when the query has no further documents
+        @Nullable final DocumentSnapshot lastDocument;
+        // Relevance candidates already read but not yet returned, in query order
+        @Nullable final List<User> remaining;
+        final long openedAt = SystemClock.elapsedRealtime();
+        
+        PageCursor(SearchType type, SearchFilter filter, @Nullable DocumentSnapshot lastDocument,
+                   @Nullable List<User> remaining) {
+            this.type = type;
+            this.filter = filter.copy();
+            this.lastDocument = lastDocument;
+            this.remaining = remaining != null ? new ArrayList<>(remaining) : null;
+        }
+    }
+    
+    /**
+     * Start a streaming search across alumni, jobs and events. Each type's results
+     * are delivered as soon as its query returns, or reported failed once its
+     * deadline passes. Starting a new session cancels the previous one, and
+     * queries only go out after a short debounce, so fast typing only searches
+     * for the latest text.
+     */
+    public SearchSession startSearchSession(SearchFilter filter, SearchSession.Listener listener) {
+        SearchSession session = new SearchSession(filter.query, listener);
+        synchronized (this) {
+            if (currentSession != null) {
+                currentSession.cancel();
+            }
+            currentSession = session;
+        }
+        
+        session.start(SESSION_DEBOUNCE_MS, SESSION_TYPE_DEADLINE_MS,
+                EnumSet.of(SearchType.ALUMNI, SearchType.JOBS, SearchType.EVENTS),
+                (type, callback) -> {
+                    if (type == SearchType.ALUMNI) {
+                        // Record the search once, when the session actually runs
+                        saveRecentSearch(filter.query);
+                        AnalyticsHelper.logSearch(filter.query, SearchType.ALL.toString());
+                    }
+                    SearchFilter typeFilter = subFilter(filter, type);
+                    switch (type) {
+                        case ALUMNI:
+                            searchAlumni(typeFilter, new PageCallback<>(callback));
+                            break;
+                        case JOBS:
+                            searchJobs(typeFilter, new PageCallback<>(callback));
+                            break;
+                        default:
+                            searchEvents(typeFilter, new PageCallback<>(callback));
+                            break;
+                    }
+                });
+        return session;
+    }
+    
+    /**
+     * Cancel the running search session, if any
+     */
+    public synchronized void cancelSearchSession() {
+        if (currentSession != null) {
+            currentSession.cancel();
+            currentSession = null;
+        }
+    }
+    
+    /**
+     * Per-type filter used by the multi-type searches
+     */
+    private SearchFilter subFilter(SearchFilter filter, SearchType type) {
+        SearchFilter typeFilter = new SearchFilter(filter.query, type);
+        typeFilter.limit = type == SearchType.ALUMNI ? 20 : 15;
+        return typeFilter;
+    }
+    
     /**
      * Search across all content types
      */
@@ -465,25 +829,13 @@ public class SearchAndFilterManager {
         final int totalSearches = 3;
 
         // Search alumni
-        SearchFilter alumniFilter = new SearchFilter(filter.query);
-        alumniFilter.type = SearchType.ALUMNI;
-        alumniFilter.limit = 20;
-
-        searchAlumni(alumniFilter, new AggregatingCallback<User>(allResults, completedSearches, totalSearches, callback, filter.query));
+        searchAlumni(subFilter(filter, SearchType.ALUMNI), new AggregatingCallback<User>(allResults, completedSearches, totalSearches, callback, filter.query));
 
         // Search jobs
-        SearchFilter jobFilter = new SearchFilter(filter.query);
-        jobFilter.type = SearchType.JOBS;
-        jobFilter.limit = 15;
-
-        searchJobs(jobFilter, new AggregatingCallback<JobPosting>(allResults, completedSearches, totalSearches, callback, filter.query));
+        searchJobs(subFilter(filter, SearchType.JOBS), new AggregatingCallback<JobPosting>(allResults, completedSearches, totalSearches, callback, filter.query));
 
         // Search events
-        SearchFilter eventFilter = new SearchFilter(filter.query);
-        eventFilter.type = SearchType.EVENTS;
-        eventFilter.limit = 15;
-
-        searchEvents(eventFilter, new AggregatingCallback<AlumniEvent>(allResults, completedSearches, totalSearches, callback, filter.query));
+        searchEvents(subFilter(filter, SearchType.EVENTS), new AggregatingCallback<AlumniEvent>(allResults, completedSearches, totalSearches, callback, filter.query));
     }
 
     /**
@@ -546,7 +898,7 @@ public class SearchAndFilterManager {
             case COMPANY:
                 return query.orderBy("company");
             default:
-                return query; // No sorting for relevance (handled by search algorithm)
+                return query; // Relevance is ranked client-side by RelevanceRanker
         }
     }
     
@@ -650,7 +1002,7 @@ public class SearchAndFilterManager {
                 break;
             case RELEVANCE:
             default:
-                // No sorting for relevance or unknown sort types
+                // Relevance is handled by RelevanceRanker off the main thread
                 break;
         }
         return users;
@@ -731,6 +1083,24 @@ public class SearchAndFilterManager {
         }
     }
     
+    private class PageCallback<T> implements SearchCallback<T> {
+        private final SearchCallback<Object> originalCallback;
+        
+        PageCallback(SearchCallback<Object> callback) {
+            this.originalCallback = callback;
+        }
+        
+        @Override
+        public void onSearchComplete(SearchResult<T> result) {
+            originalCallback.onSearchComplete(convertResult(result));
+        }
+        
+        @Override
+        public void onSearchError(String error) {
+            originalCallback.onSearchError(error);
+        }
+    }
+    
     @SuppressWarnings("unchecked")
     private SearchResult<Object> convertResult(SearchResult<?> result) {
         return (SearchResult<Object>) result;
@@ -828,23 +1198,29 @@ public class SearchAndFilterManager {
      * Get search suggestions based on query
      */
     public List<String> getSearchSuggestions(String query, SearchType type) {
-        List<String> suggestions = new ArrayList<>();
+        // LinkedHashSet keeps recent searches first, then cached completions, then popular terms
+        Set<String> suggestions = new LinkedHashSet<>();
+        String lowerQuery = query != null ? query.toLowerCase() : "";
         
         // Add recent searches that match
         for (String recent : getRecentSearches()) {
-            if (recent.toLowerCase().contains(query.toLowerCase())) {
+            if (recent.toLowerCase().contains(lowerQuery)) {
                 suggestions.add(recent);
             }
         }
         
-        // Add popular searches (this would come from analytics)
-        suggestions.addAll(getPopularSearchTerms(type));
+        // Add weighted completions from the local cache
+        if (!lowerQuery.trim().isEmpty()) {
+            suggestions.addAll(SearchSuggestionIndex.getInstance().complete(query, type, MAX_SUGGESTIONS));
+        }
         
-        // Remove duplicates and limit results
-        Set<String> uniqueSuggestions = new HashSet<>(suggestions);
-        List<String> result = new ArrayList<>(uniqueSuggestions);
+        // Fall back to popular searches (this would come from analytics)
+        if (suggestions.size() < MAX_SUGGESTIONS) {
+            suggestions.addAll(getPopularSearchTerms(type));
+        }
         
-        return result.size() > 10 ? result.subList(0, 10) : result;
+        List<String> result = new ArrayList<>(suggestions);
+        return result.size() > MAX_SUGGESTIONS ? result.subList(0, MAX_SUGGESTIONS) : result;
     }
     
     private List<String> getPopularSearchTerms(SearchType type) {
@@ -0,0 +1,55 @@
+package com.namatovu.alumniportal.utils;
+
+import com.namatovu.alumniportal.database.dao.JobPostingDao.JobFacetRow;
+import com.namatovu.alumniportal.database.dao.MentorDao.MentorListItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Facet definitions for the job board and mentor screens
+ */
+public class SearchFacets {
+    public static final String GRADUATION_YEAR = "graduationYear";
+    public static final String COMPANY = "company";
+    public static final String SKILL = "skill";
+    public static final String JOB_TYPE = "jobType";
+    public static final String EXPERIENCE = "experience";
+    public static final String CATEGORY = "category";
+    public static final String AVAILABILITY = "availability";
+
+    public static final String AVAILABLE = "Available";
+
+    private SearchFacets() {}
+
+    public static FacetIndex<JobFacetRow> forJobs(List<JobFacetRow> jobs) {
+        return FacetIndex.<JobFacetRow>builder()
+                .facet(JOB_TYPE, job -> FacetIndex.single(job.jobType))
+                .facet(EXPERIENCE, job -> FacetIndex.single(job.experienceLevel))
+                .build(jobs);
+    }
+
+    public static FacetIndex<MentorListItem> forMentors(List<MentorListItem> mentors) {
+        return FacetIndex.<MentorListItem>builder()
+                .facet(CATEGORY, mentor -> FacetIndex.single(mentor.category))
+                .facet(GRADUATION_YEAR, mentor -> FacetIndex.single(mentor.graduationYear))
+                .facet(COMPANY, mentor -> FacetIndex.single(mentor.company))
+                .facet(SKILL, mentor -> splitList(mentor.expertise))
+                .facet(AVAILABILITY, mentor -> mentor.isAvailable
+                        ? Collections.singletonList(AVAILABLE)
+                        : Collections.<String>emptyList())
+                .build(mentors);
+    }
+
+    // Expertise is stored as a comma separated list
+    private static List<String> splitList(String value) {
+        List<String> values = new ArrayList<>();
+        if (value != null) {
+            for (String part : value.split(",")) {
+                values.add(part);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,174 @@
+package com.namatovu.alumniportal.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the "searchKeywords" array stored on users, job postings and events.
+ *
+ * Each word contributes its prefixes (edge n-grams) and each multi-word field
+ * contributes phrase prefixes starting at every word, so any prefix of a word
+ * or of a run of words can be found with one whereArrayContains query on
+ * queryKey(). Keep write paths and queries on these helpers so they agree;
+ * functions/searchKeywords.js is a port used by the server-side backfill.
+ */
+public final class SearchKeywords {
+    public static final String FIELD = "searchKeywords";
+
+    static final int MIN_PREFIX = 2;
+    static final int MAX_PREFIX = 20;
+    // Bounds the index entries one document can create
+    static final int MAX_KEYWORDS = 300;
+
+    private SearchKeywords() {}
+
+    /**
+     * Keywords for the given text fields; null and blank values are ignored
+     */
+    public static List<String> generate(Collection<String> fields) {
+        Set<String> keywords = new LinkedHashSet<>();
+        List<String> phrases = new ArrayList<>();
+        for (String field : fields) {
+            String normalized = normalize(field);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            for (String word : normalized.split(" ")) {
+                addPrefixes(keywords, word, MIN_PREFIX);
+            }
+            if (normalized.indexOf(' ') > 0) {
+                phrases.add(normalized);
+            }
+        }
+        // Phrase prefixes go last so the word prefixes survive the cap
+        for (String phrase : phrases) {
+            int start = 0;
+            while (start >= 0 && keywords.size() < MAX_KEYWORDS) {
+                String rest = phrase.substring(start);
+                int firstSpace = rest.indexOf(' ');
+                if (firstSpace < 0) {
+                    break;
+                }
+                addPrefixes(keywords, rest, firstSpace + 2);
+                int next = phrase.indexOf(' ', start);
+                start = next < 0 ? -1 : next + 1;
+            }
+        }
+
+        List<String> result = new ArrayList<>(keywords);
+        return result.size() > MAX_KEYWORDS ? new ArrayList<>(result.subList(0, MAX_KEYWORDS)) : result;
+    }
+
+    public static List<String> generate(String... fields) {
+        return generate(Arrays.asList(fields));
+    }
+
+    public static List<String> forUser(String fullName, String major, String currentJob, String company,
+                                       String location, Collection<String> skills) {
+        List<String> fields = new ArrayList<>(Arrays.asList(fullName, major, currentJob, company, location));
+        if (skills != null) {
+            fields.addAll(skills);
+        }
+        return generate(fields);
+    }
+
+    /**
+     * Keywords for a user document or update map
+     */
+    public static List<String> forUserFields(Map<String, Object> data) {
+        return forUser(string(data, "fullName"), string(data, "major"), string(data, "currentJob"),
+                string(data, "company"), string(data, "location"), strings(data, "skills"));
+    }
+
+    /**
+     * Keywords for a job posting document or JobPosting.toMap()
+     */
+    public static List<String> forJobFields(Map<String, Object> data) {
+        List<String> fields = new ArrayList<>(Arrays.asList(string(data, "title"), string(data, "company"),
+                string(data, "location"), string(data, "jobType"), string(data, "experienceLevel")));
+        fields.addAll(strings(data, "tags"));
+        return generate(fields);
+    }
+
+    /**
+     * Keywords for an event document or AlumniEvent.toMap()
+     */
+    public static List<String> forEventFields(Map<String, Object> data) {
+        List<String> fields = new ArrayList<>(Arrays.asList(string(data, "title"), string(data, "venue"),
+                string(data, "eventType"), string(data, "organizerName")));
+        fields.addAll(strings(data, "tags"));
+        return generate(fields);
+    }
+
+    /**
+     * The array element to query for the user's input, or null when there is
+     * nothing to search for. Inputs shorter than MIN_PREFIX have no keyword to
+     * match, so they return null and the search runs without a text filter.
+     */
+    public static String queryKey(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() > MAX_PREFIX) {
+            normalized = normalized.substring(0, MAX_PREFIX).trim();
+        }
+        return normalized.length() < MIN_PREFIX ? null : normalized;
+    }
+
+    /**
+     * Lowercase, with runs of anything but letters and digits collapsed to one space
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static void addPrefixes(Set<String> keywords, String text, int minLength) {
+        int max = Math.min(text.length(), MAX_PREFIX);
+        for (int length = Math.min(minLength, max); length <= max && keywords.size() < MAX_KEYWORDS; length++) {
+            String prefix = text.substring(0, length).trim();
+            if (prefix.length() >= MIN_PREFIX) {
+                keywords.add(prefix);
+            }
+        }
+    }
+
+    private static String string(Map<String, Object> data, String key) {
+        Object value = data != null ? data.get(key) : null;
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static List<String> strings(Map<String, Object> data, String key) {
+        List<String> values = new ArrayList<>();
+        Object value = data != null ? data.get(key) : null;
+        if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                if (item instanceof String) {
+                    values.add((String) item);
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,159 @@
+package com.namatovu.alumniportal.utils;
+
+import android.os.SystemClock;
+
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchCallback;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchResult;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU + TTL cache of first-page search results used by SearchAndFilterManager.
+ * Identical requests that arrive while a query is running wait on that query
+ * instead of issuing their own (single flight).
+ */
+class SearchResultCache {
+    static final String METRICS_NAME = "search_result_cache";
+
+    private static final int MAX_ENTRIES = 50;
+    // SearchAndFilterManager keeps page cursors open at least this long for cached tokens
+    static final long TTL_MS = 2 * 60 * 1000; // 2 minutes
+
+    interface Loader<T> {
+        void load(SearchCallback<T> callback);
+    }
+
+    private static class Entry {
+        final SearchResult<?> result;
+        final long storedAt;
+
+        Entry(SearchResult<?> result, long storedAt) {
+            this.result = result;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private final Map<String, List<SearchCallback<?>>> inFlight = new HashMap<>();
+    // Bumped on invalidation so queries started before a write are not cached
+    private final Map<SearchType, Integer> generations = new EnumMap<>(SearchType.class);
+
+    /**
+     * Serve the request from cache, join an identical in-flight query, or run the loader
+     */
+    <T> void get(SearchType type, String key, SearchCallback<T> callback, Loader<T> loader) {
+        final int generation;
+        SearchResult<?> cached = null;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && SystemClock.elapsedRealtime() - entry.storedAt < TTL_MS) {
+                cached = entry.result;
+            } else if (entry != null) {
+                entries.remove(key);
+            }
+            PerformanceHelper.getInstance().recordCacheAccess(METRICS_NAME, cached != null);
+
+            if (cached == null) {
+                List<SearchCallback<?>> waiting = inFlight.get(key);
+                if (waiting != null) {
+                    waiting.add(callback);
+                    return;
+                }
+                waiting = new ArrayList<>();
+                waiting.add(callback);
+                inFlight.put(key, waiting);
+            }
+            generation = generationOf(type);
+        }
+
+        if (cached != null) {
+            deliver(Collections.<SearchCallback<?>>singletonList(callback), cached);
+            return;
+        }
+
+        loader.load(new SearchCallback<T>() {
+            @Override
+            public void onSearchComplete(SearchResult<T> result) {
+                List<SearchCallback<?>> waiting;
+                synchronized (SearchResultCache.this) {
+                    waiting = inFlight.remove(key);
+                    if (generation == generationOf(type)) {
+                        entries.put(key, new Entry(copyOf(result), SystemClock.elapsedRealtime()));
+                    }
+                }
+                deliver(waiting, result);
+            }
+
+            @Override
+            public void onSearchError(String error) {
+                List<SearchCallback<?>> waiting;
+                synchronized (SearchResultCache.this) {
+                    waiting = inFlight.remove(key);
+                }
+                if (waiting != null) {
+                    for (SearchCallback<?> waiter : waiting) {
+                        waiter.onSearchError(error);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop every cached result of the given type
+     */
+    synchronized void invalidate(SearchType type) {
+        generations.put(type, generationOf(type) + 1);
+        String prefix = type.name() + "|";
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(prefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    synchronized void clear() {
+        for (SearchType type : SearchType.values()) {
+            generations.put(type, generationOf(type) + 1);
+        }
+        entries.clear();
+    }
+
+    private int generationOf(SearchType type) {
+        Integer generation = generations.get(type);
+        return generation != null ? generation : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void deliver(List<SearchCallback<?>> waiting, SearchResult<?> result) {
+        if (waiting == null) {
+            return;
+        }
+        for (SearchCallback<?> waiter : waiting) {
+            // Each caller gets its own copy so it can mutate the results freely
+            ((SearchCallback<Object>) waiter).onSearchComplete((SearchResult<Object>) copyOf(result));
+        }
+    }
+
+    private static <T> SearchResult<T> copyOf(SearchResult<T> source) {
+        SearchResult<T> copy = new SearchResult<>(new ArrayList<>(source.results), source.query, source.type, source.searchTime);
+        copy.totalCount = source.totalCount;
+        copy.hasMore = source.hasMore;
+        copy.continuationToken = source.continuationToken;
+        return copy;
+    }
+}
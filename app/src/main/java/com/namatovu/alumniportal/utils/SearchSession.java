@@ -0,0 +1,101 @@
+package com.namatovu.alumniportal.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchCallback;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchResult;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * One multi-type search started by SearchAndFilterManager.startSearchSession().
+ * Results are streamed per type as each query returns. Once cancelled (or
+ * superseded by a newer session) nothing more is delivered.
+ */
+public class SearchSession {
+
+    /**
+     * Receives results for a session on the main thread
+     */
+    public interface Listener {
+        void onPartialResult(SearchType type, SearchResult<?> result);
+        void onTypeFailed(SearchType type, String error);
+        void onSessionComplete(String query);
+    }
+
+    interface TypeSearch {
+        void run(SearchType type, SearchCallback<Object> callback);
+    }
+
+    private final String query;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Set<SearchType> pending = EnumSet.noneOf(SearchType.class);
+    private volatile boolean cancelled;
+
+    SearchSession(String query, Listener listener) {
+        this.query = query;
+        this.listener = listener;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stop delivering results; queries already sent to Firestore are left to finish and ignored
+     */
+    public void cancel() {
+        cancelled = true;
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+
+    /**
+     * Run the given per-type searches after the debounce delay, each with its own deadline
+     */
+    void start(long debounceMs, long deadlineMs, Set<SearchType> types, TypeSearch search) {
+        mainHandler.postDelayed(() -> {
+            if (cancelled) {
+                return;
+            }
+            pending.addAll(types);
+            for (SearchType type : types) {
+                mainHandler.postDelayed(() -> finishType(type, null, "Search timed out"), deadlineMs);
+                search.run(type, new SearchCallback<Object>() {
+                    @Override
+                    public void onSearchComplete(SearchResult<Object> result) {
+                        mainHandler.post(() -> finishType(type, result, null));
+                    }
+
+                    @Override
+                    public void onSearchError(String error) {
+                        mainHandler.post(() -> finishType(type, null, error));
+                    }
+                });
+            }
+        }, debounceMs);
+    }
+
+    // Always called on the main thread; the first outcome per type wins
+    private void finishType(SearchType type, SearchResult<?> result, String error) {
+        if (cancelled || !pending.remove(type)) {
+            return;
+        }
+        if (result != null) {
+            listener.onPartialResult(type, result);
+        } else {
+            listener.onTypeFailed(type, error);
+        }
+        if (pending.isEmpty()) {
+            mainHandler.removeCallbacksAndMessages(null);
+            listener.onSessionComplete(query);
+        }
+    }
+}
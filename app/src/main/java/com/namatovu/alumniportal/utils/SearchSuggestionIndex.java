@@ -0,0 +1,296 @@
+package com.namatovu.alumniportal.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.namatovu.alumniportal.database.AlumniDatabase;
+import com.namatovu.alumniportal.database.dao.JobDao;
+import com.namatovu.alumniportal.database.dao.JobPostingDao;
+import com.namatovu.alumniportal.database.dao.MentorDao;
+import com.namatovu.alumniportal.database.dao.UserDao;
+import com.namatovu.alumniportal.database.entities.JobEntity;
+import com.namatovu.alumniportal.database.entities.MentorEntity;
+import com.namatovu.alumniportal.database.entities.UserEntity;
+import com.namatovu.alumniportal.utils.SearchAndFilterManager.SearchType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typeahead vocabulary built from the Room cache: alumni and mentor names,
+ * companies, majors, skills and job titles. Weights count how many cached
+ * records mention a term. SyncTargets feeds it after each synced page; records
+ * seen again replace their earlier contribution instead of adding to it, and
+ * deleted records take theirs back out.
+ */
+public class SearchSuggestionIndex {
+    private static final String TAG = "SearchSuggestionIndex";
+    private static final String USER = "user:";
+    private static final String JOB = "job:";
+    private static final String POSTING = "posting:";
+    private static final String MENTOR = "mentor:";
+
+    static final int MASK_ALUMNI = 1;
+    static final int MASK_JOBS = 1 << 1;
+
+    private static SearchSuggestionIndex instance;
+
+    private final SuggestionTrie trie = new SuggestionTrie();
+    // Terms each record contributed last time, keyed by "<kind>:<id>"
+    private final Map<String, List<Term>> contributions = new HashMap<>();
+    private boolean loadStarted;
+
+    private static class Term {
+        final String text;
+        final int typeMask;
+
+        Term(String text, int typeMask) {
+            this.text = text;
+            this.typeMask = typeMask;
+        }
+    }
+
+    private SearchSuggestionIndex() {}
+
+    public static synchronized SearchSuggestionIndex getInstance() {
+        if (instance == null) {
+            instance = new SearchSuggestionIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Seed the index from the local database once, off the main thread
+     */
+    public void ensureLoaded(Context context) {
+        synchronized (this) {
+            if (loadStarted) {
+                return;
+            }
+            loadStarted = true;
+        }
+        Context appContext = context.getApplicationContext();
+        ThreadManager.getInstance().executeAsync(() -> {
+            try {
+                reload(AlumniDatabase.getInstance(appContext));
+                Log.d(TAG, "Loaded " + size() + " suggestion terms from cache");
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading suggestion terms", e);
+            }
+        }, null);
+    }
+
+    public void indexUsers(List<UserEntity> users) {
+        if (users == null) {
+            return;
+        }
+        synchronized (this) {
+            for (UserEntity user : users) {
+                replace(USER + user.userId, userTerms(user.fullName, user.major, user.currentJob, user.company,
+                        user.skills));
+            }
+        }
+    }
+
+    public void indexJobs(List<JobEntity> jobs) {
+        if (jobs == null) {
+            return;
+        }
+        synchronized (this) {
+            for (JobEntity job : jobs) {
+                replace(JOB + job.getJobId(), jobTerms(job.getTitle(), job.getCompany()));
+            }
+        }
+    }
+
+    public void indexMentors(List<MentorEntity> mentors) {
+        if (mentors == null) {
+            return;
+        }
+        synchronized (this) {
+            for (MentorEntity mentor : mentors) {
+                replace(MENTOR + mentor.getMentorId(), mentorTerms(mentor.getFullName(), mentor.getCurrentJob(),
+                        mentor.getCompany(), mentor.getExpertise()));
+            }
+        }
+    }
+
+    public synchronized void removeUsers(List<String> userIds) {
+        remove(USER, userIds);
+    }
+
+    public synchronized void removeJobs(List<String> jobIds) {
+        remove(JOB, jobIds);
+    }
+
+    public synchronized void removeMentors(List<String> mentorIds) {
+        remove(MENTOR, mentorIds);
+    }
+
+    /**
+     * Job postings are paged into Room and evicted from it in ranges, so
+     * their terms are replaced as a whole from the table
+     */
+    public void reloadJobPostings(List<JobPostingDao.JobPostingListItem> postings) {
+        Map<String, List<Term>> records = new HashMap<>();
+        for (JobPostingDao.JobPostingListItem posting : postings) {
+            records.put(POSTING + posting.jobId, jobTerms(posting.position, posting.company));
+        }
+        synchronized (this) {
+            replaceAll(POSTING, records);
+        }
+    }
+
+    /**
+     * Re-read every record from Room, e.g. after a full sync or compaction
+     * deleted rows without naming them. Blocks, so call it off the main thread.
+     */
+    public void reload(AlumniDatabase localDb) {
+        seed(localDb.userDao().getUserListItems(), localDb.jobDao().getJobListItems(),
+                localDb.jobPostingDao().getJobPostingListItems(), localDb.mentorDao().getMentorListItems());
+    }
+
+    // The seed reads list projections so descriptions and bios never leave SQLite
+    private void seed(List<UserDao.UserListItem> users, List<JobDao.JobListItem> jobs,
+                      List<JobPostingDao.JobPostingListItem> postings, List<MentorDao.MentorListItem> mentors) {
+        Map<String, List<Term>> userRecords = new HashMap<>();
+        for (UserDao.UserListItem user : users) {
+            userRecords.put(USER + user.userId, userTerms(user.fullName, user.major, user.currentJob, user.company,
+                    user.skills));
+        }
+        Map<String, List<Term>> jobRecords = new HashMap<>();
+        for (JobDao.JobListItem job : jobs) {
+            jobRecords.put(JOB + job.jobId, jobTerms(job.title, job.company));
+        }
+        Map<String, List<Term>> postingRecords = new HashMap<>();
+        for (JobPostingDao.JobPostingListItem posting : postings) {
+            postingRecords.put(POSTING + posting.jobId, jobTerms(posting.position, posting.company));
+        }
+        Map<String, List<Term>> mentorRecords = new HashMap<>();
+        for (MentorDao.MentorListItem mentor : mentors) {
+            mentorRecords.put(MENTOR + mentor.mentorId, mentorTerms(mentor.fullName, mentor.currentJob,
+                    mentor.company, mentor.expertise));
+        }
+        synchronized (this) {
+            replaceAll(USER, userRecords);
+            replaceAll(JOB, jobRecords);
+            replaceAll(POSTING, postingRecords);
+            replaceAll(MENTOR, mentorRecords);
+        }
+    }
+
+    private static List<Term> userTerms(String fullName, String major, String currentJob, String company,
+                                        String skills) {
+        List<Term> terms = new ArrayList<>();
+        addTerm(terms, fullName, MASK_ALUMNI);
+        addTerm(terms, major, MASK_ALUMNI);
+        addTerm(terms, currentJob, MASK_ALUMNI);
+        addTerm(terms, company, MASK_ALUMNI);
+        addListTerms(terms, skills, MASK_ALUMNI);
+        return terms;
+    }
+
+    private static List<Term> jobTerms(String title, String company) {
+        List<Term> terms = new ArrayList<>();
+        addTerm(terms, title, MASK_JOBS);
+        addTerm(terms, company, MASK_JOBS);
+        return terms;
+    }
+
+    private static List<Term> mentorTerms(String fullName, String currentJob, String company, String expertise) {
+        List<Term> terms = new ArrayList<>();
+        addTerm(terms, fullName, MASK_ALUMNI);
+        addTerm(terms, currentJob, MASK_ALUMNI);
+        addTerm(terms, company, MASK_ALUMNI);
+        addListTerms(terms, expertise, MASK_ALUMNI);
+        return terms;
+    }
+
+    /**
+     * Completions for the prefix relevant to the search type, best first
+     */
+    public synchronized List<String> complete(String prefix, SearchType type, int limit) {
+        int mask = maskFor(type);
+        if (mask == 0) {
+            return new ArrayList<>();
+        }
+        return trie.complete(prefix, limit, mask);
+    }
+
+    public synchronized int size() {
+        return trie.size();
+    }
+
+    private void replace(String recordKey, List<Term> terms) {
+        withdraw(contributions.put(recordKey, terms));
+        for (Term term : terms) {
+            trie.add(term.text, 1, term.typeMask);
+        }
+    }
+
+    private void remove(String kind, List<String> ids) {
+        if (ids == null) {
+            return;
+        }
+        for (String id : ids) {
+            withdraw(contributions.remove(kind + id));
+        }
+    }
+
+    // Makes the records of one kind exactly the given ones
+    private void replaceAll(String kind, Map<String, List<Term>> records) {
+        Iterator<Map.Entry<String, List<Term>>> entries = contributions.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, List<Term>> entry = entries.next();
+            if (entry.getKey().startsWith(kind) && !records.containsKey(entry.getKey())) {
+                withdraw(entry.getValue());
+                entries.remove();
+            }
+        }
+        for (Map.Entry<String, List<Term>> record : records.entrySet()) {
+            replace(record.getKey(), record.getValue());
+        }
+    }
+
+    private void withdraw(List<Term> terms) {
+        if (terms != null) {
+            for (Term term : terms) {
+                trie.add(term.text, -1, term.typeMask);
+            }
+        }
+    }
+
+    private static void addTerm(List<Term> terms, String text, int typeMask) {
+        if (text != null && !text.trim().isEmpty()) {
+            terms.add(new Term(text, typeMask));
+        }
+    }
+
+    // Skills and expertise are stored as comma separated lists
+    private static void addListTerms(List<Term> terms, String list, int typeMask) {
+        if (list != null) {
+            for (String item : list.split(",")) {
+                addTerm(terms, item.trim(), typeMask);
+            }
+        }
+    }
+
+    private static int maskFor(SearchType type) {
+        if (type == null) {
+            return MASK_ALUMNI | MASK_JOBS;
+        }
+        switch (type) {
+            case ALUMNI:
+                return MASK_ALUMNI;
+            case JOBS:
+                return MASK_JOBS;
+            case ALL:
+                return MASK_ALUMNI | MASK_JOBS;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.namatovu.alumniportal.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Weighted prefix trie for typeahead completions.
+ *
+ * Each term is reachable from its full text and from the start of every word
+ * in it, so "eng" completes "Software Engineer". Children are kept in sorted
+ * parallel arrays rather than maps, and every node caches the best weight
+ * below it so completions are found best-first without visiting the whole
+ * subtree. Not thread-safe; callers synchronize.
+ */
+public class SuggestionTrie {
+
+    private static final int INITIAL_CHILDREN = 2;
+
+    private static class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        int childCount;
+        int[] entryIds;
+        int entryCount;
+        int maxWeight;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrAddChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(INITIAL_CHILDREN, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node node = new Node();
+            keys[insertAt] = c;
+            children[insertAt] = node;
+            childCount++;
+            return node;
+        }
+
+        void addEntry(int id) {
+            if (entryIds == null) {
+                entryIds = new int[1];
+            } else if (entryCount == entryIds.length) {
+                entryIds = Arrays.copyOf(entryIds, entryCount * 2);
+            }
+            entryIds[entryCount++] = id;
+        }
+    }
+
+    private static class Entry {
+        final String display;
+        int weight;
+        int typeMask;
+
+        Entry(String display) {
+            this.display = display;
+        }
+    }
+
+    // Queue item: either a node (bounded by its maxWeight) or a finished entry
+    private static class Candidate {
+        final Node node;
+        final int entryId;
+        final int weight;
+
+        Candidate(Node node, int entryId, int weight) {
+            this.node = node;
+            this.entryId = entryId;
+            this.weight = weight;
+        }
+    }
+
+    private final Node root = new Node();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> entryIdsByKey = new HashMap<>();
+
+    /**
+     * Adjust a term's weight by delta (negative to retract), tagging it with typeMask
+     */
+    public void add(String term, int delta, int typeMask) {
+        if (term == null) {
+            return;
+        }
+        String display = term.trim();
+        if (display.isEmpty()) {
+            return;
+        }
+        String key = display.toLowerCase(Locale.ROOT);
+
+        Integer id = entryIdsByKey.get(key);
+        Entry entry;
+        if (id == null) {
+            if (delta <= 0) {
+                return;
+            }
+            id = entries.size();
+            entry = new Entry(display);
+            entries.add(entry);
+            entryIdsByKey.put(key, id);
+            for (int start : wordStarts(key)) {
+                insertPath(key, start, id);
+            }
+        } else {
+            entry = entries.get(id);
+        }
+        entry.weight = Math.max(0, entry.weight + delta);
+        if (delta > 0) {
+            entry.typeMask |= typeMask;
+        }
+        for (int start : wordStarts(key)) {
+            updateWeights(key, start);
+        }
+    }
+
+    /**
+     * Up to limit completions for the prefix, highest weight first
+     */
+    public List<String> complete(String prefix, int limit, int typeMask) {
+        List<String> results = new ArrayList<>();
+        if (prefix == null || limit <= 0) {
+            return results;
+        }
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return results;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null || node.maxWeight <= 0) {
+            return results;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(16, (a, b) -> Integer.compare(b.weight, a.weight));
+        queue.add(new Candidate(node, -1, node.maxWeight));
+        Set<Integer> seen = new HashSet<>();
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.node == null) {
+                if (seen.add(candidate.entryId)) {
+                    results.add(entries.get(candidate.entryId).display);
+                }
+                continue;
+            }
+            Node current = candidate.node;
+            for (int i = 0; i < current.entryCount; i++) {
+                Entry entry = entries.get(current.entryIds[i]);
+                if (entry.weight > 0 && (entry.typeMask & typeMask) != 0) {
+                    queue.add(new Candidate(null, current.entryIds[i], entry.weight));
+                }
+            }
+            for (int i = 0; i < current.childCount; i++) {
+                Node child = current.children[i];
+                if (child.maxWeight > 0) {
+                    queue.add(new Candidate(child, -1, child.maxWeight));
+                }
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void insertPath(String key, int start, int id) {
+        Node node = root;
+        for (int i = start; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        node.addEntry(id);
+    }
+
+    // Recompute cached max weights from the terminal node back up to the root
+    private void updateWeights(String key, int start) {
+        int length = key.length() - start;
+        Node[] path = new Node[length + 1];
+        path[0] = root;
+        for (int i = 0; i < length; i++) {
+            path[i + 1] = path[i].child(key.charAt(start + i));
+        }
+        for (int i = length; i >= 0; i--) {
+            Node node = path[i];
+            int max = 0;
+            for (int e = 0; e < node.entryCount; e++) {
+                max = Math.max(max, entries.get(node.entryIds[e]).weight);
+            }
+            for (int c = 0; c < node.childCount; c++) {
+                max = Math.max(max, node.children[c].maxWeight);
+            }
+            node.maxWeight = max;
+        }
+    }
+
+    private static List<Integer> wordStarts(String key) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < key.length(); i++) {
+            boolean letter = Character.isLetterOrDigit(key.charAt(i));
+            if (letter && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        if (starts.isEmpty()) {
+            starts.add(0);
+        }
+        return starts;
+    }
+}
@@ -1,11 +1,9 @@
 package com.namatovu.alumniportal.utils;
 
 import android.content.Context;
-import android.content.Intent;
-import android.os.Build;
 import android.util.Log;
 
-import com.namatovu.alumniportal.services.DataSyncService;
+import com.namatovu.alumniportal.services.CollectionSyncWorker;
 
 /**
  * Helper class to manage data synchronization
@@ -15,36 +13,28 @@ public class SyncHelper {
     private static final String TAG = "SyncHelper";
     
     /**
-     * Start the data sync service
+     * Request a data sync
      * @param context Application context
      */
     public static void startSync(Context context) {
         try {
-            Intent syncIntent = new Intent(context, DataSyncService.class);
-            
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                context.startForegroundService(syncIntent);
-            } else {
-                context.startService(syncIntent);
-            }
-            
-            Log.d(TAG, "Data sync service started");
+            CollectionSyncWorker.requestSync(context);
+            Log.d(TAG, "Data sync requested");
         } catch (Exception e) {
-            Log.e(TAG, "Error starting sync service", e);
+            Log.e(TAG, "Error requesting sync", e);
         }
     }
     
     /**
-     * Stop the data sync service
+     * Cancel any queued or running data sync
      * @param context Application context
      */
     public static void stopSync(Context context) {
         try {
-            Intent syncIntent = new Intent(context, DataSyncService.class);
-            context.stopService(syncIntent);
-            Log.d(TAG, "Data sync service stopped");
+            CollectionSyncWorker.cancelSync(context);
+            Log.d(TAG, "Data sync cancelled");
         } catch (Exception e) {
-            Log.e(TAG, "Error stopping sync service", e);
+            Log.e(TAG, "Error cancelling sync", e);
         }
     }
 }
@@ -0,0 +1,65 @@
+package com.namatovu.alumniportal.utils;
+
+import com.namatovu.alumniportal.models.User;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AlumniSearchIndexTest {
+
+    private static User user(String id, String name, String company, String... skills) {
+        User user = new User();
+        user.setUserId(id);
+        user.setFullName(name);
+        user.setCompany(company);
+        user.setSkills(new java.util.ArrayList<>(Arrays.asList(skills)));
+        return user;
+    }
+
+    @Test
+    public void prefixQueriesMatchAcrossFields() {
+        AlumniSearchIndex index = AlumniSearchIndex.build(Arrays.asList(
+                user("1", "Jane Namatovu", "Safaricom", "Java"),
+                user("2", "John Okello", "MTN Uganda", "Kotlin")));
+
+        assertEquals(Set.of("1"), index.search("nama"));
+        assertEquals(Set.of("2"), index.search("mtn"));
+        assertEquals(Set.of("1"), index.search("JAV"));
+        assertEquals(Set.of("1", "2"), index.search("j"));
+        assertEquals(Set.of("2"), index.search("jo kot"));
+        assertTrue(index.search("python").isEmpty());
+    }
+
+    @Test
+    public void updateReplacesStaleTokens() {
+        AlumniSearchIndex index = AlumniSearchIndex.build(Arrays.asList(
+                user("1", "Jane Namatovu", "Safaricom")));
+
+        index.addOrUpdate(user("1", "Jane Namatovu", "Stanbic"));
+        assertTrue(index.search("safaricom").isEmpty());
+        assertEquals(Set.of("1"), index.search("stanbic"));
+
+        index.update(Arrays.asList(user("2", "John Okello", "MTN")));
+        assertTrue(index.search("jane").isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void linearMatchUsesTheIndexRule() {
+        User jane = user("1", "Jane Namatovu", "Safaricom", "Java");
+
+        assertTrue(AlumniSearchIndex.matches(jane, "nama"));
+        assertTrue(AlumniSearchIndex.matches(jane, "jan saf"));
+        // Substrings that do not start a token match neither the index nor the scan
+        assertFalse(AlumniSearchIndex.matches(jane, "matovu"));
+        assertTrue(AlumniSearchIndex.build(Arrays.asList(jane)).search("matovu").isEmpty());
+        // Punctuation-only queries have no tokens and filter nothing
+        assertTrue(AlumniSearchIndex.matches(jane, " - "));
+    }
+}
@@ -0,0 +1,55 @@
+package com.namatovu.alumniportal.utils;
+
+import com.google.firebase.Timestamp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentFieldsTest {
+
+    @Test
+    public void timestampsAndNumbersReadAsMillis() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("createdAt", new Timestamp(new Date(1_700_000_000_000L)));
+        data.put("updatedAt", 1_700_000_000_001L);
+        data.put("editedAt", 1.7e12);
+
+        assertEquals(1_700_000_000_000L, DocumentFields.longValue(data, "createdAt", 0));
+        assertEquals(1_700_000_000_001L, DocumentFields.longValue(data, "updatedAt", 0));
+        assertEquals(1_700_000_000_000L, DocumentFields.longValue(data, "editedAt", 0));
+    }
+
+    @Test
+    public void missingNullAndMistypedFieldsKeepTheFallback() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("bio", null);
+        data.put("skills", "Java, Kotlin");
+        data.put("isVerified", "yes");
+        List<String> defaultSkills = Collections.emptyList();
+
+        assertEquals("none", DocumentFields.string(data, "bio", "none"));
+        assertEquals("student", DocumentFields.string(data, "userType", "student"));
+        assertSame(defaultSkills, DocumentFields.strings(data, "skills", defaultSkills));
+        assertTrue(DocumentFields.bool(data, "isVerified", true));
+    }
+
+    @Test
+    public void scalarsReadAsStrings() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("graduationYear", 2019L);
+        data.put("tags", Arrays.asList("remote", 3L, null, true));
+
+        assertEquals("2019", DocumentFields.string(data, "graduationYear", null));
+        assertEquals(Arrays.asList("remote", "3", "true"), DocumentFields.strings(data, "tags", null));
+    }
+}
@@ -0,0 +1,55 @@
+package com.namatovu.alumniportal.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class FacetIndexTest {
+
+    // city, company, skills...
+    private static final List<String[]> PEOPLE = Arrays.asList(
+            new String[]{"Nairobi", "Safaricom", "Java", "Kotlin"},
+            new String[]{"Kampala", "MTN", "Java"},
+            new String[]{"nairobi", "MTN", "Python"},
+            new String[]{"Kampala", "Safaricom"});
+
+    private static FacetIndex<String[]> index() {
+        return FacetIndex.<String[]>builder()
+                .facet("city", p -> FacetIndex.single(p[0]))
+                .facet("company", p -> FacetIndex.single(p[1]))
+                .facet("skill", p -> Arrays.asList(p).subList(2, p.length))
+                .build(PEOPLE);
+    }
+
+    @Test
+    public void valuesAreOredWithinAFacetAndAndedAcrossFacets() {
+        Map<String, List<String>> selections = new HashMap<>();
+        selections.put("skill", Arrays.asList("java", "python"));
+        selections.put("city", Collections.singletonList("Nairobi"));
+
+        List<String[]> results = index().filter(selections);
+
+        assertEquals(2, results.size());
+        assertEquals("Safaricom", results.get(0)[1]);
+        assertEquals("MTN", results.get(1)[1]);
+    }
+
+    @Test
+    public void countsIgnoreTheFacetsOwnSelection() {
+        Map<String, List<String>> selections = new HashMap<>();
+        selections.put("city", Collections.singletonList("Kampala"));
+        selections.put("company", Collections.singletonList("MTN"));
+
+        Map<String, Integer> cities = index().counts("city", selections);
+
+        assertEquals(Arrays.asList("Nairobi", "Kampala"), Arrays.asList(cities.keySet().toArray()));
+        assertEquals(Integer.valueOf(1), cities.get("Nairobi"));
+        assertEquals(1, index().count("skill", "Java", selections));
+    }
+}
@@ -0,0 +1,109 @@
+package com.namatovu.alumniportal.utils;
+
+import com.namatovu.alumniportal.models.User;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RelevanceRankerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static User user(String id, String name) {
+        User user = new User();
+        user.setUserId(id);
+        user.setFullName(name);
+        // New profiles allow mentor requests; clear it so only the boosts under test apply
+        user.setPrivacySetting("allowMentorRequests", false);
+        return user;
+    }
+
+    private static List<String> ids(List<User> users) {
+        List<String> ids = new ArrayList<>();
+        for (User user : users) {
+            ids.add(user.getUserId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void selectTopKReturnsHighestScoresBestFirst() {
+        float[] scores = {3f, 9f, 1f, 7f, 5f};
+
+        assertArrayEquals(new int[]{1, 3, 4}, RelevanceRanker.selectTopK(scores, 3));
+        assertArrayEquals(new int[]{1, 3, 4, 0, 2}, RelevanceRanker.selectTopK(scores, scores.length));
+        assertArrayEquals(new int[]{1}, RelevanceRanker.selectTopK(scores, 1));
+    }
+
+    @Test
+    public void selectTopKKeepsQueryOrderOnTies() {
+        float[] scores = {2f, 5f, 2f, 5f, 2f};
+
+        assertArrayEquals(new int[]{1, 3, 0, 2}, RelevanceRanker.selectTopK(scores, 4));
+    }
+
+    @Test
+    public void wordStartsOutscoreInfixesAndNamesOutscoreBios() {
+        List<String> terms = Collections.singletonList("ann");
+        User prefix = user("1", "Ann Okello");
+        User infix = user("2", "Joanna Okello");
+        User bio = user("3", "John Okello");
+        bio.setBio("Worked with Ann on the alumni board");
+
+        float prefixScore = RelevanceRanker.score(prefix, terms, NOW);
+        float infixScore = RelevanceRanker.score(infix, terms, NOW);
+        float bioScore = RelevanceRanker.score(bio, terms, NOW);
+        assertTrue(prefixScore > infixScore);
+        assertTrue(prefixScore > bioScore);
+        assertEquals(0f, RelevanceRanker.score(user("4", "Peter Mukasa"), terms, NOW), 0f);
+    }
+
+    @Test
+    public void boostsRewardVerifiedMentorsAndRecentActivity() {
+        List<String> terms = Collections.emptyList();
+        User base = user("0", "A");
+        float baseScore = RelevanceRanker.score(base, terms, NOW);
+        User verified = user("1", "A");
+        verified.setVerified(true);
+        User mentor = user("2", "A");
+        mentor.setPrivacySetting("allowMentorRequests", true);
+        User recent = user("3", "A");
+        recent.setLastActive(NOW - DAY_MS);
+        User stale = user("4", "A");
+        stale.setLastActive(NOW - 365 * DAY_MS);
+
+        assertEquals(0f, baseScore, 0f);
+        assertTrue(RelevanceRanker.score(verified, terms, NOW) > baseScore);
+        assertTrue(RelevanceRanker.score(mentor, terms, NOW) > baseScore);
+        assertTrue(RelevanceRanker.score(recent, terms, NOW) > RelevanceRanker.score(stale, terms, NOW));
+        // Activity in the future (clock skew) earns no boost
+        User future = user("5", "A");
+        future.setLastActive(NOW + DAY_MS);
+        assertEquals(baseScore, RelevanceRanker.score(future, terms, NOW), 0f);
+    }
+
+    @Test
+    public void takeTopKPagesThroughThePoolWithoutRepeats() {
+        List<User> pool = new ArrayList<>(Arrays.asList(
+                user("1", "Peter Mukasa"),
+                user("2", "Ann Okello"),
+                user("3", "Joanna Nakato"),
+                user("4", "Annet Achieng"),
+                user("5", "Grace Ann Auma")));
+
+        assertEquals(Arrays.asList("2", "4"), ids(RelevanceRanker.takeTopK(pool, "ann", 2, NOW)));
+        assertEquals(Arrays.asList("1", "3", "5"), ids(pool));
+        assertEquals(Arrays.asList("5", "3"), ids(RelevanceRanker.takeTopK(pool, "ann", 2, NOW)));
+        assertEquals(Arrays.asList("1"), ids(RelevanceRanker.takeTopK(pool, "ann", 2, NOW)));
+        assertTrue(pool.isEmpty());
+    }
+}
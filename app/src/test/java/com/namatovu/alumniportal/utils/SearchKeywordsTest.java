@@ -0,0 +1,36 @@
+package com.namatovu.alumniportal.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SearchKeywordsTest {
+
+    @Test
+    public void wordAndPhrasePrefixesMatchQueryKeys() {
+        List<String> keywords = SearchKeywords.forUser("Jane Namatovu", "Computer Science",
+                "Software Engineer", "MTN Uganda", "Kampala", Arrays.asList("Java"));
+
+        assertTrue(keywords.contains(SearchKeywords.queryKey("nam")));
+        assertTrue(keywords.contains(SearchKeywords.queryKey("  Software   ENG")));
+        assertTrue(keywords.contains(SearchKeywords.queryKey("mtn ug")));
+        assertTrue(keywords.contains(SearchKeywords.queryKey("Java")));
+        assertFalse(keywords.contains("j"));
+    }
+
+    @Test
+    public void queryKeyIsNormalizedAndBounded() {
+        assertEquals("data science", SearchKeywords.queryKey("Data-Science!"));
+        assertEquals(SearchKeywords.MAX_PREFIX, SearchKeywords.queryKey("internationalization expert").length());
+        assertNull(SearchKeywords.queryKey("  ?! "));
+        // One character is below the shortest keyword, so there is nothing to match
+        assertNull(SearchKeywords.queryKey("j"));
+        assertNull(SearchKeywords.queryKey(" J. "));
+    }
+}
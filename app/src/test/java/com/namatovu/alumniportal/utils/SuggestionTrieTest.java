@@ -0,0 +1,35 @@
+package com.namatovu.alumniportal.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class SuggestionTrieTest {
+
+    @Test
+    public void completesFromAnyWordStartByWeight() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add("Software Engineer", 1, 1);
+        trie.add("Software Engineer", 1, 1);
+        trie.add("Sales Executive", 1, 1);
+        trie.add("Data Engineer", 1, 1);
+
+        assertEquals(Arrays.asList("Software Engineer", "Sales Executive"), trie.complete("s", 5, 1));
+        assertEquals(Arrays.asList("Software Engineer", "Data Engineer"), trie.complete("eng", 5, 1));
+        assertEquals(Collections.singletonList("Software Engineer"), trie.complete("eng", 1, 1));
+    }
+
+    @Test
+    public void retractedTermsAndOtherTypesAreSkipped() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add("Kampala", 1, 1);
+        trie.add("Kotlin", 1, 2);
+        trie.add("Kampala", -1, 1);
+
+        assertEquals(Collections.emptyList(), trie.complete("ka", 5, 1));
+        assertEquals(Collections.singletonList("Kotlin"), trie.complete("k", 5, 2));
+    }
+}
@@ -0,0 +1,58 @@
+// One-off backfill of searchKeywords onto users, job postings and events
+// written before the keywords existed. Run it with admin credentials,
+// e.g. GOOGLE_APPLICATION_CREDENTIALS=key.json npm run backfill-keywords.
+// Documents whose keywords are already current are left untouched, so it is
+// safe to run again after SearchKeywords changes.
+
+import * as admin from "firebase-admin";
+import { FIELD, forEventFields, forJobFields, forUserFields } from "./searchKeywords.js";
+
+const PAGE_SIZE = 400;
+
+admin.initializeApp();
+const db = admin.firestore();
+
+async function backfillCollection(collection, keywordsFor) {
+  let updated = 0;
+  let last = null;
+  for (;;) {
+    let query = db.collection(collection)
+      .orderBy(admin.firestore.FieldPath.documentId())
+      .limit(PAGE_SIZE);
+    if (last) {
+      query = query.startAfter(last);
+    }
+    const page = await query.get();
+    if (page.empty) {
+      break;
+    }
+
+    const batch = db.batch();
+    let pending = 0;
+    for (const doc of page.docs) {
+      const keywords = keywordsFor(doc.data());
+      if (!sameKeywords(keywords, doc.get(FIELD))) {
+        batch.update(doc.ref, { [FIELD]: keywords });
+        pending++;
+      }
+    }
+    if (pending > 0) {
+      await batch.commit();
+      updated += pending;
+    }
+
+    last = page.docs[page.docs.length - 1];
+    if (page.size < PAGE_SIZE) {
+      break;
+    }
+  }
+  console.log(`Backfilled ${updated} documents in ${collection}`);
+}
+
+function sameKeywords(a, b) {
+  return Array.isArray(b) && a.length === b.length && a.every((keyword, i) => keyword === b[i]);
+}
+
+await backfillCollection("users", forUserFields);
+await backfillCollection("job_postings", forJobFields);
+await backfillCollection("events", forEventFields);
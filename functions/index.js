@@ -284,3 +284,65 @@ export const sendJobNotification = functions.firestore
       console.error("Error sending job notification:", error);
     }
   });
+
+// Devices that have not synced for longer than this download everything again (DeltaSync.java)
+const TOMBSTONE_TTL_DAYS = 30;
+
+/**
+ * Stamp serverUpdatedAt on every write to a collection the app delta-syncs, and
+ * leave a tombstone when a document is deleted, so clients can ask for just
+ * what changed since their last sync. A TTL policy on expireAt clears old tombstones.
+ */
+function stampForSync(collection) {
+  return functions.firestore
+    .document(`${collection}/{docId}`)
+    .onWrite(async (change, context) => {
+      const { docId } = context.params;
+      const tombstone = db.collection("tombstones").doc(`${collection}_${docId}`);
+
+      try {
+        if (!change.after.exists) {
+          await tombstone.set({
+            collection: collection,
+            documentId: docId,
+            serverUpdatedAt: admin.firestore.FieldValue.serverTimestamp(),
+            expireAt: admin.firestore.Timestamp.fromMillis(
+              Date.now() + TOMBSTONE_TTL_DAYS * 24 * 60 * 60 * 1000),
+          });
+          return;
+        }
+
+        // Our own stamp triggers this function again and is the only write that
+        // changes the field. Client updates leave it as it was, and a client
+        // set() without merge drops it, so both of those get a fresh stamp.
+        const before = change.before.exists ? change.before.data().serverUpdatedAt : undefined;
+        const after = change.after.data().serverUpdatedAt;
+        if (after && !sameTimestamp(before, after)) {
+          return;
+        }
+
+        await change.after.ref.update({
+          serverUpdatedAt: admin.firestore.FieldValue.serverTimestamp(),
+        });
+        if (!change.before.exists) {
+          // Re-created after a delete; the document itself now wins
+          await tombstone.delete();
+        }
+      } catch (error) {
+        console.error(`Error stamping ${collection}/${docId} for sync:`, error);
+      }
+    });
+}
+
+function sameTimestamp(a, b) {
+  if (!a || !b) {
+    return a === b;
+  }
+  return a.isEqual(b);
+}
+
+export const stampUsersForSync = stampForSync("users");
+export const stampJobsForSync = stampForSync("jobs");
+export const stampEventsForSync = stampForSync("events");
+export const stampMentorsForSync = stampForSync("mentors");
+export const stampOpportunitiesForSync = stampForSync("job_opportunities");
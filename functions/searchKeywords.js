@@ -0,0 +1,107 @@
+// Port of app/src/main/java/com/namatovu/alumniportal/utils/SearchKeywords.java.
+// Keep the two in step: the app queries for exactly the keywords written here.
+
+export const FIELD = "searchKeywords";
+
+const MIN_PREFIX = 2;
+const MAX_PREFIX = 20;
+// Bounds the index entries one document can create
+const MAX_KEYWORDS = 300;
+
+// Character.isLetterOrDigit on one UTF-16 unit
+const LETTER_OR_DIGIT = /^[\p{L}\p{Nd}]$/u;
+
+/**
+ * Keywords for the given text fields; null and blank values are ignored
+ */
+export function generate(fields) {
+  const keywords = new Set();
+  const phrases = [];
+  for (const field of fields) {
+    const normalized = normalize(field);
+    if (normalized === "") {
+      continue;
+    }
+    for (const word of normalized.split(" ")) {
+      addPrefixes(keywords, word, MIN_PREFIX);
+    }
+    if (normalized.indexOf(" ") > 0) {
+      phrases.push(normalized);
+    }
+  }
+  // Phrase prefixes go last so the word prefixes survive the cap
+  for (const phrase of phrases) {
+    let start = 0;
+    while (start >= 0 && keywords.size < MAX_KEYWORDS) {
+      const rest = phrase.substring(start);
+      const firstSpace = rest.indexOf(" ");
+      if (firstSpace < 0) {
+        break;
+      }
+      addPrefixes(keywords, rest, firstSpace + 2);
+      const next = phrase.indexOf(" ", start);
+      start = next < 0 ? -1 : next + 1;
+    }
+  }
+  return Array.from(keywords).slice(0, MAX_KEYWORDS);
+}
+
+export function forUserFields(data) {
+  return generate([string(data, "fullName"), string(data, "major"), string(data, "currentJob"),
+    string(data, "company"), string(data, "location"), ...strings(data, "skills")]);
+}
+
+export function forJobFields(data) {
+  return generate([string(data, "title"), string(data, "company"), string(data, "location"),
+    string(data, "jobType"), string(data, "experienceLevel"), ...strings(data, "tags")]);
+}
+
+export function forEventFields(data) {
+  return generate([string(data, "title"), string(data, "venue"), string(data, "eventType"),
+    string(data, "organizerName"), ...strings(data, "tags")]);
+}
+
+/**
+ * Lowercase, with runs of anything but letters and digits collapsed to one space
+ */
+function normalize(text) {
+  if (text == null) {
+    return "";
+  }
+  const lower = text.toLowerCase();
+  let normalized = "";
+  let pendingSpace = false;
+  for (let i = 0; i < lower.length; i++) {
+    const c = lower.charAt(i);
+    if (LETTER_OR_DIGIT.test(c)) {
+      if (pendingSpace && normalized.length > 0) {
+        normalized += " ";
+      }
+      normalized += c;
+      pendingSpace = false;
+    } else {
+      pendingSpace = true;
+    }
+  }
+  return normalized;
+}
+
+function addPrefixes(keywords, text, minLength) {
+  const max = Math.min(text.length, MAX_PREFIX);
+  for (let length = Math.min(minLength, max); length <= max && keywords.size < MAX_KEYWORDS; length++) {
+    const prefix = text.substring(0, length).trim();
+    if (prefix.length >= MIN_PREFIX) {
+      keywords.add(prefix);
+    }
+  }
+}
+
+function string(data, key) {
+  const value = data ? data[key] : undefined;
+  return typeof value === "string" ? value : null;
+}
+
+function strings(data, key) {
+  const value = data ? data[key] : undefined;
+  return Array.isArray(value) ? value.filter((item) => typeof item === "string") : [];
+}